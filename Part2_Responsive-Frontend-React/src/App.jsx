@@ -1,4 +1,4 @@
-import { useEffect, useState, useCallback } from 'react';
+import { useEffect, useRef, useState, useCallback } from 'react';
 import Header from './components/Header';
 import Toolbar from './components/Toolbar';
 import DataTable, { SkeletonTable } from './components/DataTable';
@@ -9,18 +9,22 @@ import useDebounced from './hooks/useDebounced';
 import { fetchPage, createProduct, updateProduct, deleteProduct, parseIdFromLocation } from './api';
 import './styles.css';
 
-export default function App() {
-  // Query parameters state
-  const [page, setPage] = useState(0);
-  const [size, setSize] = useState(10);
-  const [sort, setSort] = useState('id,desc');
+export default function App({ initialPage = null }) {
+  // Query parameters state (starting from the server-rendered page, if embedded)
+  const [page, setPage] = useState(initialPage?.number ?? 0);
+  const [size, setSize] = useState(initialPage?.size ?? 10);
+  const [sort, setSort] = useState(initialPage?.sort || 'id,desc');
   const [q, setQ] = useState('');
   const debouncedQ = useDebounced(q, 300);
 
   // Data state
-  const [content, setContent] = useState([]);
-  const [total, setTotal] = useState(0);
-  const [lastPage, setLastPage] = useState(0);
+  const [content, setContent] = useState(initialPage?.content ?? []);
+  const [total, setTotal] = useState(initialPage?.totalElements ?? 0);
+  const [lastPage, setLastPage] = useState(Math.max(0, (initialPage?.totalPages || 1) - 1));
+
+  // The embedded page is already on screen: skip the first reset and the first fetch
+  const skipReset = useRef(initialPage != null);
+  const skipLoad = useRef(initialPage != null);
   const [loading, setLoading] = useState(false);
 
   // UI state
@@ -48,11 +52,19 @@ export default function App() {
 
   // Reset to first page whenever search, size, or sort changes (to fetch fresh from beginning)
   useEffect(() => {
+    if (skipReset.current) {
+      skipReset.current = false;
+      return;
+    }
     setPage(0);
   }, [debouncedQ, size, sort]);
 
   // Fetch data whenever page or other query params (debouncedQ, size, sort) change
   useEffect(() => {
+    if (skipLoad.current) {
+      skipLoad.current = false;
+      return;
+    }
     loadData();
   }, [loadData]);
 
@@ -1,5 +1,6 @@
 // const API_BASE = import.meta.env.VITE_API_BASE || 'http://localhost:8080/api/products';
-const API_BASE = import.meta.env.VITE_API_BASE ||'http://192.168.0.40:8080/api/products'
+// Same origin by default: the backend serves the built bundle, and `npm run dev` proxies /api (vite.config.js)
+const API_BASE = import.meta.env.VITE_API_BASE || '/api/products';
 
 // Utility: construct query string from an object of parameters
 const qs = (params) =>
@@ -2,6 +2,10 @@ import React from 'react';
 import { createRoot } from 'react-dom/client';
 import App from './App.jsx';
 
+// First page embedded by the server-rendered /products view, if any; saves the initial fetch
+const embedded = document.getElementById('initial-page');
+const initialPage = embedded ? JSON.parse(embedded.textContent) : null;
+
 const container = document.getElementById('root');
 const root = createRoot(container);
-root.render(<App />);
\ No newline at end of file
+root.render(<App initialPage={initialPage} />);
\ No newline at end of file
@@ -1,7 +1,55 @@
 import { defineConfig } from 'vite'
 import react from '@vitejs/plugin-react'
+import { readdirSync, readFileSync, statSync, writeFileSync } from 'node:fs'
+import { extname, join, resolve } from 'node:path'
+import { brotliCompressSync, constants, gzipSync } from 'node:zlib'
+
+const COMPRESSIBLE = new Set(['.js', '.css', '.html', '.svg', '.json', '.txt'])
+
+// Writes .gz and .br variants next to every compressible file of the production build, at maximum
+// compression. The backend serves them as they are (EncodedResourceResolver) and never compresses
+// static assets per request.
+function precompress() {
+  let outDir
+  const walk = (dir) => {
+    for (const name of readdirSync(dir)) {
+      const file = join(dir, name)
+      if (statSync(file).isDirectory()) {
+        walk(file)
+      } else if (COMPRESSIBLE.has(extname(file))) {
+        const data = readFileSync(file)
+        if (data.length < 1024) continue
+        writeFileSync(`${file}.gz`, gzipSync(data, { level: 9 }))
+        writeFileSync(`${file}.br`, brotliCompressSync(data, {
+          params: {
+            [constants.BROTLI_PARAM_QUALITY]: constants.BROTLI_MAX_QUALITY,
+            [constants.BROTLI_PARAM_SIZE_HINT]: data.length,
+          },
+        }))
+      }
+    }
+  }
+  return {
+    name: 'precompress',
+    apply: 'build',
+    configResolved(config) {
+      outDir = resolve(config.root, config.build.outDir)
+    },
+    closeBundle() {
+      walk(outDir)
+    },
+  }
+}
 
 // https://vite.dev/config/
 export default defineConfig({
-  plugins: [react()],
+  plugins: [react(), precompress()],
+  build: {
+    // .vite/manifest.json maps index.html to its hashed files, for the server-rendered /products page
+    manifest: true,
+  },
+  server: {
+    // Same-origin API calls in development too, so no CORS preflights
+    proxy: { '/api': 'http://localhost:8080' },
+  },
 })
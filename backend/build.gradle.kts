@@ -1,8 +1,10 @@
 plugins {
     id("org.springframework.boot") version "3.2.5"
+    id("org.springframework.boot.aot") version "3.2.5"
     id("io.spring.dependency-management") version "1.1.4"
     id("java")
     id("jacoco")
+    id("me.champeau.jmh") version "0.7.2"
 }
 
 group = "com.example"
@@ -32,6 +34,13 @@ dependencies {
     runtimeOnly("org.springframework.boot:spring-boot-devtools")
     implementation("org.springframework.boot:spring-boot-starter-actuator")
     runtimeOnly("com.h2database:h2")
+    implementation("org.flywaydb:flyway-core")
+
+    // Hibernate second-level/query cache on JCache (Ehcache 3) + Hibernate statistics in Micrometer
+    implementation("org.hibernate.orm:hibernate-jcache")
+    runtimeOnly("org.ehcache:ehcache::jakarta")
+    runtimeOnly("org.glassfish.jaxb:jaxb-runtime")
+    implementation("org.hibernate.orm:hibernate-micrometer")
 
     testImplementation("org.springframework.boot:spring-boot-starter-test")
 
@@ -46,7 +55,6 @@ dependencies {
     //implementation("io.micrometer:micrometer-registry-prometheus")
     //implementation("com.github.vladimir-bukhtoyarov:bucket4j-core:8.10.1")
     //implementation("com.bucket4j:bucket4j_jdk17-core:8.15.0")
-    //implementation("org.flywaydb:flyway-core")
 
     //testImplementation(platform("org.testcontainers:testcontainers-bom:1.20.1"))
     //testImplementation("org.testcontainers:junit-jupiter")
@@ -63,6 +71,105 @@ tasks.jacocoTestReport {
     reports { xml.required.set(true); html.required.set(true); csv.required.set(false) }
 }
 
+// Micro-benchmarks live in src/jmh/java; run with ./gradlew jmh (results in build/results/jmh)
+jmh {
+    warmupIterations.set(2)
+    iterations.set(5)
+    fork.set(1)
+}
+
+// --- Startup-optimized build: Spring AOT + AppCDS ---
+// processAot pre-computes bean definitions for the "prod" profile; bootJar ships them and they are
+// used when the app runs with -Dspring.aot.enabled=true.
+tasks.named<org.springframework.boot.gradle.tasks.aot.ProcessAot>("processAot") {
+    args("--spring.profiles.active=prod")
+}
+
+val cdsDir = layout.buildDirectory.dir("cds")
+
+// CDS can only archive classes loaded from plain jars on a fixed class path, not from the nested
+// jars of the executable bootJar, so lay the application out as build/cds/{app.jar,lib/*.jar}.
+val cdsAppJar by tasks.registering(Jar::class) {
+    description = "Packages main and AOT-generated classes as a plain jar for the CDS layout."
+    archiveFileName.set("app.jar")
+    destinationDirectory.set(cdsDir)
+    duplicatesStrategy = DuplicatesStrategy.EXCLUDE
+    from(sourceSets.main.get().output)
+    from(sourceSets["aot"].output)
+}
+
+val cdsLibs by tasks.registering(Sync::class) {
+    description = "Copies the runtime dependencies (without devtools) for the CDS layout."
+    from(configurations.runtimeClasspath.map { cp -> cp.filter { !it.name.startsWith("spring-boot-devtools") } })
+    into(cdsDir.map { it.dir("lib") })
+}
+
+// Training run: starts the app with the prod profile and AOT, exits right after context refresh
+// (-Dspring.context.exit=onRefresh) and dumps every loaded class into build/cds/app.jsa.
+// Then start with build/cds/run.sh and compare time-to-first-request with the plain bootJar.
+val cdsArchive by tasks.registering(Exec::class) {
+    group = "build"
+    description = "Creates the AppCDS archive build/cds/app.jsa and the launcher build/cds/run.sh."
+    dependsOn(cdsAppJar, cdsLibs)
+    val launcher = javaToolchains.launcherFor(java.toolchain)
+    val dir = cdsDir
+    val mainClass = "com.example.springrest.SpringRestApplication"
+    // Relative class path, so the archive stays valid when build/cds is copied into an image
+    val classPath = dir.map { d ->
+        (listOf("app.jar") + d.dir("lib").asFile.list().orEmpty().sorted().map { "lib/$it" })
+            .joinToString(File.pathSeparator)
+    }
+    workingDir(dir)
+    outputs.file(dir.map { it.file("app.jsa") })
+    outputs.file(dir.map { it.file("run.sh") })
+    doFirst { executable = launcher.get().executablePath.asFile.absolutePath }
+    argumentProviders.add(CommandLineArgumentProvider {
+        listOf("-XX:ArchiveClassesAtExit=app.jsa", "-Dspring.context.exit=onRefresh",
+            "-Dspring.aot.enabled=true", "-cp", classPath.get(), mainClass, "--spring.profiles.active=prod")
+    })
+    doLast {
+        val script = dir.get().file("run.sh").asFile
+        script.writeText(
+            "#!/bin/sh\n" +
+            "# Generated by ./gradlew cdsArchive; use the same JDK that created app.jsa\n" +
+            "cd \"$(dirname \"$0\")\"\n" +
+            "exec java -XX:SharedArchiveFile=app.jsa -Dspring.aot.enabled=true -cp \"${classPath.get()}\" " +
+            "$mainClass --spring.profiles.active=prod \"$@\"\n")
+        script.setExecutable(true)
+    }
+}
+
+// --- Frontend: the React app (../Part2_Responsive-Frontend-React) served by the backend itself ---
+// ./gradlew bootJar -Pfrontend builds the Vite bundle (with .gz/.br variants) into static/, so the UI
+// and /api share one origin and API calls need no CORS preflight. Without -Pfrontend, npm is never run.
+val frontendDir = layout.projectDirectory.dir("../Part2_Responsive-Frontend-React")
+val frontendOut = layout.buildDirectory.dir("frontend")
+
+val frontendInstall by tasks.registering(Exec::class) {
+    description = "Installs the frontend's npm dependencies from package-lock.json."
+    workingDir(frontendDir)
+    inputs.file(frontendDir.file("package-lock.json"))
+    outputs.dir(frontendDir.dir("node_modules"))
+    commandLine("npm", "ci")
+}
+
+val frontendBuild by tasks.registering(Exec::class) {
+    group = "build"
+    description = "Builds the React bundle, precompressed, into build/frontend/static."
+    dependsOn(frontendInstall)
+    workingDir(frontendDir)
+    inputs.dir(frontendDir.dir("src"))
+    inputs.dir(frontendDir.dir("public"))
+    inputs.files(frontendDir.file("index.html"), frontendDir.file("vite.config.js"), frontendDir.file("package.json"))
+    outputs.dir(frontendOut)
+    commandLine("npm", "run", "build", "--",
+        "--outDir", frontendOut.get().dir("static").asFile.absolutePath, "--emptyOutDir")
+}
+
+if (providers.gradleProperty("frontend").isPresent) {
+    tasks.processResources { from(frontendBuild) }
+}
+
 tasks.withType<JavaCompile> {
     options.compilerArgs.add("-Amapstruct.defaultComponentModel=spring")
 }
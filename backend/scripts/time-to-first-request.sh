@@ -0,0 +1,28 @@
+#!/bin/sh
+# Measures time-to-first-request: from process launch until GET /api/products answers 200.
+#
+#   ./gradlew bootJar cdsArchive
+#   scripts/time-to-first-request.sh java -jar build/libs/backend-0.0.1-SNAPSHOT.jar        # before
+#   scripts/time-to-first-request.sh java -jar build/libs/backend-0.0.1-SNAPSHOT.jar \
+#       --spring.profiles.active=prod                                                      # prod profile only
+#   scripts/time-to-first-request.sh build/cds/run.sh                                      # AOT + AppCDS
+#   scripts/time-to-first-request.sh build/cds/run.sh --spring.profiles.active=prod,lazy   # + lazy init
+#
+# Run each variant a few times and compare medians; the app also logs its own view of the same
+# number ("First request ... completed N ms after JVM start").
+set -eu
+URL="${URL:-http://localhost:8080/api/products?size=1}"
+
+start=$(date +%s%N)
+"$@" >/tmp/ttfr.log 2>&1 &
+pid=$!
+trap 'kill $pid 2>/dev/null || true' EXIT
+
+until curl -fs -o /dev/null "$URL"; do
+  if ! kill -0 $pid 2>/dev/null; then
+    echo "application exited; see /tmp/ttfr.log" >&2
+    exit 1
+  fi
+  sleep 0.02
+done
+echo "time-to-first-request: $(( ($(date +%s%N) - start) / 1000000 )) ms"
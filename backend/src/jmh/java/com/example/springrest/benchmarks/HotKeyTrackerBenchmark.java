@@ -0,0 +1,61 @@
+package com.example.springrest.benchmarks;
+
+import com.example.springrest.hotkeys.HotKeyTracker;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request cost of {@link HotKeyTracker#record}, which {@code ProductController} pays on every get and search.
+ *
+ * <p>Keys follow a skewed (roughly Zipf-like) distribution over 100 000 product ids, so a few keys are
+ * hot and most are cold, as in real traffic. {@code single} measures one thread; {@code contended} runs
+ * four threads against the same tracker. The budget is 100 ns per call in both.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class HotKeyTrackerBenchmark {
+
+    private static final int KEYS = 1 << 16;
+
+    private HotKeyTracker<Long> tracker;
+    private Long[] keys;
+
+    @Setup
+    public void setUp() {
+        tracker = new HotKeyTracker<>(4096, 4, 20);
+        keys = new Long[KEYS];
+        Random random = new Random(42);
+        for (int i = 0; i < KEYS; i++) {
+            keys[i] = (long) Math.pow(100_000, random.nextDouble());
+        }
+    }
+
+    /**
+     * Per-thread cursor into the key sequence.
+     */
+    @State(Scope.Thread)
+    public static class Cursor {
+        int next;
+    }
+
+    @Benchmark
+    public void single(Cursor cursor) {
+        tracker.record(keys[cursor.next++ & (KEYS - 1)]);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void contended(Cursor cursor) {
+        tracker.record(keys[cursor.next++ & (KEYS - 1)]);
+    }
+}
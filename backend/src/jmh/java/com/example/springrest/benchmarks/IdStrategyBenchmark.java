@@ -0,0 +1,95 @@
+package com.example.springrest.benchmarks;
+
+import com.example.springrest.SpringRestApplication;
+import com.example.springrest.models.Product;
+import com.example.springrest.repositories.ProductRepo;
+import com.example.springrest.services.ProductService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Insert throughput with database identity ids vs. in-process time-ordered ids
+ * ({@code app.products.ids.strategy}).
+ *
+ * <pre>{@code
+ * ./gradlew jmh
+ * Benchmark                          (strategy)   Mode  Cnt  Score  Units
+ * IdStrategyBenchmark.insertOne        identity  thrpt    5    ...  ops/s
+ * IdStrategyBenchmark.insertOne            tsid  thrpt    5    ...  ops/s
+ * IdStrategyBenchmark.insertBatch      identity  thrpt    5    ...  ops/s
+ * IdStrategyBenchmark.insertBatch          tsid  thrpt    5    ...  ops/s
+ * }</pre>
+ *
+ * <p>{@code insertOne} is one product per transaction through {@link ProductService#create(Product)},
+ * where both strategies send one {@code INSERT}. {@code insertBatch} saves {@value #BATCH} products in
+ * one transaction, as group commit does: with identity ids that is still {@value #BATCH} statements,
+ * with time-ordered ids it is JDBC batches of {@code hibernate.jdbc.batch_size}. Scores are products per
+ * second. In-memory H2 has no network round trip, so a real database widens the gap.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class IdStrategyBenchmark {
+
+    static final int BATCH = 100;
+
+    @Param({"identity", "tsid"})
+    public String strategy;
+
+    private ConfigurableApplicationContext context;
+    private ProductService service;
+    private ProductRepo repo;
+    private TransactionOperations tx;
+
+    @Setup(Level.Trial)
+    public void boot() {
+        context = SpringApplication.run(SpringRestApplication.class,
+                "--spring.datasource.url=jdbc:h2:mem:bench-ids-" + strategy + ";DB_CLOSE_DELAY=-1",
+                "--app.products.ids.strategy=" + strategy,
+                "--spring.jpa.show-sql=false",
+                "--spring.jpa.properties.hibernate.generate_statistics=false",
+                "--spring.main.web-application-type=none",
+                "--spring.main.banner-mode=off",
+                "--logging.level.root=WARN");
+        service = context.getBean(ProductService.class);
+        repo = context.getBean(ProductRepo.class);
+        tx = context.getBean(TransactionOperations.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void shutdown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Product insertOne() {
+        return service.create(new Product("Bench insert", BigDecimal.TEN));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public List<Product> insertBatch() {
+        List<Product> products = new ArrayList<>(BATCH);
+        for (int i = 0; i < BATCH; i++) {
+            products.add(new Product("Bench batch " + i, BigDecimal.valueOf(i)));
+        }
+        return tx.execute(status -> repo.saveAll(products));
+    }
+}
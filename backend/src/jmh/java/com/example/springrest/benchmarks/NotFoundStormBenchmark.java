@@ -0,0 +1,114 @@
+package com.example.springrest.benchmarks;
+
+import com.example.springrest.SpringRestApplication;
+import com.example.springrest.controllers.ProductController;
+import com.example.springrest.exceptions.GlobalExceptionHandler;
+import com.example.springrest.exceptions.ResourceNotFoundException;
+import com.example.springrest.existence.KnownProductIds;
+import com.example.springrest.models.Product;
+import com.example.springrest.services.ProductService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A 404 storm: {@code GET /api/products/{id}} for ids that do not exist, before and after the cheap
+ * not-found path.
+ *
+ * <p>Each trial boots the application against a fresh in-memory H2 database with {@value #PRODUCTS}
+ * products and asks for random ids above them, from four threads. A call goes through the controller,
+ * and the resulting exception through the {@link GlobalExceptionHandler}, to the response bytes:</p>
+ * <ul>
+ *   <li>{@code before} — no negative-lookup filter, so every miss runs the breaker, bulkhead,
+ *       transaction and query; the error is rebuilt the old way, as an exception with a stack trace and
+ *       a concatenated message, put in a {@link Map} and serialized by Jackson.</li>
+ *   <li>{@code after} — the {@link KnownProductIds} filter answers the miss in the controller with a
+ *       stackless exception, and the handler writes the pre-encoded body.</li>
+ * </ul>
+ * <pre>{@code
+ * ./gradlew jmh
+ * Benchmark                     (path)  Mode  Cnt  Score  Units
+ * NotFoundStormBenchmark.miss   before  avgt    5    ...  us/op
+ * NotFoundStormBenchmark.miss    after  avgt    5    ...  us/op
+ * }</pre>
+ *
+ * <p>{@code before} understates the old cost: in a real request the stack trace also holds the servlet
+ * filters and dispatcher frames. Run with {@code -prof gc} to compare allocation per miss.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class NotFoundStormBenchmark {
+
+    static final int PRODUCTS = 1_000;
+
+    @Param({"before", "after"})
+    public String path;
+
+    private ConfigurableApplicationContext context;
+    private ProductController controller;
+    private GlobalExceptionHandler handler;
+    private ObjectMapper json;
+    private boolean before;
+    private long firstMissing;
+
+    @Setup(Level.Trial)
+    public void boot() {
+        before = "before".equals(path);
+        context = SpringApplication.run(SpringRestApplication.class,
+                "--spring.datasource.url=jdbc:h2:mem:bench-404-" + path + ";DB_CLOSE_DELAY=-1",
+                "--spring.jpa.show-sql=false",
+                "--app.products.known-ids.enabled=" + !before,
+                "--spring.main.web-application-type=none",
+                "--spring.main.banner-mode=off",
+                "--logging.level.root=WARN");
+        ProductService service = context.getBean(ProductService.class);
+        long last = 0;
+        for (int i = 0; i < PRODUCTS; i++) {
+            last = service.create(new Product("Bench " + i, BigDecimal.valueOf(i))).getId();
+        }
+        firstMissing = last + 1;
+        context.getBean(KnownProductIds.class).rebuild();
+        controller = context.getBean(ProductController.class);
+        handler = context.getBean(GlobalExceptionHandler.class);
+        json = context.getBean(ObjectMapper.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void shutdown() {
+        context.close();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public byte[] miss() throws JsonProcessingException {
+        long id = firstMissing + ThreadLocalRandom.current().nextInt(1_000_000);
+        try {
+            controller.getById(id, null);
+            throw new IllegalStateException("Product " + id + " should not exist");
+        } catch (ResourceNotFoundException ex) {
+            if (before) {
+                RuntimeException legacy = new RuntimeException("Product not found with ID: " + id);
+                return json.writeValueAsBytes(Map.of("error", legacy.getMessage()));
+            }
+            return handler.handleResourceNotFoundException(ex).getBody();
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.springrest.benchmarks;
+
+import com.example.springrest.SpringRestApplication;
+import com.example.springrest.controllers.StreamingProductPage;
+import com.example.springrest.mappers.ProductMapper;
+import com.example.springrest.models.Product;
+import com.example.springrest.services.ProductService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Large product pages (500 and 1000 rows), buffered {@code Page<ProductResponse>} vs. {@link StreamingProductPage}.
+ *
+ * <p>{@code buffered} is the classic path: entities, then a DTO list, then a {@code PageImpl}, then
+ * Jackson. {@code streamed} copies rows from the cursor into a token buffer, which is then written. Both
+ * write to a discarding stream, like a socket, so the encoded JSON is never held in memory. The query cache is off.
+ * Run with {@code -prof gc} to compare {@code gc.alloc.rate.norm} (bytes allocated per page) next to
+ * the average time.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PageStreamingBenchmark {
+
+    @Param({"500", "1000"})
+    public int pageSize;
+
+    private ConfigurableApplicationContext context;
+    private ProductService service;
+    private ProductMapper mapper;
+    private ObjectMapper json;
+    private Pageable page;
+
+    @Setup(Level.Trial)
+    public void boot() {
+        context = SpringApplication.run(SpringRestApplication.class,
+                "--spring.datasource.url=jdbc:h2:mem:bench-stream;DB_CLOSE_DELAY=-1",
+                "--spring.jpa.show-sql=false",
+                "--spring.jpa.properties.hibernate.cache.use_query_cache=false",
+                "--spring.main.web-application-type=none",
+                "--spring.main.banner-mode=off",
+                "--logging.level.root=WARN");
+        service = context.getBean(ProductService.class);
+        mapper = context.getBean(ProductMapper.class);
+        json = context.getBean(ObjectMapper.class);
+        page = PageRequest.of(1, pageSize, Sort.by("id"));
+        for (int i = 0; i < 3_000; i++) {
+            service.create(new Product("A reasonably descriptive product name #" + i, BigDecimal.valueOf(i, 2)));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void shutdown() {
+        context.close();
+    }
+
+    @Benchmark
+    public void buffered() throws Exception {
+        json.writeValue(OutputStream.nullOutputStream(), service.list(page).map(mapper::toResponse));
+    }
+
+    @Benchmark
+    public void streamed() throws Exception {
+        json.writeValue(OutputStream.nullOutputStream(),
+                StreamingProductPage.read(page, null, rows -> service.streamList(page, rows)));
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.springrest.benchmarks;
+
+import com.example.springrest.SpringRestApplication;
+import com.example.springrest.models.Product;
+import com.example.springrest.services.ProductService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.math.BigDecimal;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hit-path latency of {@link ProductService} reads with and without the Hibernate second-level
+ * and query cache.
+ *
+ * <p>Each trial boots the application against a fresh in-memory H2 database seeded with
+ * {@value #PRODUCTS} products. The {@code cache} parameter switches both caches on or off, so the
+ * report shows the two variants side by side:</p>
+ * <pre>{@code
+ * ./gradlew jmh
+ * Benchmark                        (cache)  Mode  Cnt   Score  Units
+ * ProductCacheBenchmark.getById       true  avgt    5     ...  us/op
+ * ProductCacheBenchmark.getById      false  avgt    5     ...  us/op
+ * ProductCacheBenchmark.searchPage    true  avgt    5     ...  us/op
+ * ProductCacheBenchmark.searchPage   false  avgt    5     ...  us/op
+ * }</pre>
+ *
+ * <p>{@code getById} picks a random id per call (all ids fit in the {@code products} region, so
+ * with the cache on every call is a hit after warm-up). {@code searchPage} repeats one search page,
+ * the typical "first page of a popular keyword" case.</p>
+ *
+ * <p>Correctness of invalidation after updates and deletes is covered by
+ * {@code ProductCacheTest}; this class only measures speed.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ProductCacheBenchmark {
+
+    static final int PRODUCTS = 1_000;
+
+    @Param({"true", "false"})
+    public boolean cache;
+
+    private ConfigurableApplicationContext context;
+    private ProductService service;
+    private long firstId;
+
+    @Setup(Level.Trial)
+    public void boot() {
+        context = SpringApplication.run(SpringRestApplication.class,
+                "--spring.datasource.url=jdbc:h2:mem:bench-" + cache + ";DB_CLOSE_DELAY=-1",
+                "--spring.jpa.show-sql=false",
+                "--spring.jpa.properties.hibernate.cache.use_second_level_cache=" + cache,
+                "--spring.jpa.properties.hibernate.cache.use_query_cache=" + cache,
+                "--spring.main.web-application-type=none",
+                "--spring.main.banner-mode=off",
+                "--logging.level.root=WARN");
+        service = context.getBean(ProductService.class);
+        firstId = service.create(new Product("Bench 0", BigDecimal.ONE)).getId();
+        for (int i = 1; i < PRODUCTS; i++) {
+            service.create(new Product("Bench " + i, BigDecimal.valueOf(i)));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void shutdown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Product getById() {
+        return service.getOrThrow(firstId + ThreadLocalRandom.current().nextInt(PRODUCTS));
+    }
+
+    @Benchmark
+    public Page<Product> searchPage() {
+        return service.searchByName("bench 1", PageRequest.of(0, 20, Sort.by("id")));
+    }
+}
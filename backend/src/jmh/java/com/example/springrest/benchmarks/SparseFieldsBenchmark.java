@@ -0,0 +1,82 @@
+package com.example.springrest.benchmarks;
+
+import com.example.springrest.SpringRestApplication;
+import com.example.springrest.mappers.ProductMapper;
+import com.example.springrest.models.Product;
+import com.example.springrest.models.ProductField;
+import com.example.springrest.services.ProductService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.math.BigDecimal;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of a 100-row product page, query plus JSON, with all fields vs. a sparse fieldset.
+ *
+ * <p>Both variants go through {@link ProductService} and Jackson the way the controller does. The
+ * query cache is off, so every invocation reads from the database. {@code full} is the
+ * {@code GET /api/products?size=100} path; {@code sparse} is {@code ?fields=id,price}, which selects
+ * two columns and writes two properties per product. Compare the scores; running with
+ * {@code -prof gc} also shows the difference in bytes allocated per page.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SparseFieldsBenchmark {
+
+    private static final Set<ProductField> ID_AND_PRICE = EnumSet.of(ProductField.ID, ProductField.PRICE);
+    private static final Pageable PAGE = PageRequest.of(0, 100, Sort.by("id"));
+
+    private ConfigurableApplicationContext context;
+    private ProductService service;
+    private ProductMapper mapper;
+    private ObjectMapper json;
+
+    @Setup(Level.Trial)
+    public void boot() {
+        context = SpringApplication.run(SpringRestApplication.class,
+                "--spring.datasource.url=jdbc:h2:mem:bench-fields;DB_CLOSE_DELAY=-1",
+                "--spring.jpa.show-sql=false",
+                "--spring.jpa.properties.hibernate.cache.use_query_cache=false",
+                "--spring.main.web-application-type=none",
+                "--spring.main.banner-mode=off",
+                "--logging.level.root=WARN");
+        service = context.getBean(ProductService.class);
+        mapper = context.getBean(ProductMapper.class);
+        json = context.getBean(ObjectMapper.class);
+        for (int i = 0; i < 1_000; i++) {
+            service.create(new Product("A reasonably descriptive product name #" + i, BigDecimal.valueOf(i, 2)));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void shutdown() {
+        context.close();
+    }
+
+    @Benchmark
+    public byte[] full() throws Exception {
+        return json.writeValueAsBytes(service.list(PAGE).map(mapper::toResponse));
+    }
+
+    @Benchmark
+    public byte[] sparse() throws Exception {
+        return json.writeValueAsBytes(service.list(PAGE, ID_AND_PRICE).map(p -> mapper.toResponse(p, ID_AND_PRICE)));
+    }
+}
@@ -2,6 +2,7 @@ package com.example.springrest;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
 
 /**
  * The entry point of the app
@@ -9,12 +10,18 @@ import org.springframework.boot.autoconfigure.SpringBootApplication;
 
 @SpringBootApplication
 public class SpringRestApplication {
+
+    /** Startup steps buffered for {@code /actuator/startup} and the startup report. */
+    static final int STARTUP_STEP_CAPACITY = 4096;
+
     /**
      * The Main method
      * @param args main program parameters
      */
     public static void main(String[] args) {
-        SpringApplication.run(SpringRestApplication.class, args);
+        SpringApplication app = new SpringApplication(SpringRestApplication.class);
+        app.setApplicationStartup(new BufferingApplicationStartup(STARTUP_STEP_CAPACITY));
+        app.run(args);
     }
 
 }
@@ -0,0 +1,338 @@
+package com.example.springrest.breaker;
+
+import com.example.springrest.exceptions.ServiceUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.exception.JDBCConnectionException;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.transaction.TransactionTimedOutException;
+
+import java.sql.SQLNonTransientConnectionException;
+import java.sql.SQLTimeoutException;
+import java.sql.SQLTransientConnectionException;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Circuit breaker in front of the database.
+ *
+ * <p>When the database is down or overloaded, every call would otherwise wait for a connection or a
+ * query timeout before failing, holding a request thread all the while. The breaker watches the
+ * outcome and latency of guarded calls and, once too many of them fail or are slow, rejects further
+ * calls at once with {@link ServiceUnavailableException} (HTTP 503) for a while.</p>
+ *
+ * <h2>States</h2>
+ * <ul>
+ *   <li><b>Closed:</b> calls run. The last {@code window-size} outcomes are kept; once at least
+ *       {@code minimum-calls} are recorded and the share of failed calls reaches
+ *       {@code failure-rate-threshold} percent, or the share of calls slower than
+ *       {@code slow-call-duration} reaches {@code slow-call-rate-threshold} percent, the breaker
+ *       opens.</li>
+ *   <li><b>Open:</b> calls are rejected for {@code open-duration}.</li>
+ *   <li><b>Half-open:</b> {@code half-open-calls} probes are let through, the rest rejected. One failed
+ *       or slow probe opens the breaker again; when all succeed it closes, with a fresh window.</li>
+ * </ul>
+ *
+ * <p>Only database trouble counts as a failure: connection, pool and transient data access errors (see
+ * {@link #isDatabaseFailure(Throwable)}). A 404, a validation error or a constraint violation says nothing
+ * about the database's health, and neither does a query or transaction that ran into its own deadline:
+ * a search for {@code q=a} timing out after two seconds is an expensive query, not a failing database. A
+ * guarded call made from within another guarded call on the same thread is neither checked nor recorded
+ * again.</p>
+ *
+ * <h2>Accounting</h2>
+ * <p>How much of a call is recorded depends on its {@link Accounting}:</p>
+ * <ul>
+ *   <li>{@link Accounting#ALL} — outcome and latency; for point reads and deletes, whose latency is
+ *       measured inside their bulkhead lane, so queueing for a slot does not count.</li>
+ *   <li>{@link Accounting#FAILURES} — outcome only; for writes that enter their lane inside the call,
+ *       where the measured time would include the wait for a slot.</li>
+ *   <li>{@link Accounting#NONE} — nothing; for scans (lists, searches, streamed pages). Their duration
+ *       depends on the query, so a storm of broad searches must not open the breaker for point reads
+ *       and writes. They are still rejected while the breaker is not closed.</li>
+ * </ul>
+ *
+ * <h2>Metrics</h2>
+ * <ul>
+ *   <li>{@code products.db.breaker.state} — 0 closed, 1 half-open, 2 open.</li>
+ *   <li>{@code products.db.breaker.rejected} — calls rejected while open or half-open.</li>
+ * </ul>
+ *
+ * @since 1.1
+ */
+@Slf4j
+public class CircuitBreaker {
+
+    /**
+     * Breaker state, in order of increasing severity.
+     */
+    public enum State { CLOSED, HALF_OPEN, OPEN }
+
+    /**
+     * What a call contributes to the breaker's window.
+     */
+    public enum Accounting {
+        /** Outcome and latency. */
+        ALL,
+        /** Outcome only; the call's duration includes time not spent on the database. */
+        FAILURES,
+        /** Nothing; the call is only checked against the state. */
+        NONE
+    }
+
+    private static final Call NOOP = new Call(null, Accounting.NONE, false, 0);
+
+    private final CircuitBreakerProperties properties;
+    private final LongSupplier clock;
+    private final ThreadLocal<Boolean> inCall = new ThreadLocal<>();
+    private final Counter rejected;
+
+    // Guarded by this
+    private final boolean[] failed;
+    private final boolean[] slow;
+    private int next;
+    private int recorded;
+    private int failures;
+    private int slowCalls;
+    private State state = State.CLOSED;
+    private long openedAt;
+    private int probesStarted;
+    private int probesSucceeded;
+
+    /**
+     * @param properties thresholds and durations
+     * @param meters     registry for the breaker metrics
+     */
+    public CircuitBreaker(CircuitBreakerProperties properties, MeterRegistry meters) {
+        this(properties, meters, System::nanoTime);
+    }
+
+    /**
+     * @param properties thresholds and durations
+     * @param meters     registry for the breaker metrics
+     * @param clock      monotonic time source in nanoseconds (replaceable in tests)
+     */
+    CircuitBreaker(CircuitBreakerProperties properties, MeterRegistry meters, LongSupplier clock) {
+        this.properties = properties;
+        this.clock = clock;
+        this.failed = new boolean[Math.max(1, properties.windowSize())];
+        this.slow = new boolean[failed.length];
+        this.rejected = Counter.builder("products.db.breaker.rejected")
+                .description("Database calls rejected by the open circuit breaker")
+                .register(meters);
+        Gauge.builder("products.db.breaker.state", this, b -> b.state().ordinal())
+                .description("Database circuit breaker state: 0 closed, 1 half-open, 2 open")
+                .register(meters);
+    }
+
+    /**
+     * @return the current state; an open breaker whose {@code open-duration} has passed is reported as
+     *         open until the next call makes it half-open
+     */
+    public synchronized State state() {
+        return state;
+    }
+
+    /**
+     * Runs a call behind the breaker.
+     *
+     * @param work the call
+     * @param <T>  result type
+     * @return what {@code work} returned
+     * @throws ServiceUnavailableException if the breaker rejects the call
+     */
+    public <T> T call(Supplier<T> work) {
+        Call call = acquire();
+        try {
+            T result = work.get();
+            call.succeeded();
+            return result;
+        } catch (RuntimeException | Error ex) {
+            call.failed(ex);
+            throw ex;
+        }
+    }
+
+    /**
+     * Starts a fully recorded call; the caller must end it with {@link Call#succeeded()} or
+     * {@link Call#failed(Throwable)}.
+     *
+     * @return the call handle
+     * @throws ServiceUnavailableException if the breaker rejects the call
+     */
+    public Call acquire() {
+        return acquire(Accounting.ALL);
+    }
+
+    /**
+     * Starts a call; the caller must end it with {@link Call#succeeded()} or {@link Call#failed(Throwable)}.
+     *
+     * @param accounting what the call contributes to the window; {@link Accounting#NONE} calls are only
+     *                   let through while the breaker is closed and are never half-open probes
+     * @return the call handle
+     * @throws ServiceUnavailableException if the breaker rejects the call
+     */
+    public Call acquire(Accounting accounting) {
+        if (!properties.enabled() || Boolean.TRUE.equals(inCall.get())) {
+            return NOOP;
+        }
+        boolean probe;
+        synchronized (this) {
+            if (state == State.OPEN && clock.getAsLong() - openedAt >= properties.openDuration().toNanos()) {
+                transition(State.HALF_OPEN);
+                probesStarted = 0;
+                probesSucceeded = 0;
+            }
+            if (state == State.OPEN
+                    || (state == State.HALF_OPEN && (accounting == Accounting.NONE
+                    || probesStarted >= properties.halfOpenCalls()))) {
+                rejected.increment();
+                throw new ServiceUnavailableException("Database unavailable, please retry later");
+            }
+            probe = state == State.HALF_OPEN;
+            if (probe) {
+                probesStarted++;
+            }
+        }
+        inCall.set(Boolean.TRUE);
+        return new Call(this, accounting, probe, clock.getAsLong());
+    }
+
+    /**
+     * Whether an exception means the database is unavailable or overloaded.
+     *
+     * @param ex an exception thrown by a database call
+     * @return {@code true} for connection, pool and transient data access errors, anywhere in the cause
+     *         chain; lock conflicts and deadlines (query and transaction timeouts) are not counted
+     */
+    public static boolean isDatabaseFailure(Throwable ex) {
+        for (Throwable t = ex; t != null; t = t.getCause()) {
+            if (t instanceof PessimisticLockingFailureException
+                    || t instanceof QueryTimeoutException
+                    || t instanceof TransactionTimedOutException
+                    || t instanceof jakarta.persistence.QueryTimeoutException
+                    || t instanceof SQLTimeoutException) {
+                return false;
+            }
+            if (t instanceof TransientDataAccessException
+                    || t instanceof DataAccessResourceFailureException
+                    || t instanceof CannotCreateTransactionException
+                    || t instanceof JDBCConnectionException
+                    || t instanceof SQLTransientConnectionException
+                    || t instanceof SQLNonTransientConnectionException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private synchronized void record(boolean probe, boolean callFailed, boolean callSlow) {
+        if (probe) {
+            if (state != State.HALF_OPEN) {
+                return;
+            }
+            if (callFailed || callSlow) {
+                open();
+            } else if (++probesSucceeded >= properties.halfOpenCalls()) {
+                close();
+            }
+            return;
+        }
+        if (state != State.CLOSED) {
+            return;
+        }
+        if (recorded == failed.length) {
+            failures -= failed[next] ? 1 : 0;
+            slowCalls -= slow[next] ? 1 : 0;
+        } else {
+            recorded++;
+        }
+        failed[next] = callFailed;
+        slow[next] = callSlow;
+        failures += callFailed ? 1 : 0;
+        slowCalls += callSlow ? 1 : 0;
+        next = (next + 1) % failed.length;
+        if (recorded >= properties.minimumCalls()
+                && (failures * 100 >= properties.failureRateThreshold() * recorded
+                || slowCalls * 100 >= properties.slowCallRateThreshold() * recorded)) {
+            open();
+        }
+    }
+
+    private void open() {
+        if (state == State.CLOSED) {
+            log.warn("Database circuit breaker opened ({} of {} recent calls failed, {} slow)",
+                    failures, recorded, slowCalls);
+        } else if (state == State.HALF_OPEN) {
+            log.warn("Database circuit breaker opened again after a failed or slow probe");
+        }
+        transition(State.OPEN);
+        openedAt = clock.getAsLong();
+    }
+
+    private void close() {
+        transition(State.CLOSED);
+        next = 0;
+        recorded = 0;
+        failures = 0;
+        slowCalls = 0;
+        log.info("Database circuit breaker closed");
+    }
+
+    private void transition(State to) {
+        log.debug("Database circuit breaker {} -> {}", state, to);
+        state = to;
+    }
+
+    /**
+     * One call let through by the breaker.
+     */
+    public static final class Call {
+        private final CircuitBreaker breaker;
+        private final Accounting accounting;
+        private final boolean probe;
+        private final long startedAt;
+
+        private Call(CircuitBreaker breaker, Accounting accounting, boolean probe, long startedAt) {
+            this.breaker = breaker;
+            this.accounting = accounting;
+            this.probe = probe;
+            this.startedAt = startedAt;
+        }
+
+        /**
+         * Records a call that returned normally.
+         */
+        public void succeeded() {
+            end(null);
+        }
+
+        /**
+         * Records a call that threw.
+         *
+         * @param ex what it threw; counts as a failure only if {@link #isDatabaseFailure(Throwable)}
+         */
+        public void failed(Throwable ex) {
+            end(ex);
+        }
+
+        private void end(Throwable ex) {
+            if (breaker == null) {
+                return;
+            }
+            breaker.inCall.remove();
+            if (accounting == Accounting.NONE) {
+                return;
+            }
+            boolean slow = accounting == Accounting.ALL
+                    && breaker.clock.getAsLong() - startedAt > breaker.properties.slowCallDuration().toNanos();
+            breaker.record(probe, ex != null && isDatabaseFailure(ex), slow);
+        }
+    }
+}
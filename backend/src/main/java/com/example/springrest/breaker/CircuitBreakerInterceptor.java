@@ -0,0 +1,59 @@
+package com.example.springrest.breaker;
+
+import com.example.springrest.bulkhead.Bulkheaded;
+import com.example.springrest.bulkhead.Lane;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+
+/**
+ * Runs the methods of {@link Guarded @Guarded} beans behind the database {@link CircuitBreaker}.
+ *
+ * <p>Registered by {@link com.example.springrest.config.CircuitBreakerConfig} after the bulkhead and
+ * ahead of the transaction interceptor: an open breaker rejects a call before it takes a connection,
+ * and the latency it records starts once the call has its lane slot. Methods inherited from
+ * {@link Object} are passed through unrecorded.</p>
+ *
+ * <p>The method's {@link Bulkheaded @Bulkheaded} lane decides the {@link CircuitBreaker.Accounting}:
+ * {@link Lane#SCAN} methods are not recorded, other declared lanes are fully recorded, and methods that
+ * enter their lane in their body record only their outcome.</p>
+ *
+ * @since 1.1
+ */
+public class CircuitBreakerInterceptor implements MethodInterceptor {
+
+    private final ObjectProvider<CircuitBreaker> breaker;
+
+    /**
+     * @param breaker the breaker, resolved on first use so that advisor creation does not initialize
+     *                the meter registry early
+     */
+    public CircuitBreakerInterceptor(ObjectProvider<CircuitBreaker> breaker) {
+        this.breaker = breaker;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        if (!AnnotatedElementUtils.hasAnnotation(invocation.getMethod().getDeclaringClass(), Guarded.class)) {
+            return invocation.proceed();
+        }
+        CircuitBreaker.Call call = breaker.getObject().acquire(accounting(invocation));
+        try {
+            Object result = invocation.proceed();
+            call.succeeded();
+            return result;
+        } catch (Throwable ex) {
+            call.failed(ex);
+            throw ex;
+        }
+    }
+
+    private static CircuitBreaker.Accounting accounting(MethodInvocation invocation) {
+        Bulkheaded lane = AnnotatedElementUtils.findMergedAnnotation(invocation.getMethod(), Bulkheaded.class);
+        if (lane == null) {
+            return CircuitBreaker.Accounting.FAILURES;
+        }
+        return lane.value() == Lane.SCAN ? CircuitBreaker.Accounting.NONE : CircuitBreaker.Accounting.ALL;
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.springrest.breaker;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Settings for the database {@link CircuitBreaker}, bound from {@code app.db-breaker.*}.
+ *
+ * <p><strong>Example</strong>:</p>
+ * <pre>{@code
+ * app.db-breaker.enabled=true
+ * app.db-breaker.window-size=20
+ * app.db-breaker.failure-rate-threshold=50
+ * app.db-breaker.slow-call-duration=1s
+ * app.db-breaker.open-duration=10s
+ * }</pre>
+ *
+ * @param enabled               turn the breaker on; when off, guarded calls always run
+ * @param windowSize            number of most recent calls the rates are computed over
+ * @param minimumCalls          calls needed in the window before the breaker may open
+ * @param failureRateThreshold  percentage of failed calls that opens the breaker
+ * @param slowCallDuration      latency budget; slower calls count as slow
+ * @param slowCallRateThreshold percentage of slow calls that opens the breaker
+ * @param openDuration          how long the breaker stays open before it lets probes through
+ * @param halfOpenCalls         probes let through when half-open; all must succeed to close again
+ * @since 1.1
+ */
+@ConfigurationProperties(prefix = "app.db-breaker")
+public record CircuitBreakerProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("20") int windowSize,
+        @DefaultValue("10") int minimumCalls,
+        @DefaultValue("50") int failureRateThreshold,
+        @DefaultValue("1s") Duration slowCallDuration,
+        @DefaultValue("80") int slowCallRateThreshold,
+        @DefaultValue("10s") Duration openDuration,
+        @DefaultValue("3") int halfOpenCalls
+) {}
@@ -0,0 +1,22 @@
+package com.example.springrest.breaker;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Puts the public methods of a bean behind the database {@link CircuitBreaker}.
+ *
+ * <p>Meant for the services that own repository access: the breaker is checked before the method's
+ * transaction (and connection) is started, so an open breaker answers at once instead of waiting on
+ * the connection pool. Enforced by {@link CircuitBreakerInterceptor}.</p>
+ *
+ * @since 1.1
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface Guarded {
+}
@@ -0,0 +1,224 @@
+package com.example.springrest.breaker;
+
+import com.example.springrest.exceptions.ServiceUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Last-known-good copies of read responses, served when the database cannot answer.
+ *
+ * <p>For browsing, a product or a page that is a few minutes old is far better than an error. Each
+ * successful read passed through {@link #read(Object, Supplier)} is remembered under its key. The copy
+ * is served instead of a fresh read when:</p>
+ * <ul>
+ *   <li>the database {@link CircuitBreaker} is not closed: the copy is returned at once, with
+ *       {@code Warning: 110 "Response is Stale"}, and the read is repeated in the background. While
+ *       the breaker is open that repetition is rejected cheaply; once it lets probes through, the
+ *       background read is the probe, so no client waits on it;</li>
+ *   <li>the fresh read fails with a database error or a 503 (open breaker, full bulkhead lane): the
+ *       copy is returned with {@code Warning: 111 "Revalidation Failed"}.</li>
+ * </ul>
+ * <p>The response also carries {@code Age}, the copy's age in seconds. Without a copy, errors
+ * propagate as usual.</p>
+ *
+ * <p>Slow reads are not raced against a timer on another thread: that would cost a thread hop per
+ * read and lose thread-bound request state such as read-your-writes pinning. Calls slower than
+ * {@code app.db-breaker.slow-call-duration} instead count towards opening the breaker, after which
+ * copies are served without waiting.</p>
+ *
+ * <p>Copies are kept in an LRU map of {@code max-entries} and not served once older than
+ * {@code max-age}. They are not invalidated by writes: while the database is healthy they are only
+ * ever overwritten, and when it is not, a stale answer is exactly what is wanted.</p>
+ *
+ * <h2>Metrics</h2>
+ * <p>{@code products.stale.served{reason=breaker-open|read-failed}} counts copies served.</p>
+ *
+ * <h2>Configuration</h2>
+ * <pre>{@code
+ * app.products.stale.enabled=true
+ * app.products.stale.max-entries=1000
+ * app.products.stale.max-age=10m
+ * app.products.stale.revalidation-threads=2
+ * }</pre>
+ *
+ * @since 1.1
+ */
+@Slf4j
+@Component
+public class StaleReads {
+
+    static final String RESPONSE_IS_STALE = "110 - \"Response is Stale\"";
+    static final String REVALIDATION_FAILED = "111 - \"Revalidation Failed\"";
+
+    private final CircuitBreaker breaker;
+    private final boolean enabled;
+    private final long maxAgeNanos;
+    private final Map<Object, Copy> copies;
+    private final Set<Object> revalidating = ConcurrentHashMap.newKeySet();
+    private final ThreadPoolExecutor revalidation;
+    private final Counter servedWhileOpen;
+    private final Counter servedAfterFailure;
+
+    /**
+     * @param breaker             the database circuit breaker
+     * @param meters              registry for the served counters
+     * @param enabled             whether copies are kept and served
+     * @param maxEntries          most copies kept (least recently used are dropped)
+     * @param maxAge              oldest copy that is still served
+     * @param revalidationThreads threads repeating reads in the background
+     */
+    public StaleReads(CircuitBreaker breaker,
+                      MeterRegistry meters,
+                      @Value("${app.products.stale.enabled:true}") boolean enabled,
+                      @Value("${app.products.stale.max-entries:1000}") int maxEntries,
+                      @Value("${app.products.stale.max-age:10m}") Duration maxAge,
+                      @Value("${app.products.stale.revalidation-threads:2}") int revalidationThreads) {
+        this.breaker = breaker;
+        this.enabled = enabled;
+        this.maxAgeNanos = maxAge.toNanos();
+        this.copies = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Object, Copy> eldest) {
+                return size() > maxEntries;
+            }
+        };
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("stale-revalidate-");
+        threadFactory.setDaemon(true);
+        this.revalidation = new ThreadPoolExecutor(revalidationThreads, revalidationThreads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(100), threadFactory, new ThreadPoolExecutor.AbortPolicy());
+        this.servedWhileOpen = Counter.builder("products.stale.served").tag("reason", "breaker-open")
+                .description("Last-known-good responses served instead of a database read")
+                .register(meters);
+        this.servedAfterFailure = Counter.builder("products.stale.served").tag("reason", "read-failed")
+                .description("Last-known-good responses served instead of a database read")
+                .register(meters);
+    }
+
+    /**
+     * A read's answer.
+     *
+     * @param value   the response body
+     * @param age     how old it is; {@link Duration#ZERO} when fresh
+     * @param warning {@code Warning} header value for a stale copy, {@code null} when fresh
+     * @param <T>     body type
+     */
+    public record Served<T>(T value, Duration age, String warning) {
+
+        /**
+         * @param value a freshly read body
+         * @param <T>   body type
+         * @return it, not stale
+         */
+        public static <T> Served<T> fresh(T value) {
+            return new Served<>(value, Duration.ZERO, null);
+        }
+
+        /**
+         * @return {@code true} if this is a last-known-good copy
+         */
+        public boolean stale() {
+            return warning != null;
+        }
+    }
+
+    /**
+     * Reads fresh if possible, otherwise serves the last good copy.
+     *
+     * @param key   identifies the read (endpoint and parameters); needs value-based {@code equals}
+     * @param fresh the database read, producing the response body
+     * @param <T>   body type
+     * @return the fresh body, or a stale copy with its age and warning
+     * @throws RuntimeException whatever {@code fresh} throws, if no copy can stand in for it
+     */
+    @SuppressWarnings("unchecked")
+    public <T> Served<T> read(Object key, Supplier<T> fresh) {
+        if (!enabled) {
+            return Served.fresh(fresh.get());
+        }
+        Copy copy = copy(key);
+        if (copy != null && breaker.state() != CircuitBreaker.State.CLOSED) {
+            revalidate(key, fresh);
+            servedWhileOpen.increment();
+            return new Served<>((T) copy.value(), copy.age(), RESPONSE_IS_STALE);
+        }
+        T value;
+        try {
+            value = fresh.get();
+        } catch (RuntimeException ex) {
+            if (copy == null || !(ex instanceof ServiceUnavailableException || CircuitBreaker.isDatabaseFailure(ex))) {
+                throw ex;
+            }
+            log.debug("Serving last good copy of {}: {}", key, ex.toString());
+            servedAfterFailure.increment();
+            return new Served<>((T) copy.value(), copy.age(), REVALIDATION_FAILED);
+        }
+        remember(key, value);
+        return Served.fresh(value);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        revalidation.shutdownNow();
+    }
+
+    private void revalidate(Object key, Supplier<?> fresh) {
+        if (!revalidating.add(key)) {
+            return;
+        }
+        try {
+            revalidation.execute(() -> {
+                try {
+                    remember(key, fresh.get());
+                } catch (RuntimeException ex) {
+                    log.debug("Revalidation of {} failed: {}", key, ex.toString());
+                } finally {
+                    revalidating.remove(key);
+                }
+            });
+        } catch (RejectedExecutionException ex) {
+            revalidating.remove(key);
+        }
+    }
+
+    private Copy copy(Object key) {
+        synchronized (copies) {
+            Copy copy = copies.get(key);
+            if (copy != null && System.nanoTime() - copy.storedAt() > maxAgeNanos) {
+                copies.remove(key);
+                return null;
+            }
+            return copy;
+        }
+    }
+
+    private void remember(Object key, Object value) {
+        synchronized (copies) {
+            copies.put(key, new Copy(value, System.nanoTime()));
+        }
+    }
+
+    /**
+     * A remembered response body and when it was read.
+     */
+    private record Copy(Object value, long storedAt) {
+        Duration age() {
+            return Duration.ofNanos(System.nanoTime() - storedAt);
+        }
+    }
+}
@@ -0,0 +1,22 @@
+/**
+ * Database circuit breaker and last-known-good reads.
+ *
+ * <p>When the database has a hiccup, calls would otherwise pile up on the connection pool until they
+ * time out, and every read would fail even though slightly stale data is fine for browsing. The
+ * {@link com.example.springrest.breaker.CircuitBreaker} rejects database calls at once while the
+ * database is failing or too slow, so writes fail fast with HTTP 503, and
+ * {@link com.example.springrest.breaker.StaleReads} answers reads from their last good response in the
+ * meantime.</p>
+ *
+ * <h2>Contents</h2>
+ * <ul>
+ *   <li>{@link com.example.springrest.breaker.CircuitBreaker} — closed / open / half-open state over a window of recent calls.</li>
+ *   <li>{@link com.example.springrest.breaker.Guarded} — puts a service's methods behind the breaker.</li>
+ *   <li>{@link com.example.springrest.breaker.CircuitBreakerInterceptor} — enforces it around guarded methods.</li>
+ *   <li>{@link com.example.springrest.breaker.CircuitBreakerProperties} — {@code app.db-breaker.*} settings.</li>
+ *   <li>{@link com.example.springrest.breaker.StaleReads} — last-known-good copies with {@code Age} and {@code Warning}.</li>
+ * </ul>
+ *
+ * @see com.example.springrest.config.CircuitBreakerConfig
+ */
+package com.example.springrest.breaker;
@@ -0,0 +1,39 @@
+package com.example.springrest.bulkhead;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+
+/**
+ * Runs {@link Bulkheaded @Bulkheaded} methods inside their {@link Lane}.
+ *
+ * <p>Registered by {@link com.example.springrest.config.BulkheadConfig} with a higher precedence than
+ * the transaction interceptor, so the lane is entered before a transaction (and its connection) is
+ * started and left after it has ended.</p>
+ *
+ * @since 1.1
+ */
+public class BulkheadInterceptor implements MethodInterceptor {
+
+    private final ObjectProvider<Bulkheads> bulkheads;
+
+    /**
+     * @param bulkheads lane registry, resolved on first use so that advisor creation does not
+     *                  initialize the meter registry early
+     */
+    public BulkheadInterceptor(ObjectProvider<Bulkheads> bulkheads) {
+        this.bulkheads = bulkheads;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        Bulkheaded lane = AnnotatedElementUtils.findMergedAnnotation(invocation.getMethod(), Bulkheaded.class);
+        if (lane == null) {
+            return invocation.proceed();
+        }
+        try (Bulkheads.Permit permit = bulkheads.getObject().enter(lane.value())) {
+            return invocation.proceed();
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.springrest.bulkhead;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Settings for {@link Bulkheads}, bound from {@code app.bulkheads.*}.
+ *
+ * <p><strong>Example</strong>:</p>
+ * <pre>{@code
+ * app.bulkheads.enabled=true
+ * app.bulkheads.point-read.max-concurrent=4
+ * app.bulkheads.scan.max-concurrent=3
+ * app.bulkheads.scan.max-waiting=10
+ * app.bulkheads.write.max-wait=200ms
+ * }</pre>
+ *
+ * <p>Keep the sum of {@code max-concurrent} at or below {@code spring.datasource.hikari.maximum-pool-size}
+ * so that every lane can always get the connections it was promised.</p>
+ *
+ * @param enabled   turn lanes on; when off, annotated methods run unrestricted
+ * @param pointRead limits for {@link Lane#POINT_READ}
+ * @param scan      limits for {@link Lane#SCAN}
+ * @param write     limits for {@link Lane#WRITE}
+ * @since 1.1
+ */
+@ConfigurationProperties(prefix = "app.bulkheads")
+public record BulkheadProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue LaneLimits pointRead,
+        @DefaultValue LaneLimits scan,
+        @DefaultValue LaneLimits write
+) {
+
+    /**
+     * Limits of one lane.
+     *
+     * @param maxConcurrent calls running at once (each holds at most one connection)
+     * @param maxWaiting    calls allowed to wait for a slot; further calls are rejected at once
+     * @param maxWait       how long a waiting call waits before it is rejected
+     */
+    public record LaneLimits(
+            @DefaultValue("3") int maxConcurrent,
+            @DefaultValue("20") int maxWaiting,
+            @DefaultValue("100ms") Duration maxWait
+    ) {}
+
+    /**
+     * @param lane a lane
+     * @return the limits configured for it
+     */
+    public LaneLimits limits(Lane lane) {
+        return switch (lane) {
+            case POINT_READ -> pointRead;
+            case SCAN -> scan;
+            case WRITE -> write;
+        };
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.springrest.bulkhead;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Runs the annotated method inside a {@link Lane} of {@link Bulkheads}.
+ *
+ * <p>The permit is taken <em>before</em> the method's transaction begins (see
+ * {@link BulkheadInterceptor}), so a caller waiting for its lane never holds a database connection.
+ * Calls that are already inside the same lane on the same thread pass straight through.</p>
+ *
+ * <pre>{@code
+ * @Bulkheaded(Lane.POINT_READ)
+ * @Transactional(readOnly = true)
+ * public Product getOrThrow(Long id) { ... }
+ * }</pre>
+ *
+ * @since 1.1
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface Bulkheaded {
+
+    /**
+     * @return the lane the method runs in
+     */
+    Lane value();
+}
@@ -0,0 +1,146 @@
+package com.example.springrest.bulkhead;
+
+import com.example.springrest.exceptions.ServiceUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Per-{@link Lane} concurrency limits with short, bounded waiting lines.
+ *
+ * <p>Each lane owns a semaphore of {@code max-concurrent} permits. Because a service call holds at
+ * most one connection, the permits partition the connection pool between the lanes: scans can never
+ * hold more than their share, and the remaining connections stay free for point reads and writes.
+ * A caller that finds its lane full waits at most {@code max-wait}, and only if fewer than
+ * {@code max-waiting} callers are already waiting; otherwise it gets {@link ServiceUnavailableException}
+ * (HTTP 503) right away.</p>
+ *
+ * <p>Permits are reentrant per thread and lane, so a lane-annotated method that calls another method of
+ * the same lane through a proxy does not deadlock against itself.</p>
+ *
+ * <h2>Metrics</h2>
+ * <ul>
+ *   <li>{@code products.bulkhead.active{lane}} — calls currently running in the lane.</li>
+ *   <li>{@code products.bulkhead.waiting{lane}} — calls waiting for a slot.</li>
+ *   <li>{@code products.bulkhead.rejected{lane}} — calls turned away with 503.</li>
+ * </ul>
+ *
+ * @since 1.1
+ */
+public class Bulkheads {
+
+    private static final Permit NOOP = () -> { };
+
+    private final boolean enabled;
+    private final Map<Lane, Compartment> compartments = new EnumMap<>(Lane.class);
+
+    /**
+     * @param properties lane limits
+     * @param meters     registry for the lane metrics
+     */
+    public Bulkheads(BulkheadProperties properties, MeterRegistry meters) {
+        this.enabled = properties.enabled();
+        for (Lane lane : Lane.values()) {
+            compartments.put(lane, new Compartment(lane, properties.limits(lane), meters));
+        }
+    }
+
+    /**
+     * Enters a lane, waiting briefly for a slot if necessary.
+     *
+     * <pre>{@code
+     * try (Bulkheads.Permit permit = bulkheads.enter(Lane.SCAN)) {
+     *     return runTheScan();
+     * }
+     * }</pre>
+     *
+     * @param lane the lane to enter
+     * @return a permit to close when the work is done
+     * @throws ServiceUnavailableException if the lane is full
+     */
+    public Permit enter(Lane lane) {
+        return enabled ? compartments.get(lane).enter() : NOOP;
+    }
+
+    /**
+     * A slot in a lane; closing it frees the slot.
+     */
+    @FunctionalInterface
+    public interface Permit extends AutoCloseable {
+
+        @Override
+        void close();
+    }
+
+    /**
+     * Permits, waiting line and metrics of one lane.
+     */
+    private static final class Compartment {
+
+        private final Lane lane;
+        private final Semaphore slots;
+        private final int maxConcurrent;
+        private final int maxWaiting;
+        private final Duration maxWait;
+        private final AtomicInteger waiting = new AtomicInteger();
+        private final ThreadLocal<int[]> depth = ThreadLocal.withInitial(() -> new int[1]);
+        private final Counter rejected;
+        private final Permit release;
+
+        Compartment(Lane lane, BulkheadProperties.LaneLimits limits, MeterRegistry meters) {
+            this.lane = lane;
+            this.maxConcurrent = limits.maxConcurrent();
+            this.maxWaiting = limits.maxWaiting();
+            this.maxWait = limits.maxWait();
+            this.slots = new Semaphore(maxConcurrent, true);
+            this.rejected = Counter.builder("products.bulkhead.rejected").tag("lane", lane.tag()).register(meters);
+            Gauge.builder("products.bulkhead.active", slots, s -> maxConcurrent - s.availablePermits())
+                    .tag("lane", lane.tag()).register(meters);
+            Gauge.builder("products.bulkhead.waiting", waiting, AtomicInteger::get)
+                    .tag("lane", lane.tag()).register(meters);
+            this.release = () -> {
+                int[] held = depth.get();
+                if (--held[0] == 0) {
+                    slots.release();
+                }
+            };
+        }
+
+        Permit enter() {
+            int[] held = depth.get();
+            if (held[0] > 0) {
+                held[0]++;
+                return release;
+            }
+            if (!slots.tryAcquire() && !awaitSlot()) {
+                rejected.increment();
+                throw new ServiceUnavailableException(
+                        "Too many concurrent " + lane.tag() + " requests, please retry");
+            }
+            held[0] = 1;
+            return release;
+        }
+
+        private boolean awaitSlot() {
+            if (waiting.incrementAndGet() > maxWaiting) {
+                waiting.decrementAndGet();
+                return false;
+            }
+            try {
+                return slots.tryAcquire(maxWait.toNanos(), TimeUnit.NANOSECONDS);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return false;
+            } finally {
+                waiting.decrementAndGet();
+            }
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.springrest.bulkhead;
+
+import java.util.Locale;
+
+/**
+ * Kinds of work that are isolated from each other by {@link Bulkheads}.
+ *
+ * @since 1.1
+ */
+public enum Lane {
+
+    /** Lookups by primary key: short, predictable, latency-sensitive. */
+    POINT_READ,
+
+    /** Lists and searches: may read many rows and run long. */
+    SCAN,
+
+    /** Creates, updates and deletes. */
+    WRITE;
+
+    /**
+     * @return lower-case name used in metric tags and messages, e.g. {@code point_read}
+     */
+    public String tag() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+}
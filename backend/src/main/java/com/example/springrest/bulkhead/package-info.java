@@ -0,0 +1,20 @@
+/**
+ * Bulkheads: separate, bounded lanes for cheap point reads, expensive scans and writes.
+ *
+ * <p>Every request shares the Tomcat thread pool and the Hikari connection pool, so a burst of slow
+ * scans could otherwise occupy all connections and stall {@code getById} and writes behind it. Each
+ * {@link com.example.springrest.bulkhead.Lane} gets its own share of connections and its own short
+ * waiting line; a full lane rejects quickly with HTTP 503 instead of borrowing from the others.</p>
+ *
+ * <h2>Contents</h2>
+ * <ul>
+ *   <li>{@link com.example.springrest.bulkhead.Lane} — the lanes.</li>
+ *   <li>{@link com.example.springrest.bulkhead.Bulkheaded} — marks a service method with its lane.</li>
+ *   <li>{@link com.example.springrest.bulkhead.Bulkheads} — the per-lane limits, permits and metrics.</li>
+ *   <li>{@link com.example.springrest.bulkhead.BulkheadInterceptor} — enforces the lane around annotated methods.</li>
+ *   <li>{@link com.example.springrest.bulkhead.BulkheadProperties} — {@code app.bulkheads.*} settings.</li>
+ * </ul>
+ *
+ * @see com.example.springrest.config.BulkheadConfig
+ */
+package com.example.springrest.bulkhead;
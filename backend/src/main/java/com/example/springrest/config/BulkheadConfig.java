@@ -0,0 +1,81 @@
+package com.example.springrest.config;
+
+import com.example.springrest.bulkhead.BulkheadInterceptor;
+import com.example.springrest.bulkhead.BulkheadProperties;
+import com.example.springrest.bulkhead.Bulkheaded;
+import com.example.springrest.bulkhead.Bulkheads;
+import com.example.springrest.bulkhead.Lane;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.annotation.AnnotationMatchingPointcut;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Role;
+import org.springframework.core.Ordered;
+
+/**
+ * Configuration for bulkheads: isolated lanes for point reads, scans and writes.
+ *
+ * <p>Creates the {@link Bulkheads} registry from {@code app.bulkheads.*} and an AOP advisor that applies
+ * {@link BulkheadInterceptor} to every {@link Bulkheaded @Bulkheaded} method. The advisor is an
+ * infrastructure bean, so the auto-proxy creator that already proxies {@code @Transactional} services
+ * picks it up, and it is ordered right before the circuit breaker (see {@link CircuitBreakerConfig}) so
+ * the lane is entered before the breaker starts timing the call and before the transaction begins.</p>
+ *
+ * <h2>Sizing</h2>
+ * <p>The lanes split the connection pool. At startup the sum of {@code max-concurrent} is compared
+ * with {@code spring.datasource.hikari.maximum-pool-size}; if it is larger, lanes can still starve
+ * each other at the pool and a warning is logged.</p>
+ *
+ * @see com.example.springrest.bulkhead
+ */
+@Slf4j
+@Configuration
+@EnableConfigurationProperties(BulkheadProperties.class)
+public class BulkheadConfig {
+
+    /**
+     * The lane registry.
+     *
+     * @param properties   lane limits
+     * @param meters       registry for lane metrics
+     * @param poolSize     size of the main connection pool
+     * @return the bulkheads
+     */
+    @Bean
+    public Bulkheads bulkheads(BulkheadProperties properties,
+                               MeterRegistry meters,
+                               @Value("${spring.datasource.hikari.maximum-pool-size:10}") int poolSize) {
+        int lanes = 0;
+        for (Lane lane : Lane.values()) {
+            lanes += properties.limits(lane).maxConcurrent();
+        }
+        if (properties.enabled() && lanes > poolSize) {
+            log.warn("Bulkhead lanes allow {} concurrent calls but the connection pool has only {} connections",
+                    lanes, poolSize);
+        }
+        return new Bulkheads(properties, meters);
+    }
+
+    /**
+     * Advisor applying {@link BulkheadInterceptor} to {@link Bulkheaded @Bulkheaded} methods.
+     *
+     * @param bulkheads lane registry, looked up lazily
+     * @return the advisor
+     */
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    public static Advisor bulkheadAdvisor(ObjectProvider<Bulkheads> bulkheads) {
+        DefaultPointcutAdvisor advisor = new DefaultPointcutAdvisor(
+                AnnotationMatchingPointcut.forMethodAnnotation(Bulkheaded.class),
+                new BulkheadInterceptor(bulkheads));
+        advisor.setOrder(Ordered.HIGHEST_PRECEDENCE + 2);
+        return advisor;
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.springrest.config;
+
+import com.example.springrest.breaker.CircuitBreaker;
+import com.example.springrest.breaker.CircuitBreakerInterceptor;
+import com.example.springrest.breaker.CircuitBreakerProperties;
+import com.example.springrest.breaker.Guarded;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.annotation.AnnotationMatchingPointcut;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Role;
+import org.springframework.core.Ordered;
+
+/**
+ * Configuration for the database circuit breaker.
+ *
+ * <p>Creates the {@link CircuitBreaker} from {@code app.db-breaker.*} and an AOP advisor that applies
+ * {@link CircuitBreakerInterceptor} to the methods of {@link Guarded @Guarded} beans. Like the bulkhead
+ * advisor it is an infrastructure bean, picked up by the auto-proxy creator that already proxies
+ * {@code @Transactional} services. It is ordered after the JFR events ({@link FlightRecorderConfig}) and
+ * the bulkhead lanes ({@link BulkheadConfig}), ahead of the transaction: an open breaker rejects before
+ * a connection is taken, time spent queueing for a lane slot is not counted as database latency, and a
+ * full lane never reaches the breaker.</p>
+ *
+ * @see com.example.springrest.breaker
+ */
+@Configuration
+@EnableConfigurationProperties(CircuitBreakerProperties.class)
+public class CircuitBreakerConfig {
+
+    /**
+     * The database circuit breaker.
+     *
+     * @param properties thresholds and durations
+     * @param meters     registry for breaker metrics
+     * @return the breaker
+     */
+    @Bean
+    public CircuitBreaker databaseCircuitBreaker(CircuitBreakerProperties properties, MeterRegistry meters) {
+        return new CircuitBreaker(properties, meters);
+    }
+
+    /**
+     * Advisor applying {@link CircuitBreakerInterceptor} to {@link Guarded @Guarded} beans.
+     *
+     * @param breaker the breaker, looked up lazily
+     * @return the advisor
+     */
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    public static Advisor circuitBreakerAdvisor(ObjectProvider<CircuitBreaker> breaker) {
+        DefaultPointcutAdvisor advisor = new DefaultPointcutAdvisor(
+                new AnnotationMatchingPointcut(Guarded.class, true),
+                new CircuitBreakerInterceptor(breaker));
+        advisor.setOrder(Ordered.HIGHEST_PRECEDENCE + 3);
+        return advisor;
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.springrest.config;
+
+import com.example.springrest.jfr.ProductOperationEvent;
+import com.example.springrest.jfr.ProductOperationInterceptor;
+import com.example.springrest.services.ProductService;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.ComposablePointcut;
+import org.springframework.aop.support.RootClassFilter;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Role;
+import org.springframework.core.Ordered;
+
+/**
+ * Configuration for the JFR product operation events.
+ *
+ * <p>Registers an AOP advisor that applies {@link ProductOperationInterceptor} to {@link ProductService}.
+ * It is ordered first, ahead of the circuit breaker ({@link CircuitBreakerConfig}) and the bulkhead lanes
+ * ({@link BulkheadConfig}), so a {@link ProductOperationEvent}'s duration includes the time spent waiting
+ * for a lane and a connection, which is often where a latency spike comes from.</p>
+ *
+ * @see com.example.springrest.jfr
+ */
+@Configuration
+public class FlightRecorderConfig {
+
+    /**
+     * Advisor applying {@link ProductOperationInterceptor} to {@link ProductService}.
+     *
+     * @return the advisor
+     */
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    public static Advisor productOperationEventAdvisor() {
+        DefaultPointcutAdvisor advisor = new DefaultPointcutAdvisor(
+                new ComposablePointcut(new RootClassFilter(ProductService.class)),
+                new ProductOperationInterceptor());
+        advisor.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return advisor;
+    }
+}
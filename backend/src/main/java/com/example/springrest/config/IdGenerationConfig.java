@@ -0,0 +1,58 @@
+package com.example.springrest.config;
+
+import com.example.springrest.ids.IdStrategy;
+import com.example.springrest.ids.ProductIdGenerator;
+import com.example.springrest.ids.TimeOrderedIds;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Passes the product id strategy to Hibernate, where {@link ProductIdGenerator} reads it.
+ *
+ * <h2>Strategies</h2>
+ * <ul>
+ *   <li><b>{@code identity}</b> (default) – the database assigns ids on insert; one statement per
+ *       insert.</li>
+ *   <li><b>{@code tsid}</b> – {@link TimeOrderedIds} assigns ids in-process; inserts flushed together
+ *       (group commit, {@code saveAll}) go out as one JDBC batch of {@code hibernate.jdbc.batch_size}.
+ *       Give every instance its own {@code node}.</li>
+ * </ul>
+ *
+ * <p>Both produce plain {@code Long} ids in the same column, so the strategy can be changed on an
+ * existing database. Switching back from {@code tsid} to {@code identity} is safe too, but new ids are
+ * then smaller than the time-ordered ones and sort before them. {@code benchmarks.IdStrategyBenchmark}
+ * compares insert throughput.</p>
+ *
+ * <h2>Configuration</h2>
+ * <pre>{@code
+ * app.products.ids.strategy=identity
+ * app.products.ids.node=0
+ * }</pre>
+ *
+ * @since 1.1
+ */
+@Configuration
+public class IdGenerationConfig {
+
+    /**
+     * @param strategy {@code identity} or {@code tsid}
+     * @param node     node number for {@code tsid}, 0..{@value TimeOrderedIds#MAX_NODE}
+     * @return customizer adding both to Hibernate's settings
+     * @throws IllegalArgumentException for an unknown strategy or a node out of range
+     */
+    @Bean
+    public HibernatePropertiesCustomizer productIdSettings(@Value("${app.products.ids.strategy:identity}") String strategy,
+                                                         @Value("${app.products.ids.node:0}") int node) {
+        IdStrategy parsed = IdStrategy.parse(strategy);
+        if (node < 0 || node > TimeOrderedIds.MAX_NODE) {
+            throw new IllegalArgumentException("app.products.ids.node must be between 0 and "
+                    + TimeOrderedIds.MAX_NODE + ": " + node);
+        }
+        return properties -> {
+            properties.put(ProductIdGenerator.STRATEGY, parsed.name());
+            properties.put(ProductIdGenerator.NODE, String.valueOf(node));
+        };
+    }
+}
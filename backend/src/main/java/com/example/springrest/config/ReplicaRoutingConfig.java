@@ -0,0 +1,112 @@
+package com.example.springrest.config;
+
+import com.example.springrest.datasource.ReadWriteRoutingDataSource;
+import com.example.springrest.datasource.ReadYourWritesFilter;
+import com.example.springrest.datasource.ReplicaPool;
+import com.example.springrest.datasource.ReplicaRoutingProperties;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Configuration for read/write splitting between a primary and replica databases.
+ *
+ * <p>
+ *     Active only with {@code app.datasource.routing.enabled=true}. It replaces Spring Boot's
+ *     single auto-configured {@link DataSource} with a routing data source: read-only
+ *     transactions go to a {@link ReplicaPool}, everything else to the primary configured under
+ *     {@code spring.datasource.*}.
+ * </p>
+ *
+ * <h2>Wiring</h2>
+ * <pre>{@code
+ * LazyConnectionDataSourceProxy          <- @Primary DataSource used by JPA
+ *   └─ ReadWriteRoutingDataSource
+ *        ├─ PRIMARY : primaryDataSource   (spring.datasource.*)
+ *        └─ REPLICA : ReplicaPool         (app.datasource.routing.replicas[*])
+ * }</pre>
+ *
+ * <h2>Local testing</h2>
+ * <p>Activate the {@code replicas} profile, which points the replica at a second H2 file database.
+ * Seed it with a copy of the primary file while the app is stopped, e.g.
+ * {@code cp .data/devdb.mv.db .data/devdb-replica.mv.db}.</p>
+ *
+ * @see ReadWriteRoutingDataSource
+ * @see ReadYourWritesFilter
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "app.datasource.routing", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(ReplicaRoutingProperties.class)
+public class ReplicaRoutingConfig {
+
+    /**
+     * The read-write primary pool, built from {@code spring.datasource.*}.
+     *
+     * @param properties Boot's standard datasource properties
+     * @return the primary connection pool
+     */
+    @Bean
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource primary = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        primary.setPoolName("primary");
+        return primary;
+    }
+
+    /**
+     * One connection pool per configured replica.
+     *
+     * @param properties routing settings
+     * @return the replica pool
+     */
+    @Bean
+    public ReplicaPool replicaPool(ReplicaRoutingProperties properties) {
+        List<HikariDataSource> replicas = new ArrayList<>();
+        for (ReplicaRoutingProperties.Replica replica : properties.replicas()) {
+            HikariDataSource ds = DataSourceBuilder.create()
+                    .type(HikariDataSource.class)
+                    .url(replica.url())
+                    .username(replica.username())
+                    .password(replica.password())
+                    .build();
+            ds.setReadOnly(true);
+            ds.setPoolName("replica-" + replicas.size());
+            replicas.add(ds);
+        }
+        return new ReplicaPool(replicas, properties.selection());
+    }
+
+    /**
+     * The application's {@link DataSource}: routes per transaction, fetching connections lazily
+     * so that the transaction's read-only flag is known when the target is chosen.
+     *
+     * @param primaryDataSource read-write primary
+     * @param replicaPool       read-only replicas
+     * @return routing data source used by JPA
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource primaryDataSource, ReplicaPool replicaPool) {
+        return new LazyConnectionDataSourceProxy(new ReadWriteRoutingDataSource(primaryDataSource, replicaPool));
+    }
+
+    /**
+     * Registers the read-your-writes filter for all requests.
+     *
+     * @param properties routing settings
+     * @return the servlet filter
+     */
+    @Bean
+    public ReadYourWritesFilter readYourWritesFilter(ReplicaRoutingProperties properties) {
+        return new ReadYourWritesFilter(properties.readYourWritesWindow());
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.springrest.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables {@link org.springframework.scheduling.annotation.Scheduled @Scheduled} housekeeping jobs,
+ * such as purging expired product tombstones
+ * ({@link com.example.springrest.services.ProductDeltaService#purgeTombstones()}).
+ *
+ * <p>Jobs run on Spring Boot's auto-configured scheduler; tune it with
+ * {@code spring.task.scheduling.*}.</p>
+ *
+ * @since 1.1
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -0,0 +1,160 @@
+package com.example.springrest.config;
+
+import com.example.springrest.ids.IdStrategy;
+import com.example.springrest.repositories.ProductRepo;
+import com.example.springrest.repositories.sharding.ShardRouter;
+import com.example.springrest.repositories.sharding.ShardRoutingDataSource;
+import com.example.springrest.repositories.sharding.ShardedProductRepo;
+import com.example.springrest.repositories.sharding.ShardingProperties;
+import com.zaxxer.hikari.HikariDataSource;
+import org.flywaydb.core.Flyway;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Configuration for sharding the {@code products} table across several databases.
+ *
+ * <p>
+ *     Active only with {@code app.sharding.enabled=true}. Replaces Spring Boot's single
+ *     {@link DataSource} with a shard-routing one and decorates the Spring Data
+ *     {@link ProductRepo} so that the rest of the application (services, controllers)
+ *     is unaware of sharding.
+ * </p>
+ *
+ * <h2>Wiring</h2>
+ * <pre>{@code
+ * ProductRepo (@Primary)  = ShardedProductRepo  ->  Spring Data "productRepo"
+ * DataSource  (@Primary)  = LazyConnectionDataSourceProxy
+ *                             └─ ShardRoutingDataSource: shard 0..n-1 (app.sharding.shards[*])
+ * }</pre>
+ *
+ * <h2>Schema</h2>
+ * <p>The Flyway migrations run on every shard before JPA starts (see
+ * {@link #shardMigrationStrategy}), with an identity column restricted to the ids the
+ * {@link ShardRouter} assigns to that shard.</p>
+ *
+ * <p><strong>Note</strong>: sharding and replica routing ({@link ReplicaRoutingConfig}) both replace the
+ * primary {@link DataSource} and cannot be enabled together. The Hibernate query cache must be off
+ * ({@code hibernate.cache.use_query_cache=false}), because cached results are not keyed by shard;
+ * the entity cache is safe since ids are globally unique.</p>
+ *
+ * @see ShardedProductRepo
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "app.sharding", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(ShardingProperties.class)
+public class ShardingConfig {
+
+    /**
+     * The id → shard mapping.
+     *
+     * <p>Shards generate their own ids with identity columns; in-process ids
+     * ({@code app.products.ids.strategy=tsid}) would not route back to the shard that stored them.</p>
+     *
+     * @param properties sharding settings
+     * @param idStrategy configured product id strategy
+     * @return the router for the configured strategy
+     * @throws IllegalStateException if the id strategy is not {@code identity}
+     */
+    @Bean
+    public ShardRouter shardRouter(ShardingProperties properties,
+                                   @Value("${app.products.ids.strategy:identity}") String idStrategy) {
+        if (IdStrategy.parse(idStrategy) != IdStrategy.IDENTITY) {
+            throw new IllegalStateException("Sharding requires app.products.ids.strategy=identity");
+        }
+        return properties.router();
+    }
+
+    /**
+     * One connection pool per shard.
+     *
+     * @param properties sharding settings
+     * @return the routing data source over all shards
+     */
+    @Bean
+    public ShardRoutingDataSource shardRoutingDataSource(ShardingProperties properties) {
+        List<HikariDataSource> shards = new ArrayList<>();
+        for (ShardingProperties.Shard shard : properties.shards()) {
+            HikariDataSource ds = DataSourceBuilder.create()
+                    .type(HikariDataSource.class)
+                    .url(shard.url())
+                    .username(shard.username())
+                    .password(shard.password())
+                    .build();
+            ds.setPoolName("shard-" + shards.size());
+            shards.add(ds);
+        }
+        return new ShardRoutingDataSource(shards);
+    }
+
+    /**
+     * The application's {@link DataSource}; connections are fetched lazily so that the shard
+     * chosen by {@link ShardedProductRepo} is known when the first statement runs.
+     *
+     * @param shardRoutingDataSource shard router
+     * @return data source used by JPA
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(ShardRoutingDataSource shardRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(shardRoutingDataSource);
+    }
+
+    /**
+     * The sharding {@link ProductRepo} injected into services.
+     *
+     * @param productRepo the Spring Data repository (bean {@code productRepo})
+     * @param router      id → shard mapping
+     * @param properties  sharding settings
+     * @return sharding decorator around {@code productRepo}
+     */
+    @Bean
+    @Primary
+    public ProductRepo shardedProductRepo(@Qualifier("productRepo") ProductRepo productRepo,
+                                          ShardRouter router,
+                                          ShardingProperties properties) {
+        return ShardedProductRepo.create(productRepo, router, properties.scatterThreads());
+    }
+
+    /**
+     * Runs the Flyway migrations on every shard instead of once on the routing data source.
+     *
+     * <p>Each shard keeps its own schema history. The {@code id_identity} placeholder is replaced by
+     * the shard's identity clause, restricting its generated ids to the ones the router maps to it.</p>
+     *
+     * @param shardRoutingDataSource all shards
+     * @param router                 id → shard mapping (defines each shard's identity range)
+     * @return the migration strategy used by Spring Boot's Flyway initializer
+     */
+    @Bean
+    public FlywayMigrationStrategy shardMigrationStrategy(ShardRoutingDataSource shardRoutingDataSource,
+                                                          ShardRouter router) {
+        return flyway -> {
+            List<HikariDataSource> shards = shardRoutingDataSource.shards();
+            for (int shard = 0; shard < shards.size(); shard++) {
+                Map<String, String> placeholders = new HashMap<>(flyway.getConfiguration().getPlaceholders());
+                placeholders.put("id_identity", router.allocation(shard).identityClause());
+                Flyway.configure()
+                        .configuration(flyway.getConfiguration())
+                        .dataSource(shards.get(shard))
+                        .placeholders(placeholders)
+                        .load()
+                        .migrate();
+            }
+        };
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.springrest.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
+import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.springframework.web.servlet.resource.EncodedResourceResolver;
+
+import java.io.IOException;
+import java.time.Duration;
+
+/**
+ * Serves the built React bundle ({@code ./gradlew bootJar -Pfrontend}) from {@code classpath:/static/}.
+ *
+ * <p>Served from the API's own origin, the UI's {@code fetch} calls are same-origin and need no CORS
+ * preflight. {@link CorsConfig} is only needed when the frontend is hosted on another origin.</p>
+ *
+ * <h2>Caching and compression</h2>
+ * <ul>
+ *   <li><b>{@code /assets/**}</b> – Vite puts a content hash in every file name there, so a URL never
+ *       changes content: {@code Cache-Control: public, max-age=31536000, immutable}. Browsers do not
+ *       even revalidate.</li>
+ *   <li><b>Everything else</b> ({@code index.html}, {@code vite.svg}, …) – fixed names that change with
+ *       each release: {@code Cache-Control: no-cache}, so browsers revalidate and get a 304 while the
+ *       {@code ETag} (or {@code Last-Modified}) still matches.</li>
+ *   <li><b>Precompressed variants</b> – the frontend build writes {@code .br} and {@code .gz} next to each
+ *       file; {@link EncodedResourceResolver} picks the best one the client accepts and adds
+ *       {@code Content-Encoding} and {@code Vary: Accept-Encoding}. Nothing is compressed per request,
+ *       so leave {@code server.compression} off for static content.</li>
+ * </ul>
+ *
+ * <h2>Configuration</h2>
+ * <pre>{@code
+ * app.static.assets-max-age=365d
+ * }</pre>
+ *
+ * @since 1.1
+ */
+@Configuration
+public class StaticResourceConfig implements WebMvcConfigurer {
+
+    /** Spring Boot's default static locations, kept for the catch-all handler. */
+    private static final String[] LOCATIONS = {
+            "classpath:/META-INF/resources/", "classpath:/resources/", "classpath:/static/", "classpath:/public/"
+    };
+
+    @Value("${app.static.assets-max-age:365d}")
+    private Duration assetsMaxAge;
+
+    @Override
+    public void addResourceHandlers(ResourceHandlerRegistry registry) {
+        registry.addResourceHandler("/assets/**")
+                .addResourceLocations("classpath:/static/assets/")
+                .setCacheControl(CacheControl.maxAge(assetsMaxAge).cachePublic().immutable())
+                .setEtagGenerator(StaticResourceConfig::etag)
+                .resourceChain(true)
+                .addResolver(new EncodedResourceResolver());
+
+        registry.addResourceHandler("/**")
+                .addResourceLocations(LOCATIONS)
+                .setCacheControl(CacheControl.noCache())
+                .setEtagGenerator(StaticResourceConfig::etag)
+                .resourceChain(true)
+                .addResolver(new EncodedResourceResolver());
+    }
+
+    /**
+     * ETag from modification time and length; differs per encoding, since each variant is its own file.
+     *
+     * @return the tag, or {@code null} (no ETag, {@code Last-Modified} only) if the resource cannot tell
+     */
+    private static String etag(Resource resource) {
+        try {
+            return Long.toHexString(resource.lastModified()) + "-" + Long.toHexString(resource.contentLength());
+        } catch (IOException ex) {
+            return null;
+        }
+    }
+}
@@ -14,6 +14,13 @@
  * <h2>Examples</h2>
  * <ul>
  *   <li>{@link com.example.springrest.config.CorsConfig} — configures CORS access for REST endpoints.</li>
+ *   <li>{@link com.example.springrest.config.ReplicaRoutingConfig} — routes read-only transactions to replica databases.</li>
+ *   <li>{@link com.example.springrest.config.ShardingConfig} — spreads the products table across several databases.</li>
+ *   <li>{@link com.example.springrest.config.BulkheadConfig} — isolates point reads, scans and writes in bounded lanes.</li>
+ *   <li>{@link com.example.springrest.config.CircuitBreakerConfig} — puts guarded services behind the database circuit breaker.</li>
+ *   <li>{@link com.example.springrest.config.FlightRecorderConfig} — emits JFR events for product service calls.</li>
+ *   <li>{@link com.example.springrest.config.StaticResourceConfig} — serves the precompressed React bundle with long-lived caching.</li>
+ *   <li>{@link com.example.springrest.config.SchedulingConfig} — enables scheduled housekeeping jobs.</li>
  * </ul>
  */
 package com.example.springrest.config;
@@ -0,0 +1,67 @@
+package com.example.springrest.controllers;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The hashed file names of the built React bundle, read from Vite's {@code .vite/manifest.json}.
+ *
+ * <p>Server-rendered pages ({@link ProductPageController}) load the same script and stylesheets as the
+ * bundle's own {@code index.html}. Their names change with every build, so they are looked up once at
+ * startup. Without a bundle on the class path (built without {@code -Pfrontend}) both lists are empty and
+ * pages are plain server-rendered HTML.</p>
+ *
+ * @since 1.1
+ */
+@Slf4j
+@Component
+public class FrontendBundle {
+
+    static final String MANIFEST = "static/.vite/manifest.json";
+    static final String ENTRY = "index.html";
+
+    private final List<String> scripts = new ArrayList<>();
+    private final List<String> styles = new ArrayList<>();
+
+    /**
+     * @param json mapper for the manifest
+     */
+    public FrontendBundle(ObjectMapper json) {
+        Resource manifest = new ClassPathResource(MANIFEST);
+        if (!manifest.exists()) {
+            return;
+        }
+        try (InputStream in = manifest.getInputStream()) {
+            JsonNode entry = json.readTree(in).path(ENTRY);
+            if (entry.hasNonNull("file")) {
+                scripts.add("/" + entry.get("file").asText());
+            }
+            entry.path("css").forEach(css -> styles.add("/" + css.asText()));
+        } catch (IOException ex) {
+            log.warn("Ignoring unreadable frontend manifest {}: {}", MANIFEST, ex.toString());
+        }
+    }
+
+    /**
+     * @return module scripts of the entry point, e.g. {@code /assets/index-4f2a9c.js}
+     */
+    public List<String> scripts() {
+        return scripts;
+    }
+
+    /**
+     * @return stylesheets of the entry point
+     */
+    public List<String> styles() {
+        return styles;
+    }
+}
@@ -1,9 +1,41 @@
 package com.example.springrest.controllers;
 
+import com.example.springrest.breaker.StaleReads;
+import com.example.springrest.dto.ProductBatchRequest;
+import com.example.springrest.dto.ProductBatchResponse;
+import com.example.springrest.dto.ProductDeltaResponse;
+import com.example.springrest.dto.ProductLookupRequest;
+import com.example.springrest.dto.ProductLookupResponse;
+import com.example.springrest.dto.ProductPriceAdjustmentRequest;
+import com.example.springrest.dto.ProductPriceAdjustmentResponse;
 import com.example.springrest.dto.ProductRequest;
 import com.example.springrest.dto.ProductResponse;
+import com.example.springrest.events.ProductChangeBroadcaster;
+import com.example.springrest.existence.KnownProductIds;
 import com.example.springrest.mappers.ProductMapper;
+import com.example.springrest.exceptions.BadRequestException;
+import com.example.springrest.exceptions.GatewayTimeoutException;
+import com.example.springrest.exceptions.ResourceNotFoundException;
+import com.example.springrest.exceptions.ServiceUnavailableException;
+import com.example.springrest.hotkeys.HotKeys;
+import com.example.springrest.models.Product;
+import com.example.springrest.models.ProductField;
+import com.example.springrest.repositories.ProductBulkRepo.PriceChange;
+import com.example.springrest.repositories.ProductBulkRepo.PriceFilter;
+import com.example.springrest.repositories.ProductProjectionRepo.NameMatch;
+import com.example.springrest.services.BatchRead;
+import com.example.springrest.services.BatchResult;
+import com.example.springrest.services.PriceAdjustment;
+import com.example.springrest.services.ProductBatchService;
+import com.example.springrest.services.ProductBulkService;
+import com.example.springrest.services.ProductDelta;
+import com.example.springrest.services.ProductDeltaService;
+import com.example.springrest.services.ProductLookup;
 import com.example.springrest.services.ProductService;
+import com.example.springrest.services.SearchExecutor;
+import com.example.springrest.services.SearchPageCache;
+import com.example.springrest.services.Watermark;
+import com.example.springrest.snapshot.CatalogSnapshots;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -14,17 +46,28 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.Min;
-import lombok.RequiredArgsConstructor;
 import org.springdoc.core.annotations.ParameterObject;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 import java.net.URI;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 
 
 /**
@@ -34,7 +77,11 @@ import java.net.URI;
  * <ul>
  *   <li>List and search products with pagination &amp; sorting.</li>
  *   <li>Create, update, and delete products.</li>
+ *   <li>Stream committed changes as Server-Sent Events.</li>
+ *   <li>Serve delta sync pages (changes since a watermark).</li>
+ *   <li>Answer batches of reads in one round trip.</li>
  *   <li>Return 404 for missing resources (via the service’s {@code getOrThrow}).</li>
+ *   <li>Serve the last good product and list pages, marked stale, while the database is unavailable.</li>
  * </ul>
  *
  * <p><strong>Notes</strong>:</p>
@@ -63,9 +110,32 @@ import java.net.URI;
  * # Search by name (case-insensitive)
  * curl 'http://localhost:8080/api/products/search?q=mug&page=0&size=10'
  *
+ * # Only the columns you need (sparse fieldset; works on list, search, get and multi-get)
+ * curl 'http://localhost:8080/api/products?fields=id,price'
+ *
+ * # Search by name prefix (case-insensitive, index range scan)
+ * curl 'http://localhost:8080/api/products/search/prefix?q=cof'
+ *
  * # Read one
  * curl 'http://localhost:8080/api/products/42'
  *
+ * # Read many in one round trip (unknown ids are listed in "missing")
+ * curl 'http://localhost:8080/api/products?ids=42,7,1001'
+ * curl -X POST 'http://localhost:8080/api/products/lookup' \
+ *      -H 'Content-Type: application/json' -d '{"ids":[42,7,1001]}'
+ *
+ * # Different reads in one round trip, run concurrently (one result per operation, in order)
+ * curl -X POST 'http://localhost:8080/api/products/batch' \
+ *      -H 'Content-Type: application/json' \
+ *      -d '{"operations":[{"op":"GET","id":42},{"op":"SEARCH","q":"mug","size":5},{"op":"LIST"}]}'
+ *
+ * # Follow changes (resume after event 17 of the run with epoch "3f9k2x7q1m")
+ * curl -N -H 'Last-Event-ID: 3f9k2x7q1m-17' 'http://localhost:8080/api/products/changes'
+ *
+ * # Delta sync (first call without a watermark, then pass back the one returned)
+ * curl 'http://localhost:8080/api/products/changes-since?limit=500'
+ * curl 'http://localhost:8080/api/products/changes-since?watermark=MTcyOTI1NjQwMC4xMjMwMDAwMDA6NDI'
+ *
  * # Create
  * curl -X POST 'http://localhost:8080/api/products' \
  *      -H 'Content-Type: application/json' \
@@ -78,19 +148,88 @@ import java.net.URI;
  *
  * # Delete
  * curl -X DELETE 'http://localhost:8080/api/products/42'
+ *
+ * # Raise all mugs by 5% (drop "dryRun" to apply)
+ * curl -X POST 'http://localhost:8080/api/products/price-adjustments' \
+ *      -H 'Content-Type: application/json' -d '{"q":"mug","percent":5,"dryRun":true}'
  * }</pre>
  *
  * @since 1.0
  */
 @RestController
 @RequestMapping(value = "/api/products", produces = "application/json")
-@RequiredArgsConstructor
 //@Validated
 @Tag(name = "Products", description = "Operations on the product catalog")
 public class ProductController {
 
+    private static final Set<String> BATCH_SORTABLE = Set.of("id", "name", "price");
+
+    private static final String FIELDS_DESCRIPTION =
+            "Sparse fieldset: comma-separated subset of id, name, price. Omitted fields are left out of the JSON.";
+
     private final ProductService service;
     private final ProductMapper mapper;
+    private final ProductChangeBroadcaster changes;
+    private final ProductDeltaService deltas;
+    private final SearchExecutor searches;
+    private final SearchPageCache searchCache;
+    private final HotKeys hotKeys;
+    private final CatalogSnapshots snapshots;
+    private final ProductBulkService bulk;
+    private final ProductBatchService batch;
+    private final StaleReads staleReads;
+    private final KnownProductIds knownIds;
+    private final boolean streamingEnabled;
+    private final int streamingMinPageSize;
+
+    /**
+     * @param service              product service
+     * @param mapper               entity → DTO mapper
+     * @param changes              SSE change broadcaster
+     * @param deltas               delta-sync service
+     * @param searches             bounded executor for search queries
+     * @param searchCache          cached search result pages
+     * @param hotKeys              request frequency trackers ({@code /actuator/hotkeys})
+     * @param snapshots            catalog snapshot serving reads after a restart
+     * @param bulk                 set-based writes (price adjustments)
+     * @param batch                concurrent execution of batched reads
+     * @param staleReads           last-known-good responses for when the database cannot answer
+     * @param knownIds             negative-lookup filter answering 404 for ids that cannot exist
+     * @param streamingEnabled     whether large list pages are streamed
+     * @param streamingMinPageSize smallest page size that is streamed
+     * @param sharded              whether the products table is sharded, which turns streaming off
+     */
+    public ProductController(ProductService service,
+                             ProductMapper mapper,
+                             ProductChangeBroadcaster changes,
+                             ProductDeltaService deltas,
+                             SearchExecutor searches,
+                             SearchPageCache searchCache,
+                             HotKeys hotKeys,
+                             CatalogSnapshots snapshots,
+                             ProductBulkService bulk,
+                             ProductBatchService batch,
+                             StaleReads staleReads,
+                             KnownProductIds knownIds,
+                             @Value("${app.products.streaming.enabled:true}") boolean streamingEnabled,
+                             @Value("${app.products.streaming.min-page-size:200}") int streamingMinPageSize,
+                             @Value("${app.sharding.enabled:false}") boolean sharded) {
+        this.service = service;
+        this.mapper = mapper;
+        this.changes = changes;
+        this.deltas = deltas;
+        this.searches = searches;
+        this.searchCache = searchCache;
+        this.hotKeys = hotKeys;
+        this.snapshots = snapshots;
+        this.bulk = bulk;
+        this.batch = batch;
+        this.staleReads = staleReads;
+        this.knownIds = knownIds;
+        // A streamed page reads one cursor; sharded pages must be merged from every shard.
+        this.streamingEnabled = streamingEnabled && !sharded;
+        this.streamingMinPageSize = streamingMinPageSize;
+    }
 
     /**
      * Returns a paginated list of products.
@@ -98,8 +237,15 @@ public class ProductController {
      * <p>Default page size is 20, sorted by {@code id DESC}. Override with
      * query params like {@code ?page=1&size=50&sort=name,asc}.</p>
      *
+     * <p>Pages of {@code app.products.streaming.min-page-size} rows or more are copied by
+     * {@link StreamingProductPage} straight from the result set, without entities; the JSON is the same.
+     * Right after a restart, pages sorted by id may be answered from the
+     * {@link CatalogSnapshots catalog snapshot}. Pages fall back to their last good copy
+     * ({@link StaleReads}) when the database is unavailable.</p>
+     *
+     * @param fields   optional sparse fieldset, e.g. {@code id,price}; only these columns are read
      * @param pageable pagination and sorting (page, size, sort)
-     * @return page of {@link ProductResponse}
+     * @return page of {@link ProductResponse} (buffered or streamed)
      */
     @Operation(
             summary = "List products",
@@ -135,18 +281,153 @@ public class ProductController {
             )
     })
     @GetMapping
-    public Page<ProductResponse> getAll(
+    public ResponseEntity<?> getAll(
+            @Parameter(description = FIELDS_DESCRIPTION, example = "id,price")
+            @RequestParam(name = "fields", required = false) String fields,
             @ParameterObject
             @PageableDefault(size = 20, sort = "id", direction = Sort.Direction.DESC) Pageable pageable) {
-        return service.list(pageable).map(mapper::toResponse);
+        Set<ProductField> selected = parseFields(fields);
+        Optional<Page<Product>> fromSnapshot = snapshots.list(pageable);
+        if (fromSnapshot.isPresent()) {
+            return ResponseEntity.ok(fromSnapshot.get()
+                    .map(p -> selected == null ? mapper.toResponse(p) : mapper.toResponse(p, selected)));
+        }
+        if (streamingEnabled && pageable.isPaged() && pageable.getPageSize() >= streamingMinPageSize) {
+            return withStaleness(staleReads.read(new ReadKey("list", pageable, selected),
+                    () -> StreamingProductPage.read(pageable, selected, rows -> service.streamList(pageable, rows))));
+        }
+        return withStaleness(staleReads.read(new ReadKey("list", pageable, selected), () -> selected == null
+                ? service.list(pageable).map(mapper::toResponse)
+                : service.list(pageable, selected).map(p -> mapper.toResponse(p, selected))));
+    }
+
+    /**
+     * Fetches many products by id in one round trip.
+     *
+     * <p>Selected instead of {@link #getAll} when the {@code ids} parameter is present. Unknown ids
+     * are reported in {@code missing} rather than failing the request.</p>
+     *
+     * @param ids    comma-separated or repeated product ids
+     * @param fields optional sparse fieldset, e.g. {@code id,price}
+     * @return found products in request order, plus missing ids
+     */
+    @Operation(
+            summary = "Get many products by id",
+            description = "Returns the products for the given ids in request order; unknown ids are listed in 'missing'."
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Lookup result returned",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ProductLookupResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Too many ids",
+                    content = @Content(mediaType = "application/json"))
+    })
+    @GetMapping(params = "ids")
+    public ProductLookupResponse getMany(
+            @Parameter(description = "Product ids, e.g. ids=42,7,1001", example = "42,7,1001")
+            @RequestParam("ids") List<Long> ids,
+            @Parameter(description = FIELDS_DESCRIPTION, example = "id,price")
+            @RequestParam(name = "fields", required = false) String fields) {
+        ids.forEach(hotKeys::product);
+        return toLookupResponse(service.getMany(ids), parseFields(fields));
+    }
+
+    /**
+     * Fetches many products by id, with the ids in the request body.
+     *
+     * @param request ids to fetch
+     * @param fields  optional sparse fieldset, e.g. {@code id,price}
+     * @return found products in request order, plus missing ids
+     */
+    @Operation(
+            summary = "Look up many products by id",
+            description = "Body variant of GET /api/products?ids=... for long id lists."
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Lookup result returned",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ProductLookupResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Validation error or too many ids",
+                    content = @Content(mediaType = "application/json"))
+    })
+    @PostMapping(value = "/lookup", consumes = "application/json")
+    public ProductLookupResponse lookup(
+            @io.swagger.v3.oas.annotations.parameters.RequestBody(
+                    required = true,
+                    description = "Ids to fetch",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ProductLookupRequest.class),
+                            examples = @ExampleObject(value = """
+                    { "ids": [42, 7, 1001] }
+                    """)
+                    )
+            )
+            @RequestBody @Valid ProductLookupRequest request,
+            @Parameter(description = FIELDS_DESCRIPTION, example = "id,price")
+            @RequestParam(name = "fields", required = false) String fields) {
+        request.ids().forEach(hotKeys::product);
+        return toLookupResponse(service.getMany(request.ids()), parseFields(fields));
+    }
+
+    /**
+     * Runs several reads in one round trip.
+     *
+     * <p>Gets, searches and list pages are answered concurrently by {@link ProductBatchService}, so the
+     * call takes about as long as the slowest read rather than the sum. Results come back in request
+     * order, each with the status its single-read endpoint would have returned; a failed read (e.g. an
+     * unknown id) does not fail the batch. A malformed operation does, with 400.</p>
+     *
+     * @param request the reads
+     * @return one result per operation, in request order
+     */
+    @Operation(
+            summary = "Run several reads at once",
+            description = "Executes get, search and list operations concurrently and returns their results positionally."
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Batch executed; see each result's status",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ProductBatchResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Validation error, malformed operation or too many operations",
+                    content = @Content(mediaType = "application/json"))
+    })
+    @PostMapping(value = "/batch", consumes = "application/json")
+    public ProductBatchResponse batch(
+            @io.swagger.v3.oas.annotations.parameters.RequestBody(
+                    required = true,
+                    description = "Reads to run",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ProductBatchRequest.class),
+                            examples = @ExampleObject(value = """
+                    {
+                      "operations": [
+                        { "op": "GET", "id": 42 },
+                        { "op": "SEARCH", "q": "mug", "size": 5 },
+                        { "op": "LIST", "page": 0, "size": 10, "sort": "price,asc" }
+                      ]
+                    }
+                    """)
+                    )
+            )
+            @RequestBody @Valid ProductBatchRequest request) {
+        List<BatchRead> reads = request.operations().stream().map(this::toBatchRead).toList();
+        return new ProductBatchResponse(batch.readAll(reads).stream().map(this::toBatchResult).toList());
     }
 
     /**
      * Searches products by (case-insensitive) name substring.
      *
+     * <p>Runs asynchronously on the {@link SearchExecutor}: it answers 503 when all search threads are
+     * busy and 504 when the search misses its deadline, and is cancelled if the client disconnects.
+     * Pages without a sparse fieldset are answered from the {@link SearchPageCache} when possible,
+     * without going through the executor.</p>
+     *
      * @param q        required query string to match within product names
+     * @param fields   optional sparse fieldset, e.g. {@code id,price}; only these columns are read
      * @param pageable pagination and sorting (page, size, sort)
-     * @return page of matches
+     * @return page of matches, once the search completes
      */
     @Operation(
             summary = "Search products by name",
@@ -158,10 +439,14 @@ public class ProductController {
                             mediaType = "application/json",
                             schema = @Schema(implementation = org.springframework.data.domain.Page.class)
                     )
-            )
+            ),
+            @ApiResponse(responseCode = "503", description = "All search threads busy; retry later",
+                    content = @Content(mediaType = "application/json")),
+            @ApiResponse(responseCode = "504", description = "Search did not finish within its deadline",
+                    content = @Content(mediaType = "application/json"))
     })
     @GetMapping("/search")
-    public Page<ProductResponse> search(
+    public DeferredResult<Page<ProductResponse>> search(
             @Parameter(
                     name = "q",
                     description = "Case-insensitive substring to match within product names",
@@ -172,15 +457,153 @@ public class ProductController {
                     }
             )
             @RequestParam("q") String q,
+            @Parameter(description = FIELDS_DESCRIPTION, example = "id,price")
+            @RequestParam(name = "fields", required = false) String fields,
             @ParameterObject
             @PageableDefault(size = 20, sort = "id", direction = Sort.Direction.DESC) Pageable pageable) {
-        return service.searchByName(q, pageable).map(mapper::toResponse);
+        Set<ProductField> selected = parseFields(fields);
+        hotKeys.search(Product.normalizeName(q));
+        if (selected != null) {
+            return searches.submit(() ->
+                    service.searchByName(q, pageable, selected).map(p -> mapper.toResponse(p, selected)));
+        }
+        Optional<Page<Product>> cached = searchCache.lookup(NameMatch.CONTAINS, q, pageable);
+        if (cached.isPresent()) {
+            return completed(cached.get().map(mapper::toResponse));
+        }
+        return searches.submit(() -> searchCache.load(NameMatch.CONTAINS, q, pageable,
+                () -> service.searchByName(q, pageable)).map(mapper::toResponse));
+    }
+
+    /**
+     * Finds products whose name starts with a prefix (case-insensitive), e.g. for type-ahead.
+     *
+     * <p>Runs on the {@link SearchExecutor} and uses the {@link SearchPageCache} like {@link #search}.</p>
+     *
+     * @param q        required prefix to match at the start of product names
+     * @param fields   optional sparse fieldset, e.g. {@code id,price}; only these columns are read
+     * @param pageable pagination and sorting (page, size, sort)
+     * @return page of matches, once the search completes
+     */
+    @Operation(
+            summary = "Search products by name prefix",
+            description = "Case-insensitive starts-with search on product names; uses the name index."
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Page of matches returned",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = org.springframework.data.domain.Page.class)
+                    )
+            ),
+            @ApiResponse(responseCode = "503", description = "All search threads busy; retry later",
+                    content = @Content(mediaType = "application/json")),
+            @ApiResponse(responseCode = "504", description = "Search did not finish within its deadline",
+                    content = @Content(mediaType = "application/json"))
+    })
+    @GetMapping("/search/prefix")
+    public DeferredResult<Page<ProductResponse>> searchPrefix(
+            @Parameter(
+                    name = "q",
+                    description = "Case-insensitive prefix of product names",
+                    required = true,
+                    examples = @ExampleObject(name = "Cof", value = "cof")
+            )
+            @RequestParam("q") String q,
+            @Parameter(description = FIELDS_DESCRIPTION, example = "id,price")
+            @RequestParam(name = "fields", required = false) String fields,
+            @ParameterObject
+            @PageableDefault(size = 20, sort = "id", direction = Sort.Direction.DESC) Pageable pageable) {
+        Set<ProductField> selected = parseFields(fields);
+        hotKeys.prefixSearch(Product.normalizeName(q));
+        if (selected != null) {
+            return searches.submit(() ->
+                    service.searchByNamePrefix(q, pageable, selected).map(p -> mapper.toResponse(p, selected)));
+        }
+        Optional<Page<Product>> cached = searchCache.lookup(NameMatch.PREFIX, q, pageable);
+        if (cached.isPresent()) {
+            return completed(cached.get().map(mapper::toResponse));
+        }
+        return searches.submit(() -> searchCache.load(NameMatch.PREFIX, q, pageable,
+                () -> service.searchByNamePrefix(q, pageable)).map(mapper::toResponse));
+    }
+
+    /**
+     * Streams committed product changes as Server-Sent Events.
+     *
+     * <p>Each event is named after the change type ({@code CREATED}, {@code UPDATED},
+     * {@code DELETED}) and carries a {@link com.example.springrest.dto.ProductChangeResponse}.
+     * Event ids are {@code <epoch>-<sequence>}, the epoch identifying the server run. Reconnecting
+     * clients send {@code Last-Event-ID} to replay what they missed; if that is no longer possible, or
+     * the id is from another run, they receive a single {@code RESYNC} event and should reload the list.</p>
+     *
+     * @param lastEventId id of the last event the client received (sent automatically by {@code EventSource})
+     * @return an open event stream
+     */
+    @Operation(
+            summary = "Follow product changes",
+            description = "Server-Sent Events stream of committed creates, updates and deletes."
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Event stream opened",
+                    content = @Content(mediaType = MediaType.TEXT_EVENT_STREAM_VALUE))
+    })
+    @GetMapping(value = "/changes", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter changes(
+            @Parameter(description = "Resume after this event id", example = "3f9k2x7q1m-17")
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        return changes.subscribe(lastEventId);
+    }
+
+    /**
+     * Returns the products created, updated or deleted since a watermark.
+     *
+     * <p>Lets clients keep a local copy of the catalog current without re-reading every page: each
+     * response carries the watermark for the next call. See {@link ProductDeltaResponse} for how to
+     * apply it.</p>
+     *
+     * @param watermark token from the previous response; omit it for the first call
+     * @param limit     maximum number of changes in this page (1..1000)
+     * @return changed products, deleted ids and the next watermark
+     */
+    @Operation(
+            summary = "Products changed since a watermark",
+            description = "Delta sync: creates/updates and deletes after the given watermark, in change order."
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Delta returned",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ProductDeltaResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid watermark or limit",
+                    content = @Content(mediaType = "application/json")),
+            @ApiResponse(responseCode = "501", description = "Not available while sharding is enabled",
+                    content = @Content(mediaType = "application/json"))
+    })
+    @GetMapping("/changes-since")
+    public ProductDeltaResponse changesSince(
+            @Parameter(description = "Watermark from the previous response; omit to start from the beginning")
+            @RequestParam(name = "watermark", required = false) String watermark,
+            @Parameter(description = "Maximum number of changes to return (1..1000)", example = "100")
+            @RequestParam(name = "limit", defaultValue = "100") int limit) {
+        ProductDelta delta = deltas.changesSince(Watermark.parse(watermark), limit);
+        return new ProductDeltaResponse(
+                delta.changed().stream().map(mapper::toResponse).toList(),
+                delta.deleted(),
+                delta.watermark().encode(),
+                delta.hasMore(),
+                delta.resync());
     }
 
     /**
      * Reads a product by id.
      *
-     * @param id product id (≥ 1)
+     * <p>Served from the second-level cache when possible, so {@code fields} only trims the JSON. When
+     * the database is unavailable, the last good copy is returned with {@code Age} and {@code Warning}
+     * headers (see {@link StaleReads}). Ids the {@link KnownProductIds} filter rules out are answered
+     * with 404 at once, and are not counted as hot keys.</p>
+     *
+     * @param id     product id (≥ 1)
+     * @param fields optional sparse fieldset, e.g. {@code id,price}
      * @return the product
      */
     @Operation(
@@ -197,8 +620,20 @@ public class ProductController {
     @GetMapping("/{id}")
     public ResponseEntity<ProductResponse> getById(
             @Parameter(description = "Product id (>= 1)", example = "42")
-            @PathVariable @Min(value = 1, message = "ID must be >= 1") Long id) {
-        return ResponseEntity.ok(mapper.toResponse(service.getOrThrow(id)));
+            @PathVariable @Min(value = 1, message = "ID must be >= 1") Long id,
+            @Parameter(description = FIELDS_DESCRIPTION, example = "id,price")
+            @RequestParam(name = "fields", required = false) String fields) {
+        Set<ProductField> selected = parseFields(fields);
+        if (knownIds.definitelyMissing(id)) {
+            throw ResourceNotFoundException.product(id);
+        }
+        hotKeys.product(id);
+        Optional<Product> fromSnapshot = snapshots.find(id);
+        if (fromSnapshot.isPresent()) {
+            return ResponseEntity.ok(toResponse(fromSnapshot.get(), selected));
+        }
+        return withStaleness(staleReads.read(new ReadKey("product", id, selected),
+                () -> toResponse(service.getOrThrow(id), selected)));
     }
 
     /**
@@ -308,4 +743,200 @@ public class ProductController {
         service.delete(id);
         return ResponseEntity.noContent().build();
     }
+
+    /**
+     * Changes the price of every product matching a filter, as set-based {@code UPDATE}s.
+     *
+     * <p>For price campaigns ("all mugs +5%") that would otherwise be a read and a PUT per product.
+     * With {@code dryRun} nothing is written; the response shows how many products would change and
+     * their price range afterwards. See {@link ProductBulkService} for chunking and consistency.</p>
+     *
+     * @param request filter, change and dry-run flag
+     * @return number of products changed and their resulting price range
+     */
+    @Operation(
+            summary = "Adjust prices in bulk",
+            description = "Applies a percentage or absolute price change to all products matching the filter."
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Prices adjusted (or counted, for a dry run)",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ProductPriceAdjustmentResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Validation error, no filter, or prices out of range",
+                    content = @Content(mediaType = "application/json")),
+            @ApiResponse(responseCode = "501", description = "Not available while sharding is enabled",
+                    content = @Content(mediaType = "application/json"))
+    })
+    @PostMapping(value = "/price-adjustments", consumes = "application/json")
+    public ProductPriceAdjustmentResponse adjustPrices(
+            @io.swagger.v3.oas.annotations.parameters.RequestBody(
+                    required = true,
+                    description = "Which products and how their price changes",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ProductPriceAdjustmentRequest.class),
+                            examples = @ExampleObject(value = """
+                    { "q": "mug", "percent": 5, "dryRun": true }
+                    """)
+                    )
+            )
+            @RequestBody @Valid ProductPriceAdjustmentRequest request) {
+        if ((request.percent() == null) == (request.amount() == null)) {
+            throw new BadRequestException("Exactly one of percent and amount is required");
+        }
+        PriceFilter filter = new PriceFilter(
+                request.q() == null || request.q().isBlank() ? null : request.q(),
+                request.minPrice(), request.maxPrice(), request.ids());
+        PriceChange change = request.percent() != null
+                ? PriceChange.percent(request.percent())
+                : PriceChange.amount(request.amount());
+        PriceAdjustment result = bulk.adjustPrices(filter, change, request.dryRun());
+        return new ProductPriceAdjustmentResponse(
+                result.dryRun(), result.affected(), result.lowestPrice(), result.highestPrice());
+    }
+
+    /**
+     * An already completed async result, for answers that need no search thread.
+     */
+    private static <T> DeferredResult<T> completed(T value) {
+        DeferredResult<T> result = new DeferredResult<>();
+        result.setResult(value);
+        return result;
+    }
+
+    private BatchRead toBatchRead(ProductBatchRequest.Operation operation) {
+        return switch (operation.op()) {
+            case GET -> {
+                if (operation.id() == null) {
+                    throw new BadRequestException("GET operations need an id");
+                }
+                hotKeys.product(operation.id());
+                yield new BatchRead.Get(operation.id());
+            }
+            case SEARCH, SEARCH_PREFIX -> {
+                if (operation.q() == null) {
+                    throw new BadRequestException(operation.op() + " operations need q");
+                }
+                boolean prefix = operation.op() == ProductBatchRequest.Type.SEARCH_PREFIX;
+                String term = Product.normalizeName(operation.q());
+                if (prefix) {
+                    hotKeys.prefixSearch(term);
+                } else {
+                    hotKeys.search(term);
+                }
+                yield new BatchRead.Search(prefix ? NameMatch.PREFIX : NameMatch.CONTAINS, operation.q(),
+                        toPageable(operation));
+            }
+            case LIST -> new BatchRead.ListPage(toPageable(operation));
+        };
+    }
+
+    /**
+     * The pageable of a batch operation, with the defaults of {@code @PageableDefault} on the
+     * single-read endpoints.
+     *
+     * @throws BadRequestException for a malformed sort or an unsupported sort property
+     */
+    private static Pageable toPageable(ProductBatchRequest.Operation operation) {
+        Sort sort = Sort.by(Sort.Direction.DESC, "id");
+        if (operation.sort() != null && !operation.sort().isBlank()) {
+            String[] parts = operation.sort().split(",");
+            String property = parts[0].trim();
+            if (!BATCH_SORTABLE.contains(property) || parts.length > 2) {
+                throw new BadRequestException("Cannot sort by " + operation.sort());
+            }
+            Sort.Direction direction = parts.length == 2
+                    ? Sort.Direction.fromOptionalString(parts[1].trim())
+                            .orElseThrow(() -> new BadRequestException("Cannot sort by " + operation.sort()))
+                    : Sort.Direction.ASC;
+            sort = Sort.by(direction, property);
+        }
+        return PageRequest.of(
+                operation.page() == null ? 0 : operation.page(),
+                operation.size() == null ? 20 : operation.size(),
+                sort);
+    }
+
+    /**
+     * Maps a batch result to the status and body the single-read endpoint would have produced (see
+     * {@link com.example.springrest.exceptions.GlobalExceptionHandler}).
+     */
+    @SuppressWarnings("unchecked")
+    private ProductBatchResponse.Result toBatchResult(BatchResult result) {
+        if (result.ok()) {
+            Object body = result.value() instanceof Product product
+                    ? mapper.toResponse(product)
+                    : ((Page<Product>) result.value()).map(mapper::toResponse);
+            return new ProductBatchResponse.Result(HttpStatus.OK.value(), body);
+        }
+        RuntimeException error = result.error();
+        HttpStatus status;
+        if (error instanceof ResourceNotFoundException) {
+            status = HttpStatus.NOT_FOUND;
+        } else if (error instanceof BadRequestException) {
+            status = HttpStatus.BAD_REQUEST;
+        } else if (error instanceof ServiceUnavailableException) {
+            status = HttpStatus.SERVICE_UNAVAILABLE;
+        } else if (error instanceof GatewayTimeoutException) {
+            status = HttpStatus.GATEWAY_TIMEOUT;
+        } else {
+            return new ProductBatchResponse.Result(HttpStatus.INTERNAL_SERVER_ERROR.value(),
+                    Map.of("error", "Internal error"));
+        }
+        return new ProductBatchResponse.Result(status.value(), Map.of("error", String.valueOf(error.getMessage())));
+    }
+
+    /**
+     * Identifies a read for {@link StaleReads}.
+     *
+     * @param endpoint   which read
+     * @param parameters its id or pageable
+     * @param fields     sparse fieldset, or {@code null}
+     */
+    private record ReadKey(String endpoint, Object parameters, Set<ProductField> fields) {}
+
+    /**
+     * A 200 response, with {@code Age} and {@code Warning} headers if the body is a stale copy.
+     */
+    private static <T> ResponseEntity<T> withStaleness(StaleReads.Served<T> served) {
+        if (!served.stale()) {
+            return ResponseEntity.ok(served.value());
+        }
+        return ResponseEntity.ok()
+                .header(HttpHeaders.AGE, Long.toString(served.age().toSeconds()))
+                .header(HttpHeaders.WARNING, served.warning())
+                .body(served.value());
+    }
+
+    private ProductResponse toResponse(Product product, Set<ProductField> fields) {
+        return fields == null ? mapper.toResponse(product) : mapper.toResponse(product, fields);
+    }
+
+    private ProductLookupResponse toLookupResponse(ProductLookup lookup, Set<ProductField> fields) {
+        return new ProductLookupResponse(
+                lookup.found().stream()
+                        .map(p -> fields == null ? mapper.toResponse(p) : mapper.toResponse(p, fields))
+                        .toList(),
+                lookup.missing());
+    }
+
+    /**
+     * Parses a {@code fields=} parameter.
+     *
+     * @param fields comma-separated field names, or {@code null}
+     * @return the requested fields, or {@code null} when the parameter is absent or blank (all fields)
+     * @throws BadRequestException for unknown field names
+     */
+    private static Set<ProductField> parseFields(String fields) {
+        if (fields == null || fields.isBlank()) {
+            return null;
+        }
+        EnumSet<ProductField> selected = EnumSet.noneOf(ProductField.class);
+        for (String name : fields.split(",")) {
+            String trimmed = name.trim();
+            selected.add(ProductField.fromAttribute(trimmed).orElseThrow(() -> new BadRequestException(
+                    "Unknown field '" + trimmed + "'; allowed: id, name, price")));
+        }
+        return selected;
+    }
 }
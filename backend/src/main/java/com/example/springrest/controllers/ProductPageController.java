@@ -0,0 +1,205 @@
+package com.example.springrest.controllers;
+
+import com.example.springrest.dto.ProductResponse;
+import com.example.springrest.exceptions.BadRequestException;
+import com.example.springrest.mappers.ProductMapper;
+import com.example.springrest.services.CatalogGeneration;
+import com.example.springrest.services.ProductService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.swagger.v3.oas.annotations.Hidden;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.web.PageableDefault;
+import org.springframework.stereotype.Controller;
+import org.springframework.ui.Model;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.thymeleaf.ITemplateEngine;
+import org.thymeleaf.context.Context;
+
+import java.io.UncheckedIOException;
+import java.text.NumberFormat;
+import java.time.Duration;
+import java.util.Currency;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Server-rendered product list: the first page arrives with the HTML, before any JavaScript runs.
+ *
+ * <p>The React app alone needs three round trips before the user sees a product: the bundle, then
+ * {@code GET /api/products}, then a render. {@code GET /products} instead returns the page with the
+ * product table already in it, plus the same data as JSON in {@code <script id="initial-page">}. The
+ * app (see {@link FrontendBundle}) starts from that data instead of fetching it, and takes over the
+ * table.</p>
+ *
+ * <h2>Fragment cache</h2>
+ * <p>The rendered table and the JSON are cached per page, size, sort and {@link CatalogGeneration}.
+ * A write starts a new generation, so the next request renders afresh; until then, the landing page
+ * costs no database query and no table rendering. The generation is per instance, so {@code ttl}
+ * bounds how long a write on another instance can go unseen.</p>
+ *
+ * <p>Sorting is limited to the columns the UI offers ({@code id}, {@code name}, {@code price}) and
+ * page size to {@value #MAX_PAGE_SIZE}, which also keeps the set of cache keys small.</p>
+ *
+ * <h2>Metrics</h2>
+ * <p>{@code products.page.cache{result=hit|miss}} counts fragment cache lookups.</p>
+ *
+ * <h2>Configuration</h2>
+ * <pre>{@code
+ * app.products.page-cache.max-entries=200
+ * app.products.page-cache.ttl=60s
+ * }</pre>
+ *
+ * @since 1.1
+ */
+@Hidden
+@Controller
+public class ProductPageController {
+
+    /** Largest page that is rendered on the server. */
+    public static final int MAX_PAGE_SIZE = 100;
+
+    private static final Set<String> SORTABLE = Set.of("id", "name", "price");
+    private static final Locale PRICE_LOCALE = Locale.forLanguageTag("de-AT");
+    private static final Currency PRICE_CURRENCY = Currency.getInstance("EUR");
+
+    private final ProductService service;
+    private final ProductMapper mapper;
+    private final CatalogGeneration generation;
+    private final ITemplateEngine templates;
+    private final ObjectMapper json;
+    private final FrontendBundle bundle;
+    private final long ttlNanos;
+    private final Map<Key, Fragment> fragments;
+    private final Counter hits;
+    private final Counter misses;
+
+    /**
+     * @param service    product service
+     * @param mapper     entity → DTO mapper
+     * @param generation catalog generation, part of every cache key
+     * @param templates  Thymeleaf engine, renders the table fragment
+     * @param json       mapper for the embedded page data
+     * @param bundle     script and stylesheets of the React app
+     * @param meters     registry for hit/miss counters
+     * @param maxEntries rendered fragments kept, least recently used evicted first
+     * @param ttl        upper bound on the age of a rendered fragment
+     */
+    public ProductPageController(ProductService service,
+                                 ProductMapper mapper,
+                                 CatalogGeneration generation,
+                                 ITemplateEngine templates,
+                                 ObjectMapper json,
+                                 FrontendBundle bundle,
+                                 MeterRegistry meters,
+                                 @Value("${app.products.page-cache.max-entries:200}") int maxEntries,
+                                 @Value("${app.products.page-cache.ttl:60s}") Duration ttl) {
+        this.service = service;
+        this.mapper = mapper;
+        this.generation = generation;
+        this.templates = templates;
+        this.json = json;
+        this.bundle = bundle;
+        this.ttlNanos = ttl.toNanos();
+        this.fragments = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Fragment> eldest) {
+                return size() > maxEntries;
+            }
+        };
+        this.hits = Counter.builder("products.page.cache").tag("result", "hit").register(meters);
+        this.misses = Counter.builder("products.page.cache").tag("result", "miss").register(meters);
+    }
+
+    /**
+     * Renders the product list page.
+     *
+     * @param pageable page, size and sort, with the UI's defaults ({@code size=10&sort=id,desc})
+     * @param model    view model: {@code table}, {@code initialPage}, {@code scripts}, {@code styles}
+     * @return the {@code products} template
+     * @throws BadRequestException for unsupported sorts or page sizes
+     */
+    @GetMapping("/products")
+    public String products(@PageableDefault(size = 10, sort = "id", direction = Sort.Direction.DESC) Pageable pageable,
+                           Model model) {
+        if (pageable.getPageSize() > MAX_PAGE_SIZE) {
+            throw new BadRequestException("size must be at most " + MAX_PAGE_SIZE);
+        }
+        for (Sort.Order order : pageable.getSort()) {
+            if (!SORTABLE.contains(order.getProperty())) {
+                throw new BadRequestException("Cannot sort by " + order.getProperty());
+            }
+        }
+
+        Key key = new Key(pageable.getPageNumber(), pageable.getPageSize(), pageable.getSort(), generation.current());
+        Fragment fragment;
+        synchronized (fragments) {
+            fragment = fragments.get(key);
+        }
+        if (fragment != null && System.nanoTime() - fragment.renderedAt() <= ttlNanos) {
+            hits.increment();
+        } else {
+            misses.increment();
+            fragment = render(pageable);
+            synchronized (fragments) {
+                fragments.put(key, fragment);
+            }
+        }
+
+        model.addAttribute("table", fragment.table());
+        model.addAttribute("initialPage", fragment.initialPage());
+        model.addAttribute("scripts", bundle.scripts());
+        model.addAttribute("styles", bundle.styles());
+        return "products";
+    }
+
+    private Fragment render(Pageable pageable) {
+        Page<ProductResponse> page = service.list(pageable).map(mapper::toResponse);
+
+        NumberFormat prices = NumberFormat.getCurrencyInstance(PRICE_LOCALE);
+        prices.setCurrency(PRICE_CURRENCY);
+        Context context = new Context(PRICE_LOCALE, Map.of("products", page.getContent(), "prices", prices));
+        String table = templates.process("products/table", Set.of("table"), context);
+
+        InitialPage initial = new InitialPage(page.getContent(), page.getTotalElements(), page.getTotalPages(),
+                page.getNumber(), page.getSize(), sortParam(pageable.getSort()));
+        try {
+            // "<" only occurs inside JSON strings, where < is equivalent; keeps "</script>" out of the page
+            return new Fragment(table, json.writeValueAsString(initial).replace("<", "\\u003c"), System.nanoTime());
+        } catch (JsonProcessingException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    /**
+     * @return the sort as the UI writes it, e.g. {@code id,desc}
+     */
+    private static String sortParam(Sort sort) {
+        return sort.stream()
+                .map(order -> order.getProperty() + "," + order.getDirection().name().toLowerCase(Locale.ROOT))
+                .collect(Collectors.joining(";"));
+    }
+
+    private record Key(int page, int size, Sort sort, long generation) {}
+
+    private record Fragment(String table, String initialPage, long renderedAt) {}
+
+    /**
+     * Page data embedded for the React app; the fields it reads from {@code GET /api/products}, plus the sort.
+     */
+    private record InitialPage(List<ProductResponse> content,
+                               long totalElements,
+                               int totalPages,
+                               int number,
+                               int size,
+                               String sort) {}
+}
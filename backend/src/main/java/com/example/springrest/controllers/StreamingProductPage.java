@@ -0,0 +1,132 @@
+package com.example.springrest.controllers;
+
+import com.example.springrest.models.ProductField;
+import com.example.springrest.repositories.ProductStreamRepo.RowHandler;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.util.Set;
+import java.util.function.ToLongFunction;
+
+/**
+ * A product page copied from the database cursor into a token buffer, without entities.
+ *
+ * <p>Returned by {@link ProductController#getAll} for large pages instead of a
+ * {@code Page<ProductResponse>}. {@link #read} opens the page query and writes each row as it comes off
+ * the cursor into a Jackson {@link TokenBuffer}: no entities, no {@code List<ProductResponse>} and no
+ * {@code PageImpl} are built. The JSON has the same shape as a serialized {@link Page} ({@code content},
+ * {@code pageable}, {@code totalElements}, ...), so clients cannot tell the two apart.</p>
+ *
+ * <p>The whole page is read before the controller returns. A full lane, an open breaker or a database
+ * error therefore becomes a regular error response, and the lane slot, transaction and connection are
+ * released before the body is written, however slowly the client reads it. The buffer is bounded by the
+ * page size and can be written any number of times, so a page can also be kept as a stale copy.</p>
+ *
+ * @since 1.1
+ */
+@JsonSerialize(using = StreamingProductPage.Serializer.class)
+public final class StreamingProductPage {
+
+    private final TokenBuffer tokens;
+
+    private StreamingProductPage(TokenBuffer tokens) {
+        this.tokens = tokens;
+    }
+
+    /**
+     * Reads one page from {@code source}.
+     *
+     * @param pageable the page being read
+     * @param fields   fields to keep per product, or {@code null} for all
+     * @param source   streams the rows to the given handler and returns the total number of elements,
+     *                 e.g. {@code rows -> service.streamList(pageable, rows)}
+     * @return the page, ready to be written
+     */
+    public static StreamingProductPage read(Pageable pageable, Set<ProductField> fields,
+                                            ToLongFunction<RowHandler> source) {
+        TokenBuffer gen = new TokenBuffer(null, false);
+        try {
+            int[] rows = {0};
+            gen.writeStartObject();
+            gen.writeArrayFieldStart("content");
+            long total = source.applyAsLong((id, name, price) -> {
+                rows[0]++;
+                writeProduct(gen, fields, id, name, price);
+            });
+            gen.writeEndArray();
+
+            int size = pageable.getPageSize();
+            int totalPages = (int) Math.ceil((double) total / size);
+            gen.writeObjectFieldStart("pageable");
+            gen.writeNumberField("pageNumber", pageable.getPageNumber());
+            gen.writeNumberField("pageSize", size);
+            writeSort(gen, "sort", pageable.getSort());
+            gen.writeNumberField("offset", pageable.getOffset());
+            gen.writeBooleanField("paged", true);
+            gen.writeBooleanField("unpaged", false);
+            gen.writeEndObject();
+            gen.writeBooleanField("last", pageable.getPageNumber() + 1 >= totalPages);
+            gen.writeNumberField("totalElements", total);
+            gen.writeNumberField("totalPages", totalPages);
+            gen.writeNumberField("size", size);
+            gen.writeNumberField("number", pageable.getPageNumber());
+            writeSort(gen, "sort", pageable.getSort());
+            gen.writeBooleanField("first", pageable.getPageNumber() == 0);
+            gen.writeNumberField("numberOfElements", rows[0]);
+            gen.writeBooleanField("empty", rows[0] == 0);
+            gen.writeEndObject();
+        } catch (IOException ex) {
+            // A token buffer only collects tokens in memory; it does not fail on I/O.
+            throw new UncheckedIOException(ex);
+        }
+        return new StreamingProductPage(gen);
+    }
+
+    private static void writeProduct(JsonGenerator gen, Set<ProductField> fields,
+                                     Long id, String name, BigDecimal price) {
+        try {
+            gen.writeStartObject();
+            if (fields == null || fields.contains(ProductField.ID)) {
+                gen.writeNumberField("id", id);
+            }
+            if (name != null && (fields == null || fields.contains(ProductField.NAME))) {
+                gen.writeStringField("name", name);
+            }
+            if (price != null && (fields == null || fields.contains(ProductField.PRICE))) {
+                gen.writeNumberField("price", price);
+            }
+            gen.writeEndObject();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private static void writeSort(JsonGenerator gen, String field, Sort sort) throws IOException {
+        gen.writeObjectFieldStart(field);
+        gen.writeBooleanField("empty", sort.isEmpty());
+        gen.writeBooleanField("sorted", sort.isSorted());
+        gen.writeBooleanField("unsorted", sort.isUnsorted());
+        gen.writeEndObject();
+    }
+
+    /**
+     * Writes the buffered tokens of a {@link StreamingProductPage}.
+     */
+    static final class Serializer extends JsonSerializer<StreamingProductPage> {
+
+        @Override
+        public void serialize(StreamingProductPage page, JsonGenerator gen, SerializerProvider provider)
+                throws IOException {
+            page.tokens.serialize(gen);
+        }
+    }
+}
@@ -23,6 +23,10 @@
  *     but will only be fully enforced when {@code @Validated} and method validation mare introduced in <em>Part III</em>.
  *   </li>
  *   <li>
+ *     {@link com.example.springrest.controllers.ProductPageController} is the one HTML controller: it
+ *     server-renders the first product page with Thymeleaf for the React app to take over.
+ *   </li>
+ *   <li>
  *     Exception handling is not done directly in controllers — instead,
  *     {@link com.example.springrest.exceptions.GlobalExceptionHandler}
  *     centralizes error handling for consistency.
@@ -0,0 +1,46 @@
+package com.example.springrest.datasource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * Routes each transaction to the primary or to the replica pool.
+ *
+ * <p>A connection goes to the replicas when the current Spring transaction is marked
+ * {@code readOnly = true} (e.g. {@code @Transactional(readOnly = true)} on
+ * {@link com.example.springrest.services.ProductService} read methods) <em>and</em> the current
+ * request is not pinned to the primary by {@link ReadYourWritesFilter}. Everything else — writes,
+ * non-transactional access, schema management — uses the primary.</p>
+ *
+ * <p><strong>Important</strong>: the read-only flag is only known after the transaction manager has
+ * started the transaction, so this data source must be wrapped in a
+ * {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}, which defers fetching the
+ * physical connection until the first statement runs.</p>
+ *
+ * @since 1.1
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    /** Lookup keys for the two targets. */
+    enum Target { PRIMARY, REPLICA }
+
+    /**
+     * @param primary  read-write primary
+     * @param replicas pool of read-only replicas
+     */
+    public ReadWriteRoutingDataSource(DataSource primary, DataSource replicas) {
+        setTargetDataSources(Map.<Object, Object>of(Target.PRIMARY, primary, Target.REPLICA, replicas));
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        boolean readOnly = TransactionSynchronizationManager.isActualTransactionActive()
+                && TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+        return readOnly && !ReadYourWritesFilter.isPinnedToPrimary() ? Target.REPLICA : Target.PRIMARY;
+    }
+}
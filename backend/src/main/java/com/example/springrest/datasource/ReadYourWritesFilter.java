@@ -0,0 +1,127 @@
+package com.example.springrest.datasource;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps a client's reads on the primary for a short window after it wrote.
+ *
+ * <p>Replicas lag the primary slightly, so a client that creates a product and immediately
+ * lists products could otherwise miss its own change. This filter remembers clients that
+ * completed a successful write ({@code POST}, {@code PUT}, {@code PATCH}, {@code DELETE}) and, for
+ * the configured window, marks their following requests as pinned to the primary.
+ * {@link ReadWriteRoutingDataSource} honours that mark.</p>
+ *
+ * <p>A client is identified by the {@value #CLIENT_HEADER} header when present (recommended for
+ * services behind a shared gateway), otherwise by its remote address.</p>
+ *
+ * <p><strong>Note</strong>: the mark is thread-bound. Work handed to other threads during a request
+ * keeps it only if wrapped with {@link #propagate(Runnable)} when it is submitted, as the search and
+ * batch pools do; it also fits {@code ThreadPoolTaskExecutor.setTaskDecorator(ReadYourWritesFilter::propagate)}.</p>
+ *
+ * @since 1.1
+ */
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    /** Optional request header identifying the client for read-your-writes tracking. */
+    public static final String CLIENT_HEADER = "X-Client-Id";
+
+    private static final ThreadLocal<Boolean> PINNED = new ThreadLocal<>();
+    private static final int PRUNE_THRESHOLD = 10_000;
+
+    private final long windowNanos;
+    private final Map<String, Long> recentWriters = new ConcurrentHashMap<>();
+
+    /**
+     * @param window how long after a write the client's reads stay on the primary
+     */
+    public ReadYourWritesFilter(Duration window) {
+        this.windowNanos = window.toNanos();
+    }
+
+    /**
+     * @return {@code true} if the current request must read from the primary
+     */
+    static boolean isPinnedToPrimary() {
+        return Boolean.TRUE.equals(PINNED.get());
+    }
+
+    /**
+     * Captures the current thread's mark and re-applies it on whichever thread runs {@code task}.
+     *
+     * @param task work about to be handed to another thread (or run inline)
+     * @return {@code task}, running with the submitting thread's mark
+     */
+    public static Runnable propagate(Runnable task) {
+        Boolean pinned = PINNED.get();
+        return () -> {
+            Boolean previous = PINNED.get();
+            PINNED.set(pinned);
+            try {
+                task.run();
+            } finally {
+                if (previous != null) {
+                    PINNED.set(previous);
+                } else {
+                    PINNED.remove();
+                }
+            }
+        };
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String client = clientKey(request);
+        boolean write = isWrite(request.getMethod());
+        PINNED.set(write || wroteRecently(client));
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            PINNED.remove();
+            if (write && response.getStatus() < 400) {
+                markWrite(client);
+            }
+        }
+    }
+
+    private boolean wroteRecently(String client) {
+        Long until = recentWriters.get(client);
+        if (until == null) {
+            return false;
+        }
+        if (until - System.nanoTime() > 0) {
+            return true;
+        }
+        recentWriters.remove(client, until);
+        return false;
+    }
+
+    private void markWrite(String client) {
+        long now = System.nanoTime();
+        if (recentWriters.size() > PRUNE_THRESHOLD) {
+            recentWriters.values().removeIf(until -> until - now <= 0);
+        }
+        recentWriters.put(client, now + windowNanos);
+    }
+
+    private static String clientKey(HttpServletRequest request) {
+        String header = request.getHeader(CLIENT_HEADER);
+        return header != null && !header.isBlank() ? header : request.getRemoteAddr();
+    }
+
+    private static boolean isWrite(String method) {
+        return switch (method) {
+            case "POST", "PUT", "PATCH", "DELETE" -> true;
+            default -> false;
+        };
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.springrest.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A {@link javax.sql.DataSource} that spreads connections over several replica pools.
+ *
+ * <p>Each call to {@link #getConnection()} picks one replica according to {@link Selection}:</p>
+ * <ul>
+ *   <li>{@link Selection#ROUND_ROBIN} — cycles through replicas; cheap and fair for similar nodes.</li>
+ *   <li>{@link Selection#LEAST_CONNECTIONS} — picks the replica whose Hikari pool currently has the
+ *       fewest active connections, which favours faster (or less loaded) replicas.</li>
+ * </ul>
+ *
+ * <p>Closing the pool closes every replica pool; Spring calls {@link #close()} on shutdown.</p>
+ *
+ * @since 1.1
+ */
+public class ReplicaPool extends AbstractDataSource implements AutoCloseable {
+
+    /**
+     * Replica selection policy.
+     */
+    public enum Selection {
+        /** Cycle through replicas in order. */
+        ROUND_ROBIN,
+        /** Pick the replica with the fewest active connections. */
+        LEAST_CONNECTIONS
+    }
+
+    private final List<HikariDataSource> replicas;
+    private final Selection selection;
+    private final AtomicInteger next = new AtomicInteger();
+
+    /**
+     * @param replicas  replica pools (must not be empty)
+     * @param selection selection policy
+     */
+    public ReplicaPool(List<HikariDataSource> replicas, Selection selection) {
+        if (replicas.isEmpty()) {
+            throw new IllegalArgumentException("At least one replica must be configured");
+        }
+        this.replicas = List.copyOf(replicas);
+        this.selection = selection;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return choose().getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return choose().getConnection(username, password);
+    }
+
+    /**
+     * Chooses the replica for the next connection.
+     *
+     * @return one of the configured replica pools
+     */
+    HikariDataSource choose() {
+        if (selection == Selection.LEAST_CONNECTIONS) {
+            HikariDataSource best = null;
+            int bestActive = Integer.MAX_VALUE;
+            for (HikariDataSource replica : replicas) {
+                int active = replica.getHikariPoolMXBean() == null ? 0 : replica.getHikariPoolMXBean().getActiveConnections();
+                if (active < bestActive) {
+                    best = replica;
+                    bestActive = active;
+                }
+            }
+            return best;
+        }
+        return replicas.get(Math.floorMod(next.getAndIncrement(), replicas.size()));
+    }
+
+    @Override
+    public void close() {
+        replicas.forEach(HikariDataSource::close);
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.springrest.datasource;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Settings for read/write splitting, bound from {@code app.datasource.routing.*}.
+ *
+ * <p><strong>Example</strong>:</p>
+ * <pre>{@code
+ * app.datasource.routing.enabled=true
+ * app.datasource.routing.selection=least-connections
+ * app.datasource.routing.read-your-writes-window=2s
+ * app.datasource.routing.replicas[0].url=jdbc:h2:file:./.data/devdb-replica;MODE=PostgreSQL
+ * app.datasource.routing.replicas[0].username=sa
+ * }</pre>
+ *
+ * <p>The primary connection settings stay under {@code spring.datasource.*}.</p>
+ *
+ * @param enabled               turn routing on; without it the single Boot datasource is used
+ * @param selection             how a replica is chosen for each read-only transaction
+ * @param readYourWritesWindow  how long a client's reads stay on the primary after it wrote
+ * @param replicas              replica connection settings (at least one when enabled)
+ * @since 1.1
+ */
+@ConfigurationProperties(prefix = "app.datasource.routing")
+public record ReplicaRoutingProperties(
+        boolean enabled,
+        @DefaultValue("round-robin") ReplicaPool.Selection selection,
+        @DefaultValue("2s") Duration readYourWritesWindow,
+        @DefaultValue List<Replica> replicas
+) {
+
+    /**
+     * Connection settings for one replica.
+     *
+     * @param url      JDBC url
+     * @param username database user
+     * @param password database password (may be empty)
+     */
+    public record Replica(String url, String username, String password) {}
+}
@@ -0,0 +1,18 @@
+/**
+ * DataSource infrastructure: routing of read-only work to replica databases.
+ *
+ * <p>Classes in this package sit between the JPA provider and the physical connection pools.
+ * They are only activated when {@code app.datasource.routing.enabled=true}; otherwise Spring Boot's
+ * single auto-configured {@code DataSource} is used unchanged.</p>
+ *
+ * <h2>Contents</h2>
+ * <ul>
+ *   <li>{@link com.example.springrest.datasource.ReadWriteRoutingDataSource} — picks primary or replica per transaction.</li>
+ *   <li>{@link com.example.springrest.datasource.ReplicaPool} — spreads replica connections (round-robin or least-connections).</li>
+ *   <li>{@link com.example.springrest.datasource.ReadYourWritesFilter} — pins a client to the primary right after it wrote.</li>
+ *   <li>{@link com.example.springrest.datasource.ReplicaRoutingProperties} — {@code app.datasource.routing.*} settings.</li>
+ * </ul>
+ *
+ * @see com.example.springrest.config.ReplicaRoutingConfig
+ */
+package com.example.springrest.datasource;
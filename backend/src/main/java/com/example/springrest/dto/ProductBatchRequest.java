@@ -0,0 +1,90 @@
+package com.example.springrest.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+
+import java.util.List;
+
+/**
+ * Request DTO for {@code POST /api/products/batch}.
+ *
+ * <p>Several independent reads answered in one round trip. Each operation has the parameters of the
+ * matching single-read endpoint; {@code page}, {@code size} and {@code sort} default to {@code 0},
+ * {@code 20} and {@code id,desc} as there.</p>
+ *
+ * <p><strong>Example (JSON)</strong>:</p>
+ * <pre>{@code
+ * {
+ *   "operations": [
+ *     { "op": "GET",    "id": 42 },
+ *     { "op": "SEARCH", "q": "mug", "size": 5 },
+ *     { "op": "LIST",   "page": 0, "size": 10, "sort": "price,asc" }
+ *   ]
+ * }
+ * }</pre>
+ *
+ * @since 1.1
+ */
+@Schema(description = "Reads to run in one call; results come back in the same order.")
+public record ProductBatchRequest(
+        @Schema(description = "The reads, at most app.products.batch.max-reads (default 20).",
+                requiredMode = Schema.RequiredMode.REQUIRED)
+        @NotEmpty(message = "At least one operation is required")
+        List<@NotNull(message = "Operations must not be null") @Valid Operation> operations
+) {
+
+    /**
+     * Kind of read, named after the endpoint it stands for.
+     */
+    public enum Type {
+        /** {@code GET /api/products/{id}}; needs {@code id}. */
+        GET,
+        /** {@code GET /api/products/search}; needs {@code q}. */
+        SEARCH,
+        /** {@code GET /api/products/search/prefix}; needs {@code q}. */
+        SEARCH_PREFIX,
+        /** {@code GET /api/products}. */
+        LIST
+    }
+
+    /**
+     * One read of the batch.
+     *
+     * @param op   kind of read
+     * @param id   product id, for {@link Type#GET}
+     * @param q    search term or prefix, for {@link Type#SEARCH} and {@link Type#SEARCH_PREFIX}
+     * @param page zero-based page number; default {@code 0}
+     * @param size page size (1..100); default {@code 20}
+     * @param sort {@code property[,asc|desc]} with property {@code id}, {@code name} or {@code price};
+     *             default {@code id,desc}
+     */
+    @Schema(description = "One read: GET needs id, SEARCH and SEARCH_PREFIX need q; pages apply to all but GET.")
+    public record Operation(
+            @Schema(description = "Kind of read.", example = "SEARCH", requiredMode = Schema.RequiredMode.REQUIRED)
+            @NotNull(message = "op is required")
+            Type op,
+
+            @Schema(description = "Product id (GET).", example = "42")
+            @Min(value = 1, message = "ID must be >= 1")
+            Long id,
+
+            @Schema(description = "Search term or prefix (SEARCH, SEARCH_PREFIX).", example = "mug")
+            String q,
+
+            @Schema(description = "Zero-based page number.", example = "0")
+            @Min(value = 0, message = "page must be >= 0")
+            Integer page,
+
+            @Schema(description = "Page size.", example = "20")
+            @Min(value = 1, message = "size must be >= 1")
+            @Max(value = 100, message = "size must be <= 100")
+            Integer size,
+
+            @Schema(description = "Sort as property[,asc|desc]; property is id, name or price.", example = "id,desc")
+            String sort
+    ) {}
+}
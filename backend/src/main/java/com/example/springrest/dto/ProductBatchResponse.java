@@ -0,0 +1,44 @@
+package com.example.springrest.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+/**
+ * Response DTO for {@code POST /api/products/batch}.
+ *
+ * <p>{@code results[i]} answers {@code operations[i]} of the request. Each result carries the HTTP
+ * status the single-read endpoint would have returned and its body: a product, a page of products, or
+ * an {@code {"error": ...}} object. A failed read does not fail the batch.</p>
+ *
+ * <p><strong>Example (JSON)</strong>:</p>
+ * <pre>{@code
+ * {
+ *   "results": [
+ *     { "status": 200, "body": {"id":42,"name":"Coffee Mug","price":12.99} },
+ *     { "status": 404, "body": {"error":"Product not found with ID: 1001"} }
+ *   ]
+ * }
+ * }</pre>
+ *
+ * @since 1.1
+ */
+@Schema(description = "One result per requested operation, in request order.")
+public record ProductBatchResponse(
+        @Schema(description = "Results, positionally matching the request's operations.")
+        List<Result> results
+) {
+
+    /**
+     * @param status HTTP status of this read (200, 400, 404, 503, 504 or 500)
+     * @param body   the product, page or error object
+     */
+    @Schema(description = "Status and body of one read.")
+    public record Result(
+            @Schema(description = "HTTP status the single-read endpoint would have returned.", example = "200")
+            int status,
+
+            @Schema(description = "Product, page of products, or {\"error\": message}.")
+            Object body
+    ) {}
+}
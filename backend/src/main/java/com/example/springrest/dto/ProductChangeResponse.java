@@ -0,0 +1,29 @@
+package com.example.springrest.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * Payload of a single event on the {@code GET /api/products/changes} stream.
+ *
+ * <p><strong>Example (SSE frame)</strong>:</p>
+ * <pre>{@code
+ * id: 17
+ * event: UPDATED
+ * data: {"type":"UPDATED","id":42,"product":{"id":42,"name":"Travel Mug","price":14.50}}
+ * }</pre>
+ *
+ * <p>For {@code DELETED} events {@code product} is {@code null}.</p>
+ *
+ * @since 1.1
+ */
+@Schema(description = "A committed change to the product catalog.")
+public record ProductChangeResponse(
+        @Schema(description = "Kind of change: CREATED, UPDATED or DELETED.", example = "UPDATED")
+        String type,
+
+        @Schema(description = "Id of the affected product.", example = "42")
+        Long id,
+
+        @Schema(description = "Product state after the change; null for deletes.")
+        ProductResponse product
+) {}
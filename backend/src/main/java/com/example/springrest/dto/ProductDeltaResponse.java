@@ -0,0 +1,46 @@
+package com.example.springrest.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+/**
+ * Response DTO for delta sync ({@code GET /api/products/changes-since}).
+ *
+ * <p>Apply {@code changed} as upserts and {@code deleted} as removals, store {@code watermark}, and
+ * call again with it. While {@code hasMore} is {@code true} the next page is ready immediately; otherwise
+ * poll at your usual interval. If {@code resync} is {@code true}, drop the local copy and start over
+ * without a watermark.</p>
+ *
+ * <p><strong>Example (JSON)</strong>:</p>
+ * <pre>{@code
+ * {
+ *   "changed":   [ {"id":42,"name":"Coffee Mug","price":11.99} ],
+ *   "deleted":   [ 7 ],
+ *   "watermark": "MTcyOTI1NjQwMC4xMjMwMDAwMDA6NDI",
+ *   "hasMore":   false,
+ *   "resync":    false
+ * }
+ * }</pre>
+ *
+ * @since 1.1
+ */
+@Schema(description = "Products changed since a watermark, plus the watermark to send next time.")
+public record ProductDeltaResponse(
+        @Schema(description = "Products created or updated since the watermark, oldest change first.")
+        List<ProductResponse> changed,
+
+        @Schema(description = "Ids of products deleted since the watermark.", example = "[7]")
+        List<Long> deleted,
+
+        @Schema(description = "Opaque token to pass as 'watermark' on the next call.",
+                example = "MTcyOTI1NjQwMC4xMjMwMDAwMDA6NDI")
+        String watermark,
+
+        @Schema(description = "True if more changes are ready; call again right away.", example = "false")
+        boolean hasMore,
+
+        @Schema(description = "True if the watermark is too old; reload everything without a watermark.",
+                example = "false")
+        boolean resync
+) {}
@@ -0,0 +1,27 @@
+package com.example.springrest.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+
+import java.util.List;
+
+/**
+ * Request DTO for {@code POST /api/products/lookup}.
+ *
+ * <p>The body form of {@code GET /api/products?ids=...}, for id lists too long for a URL.</p>
+ *
+ * <p><strong>Example (JSON)</strong>:</p>
+ * <pre>{@code
+ * { "ids": [42, 7, 1001] }
+ * }</pre>
+ *
+ * @since 1.1
+ */
+@Schema(description = "Ids of the products to fetch in one call.")
+public record ProductLookupRequest(
+        @Schema(description = "Product ids; duplicates are ignored, order is kept.", example = "[42, 7, 1001]",
+                requiredMode = Schema.RequiredMode.REQUIRED)
+        @NotEmpty(message = "At least one id is required")
+        List<@NotNull(message = "Ids must not be null") Long> ids
+) {}
@@ -0,0 +1,29 @@
+package com.example.springrest.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+/**
+ * Response DTO for multi-get ({@code GET /api/products?ids=...} and {@code POST /api/products/lookup}).
+ *
+ * <p>Unknown ids do not fail the request; they are listed in {@code missing} instead.</p>
+ *
+ * <p><strong>Example (JSON)</strong>:</p>
+ * <pre>{@code
+ * {
+ *   "items":   [ {"id":42,"name":"Coffee Mug","price":12.99}, {"id":7,"name":"Tea Cup","price":8.50} ],
+ *   "missing": [ 1001 ]
+ * }
+ * }</pre>
+ *
+ * @since 1.1
+ */
+@Schema(description = "Products found for a multi-get, in request order, plus the ids that were not found.")
+public record ProductLookupResponse(
+        @Schema(description = "Found products, in the order their ids were requested.")
+        List<ProductResponse> items,
+
+        @Schema(description = "Requested ids that do not exist.", example = "[1001]")
+        List<Long> missing
+) {}
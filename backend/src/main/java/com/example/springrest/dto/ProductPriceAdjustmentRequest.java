@@ -0,0 +1,51 @@
+package com.example.springrest.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Digits;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Request DTO for {@code POST /api/products/price-adjustments}.
+ *
+ * <p>The filter fields select products (all given ones must match); exactly one of {@code percent}
+ * and {@code amount} says how their price changes. Changed prices are rounded half up to two decimals.</p>
+ *
+ * <p><strong>Example (JSON)</strong>:</p>
+ * <pre>{@code
+ * { "q": "mug", "maxPrice": 50, "percent": 5, "dryRun": true }
+ * }</pre>
+ *
+ * @since 1.1
+ */
+@Schema(description = "A price change applied to every product matching a filter.")
+public record ProductPriceAdjustmentRequest(
+        @Schema(description = "Case-insensitive name substring.", example = "mug")
+        @Size(max = 120, message = "q must be at most 120 characters")
+        String q,
+
+        @Schema(description = "Lowest current price, inclusive.", example = "1.00")
+        BigDecimal minPrice,
+
+        @Schema(description = "Highest current price, inclusive.", example = "50.00")
+        BigDecimal maxPrice,
+
+        @Schema(description = "Product ids.", example = "[42, 7, 1001]")
+        List<@NotNull(message = "Ids must not be null") Long> ids,
+
+        @Schema(description = "Change in percent, e.g. 5 or -12.5.", example = "5")
+        @DecimalMin(value = "-100", inclusive = false, message = "percent must be greater than -100")
+        @Digits(integer = 4, fraction = 4, message = "percent must have at most 4 decimal places")
+        BigDecimal percent,
+
+        @Schema(description = "Amount added to each price, may be negative.", example = "-0.50")
+        @Digits(integer = 10, fraction = 2, message = "amount must have at most 2 decimal places")
+        BigDecimal amount,
+
+        @Schema(description = "Only count the products and report the resulting price range.", example = "true")
+        boolean dryRun
+) {}
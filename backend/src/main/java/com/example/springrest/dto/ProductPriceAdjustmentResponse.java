@@ -0,0 +1,30 @@
+package com.example.springrest.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.math.BigDecimal;
+
+/**
+ * Response DTO for {@code POST /api/products/price-adjustments}.
+ *
+ * <p><strong>Example (JSON)</strong>:</p>
+ * <pre>{@code
+ * { "dryRun": true, "affected": 37, "lowestPrice": 5.24, "highestPrice": 49.35 }
+ * }</pre>
+ *
+ * @since 1.1
+ */
+@Schema(description = "Outcome of a price adjustment.")
+public record ProductPriceAdjustmentResponse(
+        @Schema(description = "True if nothing was written.", example = "true")
+        boolean dryRun,
+
+        @Schema(description = "Products changed, or that would be changed in a dry run.", example = "37")
+        long affected,
+
+        @Schema(description = "Lowest changed price; null if no product matched.", example = "5.24")
+        BigDecimal lowestPrice,
+
+        @Schema(description = "Highest changed price; null if no product matched.", example = "49.35")
+        BigDecimal highestPrice
+) {}
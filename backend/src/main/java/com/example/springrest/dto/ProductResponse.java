@@ -1,5 +1,6 @@
 package com.example.springrest.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import io.swagger.v3.oas.annotations.media.Schema;
 
 import java.math.BigDecimal;
@@ -20,6 +21,12 @@ import java.math.BigDecimal;
  * }
  * }</pre>
  *
+ * <p><strong>Sparse fieldsets</strong>: with {@code ?fields=id,price} the fields that were not
+ * requested are {@code null} and left out of the JSON ({@code {"id":42,"price":12.99}}). Every field
+ * of a stored product is non-null, so a missing property always means "not requested". Omission is
+ * decided by Jackson's precomputed serializer for this record; nothing is configured per request.
+ * </p>
+ *
  * <p><strong>Usage (Service → Controller)</strong>:</p>
  * <pre>{@code
  * Product p = productService.getOrThrow(id);
@@ -29,6 +36,7 @@ import java.math.BigDecimal;
  * @since 1.0
  */
 @Schema(description = "Response payload containing product details.")
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public record ProductResponse(
         @Schema(description = "The unique ID of the product.", example = "1")
         Long id,
@@ -0,0 +1,18 @@
+package com.example.springrest.events;
+
+/**
+ * Application event published by {@link com.example.springrest.services.ProductBulkService}
+ * after a set-based write changed many products at once.
+ *
+ * <p>Such writes do not load the products, so there is no per-product {@link ProductChangeEvent}.
+ * Listeners that keep derived state drop or reload all of it; the delta feed
+ * ({@code GET /api/products/changes-since}) still reports each changed product.</p>
+ *
+ * <p>Published once per operation, after its last chunk has committed and outside any
+ * transaction, so listeners need {@code @TransactionalEventListener(fallbackExecution = true)}
+ * or a plain {@code @EventListener}.</p>
+ *
+ * @param affected number of products changed
+ * @since 1.1
+ */
+public record ProductBulkChangeEvent(long affected) {}
@@ -0,0 +1,295 @@
+package com.example.springrest.events;
+
+import com.example.springrest.dto.ProductChangeResponse;
+import com.example.springrest.dto.ProductResponse;
+import com.example.springrest.mappers.ProductMapper;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Fans out committed {@link ProductChangeEvent}s to Server-Sent Events subscribers.
+ *
+ * <p>One broadcaster serves every subscriber of {@code GET /api/products/changes}, so clients can
+ * stop polling the list endpoints to find out what changed.</p>
+ *
+ * <h2>How it works</h2>
+ * <ul>
+ *   <li>Each change gets a monotonically increasing sequence number. Sequences restart with every
+ *       server run, so the SSE {@code id} is {@code <epoch>-<sequence>}, where the epoch is drawn at
+ *       random when this broadcaster starts. The last {@code app.products.changes.replay-size} changes
+ *       are kept in a ring buffer.</li>
+ *   <li>Every subscriber owns a bounded queue ({@code app.products.changes.subscriber-buffer}).
+ *       Publishing only offers to those queues; a small dispatcher pool does the actual network
+ *       writes, so a slow client never blocks the committing thread.</li>
+ *   <li>A subscriber whose queue overflows is dropped. Browsers' {@code EventSource} reconnects
+ *       automatically and sends {@code Last-Event-ID}, which replays the gap from the ring buffer.</li>
+ *   <li>If the requested {@code Last-Event-ID} is no longer in the ring, or its epoch is not this
+ *       run's (a previous run, another instance, or a malformed id), a single {@value #RESYNC_EVENT}
+ *       event tells the client to reload via the REST API before continuing with live changes.</li>
+ *   <li>A {@link ProductBulkChangeEvent} is sent to everyone as {@value #RESYNC_EVENT} too.</li>
+ * </ul>
+ *
+ * <h2>Configuration</h2>
+ * <pre>{@code
+ * app.products.changes.subscriber-buffer=256
+ * app.products.changes.replay-size=1024
+ * app.products.changes.timeout=30m
+ * app.products.changes.dispatch-threads=4
+ * }</pre>
+ *
+ * @since 1.1
+ */
+@Component
+public class ProductChangeBroadcaster {
+
+    /** SSE event name instructing a client to reload its state from the REST API. */
+    public static final String RESYNC_EVENT = "RESYNC";
+
+    private final ProductMapper mapper;
+    private final int subscriberBuffer;
+    private final Duration timeout;
+    private final Change[] ring;
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final ExecutorService dispatcher;
+    /** Identifies this run in event ids; sequence numbers alone repeat after a restart. */
+    private final String epoch = Long.toString(new SecureRandom().nextLong() & Long.MAX_VALUE, 36);
+
+    /** Guards {@link #ring}, {@link #lastSequence} and queue offers, so replay and live changes never interleave. */
+    private final Object lock = new Object();
+    private long lastSequence;
+
+    /**
+     * Creates the broadcaster.
+     *
+     * @param mapper           entity → DTO mapper used for event payloads
+     * @param subscriberBuffer max queued changes per subscriber before it is dropped
+     * @param replaySize       number of recent changes kept for {@code Last-Event-ID} resume
+     * @param timeout          lifetime of a single SSE connection before the client reconnects
+     * @param dispatchThreads  threads writing to subscriber connections
+     */
+    public ProductChangeBroadcaster(ProductMapper mapper,
+                                    @Value("${app.products.changes.subscriber-buffer:256}") int subscriberBuffer,
+                                    @Value("${app.products.changes.replay-size:1024}") int replaySize,
+                                    @Value("${app.products.changes.timeout:30m}") Duration timeout,
+                                    @Value("${app.products.changes.dispatch-threads:4}") int dispatchThreads) {
+        this.mapper = mapper;
+        this.subscriberBuffer = subscriberBuffer;
+        this.timeout = timeout;
+        this.ring = new Change[replaySize];
+        CustomizableThreadFactory threads = new CustomizableThreadFactory("product-changes-");
+        threads.setDaemon(true);
+        this.dispatcher = Executors.newFixedThreadPool(dispatchThreads, threads);
+    }
+
+    /**
+     * Registers a new subscriber.
+     *
+     * @param lastEventId value of the {@code Last-Event-ID} header, or {@code null} for a fresh subscription
+     * @return the emitter to return from the controller
+     */
+    public SseEmitter subscribe(String lastEventId) {
+        Subscriber sub = new Subscriber(new SseEmitter(timeout.toMillis()), subscriberBuffer);
+        sub.emitter.onCompletion(() -> close(sub));
+        sub.emitter.onTimeout(sub.emitter::complete);
+        sub.emitter.onError(ex -> close(sub));
+
+        synchronized (lock) {
+            if (lastEventId != null) {
+                List<Change> missed = replayAfter(lastEventId);
+                if (missed == null || missed.size() > subscriberBuffer) {
+                    sub.queue.offer(new Change(lastSequence, RESYNC_EVENT,
+                            new ProductChangeResponse(RESYNC_EVENT, null, null)));
+                } else {
+                    missed.forEach(sub.queue::offer);
+                }
+            }
+            subscribers.add(sub);
+        }
+        schedule(sub);
+        return sub.emitter;
+    }
+
+    /**
+     * Records a committed change and queues it for every subscriber.
+     *
+     * <p>Runs after the publishing transaction commits; with {@code fallbackExecution = true} it also
+     * runs immediately when the change was published outside a transaction.</p>
+     *
+     * @param event the change published by the service layer
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChange(ProductChangeEvent event) {
+        ProductResponse product = event.product() == null ? null : mapper.toResponse(event.product());
+        record(event.type().name(), new ProductChangeResponse(event.type().name(), event.id(), product));
+    }
+
+    /**
+     * Tells every subscriber to reload after a bulk write, which has no per-product changes to send.
+     *
+     * <p>The {@value #RESYNC_EVENT} goes through the ring like any change, so clients that reconnect
+     * across it are told to reload as well.</p>
+     *
+     * @param event the completed bulk write
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBulkChange(ProductBulkChangeEvent event) {
+        record(RESYNC_EVENT, new ProductChangeResponse(RESYNC_EVENT, null, null));
+    }
+
+    private void record(String type, ProductChangeResponse payload) {
+        synchronized (lock) {
+            Change change = new Change(++lastSequence, type, payload);
+            ring[(int) (change.sequence() % ring.length)] = change;
+            for (Subscriber sub : subscribers) {
+                if (!sub.queue.offer(change)) {
+                    sub.overflowed = true;
+                }
+            }
+        }
+        for (Subscriber sub : subscribers) {
+            schedule(sub);
+        }
+    }
+
+    /**
+     * Changes a reconnecting client missed, or {@code null} when they are no longer available.
+     *
+     * @param lastEventId last event id the client saw, {@code <epoch>-<sequence>}
+     * @return missed changes in order (possibly empty), or {@code null} if the client must resync
+     */
+    List<Change> replayAfter(String lastEventId) {
+        int dash = lastEventId.lastIndexOf('-');
+        if (dash <= 0 || !epoch.equals(lastEventId.substring(0, dash))) {
+            return null;
+        }
+        long sequence;
+        try {
+            sequence = Long.parseLong(lastEventId.substring(dash + 1));
+        } catch (NumberFormatException ex) {
+            return null;
+        }
+        return replayAfter(sequence);
+    }
+
+    private List<Change> replayAfter(long lastEventId) {
+        synchronized (lock) {
+            long oldestAvailable = Math.max(1, lastSequence - ring.length + 1);
+            if (lastEventId > lastSequence || lastEventId < oldestAvailable - 1) {
+                return null;
+            }
+            List<Change> missed = new ArrayList<>((int) (lastSequence - lastEventId));
+            for (long seq = lastEventId + 1; seq <= lastSequence; seq++) {
+                missed.add(ring[(int) (seq % ring.length)]);
+            }
+            return missed;
+        }
+    }
+
+    /**
+     * @param change a recorded change
+     * @return its SSE event id
+     */
+    String eventId(Change change) {
+        return epoch + "-" + change.sequence();
+    }
+
+    /**
+     * @return number of currently connected subscribers
+     */
+    public int subscriberCount() {
+        return subscribers.size();
+    }
+
+    /**
+     * Completes all open streams on shutdown so clients reconnect to another instance.
+     */
+    @PreDestroy
+    void shutdown() {
+        subscribers.forEach(sub -> sub.emitter.complete());
+        dispatcher.shutdownNow();
+    }
+
+    private void schedule(Subscriber sub) {
+        if (sub.closed || !sub.draining.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            dispatcher.execute(() -> drain(sub));
+        } catch (RejectedExecutionException ex) {
+            sub.draining.set(false);
+        }
+    }
+
+    private void drain(Subscriber sub) {
+        try {
+            if (sub.overflowed) {
+                // Too slow: drop the connection; the client resumes via Last-Event-ID.
+                close(sub);
+                sub.emitter.complete();
+                return;
+            }
+            Change change;
+            while (!sub.closed && (change = sub.queue.poll()) != null) {
+                sub.emitter.send(SseEmitter.event()
+                        .id(eventId(change))
+                        .name(change.name())
+                        .data(change.data(), MediaType.APPLICATION_JSON));
+            }
+        } catch (IOException | IllegalStateException ex) {
+            // Client went away; the container reports the error and the emitter completes.
+            close(sub);
+        } finally {
+            sub.draining.set(false);
+        }
+        if (!sub.queue.isEmpty() || sub.overflowed) {
+            schedule(sub);
+        }
+    }
+
+    private void close(Subscriber sub) {
+        sub.closed = true;
+        subscribers.remove(sub);
+        sub.queue.clear();
+    }
+
+    /**
+     * A sequenced change as stored in the ring buffer and subscriber queues.
+     *
+     * @param sequence position in this run's change stream
+     * @param name     SSE event name
+     * @param data     JSON payload
+     */
+    record Change(long sequence, String name, ProductChangeResponse data) {}
+
+    private static final class Subscriber {
+        final SseEmitter emitter;
+        final BlockingQueue<Change> queue;
+        final AtomicBoolean draining = new AtomicBoolean();
+        volatile boolean overflowed;
+        volatile boolean closed;
+
+        Subscriber(SseEmitter emitter, int capacity) {
+            this.emitter = emitter;
+            this.queue = new ArrayBlockingQueue<>(capacity);
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.springrest.events;
+
+import com.example.springrest.models.Product;
+
+/**
+ * Application event published by {@link com.example.springrest.services.ProductService}
+ * whenever a product is created, updated or deleted.
+ *
+ * <p>The event carries the affected entity as it looked right after the write, so listeners
+ * do not need to reload it. For {@link Type#DELETED} events only the id is known and
+ * {@link #product()} is {@code null}.</p>
+ *
+ * <h2>Listening</h2>
+ * <pre>{@code
+ * @TransactionalEventListener(fallbackExecution = true)
+ * void on(ProductChangeEvent event) {
+ *   log.info("{} product {}", event.type(), event.id());
+ * }
+ * }</pre>
+ *
+ * @param type    kind of change
+ * @param id      id of the affected product (never {@code null})
+ * @param product state after the change, or {@code null} for deletes
+ * @since 1.1
+ */
+public record ProductChangeEvent(Type type, Long id, Product product) {
+
+    /**
+     * Kind of change applied to a product.
+     */
+    public enum Type {
+        /** A new product was persisted. */
+        CREATED,
+        /** An existing product was modified. */
+        UPDATED,
+        /** A product was removed. */
+        DELETED
+    }
+
+    /**
+     * Event for a freshly persisted product.
+     *
+     * @param saved the saved entity (id assigned)
+     * @return a {@link Type#CREATED} event
+     */
+    public static ProductChangeEvent created(Product saved) {
+        return new ProductChangeEvent(Type.CREATED, saved.getId(), saved);
+    }
+
+    /**
+     * Event for a modified product.
+     *
+     * @param updated the entity after the update
+     * @return an {@link Type#UPDATED} event
+     */
+    public static ProductChangeEvent updated(Product updated) {
+        return new ProductChangeEvent(Type.UPDATED, updated.getId(), updated);
+    }
+
+    /**
+     * Event for a removed product.
+     *
+     * @param id id of the deleted product
+     * @return a {@link Type#DELETED} event
+     */
+    public static ProductChangeEvent deleted(Long id) {
+        return new ProductChangeEvent(Type.DELETED, id, null);
+    }
+}
@@ -0,0 +1,23 @@
+/**
+ * Domain events describing changes to the product catalog, and the components
+ * that fan them out to interested parties.
+ *
+ * <p>Write operations in {@link com.example.springrest.services.ProductService} publish a
+ * {@link com.example.springrest.events.ProductChangeEvent} through Spring's
+ * {@link org.springframework.context.ApplicationEventPublisher}. Listeners declared with
+ * {@link org.springframework.transaction.event.TransactionalEventListener @TransactionalEventListener}
+ * only see the event once the surrounding transaction has committed, so nobody is told about
+ * a change that was later rolled back.</p>
+ *
+ * <h2>Contents</h2>
+ * <ul>
+ *   <li>{@link com.example.springrest.events.ProductChangeEvent} — what changed (create, update, delete).</li>
+ *   <li>{@link com.example.springrest.events.ProductBulkChangeEvent} — many products changed by one
+ *       set-based write.</li>
+ *   <li>{@link com.example.springrest.events.ProductChangeBroadcaster} — pushes committed changes to
+ *       Server-Sent Events subscribers of {@code GET /api/products/changes}.</li>
+ * </ul>
+ *
+ * @see org.springframework.transaction.event.TransactionalEventListener
+ */
+package com.example.springrest.events;
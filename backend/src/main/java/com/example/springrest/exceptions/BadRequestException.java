@@ -0,0 +1,40 @@
+package com.example.springrest.exceptions;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+
+/**
+ * Exception thrown when a request is well-formed but asks for something the API does not allow,
+ * for example too many ids in one lookup.
+ *
+ * <p><strong>Spring integration</strong>:
+ * Annotated with {@link ResponseStatus @ResponseStatus(HttpStatus.BAD_REQUEST)} and
+ * handled by {@link GlobalExceptionHandler}, so clients receive <code>400 BAD REQUEST</code>
+ * with the message as the error detail. Bean Validation failures on request bodies keep their
+ * per-field format (see {@link GlobalExceptionHandler#handleValidationException}).</p>
+ *
+ * <h2>Typical usage</h2>
+ * <pre>{@code
+ * if (ids.size() > MAX_LOOKUP_IDS) {
+ *     throw new BadRequestException("At most " + MAX_LOOKUP_IDS + " ids per lookup");
+ * }
+ * }</pre>
+ *
+ * <p>No stack trace is captured: the message says what was wrong, and a client sending bad requests in a
+ * loop should not cost a stack walk per request.</p>
+ *
+ * @since 1.1
+ */
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class BadRequestException extends RuntimeException {
+
+    /**
+     * Constructs a new {@code BadRequestException} with the specified detail message.
+     *
+     * @param message a descriptive message telling the client what to change.
+     */
+    public BadRequestException(String message) {
+        super(message, null, false, false);
+    }
+}
@@ -0,0 +1,170 @@
+package com.example.springrest.exceptions;
+
+import org.springframework.validation.FieldError;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * JSON error bodies written as bytes, for the {@link GlobalExceptionHandler}.
+ *
+ * <p>The error responses keep their documented shapes, {@code {"error": message}} and
+ * {@code {"field": message, ...}}, but skip the {@link Map} and the Jackson round trip. Constant parts
+ * are encoded once: the prefix of a deferred not-found message ({@link ResourceNotFoundException#product(long)}),
+ * and field names and validation messages, which come from a small fixed set of constraint annotations.
+ * A 404 for a product id then costs one array copy plus the id's digits.</p>
+ *
+ * <p>Encoded fragments are cached up to {@value #MAX_CACHED} entries; beyond that they are encoded on
+ * each use, so messages built from client input cannot grow the cache.</p>
+ *
+ * @since 1.1
+ */
+final class ErrorBodies {
+
+    /** Upper bound on cached fragments. */
+    static final int MAX_CACHED = 1024;
+
+    private static final byte[] ERROR_OPEN = ascii("{\"error\":\"");
+    private static final byte[] CLOSE = ascii("\"}");
+    private static final Map<String, byte[]> FRAGMENTS = new ConcurrentHashMap<>();
+    private static final Map<String, byte[]> PREFIXES = new ConcurrentHashMap<>();
+
+    private ErrorBodies() {
+    }
+
+    /**
+     * @param message the error message; {@code null} is written as an empty string
+     * @return {@code {"error":"<message>"}} in UTF-8
+     */
+    static byte[] error(String message) {
+        byte[] text = encode(message == null ? "" : message);
+        byte[] body = new byte[ERROR_OPEN.length + text.length + CLOSE.length];
+        System.arraycopy(ERROR_OPEN, 0, body, 0, ERROR_OPEN.length);
+        System.arraycopy(text, 0, body, ERROR_OPEN.length, text.length);
+        System.arraycopy(CLOSE, 0, body, ERROR_OPEN.length + text.length, CLOSE.length);
+        return body;
+    }
+
+    /**
+     * Body of a not-found exception, writing a deferred message without building it as a string.
+     *
+     * @param ex the exception
+     * @return {@code {"error":"<message>"}} in UTF-8
+     */
+    static byte[] notFound(ResourceNotFoundException ex) {
+        String prefix = ex.prefix();
+        long id = ex.id();
+        if (prefix == null || id < 0) {
+            return error(ex.getMessage());
+        }
+        byte[] open = PREFIXES.computeIfAbsent(prefix, p -> concat(ERROR_OPEN, encode(p)));
+        int digits = digits(id);
+        byte[] body = new byte[open.length + digits + CLOSE.length];
+        System.arraycopy(open, 0, body, 0, open.length);
+        int end = open.length + digits;
+        for (int i = end - 1; i >= open.length; i--) {
+            body[i] = (byte) ('0' + id % 10);
+            id /= 10;
+        }
+        System.arraycopy(CLOSE, 0, body, end, CLOSE.length);
+        return body;
+    }
+
+    /**
+     * Body of a validation failure: one member per field, the first error of a field wins.
+     *
+     * @param errors the field errors in reporting order
+     * @return {@code {"<field>":"<message>",...}} in UTF-8
+     */
+    static byte[] fields(List<FieldError> errors) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(64 * Math.max(1, errors.size()));
+        Set<String> seen = errors.size() > 1 ? new HashSet<>() : Set.of();
+        out.write('{');
+        boolean first = true;
+        for (FieldError error : errors) {
+            if (errors.size() > 1 && !seen.add(error.getField())) {
+                continue;
+            }
+            if (!first) {
+                out.write(',');
+            }
+            first = false;
+            String message = error.getDefaultMessage() != null ? error.getDefaultMessage() : "Validation error";
+            out.write('"');
+            out.writeBytes(cached(error.getField()));
+            out.write('"');
+            out.write(':');
+            out.write('"');
+            out.writeBytes(cached(message));
+            out.write('"');
+        }
+        out.write('}');
+        return out.toByteArray();
+    }
+
+    private static byte[] cached(String text) {
+        byte[] encoded = FRAGMENTS.get(text);
+        if (encoded != null) {
+            return encoded;
+        }
+        encoded = encode(text);
+        if (FRAGMENTS.size() < MAX_CACHED) {
+            FRAGMENTS.putIfAbsent(text, encoded);
+        }
+        return encoded;
+    }
+
+    /**
+     * @param text any string
+     * @return its JSON string contents (escaped, without quotes) in UTF-8
+     */
+    static byte[] encode(String text) {
+        StringBuilder escaped = null;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            String replacement = switch (c) {
+                case '"' -> "\\\"";
+                case '\\' -> "\\\\";
+                case '\n' -> "\\n";
+                case '\r' -> "\\r";
+                case '\t' -> "\\t";
+                default -> c < 0x20 ? String.format("\\u%04x", (int) c) : null;
+            };
+            if (replacement != null && escaped == null) {
+                escaped = new StringBuilder(text.length() + 16).append(text, 0, i);
+            }
+            if (escaped != null) {
+                if (replacement != null) {
+                    escaped.append(replacement);
+                } else {
+                    escaped.append(c);
+                }
+            }
+        }
+        return (escaped != null ? escaped.toString() : text).getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static int digits(long value) {
+        int digits = 1;
+        for (long limit = 10; digits < 19 && value >= limit; limit *= 10) {
+            digits++;
+        }
+        return digits;
+    }
+
+    private static byte[] concat(byte[] a, byte[] b) {
+        byte[] joined = new byte[a.length + b.length];
+        System.arraycopy(a, 0, joined, 0, a.length);
+        System.arraycopy(b, 0, joined, a.length, b.length);
+        return joined;
+    }
+
+    private static byte[] ascii(String text) {
+        return text.getBytes(StandardCharsets.US_ASCII);
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.springrest.exceptions;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+
+/**
+ * Exception thrown when a request could not be answered within its deadline,
+ * for example because a search query ran into its timeout.
+ *
+ * <p><strong>Spring integration</strong>:
+ * Annotated with {@link ResponseStatus @ResponseStatus(HttpStatus.GATEWAY_TIMEOUT)} and
+ * handled by {@link GlobalExceptionHandler}, so clients receive <code>504 GATEWAY TIMEOUT</code>
+ * with the message as the error detail. The work has already been cancelled; retrying the same
+ * request will usually time out again, so clients should narrow it first.</p>
+ *
+ * <h2>Typical usage</h2>
+ * <pre>{@code
+ * result.onTimeout(() -> result.setErrorResult(new GatewayTimeoutException("Search timed out")));
+ * }</pre>
+ *
+ * @since 1.1
+ */
+@ResponseStatus(HttpStatus.GATEWAY_TIMEOUT)
+public class GatewayTimeoutException extends RuntimeException {
+
+    /**
+     * Constructs a new {@code GatewayTimeoutException} with the specified detail message.
+     *
+     * @param message a descriptive message explaining which deadline was missed.
+     */
+    public GatewayTimeoutException(String message) {
+        super(message);
+    }
+}
@@ -1,13 +1,16 @@
 package com.example.springrest.exceptions;
 
+import com.example.springrest.jfr.ApiErrorEvent;
+import org.springframework.dao.DataAccessResourceFailureException;
 import org.springframework.http.HttpStatus;
-import org.springframework.validation.FieldError;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.CannotCreateTransactionException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 import java.util.Map;
-import java.util.stream.Collectors;
 
 /**
  * Global exception handler for REST controllers.
@@ -24,6 +27,7 @@ import java.util.stream.Collectors;
  *     <li>Map exceptions to appropriate HTTP status codes.</li>
  *     <li>Produce JSON error payloads instead of raw stack traces.</li>
  *     <li>Improve API usability by returning descriptive, client-friendly errors.</li>
+ *     <li>Emit an {@link ApiErrorEvent} per handled exception for the continuous flight recording.</li>
  * </ul>
  *
  * <p><b>Design notes:</b></p>
@@ -36,6 +40,12 @@ import java.util.stream.Collectors;
  *         Follows a contract of returning {@code Map<String,String>} responses,
  *         which are automatically serialized to JSON by Spring Boot.
  *     </li>
+ *     <li>
+ *         The frequent 404 and 400 responses are the exception: they return the same JSON shapes
+ *         pre-encoded as bytes (see {@link ErrorBodies}), skipping the map and Jackson. Together with
+ *         stackless {@link ResourceNotFoundException}s and {@link BadRequestException}s this keeps a
+ *         storm of requests for missing ids cheap.
+ *     </li>
  * </ul>
  *
  * <p>Example error response (404):</p>
@@ -54,6 +64,9 @@ import java.util.stream.Collectors;
  * }</pre>
  *
  * @see ResourceNotFoundException
+ * @see ServiceUnavailableException
+ * @see NotImplementedException
+ * @see BadRequestException
  * @see MethodArgumentNotValidException
  */
 @RestControllerAdvice
@@ -74,8 +87,11 @@ public class GlobalExceptionHandler {
      * return error;
      * }</pre>
      *
+     * <p>The body is written from pre-encoded bytes; for {@link ResourceNotFoundException#product(long)}
+     * the message string is never built.</p>
+     *
      * @param ex the exception containing the cause of the resource lookup failure
-     * @return a map with a single entry {@code "error": message}
+     * @return a JSON object with a single entry {@code "error": message}
      *
      * <p><strong>Example</strong></p>
      * <pre>{@code
@@ -85,8 +101,96 @@ public class GlobalExceptionHandler {
      * }</pre>
      */
     @ExceptionHandler(ResourceNotFoundException.class)
-    @ResponseStatus(HttpStatus.NOT_FOUND)
-    public Map<String, String> handleResourceNotFoundException(ResourceNotFoundException ex) {
+    public ResponseEntity<byte[]> handleResourceNotFoundException(ResourceNotFoundException ex) {
+        ApiErrorEvent.emit(HttpStatus.NOT_FOUND.value(), ex);
+        return json(HttpStatus.NOT_FOUND, ErrorBodies.notFound(ex));
+    }
+
+    /**
+     * Handles {@link BadRequestException}.
+     *
+     * <p>
+     *     Returns an HTTP 400 (Bad Request) response in the same shape as the 404 handler.
+     *     Field-level validation errors are handled separately by {@link #handleValidationException}.
+     * </p>
+     *
+     * @param ex the exception describing what the client must change
+     * @return a JSON object with a single entry {@code "error": message}
+     */
+    @ExceptionHandler(BadRequestException.class)
+    public ResponseEntity<byte[]> handleBadRequestException(BadRequestException ex) {
+        ApiErrorEvent.emit(HttpStatus.BAD_REQUEST.value(), ex);
+        return json(HttpStatus.BAD_REQUEST, ErrorBodies.error(ex.getMessage()));
+    }
+
+    /**
+     * Handles {@link ServiceUnavailableException}.
+     *
+     * <p>
+     *     Returns an HTTP 503 (Service Unavailable) response in the same shape as the 404 handler,
+     *     so clients can treat both uniformly and retry later.
+     * </p>
+     *
+     * @param ex the exception explaining why the request was rejected
+     * @return a map with a single entry {@code "error": message}
+     */
+    @ExceptionHandler(ServiceUnavailableException.class)
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    public Map<String, String> handleServiceUnavailableException(ServiceUnavailableException ex) {
+        ApiErrorEvent.emit(HttpStatus.SERVICE_UNAVAILABLE.value(), ex);
+        return Map.of("error", ex.getMessage());
+    }
+
+    /**
+     * Handles a database that cannot be reached: no connection could be obtained for the transaction,
+     * or the connection failed.
+     *
+     * <p>
+     *     Returns HTTP 503 like {@link #handleServiceUnavailableException}, since retrying later can
+     *     succeed. The exception's message (driver and pool details) is logged by Spring, not returned.
+     * </p>
+     *
+     * @param ex the exception from the transaction manager or the driver
+     * @return a map with a single entry {@code "error": message}
+     */
+    @ExceptionHandler({CannotCreateTransactionException.class, DataAccessResourceFailureException.class})
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    public Map<String, String> handleDatabaseUnavailable(RuntimeException ex) {
+        ApiErrorEvent.emit(HttpStatus.SERVICE_UNAVAILABLE.value(), ex);
+        return Map.of("error", "Database unavailable, please retry later");
+    }
+
+    /**
+     * Handles {@link GatewayTimeoutException}.
+     *
+     * <p>
+     *     Returns an HTTP 504 (Gateway Timeout) response in the same shape as the 404 handler.
+     * </p>
+     *
+     * @param ex the exception naming the missed deadline
+     * @return a map with a single entry {@code "error": message}
+     */
+    @ExceptionHandler(GatewayTimeoutException.class)
+    @ResponseStatus(HttpStatus.GATEWAY_TIMEOUT)
+    public Map<String, String> handleGatewayTimeoutException(GatewayTimeoutException ex) {
+        ApiErrorEvent.emit(HttpStatus.GATEWAY_TIMEOUT.value(), ex);
+        return Map.of("error", ex.getMessage());
+    }
+
+    /**
+     * Handles {@link NotImplementedException}.
+     *
+     * <p>
+     *     Returns an HTTP 501 (Not Implemented) response in the same shape as the 404 handler.
+     * </p>
+     *
+     * @param ex the exception naming the unavailable feature
+     * @return a map with a single entry {@code "error": message}
+     */
+    @ExceptionHandler(NotImplementedException.class)
+    @ResponseStatus(HttpStatus.NOT_IMPLEMENTED)
+    public Map<String, String> handleNotImplementedException(NotImplementedException ex) {
+        ApiErrorEvent.emit(HttpStatus.NOT_IMPLEMENTED.value(), ex);
         return Map.of("error", ex.getMessage());
     }
 
@@ -109,7 +213,7 @@ public class GlobalExceptionHandler {
      * }</pre>
      *
      * @param ex the exception containing details of all validation errors
-     * @return a map of field names to validation messages
+     * @return a JSON object mapping field names to validation messages
      *
      * <p><strong>Example</strong></p>
      * <pre>{@code
@@ -120,15 +224,12 @@ public class GlobalExceptionHandler {
      * }</pre>
      */
     @ExceptionHandler(MethodArgumentNotValidException.class)
-    @ResponseStatus(HttpStatus.BAD_REQUEST)
-    public Map<String, String> handleValidationException(MethodArgumentNotValidException ex) {
-        return ex.getBindingResult()
-                .getFieldErrors()
-                .stream()
-                .collect(Collectors.toMap(
-                        FieldError::getField,
-                        fe -> fe.getDefaultMessage() != null ? fe.getDefaultMessage() : "Validation error",
-                        (msg1, msg2) -> msg1
-                ));
+    public ResponseEntity<byte[]> handleValidationException(MethodArgumentNotValidException ex) {
+        ApiErrorEvent.emit(HttpStatus.BAD_REQUEST.value(), ex);
+        return json(HttpStatus.BAD_REQUEST, ErrorBodies.fields(ex.getBindingResult().getFieldErrors()));
+    }
+
+    private static ResponseEntity<byte[]> json(HttpStatus status, byte[] body) {
+        return ResponseEntity.status(status).contentType(MediaType.APPLICATION_JSON).body(body);
     }
 }
@@ -0,0 +1,37 @@
+package com.example.springrest.exceptions;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+
+/**
+ * Exception thrown when a feature is not available in the current deployment,
+ * for example because sharding is enabled and the feature's queries are not routed across shards.
+ *
+ * <p><strong>Spring integration</strong>:
+ * Annotated with {@link ResponseStatus @ResponseStatus(HttpStatus.NOT_IMPLEMENTED)} and
+ * handled by {@link GlobalExceptionHandler}, so clients receive <code>501 NOT IMPLEMENTED</code>
+ * with the message as the error detail. Retrying will not help; clients should fall back to the
+ * regular endpoints.</p>
+ *
+ * <h2>Typical usage</h2>
+ * <pre>{@code
+ * if (sharded) {
+ *     throw new NotImplementedException("Delta sync is not available while sharding is enabled");
+ * }
+ * }</pre>
+ *
+ * @since 1.1
+ */
+@ResponseStatus(HttpStatus.NOT_IMPLEMENTED)
+public class NotImplementedException extends RuntimeException {
+
+    /**
+     * Constructs a new {@code NotImplementedException} with the specified detail message.
+     *
+     * @param message a descriptive message naming the unavailable feature and why.
+     */
+    public NotImplementedException(String message) {
+        super(message);
+    }
+}
@@ -18,7 +18,7 @@ import org.springframework.web.bind.annotation.ResponseStatus;
  * // In a service method
  * public Product getOrThrow(Long id) {
  *     return repo.findById(id)
- *         .orElseThrow(() -> new ResourceNotFoundException("Product not found: " + id));
+ *         .orElseThrow(() -> ResourceNotFoundException.product(id));
  * }
  *
  * // In a controller, no try/catch needed:
@@ -32,17 +32,70 @@ import org.springframework.web.bind.annotation.ResponseStatus;
  * <p><strong>API design note</strong>: a dedicated exception class provides
  * semantic clarity, and keeps controller code concise.</p>
  *
+ * <p><strong>Performance note</strong>: crawlers and stale clients ask for missing ids all the time,
+ * so a 404 must be cheap. The exception captures no stack trace and cannot carry suppressed exceptions;
+ * it is a control-flow signal, and where it was thrown is evident from the message. Instances made with
+ * {@link #product(long)} also defer building the message until {@link #getMessage()} is called; the
+ * {@link GlobalExceptionHandler} never calls it and writes the pre-encoded prefix plus the id instead.</p>
+ *
  * @since 1.0
  */
 @ResponseStatus(HttpStatus.NOT_FOUND)
 public class ResourceNotFoundException extends RuntimeException{
 
+    /** Message prefix of {@link #product(long)}; the id follows it. */
+    public static final String PRODUCT_NOT_FOUND = "Product not found with ID: ";
+
+    private final String prefix;
+    private final long id;
+
     /**
      * Constructs a new {@code ResourceNotFoundException} with the specified detail message.
      *
      * @param message a descriptive message explaining the cause of the exception.
      */
     public ResourceNotFoundException(String message) {
-        super(message);
+        super(message, null, false, false);
+        this.prefix = null;
+        this.id = 0;
+    }
+
+    private ResourceNotFoundException(String prefix, long id) {
+        super(null, null, false, false);
+        this.prefix = prefix;
+        this.id = id;
+    }
+
+    /**
+     * Creates the exception for a missing product, without building its message yet.
+     *
+     * @param id the id that was not found
+     * @return an exception whose message is {@value #PRODUCT_NOT_FOUND} followed by {@code id}
+     * @since 1.1
+     */
+    public static ResourceNotFoundException product(long id) {
+        return new ResourceNotFoundException(PRODUCT_NOT_FOUND, id);
+    }
+
+    /**
+     * @return the detail message; built on each call for instances made with {@link #product(long)}
+     */
+    @Override
+    public String getMessage() {
+        return prefix == null ? super.getMessage() : prefix + id;
+    }
+
+    /**
+     * @return the constant part of a deferred message, or {@code null} for a plain message
+     */
+    String prefix() {
+        return prefix;
+    }
+
+    /**
+     * @return the id following {@link #prefix()}; meaningless for a plain message
+     */
+    long id() {
+        return id;
     }
 }
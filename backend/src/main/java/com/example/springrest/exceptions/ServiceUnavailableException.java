@@ -0,0 +1,36 @@
+package com.example.springrest.exceptions;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+
+/**
+ * Exception thrown when the service is temporarily unable to accept work,
+ * for example because an internal queue is full.
+ *
+ * <p><strong>Spring integration</strong>:
+ * Annotated with {@link ResponseStatus @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)} and
+ * handled by {@link GlobalExceptionHandler}, so clients receive <code>503 SERVICE UNAVAILABLE</code>
+ * with the message as the error detail. Clients may retry after a short back-off.</p>
+ *
+ * <h2>Typical usage</h2>
+ * <pre>{@code
+ * if (!queue.offer(op, timeout, MILLISECONDS)) {
+ *     throw new ServiceUnavailableException("Write buffer is full");
+ * }
+ * }</pre>
+ *
+ * @since 1.1
+ */
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class ServiceUnavailableException extends RuntimeException {
+
+    /**
+     * Constructs a new {@code ServiceUnavailableException} with the specified detail message.
+     *
+     * @param message a descriptive message explaining why the request was rejected.
+     */
+    public ServiceUnavailableException(String message) {
+        super(message);
+    }
+}
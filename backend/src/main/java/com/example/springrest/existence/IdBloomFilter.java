@@ -0,0 +1,128 @@
+package com.example.springrest.existence;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bloom filter over {@code long} ids: answers "definitely absent" or "possibly present".
+ *
+ * <h2>Layout</h2>
+ * <p>One bit array in an {@link AtomicLongArray}. An id sets {@code hashes} bits, chosen by double
+ * hashing of two 64-bit mixes of the id. {@link #mightContain(long)} returns {@code false} only if one of
+ * those bits is clear, so there are no false negatives; false positives happen at about the configured
+ * rate while no more than {@link #capacity()} ids have been added, and more often beyond that.</p>
+ *
+ * <h2>Sizing</h2>
+ * <p>For {@code n} expected ids and false-positive rate {@code p}: {@code -n ln p / (ln 2)^2} bits and
+ * {@code (bits / n) ln 2} hashes. One million ids at 1% take about 1.2 MB and 7 hashes.</p>
+ *
+ * <h2>Concurrency</h2>
+ * <p>Adds and lookups are lock-free and never allocate. A lookup racing with the add of the same id may
+ * miss it; callers add an id before they let anybody look it up. Ids cannot be removed.</p>
+ *
+ * @since 1.1
+ */
+public class IdBloomFilter {
+
+    private static final double LN2 = Math.log(2);
+    private static final long MAX_BITS = (long) (Integer.MAX_VALUE - 8) * Long.SIZE;
+
+    private final AtomicLongArray words;
+    private final long bits;
+    private final int hashes;
+    private final long capacity;
+    private final AtomicLong added = new AtomicLong();
+
+    /**
+     * @param capacity          number of ids the filter is sized for (at least 1)
+     * @param falsePositiveRate target false-positive rate at {@code capacity} ids, in (0, 1)
+     */
+    public IdBloomFilter(long capacity, double falsePositiveRate) {
+        if (falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("falsePositiveRate must be in (0, 1): " + falsePositiveRate);
+        }
+        this.capacity = Math.max(1, capacity);
+        long wanted = (long) Math.ceil(-this.capacity * Math.log(falsePositiveRate) / (LN2 * LN2));
+        int wordCount = (int) ((Math.min(Math.max(Long.SIZE, wanted), MAX_BITS) + Long.SIZE - 1) / Long.SIZE);
+        this.words = new AtomicLongArray(wordCount);
+        this.bits = (long) wordCount * Long.SIZE;
+        this.hashes = (int) Math.max(1, Math.min(16, Math.round((double) bits / this.capacity * LN2)));
+    }
+
+    /**
+     * Adds an id.
+     *
+     * @param id the id
+     */
+    public void add(long id) {
+        long h1 = mix(id);
+        long h2 = mix(id ^ 0x9E3779B97F4A7C15L) | 1;
+        for (int i = 0; i < hashes; i++) {
+            long index = ((h1 + i * h2) & Long.MAX_VALUE) % bits;
+            int word = (int) (index >>> 6);
+            long mask = 1L << index;
+            long current = words.get(word);
+            while ((current & mask) == 0 && !words.compareAndSet(word, current, current | mask)) {
+                current = words.get(word);
+            }
+        }
+        added.incrementAndGet();
+    }
+
+    /**
+     * @param id the id
+     * @return {@code false} if {@code id} was definitely never added; {@code true} if it may have been
+     */
+    public boolean mightContain(long id) {
+        long h1 = mix(id);
+        long h2 = mix(id ^ 0x9E3779B97F4A7C15L) | 1;
+        for (int i = 0; i < hashes; i++) {
+            long index = ((h1 + i * h2) & Long.MAX_VALUE) % bits;
+            if ((words.get((int) (index >>> 6)) & (1L << index)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return number of ids the filter was sized for
+     */
+    public long capacity() {
+        return capacity;
+    }
+
+    /**
+     * @return number of {@link #add} calls so far, counting repeated ids again
+     */
+    public long added() {
+        return added.get();
+    }
+
+    /**
+     * @return size of the bit array in bits
+     */
+    public long bits() {
+        return bits;
+    }
+
+    /**
+     * @return number of bits set (and checked) per id
+     */
+    public int hashes() {
+        return hashes;
+    }
+
+    /**
+     * Murmur3 64-bit finalizer; spreads sequential ids over the bit array.
+     */
+    private static long mix(long value) {
+        long h = value;
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        h *= 0xC4CEB9FE1A85EC53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -0,0 +1,197 @@
+package com.example.springrest.existence;
+
+import com.example.springrest.events.ProductChangeEvent;
+import com.example.springrest.repositories.ProductRepo;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Negative-lookup filter: knows which product ids definitely do not exist.
+ *
+ * <p>Crawlers and stale clients keep asking for ids that were never created or are long gone. A
+ * {@link IdBloomFilter} of all existing ids lets {@code GET /api/products/{id}} and batch gets answer
+ * those with 404 before they take a bulkhead permit, a transaction or a connection. Ids the filter
+ * cannot rule out (existing ones and about {@code false-positive-rate} of the others) are read as before.</p>
+ *
+ * <h2>Keeping it current</h2>
+ * <ul>
+ *   <li><strong>Build</strong> — every {@code rebuild-interval}, starting at startup, all ids are streamed
+ *       from the primary into a new filter sized for twice the current count (at least
+ *       {@code min-capacity}), which then replaces the old one. Until the first build finishes, and when
+ *       it fails, nothing is ruled out.</li>
+ *   <li><strong>Newer ids</strong> — only ids up to the highest id the last build read are ever ruled
+ *       out. Ids above it may have been created since, on this instance or another one, and always go
+ *       to the database. Both id strategies hand out increasing ids (identity sequence or time-ordered
+ *       TSIDs), so new products land above the ceiling.</li>
+ *   <li><strong>Creates</strong> — each id created on this instance is added after commit, before the
+ *       write returns to its caller, so a client can read its own new product at once even if it sorts
+ *       below the ceiling. An id committed while a rebuild is reading goes into both filters.</li>
+ *   <li><strong>Deletes</strong> — a Bloom filter cannot forget ids. Deleted ids pass until the next
+ *       rebuild and are then answered by the database, exactly as without the filter.</li>
+ * </ul>
+ *
+ * <h2>When to enable</h2>
+ * <p>The filter is off by default. It is exact on a single instance whose products are only written
+ * through {@link com.example.springrest.services.ProductService}. With several instances, or inserts that
+ * bypass the service (SQL scripts, other applications), an id below the ceiling that commits after the
+ * rebuild read (a long insert transaction holding an identity value, or a TSID from an instance whose
+ * clock runs behind) gets 404 until the next rebuild. Enable it there only if that is acceptable, and
+ * shorten {@code rebuild-interval} to bound it. The filter is turned off while
+ * {@code app.sharding.enabled=true}, since the ids cannot be streamed across shards.</p>
+ *
+ * <h2>Configuration</h2>
+ * <pre>{@code
+ * app.products.known-ids.enabled=false
+ * app.products.known-ids.false-positive-rate=0.01
+ * app.products.known-ids.min-capacity=100000
+ * app.products.known-ids.rebuild-interval=15m
+ * }</pre>
+ *
+ * <p>Metrics: {@code products.id.filter{result=absent|maybe}} counts lookups, {@code products.id.filter.ids}
+ * the ids added to the current filter.</p>
+ *
+ * @since 1.1
+ */
+@Slf4j
+@Component
+public class KnownProductIds {
+
+    private final ProductRepo repo;
+    private final TransactionTemplate primary;
+    private final boolean enabled;
+    private final double falsePositiveRate;
+    private final long minCapacity;
+    private final Counter absent;
+    private final Counter maybe;
+    private volatile Built filter;
+    private volatile IdBloomFilter building;
+
+    /**
+     * @param repo              repository streaming the ids
+     * @param transactions      transaction manager for the rebuild transaction
+     * @param meters            registry for the lookup counters
+     * @param enabled           whether lookups are filtered at all
+     * @param falsePositiveRate target share of missing ids that still reach the database
+     * @param minCapacity       smallest number of ids a filter is sized for
+     * @param sharded           whether the products table is sharded, which turns the filter off
+     */
+    public KnownProductIds(ProductRepo repo,
+                           PlatformTransactionManager transactions,
+                           MeterRegistry meters,
+                           @Value("${app.products.known-ids.enabled:false}") boolean enabled,
+                           @Value("${app.products.known-ids.false-positive-rate:0.01}") double falsePositiveRate,
+                           @Value("${app.products.known-ids.min-capacity:100000}") long minCapacity,
+                           @Value("${app.sharding.enabled:false}") boolean sharded) {
+        this.repo = repo;
+        // Not read-only: with replica routing the rebuild must see every id committed on the primary.
+        this.primary = new TransactionTemplate(transactions);
+        if (enabled && sharded) {
+            log.warn("The product id filter is not supported while sharding is enabled; turned off");
+        }
+        this.enabled = enabled && !sharded;
+        this.falsePositiveRate = falsePositiveRate;
+        this.minCapacity = minCapacity;
+        this.absent = Counter.builder("products.id.filter").tag("result", "absent")
+                .description("Product lookups answered by the negative-lookup filter")
+                .register(meters);
+        this.maybe = Counter.builder("products.id.filter").tag("result", "maybe")
+                .description("Product lookups answered by the negative-lookup filter")
+                .register(meters);
+        Gauge.builder("products.id.filter.ids", () -> {
+                    Built current = filter;
+                    return current != null ? current.ids().added() : 0;
+                })
+                .description("Ids added to the current negative-lookup filter")
+                .register(meters);
+    }
+
+    /**
+     * @param id a requested product id
+     * @return {@code true} only if no product with this id exists; {@code false} means "ask the database"
+     */
+    public boolean definitelyMissing(long id) {
+        Built current = filter;
+        if (current == null || id > current.highest()) {
+            return false;
+        }
+        if (current.ids().mightContain(id)) {
+            maybe.increment();
+            return false;
+        }
+        absent.increment();
+        return true;
+    }
+
+    /**
+     * Adds created ids once their transaction has committed.
+     *
+     * @param event the committed change
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChange(ProductChangeEvent event) {
+        if (event.type() == ProductChangeEvent.Type.CREATED && event.id() != null) {
+            add(event.id());
+        }
+    }
+
+    /**
+     * Replaces the filter with one built from the ids currently in the database.
+     */
+    @Scheduled(fixedDelayString = "${app.products.known-ids.rebuild-interval:15m}",
+            initialDelayString = "${app.products.known-ids.initial-delay:0s}")
+    public synchronized void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            long count = repo.count();
+            IdBloomFilter next = new IdBloomFilter(Math.max(minCapacity, 2 * count), falsePositiveRate);
+            // Published before the read starts: ids committed too late for the read are added by their
+            // listener, which checks this field first.
+            building = next;
+            long[] highest = {Long.MIN_VALUE};
+            long streamed = primary.execute(status -> repo.streamIds(id -> {
+                next.add(id);
+                highest[0] = Math.max(highest[0], id);
+            }));
+            filter = new Built(next, highest[0]);
+            log.debug("Rebuilt product id filter with {} ids up to {} ({} bits, {} hashes) in {} ms", streamed,
+                    highest[0], next.bits(), next.hashes(),
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        } catch (RuntimeException ex) {
+            log.warn("Could not rebuild product id filter, keeping the previous one: {}", ex.toString());
+        } finally {
+            building = null;
+        }
+    }
+
+    private void add(long id) {
+        // Building first: if it is already null, a rebuild that was running has published `filter` (or failed).
+        IdBloomFilter next = building;
+        if (next != null) {
+            next.add(id);
+        }
+        Built built = filter;
+        IdBloomFilter current = built != null ? built.ids() : null;
+        if (current != null && current != next) {
+            current.add(id);
+        }
+    }
+
+    /**
+     * A filter and the highest id its build read; ids above it are never ruled out.
+     */
+    private record Built(IdBloomFilter ids, long highest) {
+    }
+}
@@ -0,0 +1,15 @@
+/**
+ * Negative lookups: answering "no such product" without asking the database.
+ *
+ * <p>Requests for ids that do not exist are common (crawlers, stale links, deleted products) and,
+ * unlike hits, no cache can absorb them. A Bloom filter over all product ids rules most of them out in a
+ * few memory reads, with no false negatives; the few ids it cannot rule out are read as usual.</p>
+ *
+ * <h2>Contents</h2>
+ * <ul>
+ *   <li>{@link com.example.springrest.existence.IdBloomFilter} — lock-free Bloom filter over {@code long} ids.</li>
+ *   <li>{@link com.example.springrest.existence.KnownProductIds} — the filter of product ids, rebuilt
+ *       periodically and kept current on creates; consulted by get-by-id and batch gets.</li>
+ * </ul>
+ */
+package com.example.springrest.existence;
@@ -0,0 +1,165 @@
+package com.example.springrest.hotkeys;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Approximate request counts for one kind of key, with the current top-K.
+ *
+ * <h2>Count-min sketch</h2>
+ * <p>{@code depth} rows of {@code width} counters in one {@link AtomicIntegerArray}. A key increments
+ * one counter per row, chosen by double hashing; its estimate is the smallest of those counters. The
+ * estimate never undercounts, and overcounts by at most about {@code e * N / width} with high probability
+ * (N = total increments). Recording is wait-free: {@code depth} atomic increments, no allocation.</p>
+ *
+ * <h2>Heavy hitters</h2>
+ * <p>A key whose estimate reaches the admission threshold joins a small candidate set. When the set grows
+ * past twice {@code top}, one caller prunes it back to the {@code top} best estimates and raises the
+ * threshold to the smallest estimate kept. So candidates stay bounded and rarely-seen keys never enter
+ * after warm-up.</p>
+ *
+ * <h2>Decay</h2>
+ * <p>{@link #decay()} halves every counter, so old popularity fades and the ranking follows current
+ * traffic. Increments that race with a decay may be halved too; the counts are estimates anyway.</p>
+ *
+ * @param <K> key type; must have a well-distributed {@code hashCode} and proper {@code equals}
+ * @since 1.1
+ */
+public class HotKeyTracker<K> {
+
+    private final int width;
+    private final int depth;
+    private final int top;
+    private final AtomicIntegerArray counters;
+    private final Set<K> candidates = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean pruning = new AtomicBoolean();
+    private volatile int admission;
+
+    /**
+     * @param width counters per row; rounded up to a power of two
+     * @param depth number of rows (hash functions)
+     * @param top   number of heavy hitters to report
+     */
+    public HotKeyTracker(int width, int depth, int top) {
+        this.width = Integer.highestOneBit(Math.max(2, width - 1)) << 1;
+        this.depth = depth;
+        this.top = top;
+        this.counters = new AtomicIntegerArray(this.width * depth);
+    }
+
+    /**
+     * Counts one occurrence of {@code key}.
+     *
+     * @param key the requested key; {@code null} is ignored
+     */
+    public void record(K key) {
+        if (key == null) {
+            return;
+        }
+        long hash = mix(key.hashCode());
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32) | 1;
+        int mask = width - 1;
+        int estimate = Integer.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            int index = row * width + ((h1 + row * h2) & mask);
+            estimate = Math.min(estimate, counters.incrementAndGet(index));
+        }
+        if (estimate >= admission && !candidates.contains(key)) {
+            candidates.add(key);
+            if (candidates.size() > 2 * top) {
+                prune();
+            }
+        }
+    }
+
+    /**
+     * @param key a key
+     * @return estimated occurrences of {@code key} since the counts last decayed (never too low)
+     */
+    public long estimate(K key) {
+        long hash = mix(key.hashCode());
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32) | 1;
+        int mask = width - 1;
+        int estimate = Integer.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            estimate = Math.min(estimate, counters.get(row * width + ((h1 + row * h2) & mask)));
+        }
+        return estimate;
+    }
+
+    /**
+     * @return up to {@code top} keys with the highest estimates, hottest first
+     */
+    public List<HotKey<K>> top() {
+        List<HotKey<K>> ranked = new ArrayList<>(candidates.size());
+        for (K key : candidates) {
+            long estimate = estimate(key);
+            if (estimate > 0) {
+                ranked.add(new HotKey<>(key, estimate));
+            }
+        }
+        ranked.sort(Comparator.comparingLong(HotKey<K>::estimate).reversed());
+        return ranked.size() > top ? List.copyOf(ranked.subList(0, top)) : ranked;
+    }
+
+    /**
+     * Halves every counter and the admission threshold, and drops candidates that have faded to zero.
+     */
+    public void decay() {
+        for (int i = 0; i < counters.length(); i++) {
+            counters.updateAndGet(i, v -> v >>> 1);
+        }
+        admission = admission >>> 1;
+        candidates.removeIf(key -> estimate(key) == 0);
+    }
+
+    private void prune() {
+        if (!pruning.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            List<HotKey<K>> ranked = new ArrayList<>(candidates.size());
+            for (K key : candidates) {
+                ranked.add(new HotKey<>(key, estimate(key)));
+            }
+            ranked.sort(Comparator.comparingLong(HotKey<K>::estimate).reversed());
+            for (int i = top; i < ranked.size(); i++) {
+                candidates.remove(ranked.get(i).key());
+            }
+            if (ranked.size() >= top) {
+                admission = (int) Math.min(Integer.MAX_VALUE, ranked.get(top - 1).estimate());
+            }
+        } finally {
+            pruning.set(false);
+        }
+    }
+
+    /**
+     * Murmur3 64-bit finalizer applied to the key's hash code; spreads sequential ids over the rows.
+     */
+    private static long mix(int hashCode) {
+        long h = hashCode * 0x9E3779B97F4A7C15L;
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        h *= 0xC4CEB9FE1A85EC53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    /**
+     * A key and its estimated count.
+     *
+     * @param key      the key
+     * @param estimate estimated occurrences since the last decays
+     * @param <K>      key type
+     */
+    public record HotKey<K>(K key, long estimate) {}
+}
@@ -0,0 +1,112 @@
+package com.example.springrest.hotkeys;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * The hot-key trackers fed by {@link com.example.springrest.controllers.ProductController}.
+ *
+ * <ul>
+ *   <li>{@link #products()} — product ids read by id or multi-get.</li>
+ *   <li>{@link #searches()} — normalized terms of {@code /search}.</li>
+ *   <li>{@link #prefixSearches()} — normalized prefixes of {@code /search/prefix}.</li>
+ * </ul>
+ *
+ * <p>Every {@code app.hotkeys.decay-interval} all counts are halved, so a key's estimate is roughly its
+ * request count over the last two intervals. With {@code app.hotkeys.enabled=false} nothing is recorded.</p>
+ *
+ * <h2>Configuration</h2>
+ * <pre>{@code
+ * app.hotkeys.enabled=true
+ * app.hotkeys.width=4096
+ * app.hotkeys.depth=4
+ * app.hotkeys.top=20
+ * app.hotkeys.decay-interval=1m
+ * }</pre>
+ *
+ * @since 1.1
+ */
+@Component
+public class HotKeys {
+
+    private final boolean enabled;
+    private final HotKeyTracker<Long> products;
+    private final HotKeyTracker<String> searches;
+    private final HotKeyTracker<String> prefixSearches;
+
+    /**
+     * @param enabled whether requests are recorded
+     * @param width   counters per sketch row
+     * @param depth   sketch rows
+     * @param top     heavy hitters reported per tracker
+     */
+    public HotKeys(@Value("${app.hotkeys.enabled:true}") boolean enabled,
+                   @Value("${app.hotkeys.width:4096}") int width,
+                   @Value("${app.hotkeys.depth:4}") int depth,
+                   @Value("${app.hotkeys.top:20}") int top) {
+        this.enabled = enabled;
+        this.products = new HotKeyTracker<>(width, depth, top);
+        this.searches = new HotKeyTracker<>(width, depth, top);
+        this.prefixSearches = new HotKeyTracker<>(width, depth, top);
+    }
+
+    /**
+     * @param id requested product id
+     */
+    public void product(Long id) {
+        if (enabled) {
+            products.record(id);
+        }
+    }
+
+    /**
+     * @param term normalized search term
+     */
+    public void search(String term) {
+        if (enabled) {
+            searches.record(term);
+        }
+    }
+
+    /**
+     * @param prefix normalized search prefix
+     */
+    public void prefixSearch(String prefix) {
+        if (enabled) {
+            prefixSearches.record(prefix);
+        }
+    }
+
+    /**
+     * @return tracker of product ids
+     */
+    public HotKeyTracker<Long> products() {
+        return products;
+    }
+
+    /**
+     * @return tracker of substring search terms
+     */
+    public HotKeyTracker<String> searches() {
+        return searches;
+    }
+
+    /**
+     * @return tracker of prefix search terms
+     */
+    public HotKeyTracker<String> prefixSearches() {
+        return prefixSearches;
+    }
+
+    /**
+     * Halves all counts so the ranking follows current traffic.
+     */
+    @Scheduled(fixedRateString = "${app.hotkeys.decay-interval:1m}",
+            initialDelayString = "${app.hotkeys.decay-interval:1m}")
+    public void decay() {
+        products.decay();
+        searches.decay();
+        prefixSearches.decay();
+    }
+}
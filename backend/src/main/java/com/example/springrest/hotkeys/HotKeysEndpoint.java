@@ -0,0 +1,69 @@
+package com.example.springrest.hotkeys;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Actuator endpoint {@code /actuator/hotkeys}: the hottest products and search terms right now.
+ *
+ * <p><strong>Example</strong>:</p>
+ * <pre>{@code
+ * curl 'http://localhost:8080/actuator/hotkeys'
+ * {
+ *   "decayInterval": "PT1M",
+ *   "products":       [ {"key": 42, "estimate": 1830}, {"key": 7, "estimate": 911} ],
+ *   "searches":       [ {"key": "mug", "estimate": 240} ],
+ *   "prefixSearches": [ {"key": "cof", "estimate": 75} ]
+ * }
+ * }</pre>
+ *
+ * <p>Estimates are approximate (never too low) and cover roughly the last two decay intervals.</p>
+ *
+ * @since 1.1
+ */
+@Component
+@Endpoint(id = "hotkeys")
+public class HotKeysEndpoint {
+
+    private final HotKeys hotKeys;
+    private final Duration decayInterval;
+
+    /**
+     * @param hotKeys       the trackers
+     * @param decayInterval how often counts are halved (reported for context)
+     */
+    public HotKeysEndpoint(HotKeys hotKeys,
+                           @Value("${app.hotkeys.decay-interval:1m}") Duration decayInterval) {
+        this.hotKeys = hotKeys;
+        this.decayInterval = decayInterval;
+    }
+
+    /**
+     * @return the current top keys of every tracker
+     */
+    @ReadOperation
+    public Report hotKeys() {
+        return new Report(decayInterval.toString(),
+                hotKeys.products().top(),
+                hotKeys.searches().top(),
+                hotKeys.prefixSearches().top());
+    }
+
+    /**
+     * Body of {@code /actuator/hotkeys}.
+     *
+     * @param decayInterval  how often counts are halved (ISO-8601 duration)
+     * @param products       hottest product ids
+     * @param searches       hottest substring search terms
+     * @param prefixSearches hottest prefix search terms
+     */
+    public record Report(String decayInterval,
+                         List<HotKeyTracker.HotKey<Long>> products,
+                         List<HotKeyTracker.HotKey<String>> searches,
+                         List<HotKeyTracker.HotKey<String>> prefixSearches) {}
+}
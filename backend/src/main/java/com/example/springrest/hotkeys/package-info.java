@@ -0,0 +1,16 @@
+/**
+ * Hot-key tracking: which products and search terms are requested most.
+ *
+ * <p>Knowing the hot keys tells us how big caches need to be and what to warm after a restart.
+ * Counting every key exactly would cost memory proportional to the catalog, so each
+ * {@link com.example.springrest.hotkeys.HotKeyTracker} keeps a fixed-size count-min sketch plus a small
+ * set of heavy-hitter candidates. Recording a key is a handful of atomic increments and never blocks.</p>
+ *
+ * <h2>Contents</h2>
+ * <ul>
+ *   <li>{@link com.example.springrest.hotkeys.HotKeyTracker} — sketch and top-K for one kind of key.</li>
+ *   <li>{@link com.example.springrest.hotkeys.HotKeys} — the trackers fed by the product controller, with periodic decay.</li>
+ *   <li>{@link com.example.springrest.hotkeys.HotKeysEndpoint} — {@code /actuator/hotkeys}.</li>
+ * </ul>
+ */
+package com.example.springrest.hotkeys;
@@ -0,0 +1,24 @@
+package com.example.springrest.ids;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+import static java.lang.annotation.ElementType.FIELD;
+import static java.lang.annotation.ElementType.METHOD;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+/**
+ * Marks an id whose values come from the configured {@link IdStrategy} (see {@link ProductIdGenerator}).
+ *
+ * <p>Replaces {@code @GeneratedValue(strategy = IDENTITY)}; with the default strategy the behavior is
+ * the same.</p>
+ *
+ * @since 1.1
+ */
+@IdGeneratorType(ProductIdGenerator.class)
+@Retention(RUNTIME)
+@Target({FIELD, METHOD})
+public @interface GeneratedProductId {
+}
@@ -0,0 +1,35 @@
+package com.example.springrest.ids;
+
+import java.util.Locale;
+
+/**
+ * How new product ids are assigned ({@code app.products.ids.strategy}).
+ *
+ * @since 1.1
+ */
+public enum IdStrategy {
+
+    /**
+     * The database's identity column assigns the id during the {@code INSERT}. Every insert runs as a
+     * statement of its own, because Hibernate needs the generated key back before it can go on.
+     */
+    IDENTITY,
+
+    /**
+     * {@link TimeOrderedIds} assigns the id in-process before the {@code INSERT}: no round trip for the
+     * key, and inserts of one flush are sent as a JDBC batch.
+     */
+    TSID;
+
+    /**
+     * @param value configured name, case-insensitive; {@code null} means {@link #IDENTITY}
+     * @return the strategy
+     * @throws IllegalArgumentException for unknown names
+     */
+    public static IdStrategy parse(Object value) {
+        if (value == null) {
+            return IDENTITY;
+        }
+        return valueOf(value.toString().trim().toUpperCase(Locale.ROOT));
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.springrest.ids;
+
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.generator.BeforeExecutionGenerator;
+import org.hibernate.generator.EventType;
+import org.hibernate.generator.EventTypeSets;
+import org.hibernate.id.IdentityGenerator;
+import org.hibernate.id.factory.spi.CustomIdGeneratorCreationContext;
+
+import java.lang.reflect.Member;
+import java.util.EnumSet;
+import java.util.Map;
+
+/**
+ * Hibernate id generator for {@link GeneratedProductId}, switching between the identity column and
+ * {@link TimeOrderedIds} by configuration.
+ *
+ * <p>The strategy is read once, when Hibernate builds its metadata, from the settings
+ * {@value #STRATEGY} and {@value #NODE}; {@link com.example.springrest.config.IdGenerationConfig}
+ * copies them there from {@code app.products.ids.*}. With {@link IdStrategy#IDENTITY} this behaves
+ * exactly like {@link IdentityGenerator} (the key is generated on execution); with
+ * {@link IdStrategy#TSID} the id is assigned before the {@code INSERT}, which the identity column
+ * ({@code GENERATED BY DEFAULT}) accepts without any schema change.</p>
+ *
+ * @since 1.1
+ */
+public class ProductIdGenerator extends IdentityGenerator implements BeforeExecutionGenerator {
+
+    /** Hibernate setting naming the {@link IdStrategy}. */
+    public static final String STRATEGY = "app.products.ids.strategy";
+
+    /** Hibernate setting with the {@link TimeOrderedIds} node number. */
+    public static final String NODE = "app.products.ids.node";
+
+    private final IdStrategy strategy;
+    private final TimeOrderedIds ids;
+
+    /**
+     * @param config  the annotation on the id
+     * @param member  the annotated field or getter
+     * @param context gives access to Hibernate's settings
+     */
+    public ProductIdGenerator(GeneratedProductId config, Member member, CustomIdGeneratorCreationContext context) {
+        Map<String, Object> settings = context.getServiceRegistry().getService(ConfigurationService.class).getSettings();
+        this.strategy = IdStrategy.parse(settings.get(STRATEGY));
+        this.ids = strategy == IdStrategy.TSID
+                ? TimeOrderedIds.forNode(Integer.parseInt(String.valueOf(settings.getOrDefault(NODE, "0"))))
+                : null;
+    }
+
+    /**
+     * @return {@code true} for {@link IdStrategy#IDENTITY}: the database generates the key
+     */
+    @Override
+    public boolean generatedOnExecution() {
+        return strategy == IdStrategy.IDENTITY;
+    }
+
+    @Override
+    public EnumSet<EventType> getEventTypes() {
+        return EventTypeSets.INSERT_ONLY;
+    }
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object owner, Object currentValue,
+                           EventType eventType) {
+        return ids.next();
+    }
+
+    /**
+     * @return the configured strategy
+     */
+    public IdStrategy strategy() {
+        return strategy;
+    }
+}
@@ -0,0 +1,99 @@
+package com.example.springrest.ids;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * Time-ordered 53-bit ids generated in-process (Snowflake/TSID style).
+ *
+ * <h2>Layout</h2>
+ * <pre>
+ *  52                                       12 11     8 7          0
+ * +-------------------------------------------+--------+------------+
+ * | milliseconds since 2024-01-01T00:00Z (41) | node(4)| counter (8)|
+ * +-------------------------------------------+--------+------------+
+ * </pre>
+ * <ul>
+ *   <li><b>53 bits</b>, not 64: ids stay exact as JavaScript numbers (below
+ *       {@code Number.MAX_SAFE_INTEGER}), so clients keep treating them like the identity ids before them.
+ *       The time part lasts until 2093.</li>
+ *   <li><b>Ordered by creation time</b>: new rows append at the end of the primary key index like
+ *       identity ids, and sorting by id still means "newest first". Ids issued from 2025 on are
+ *       above 10<sup>14</sup>, far beyond anything an identity column has handed out, so the two never
+ *       collide.</li>
+ *   <li><b>Node</b> ({@code app.products.ids.node}, 0..{@value #MAX_NODE}) must differ between instances
+ *       that insert at the same time; that is the only coordination needed.</li>
+ *   <li><b>Counter</b>: {@value #PER_MILLISECOND} ids per millisecond and node. When it runs out, or the
+ *       clock steps back, ids continue on the next millisecond of the last one issued instead of
+ *       waiting, so they stay unique and increasing.</li>
+ * </ul>
+ *
+ * <p>Thread-safe. {@link #forNode(int)} shares one generator per node within the JVM.</p>
+ *
+ * @since 1.1
+ */
+public final class TimeOrderedIds {
+
+    /** Start of the time part. */
+    public static final Instant EPOCH = Instant.parse("2024-01-01T00:00:00Z");
+
+    /** Highest node number. */
+    public static final int MAX_NODE = 15;
+
+    /** Ids per millisecond and node. */
+    public static final int PER_MILLISECOND = 256;
+
+    private static final int NODE_SHIFT = 8;
+    private static final int TIME_SHIFT = 12;
+    private static final Map<Integer, TimeOrderedIds> SHARED = new ConcurrentHashMap<>();
+
+    private final long node;
+    private final LongSupplier clock;
+    private long lastMillis = -1;
+    private int counter;
+
+    /**
+     * @param node  node number, 0..{@value #MAX_NODE}
+     * @param clock current time in epoch milliseconds
+     */
+    TimeOrderedIds(int node, LongSupplier clock) {
+        if (node < 0 || node > MAX_NODE) {
+            throw new IllegalArgumentException("node must be between 0 and " + MAX_NODE + ": " + node);
+        }
+        this.node = node;
+        this.clock = clock;
+    }
+
+    /**
+     * @param node node number, 0..{@value #MAX_NODE}
+     * @return the JVM-wide generator for {@code node}
+     */
+    public static TimeOrderedIds forNode(int node) {
+        return SHARED.computeIfAbsent(node, n -> new TimeOrderedIds(n, System::currentTimeMillis));
+    }
+
+    /**
+     * @return a new id, greater than every id this generator returned before
+     */
+    public synchronized long next() {
+        long millis = Math.max(clock.getAsLong() - EPOCH.toEpochMilli(), lastMillis);
+        if (millis != lastMillis) {
+            counter = 0;
+        } else if (++counter == PER_MILLISECOND) {
+            millis++;
+            counter = 0;
+        }
+        lastMillis = millis;
+        return millis << TIME_SHIFT | node << NODE_SHIFT | counter;
+    }
+
+    /**
+     * @param id an id from this class
+     * @return when it was generated (to the millisecond)
+     */
+    public static Instant timestampOf(long id) {
+        return EPOCH.plusMillis(id >>> TIME_SHIFT);
+    }
+}
@@ -0,0 +1,19 @@
+/**
+ * Product id generation: the database identity column or time-ordered ids assigned in-process.
+ *
+ * <p>{@link com.example.springrest.models.Product#getId() Product.id} is annotated with
+ * {@link com.example.springrest.ids.GeneratedProductId}, whose {@link com.example.springrest.ids.ProductIdGenerator}
+ * follows {@code app.products.ids.strategy}:</p>
+ * <ul>
+ *   <li>{@link com.example.springrest.ids.IdStrategy#IDENTITY identity} (default) – the key comes back
+ *       from each {@code INSERT}, so Hibernate has to send inserts one at a time.</li>
+ *   <li>{@link com.example.springrest.ids.IdStrategy#TSID tsid} – {@link com.example.springrest.ids.TimeOrderedIds}
+ *       hands out 53-bit, creation-ordered ids without a database round trip, and inserts are batched.</li>
+ * </ul>
+ *
+ * <p>Both write plain {@code BIGINT} ids into the same column; existing ids, URLs and clients are
+ * unaffected by a switch.</p>
+ *
+ * @since 1.1
+ */
+package com.example.springrest.ids;
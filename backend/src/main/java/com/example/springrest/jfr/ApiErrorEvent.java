@@ -0,0 +1,64 @@
+package com.example.springrest.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event for an exception turned into an error response by
+ * {@link com.example.springrest.exceptions.GlobalExceptionHandler}.
+ *
+ * <p>Lines up 404s, 503s and 504s with the product operations, GC pauses and lock waits around them.
+ * The stack trace of the handler is not recorded; {@code origin} names where the exception was
+ * thrown. It is empty for 404s and 400s, whose exceptions capture no stack trace.</p>
+ *
+ * @since 1.1
+ */
+@Name(ApiErrorEvent.NAME)
+@Label("API Error")
+@Category({"Spring REST", "Products"})
+@Description("An exception mapped to an HTTP error response")
+@StackTrace(false)
+public class ApiErrorEvent extends Event {
+
+    /** Event type name, as used in recording settings. */
+    public static final String NAME = "com.example.springrest.ApiError";
+
+    @Label("Status")
+    @Description("HTTP status of the response")
+    int status;
+
+    @Label("Exception")
+    @Description("Exception class")
+    String exception;
+
+    @Label("Message")
+    @Description("Exception message")
+    String message;
+
+    @Label("Origin")
+    @Description("Top frame of the exception's stack trace, if it has one")
+    String origin;
+
+    /**
+     * Emits the event, if it is enabled in a running recording.
+     *
+     * @param status HTTP status of the response
+     * @param ex     the handled exception
+     */
+    public static void emit(int status, Throwable ex) {
+        ApiErrorEvent event = new ApiErrorEvent();
+        if (!event.shouldCommit()) {
+            return;
+        }
+        event.status = status;
+        event.exception = ex.getClass().getName();
+        event.message = ex.getMessage();
+        StackTraceElement[] trace = ex.getStackTrace();
+        event.origin = trace.length > 0 ? trace[0].toString() : null;
+        event.commit();
+    }
+}
@@ -0,0 +1,252 @@
+package com.example.springrest.jfr;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.Configuration;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.Recording;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import javax.management.ObjectName;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * An always-on Java Flight Recorder recording, kept as a ring buffer for after-the-fact diagnosis.
+ *
+ * <p>When p99 latency spikes, the interesting minutes are usually over before anyone can attach a
+ * profiler. This recording runs from startup with the JDK's low-overhead {@code default} settings
+ * (about 1% CPU), keeps only the last {@code app.jfr.max-age} (and at most {@code app.jfr.max-size}) in
+ * the JFR disk repository, and can be dumped on demand through {@link FlightRecorderEndpoint}.</p>
+ *
+ * <h2>Settings</h2>
+ * <p>On top of {@code app.jfr.settings} (a JDK settings profile, {@code default} or {@code profile}):</p>
+ * <ul>
+ *   <li>{@link ProductOperationEvent}s slower than {@code app.jfr.operation-threshold}, and every
+ *       {@link ApiErrorEvent};</li>
+ *   <li>lock waits ({@code jdk.JavaMonitorEnter}), parking ({@code jdk.ThreadPark}, e.g. waiting for a
+ *       pooled connection or a bulkhead slot) and socket reads and writes (JDBC round trips) from
+ *       10 ms instead of 20 ms, since those are what requests wait on.</li>
+ * </ul>
+ *
+ * <h2>Dumps</h2>
+ * <p>Each dump can be as large as {@code max-size}, and its product operations carry search terms, so
+ * dumps are written one at a time into a directory only the application's user can read, and only the
+ * newest {@code app.jfr.max-dumps} are kept: older {@code products-*.jfr} files are deleted after each
+ * dump. Copy a dump elsewhere before taking more.</p>
+ *
+ * <h2>Configuration</h2>
+ * <pre>{@code
+ * app.jfr.enabled=false      # true in the prod profile
+ * app.jfr.settings=default
+ * app.jfr.max-age=30m
+ * app.jfr.max-size=250MB
+ * app.jfr.operation-threshold=5ms
+ * app.jfr.dump-dir=./.data/jfr
+ * app.jfr.max-dumps=3
+ * }</pre>
+ *
+ * @since 1.1
+ */
+@Slf4j
+@Component
+public class ContinuousRecording {
+
+    /** Name of the recording, e.g. for {@code jcmd <pid> JFR.dump name=products}. */
+    public static final String NAME = "products";
+
+    private static final Duration WAIT_THRESHOLD = Duration.ofMillis(10);
+    private static final DateTimeFormatter FILE_TIME =
+            DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss-SSS").withZone(ZoneOffset.UTC);
+
+    private final boolean enabled;
+    private final String settings;
+    private final Duration maxAge;
+    private final DataSize maxSize;
+    private final Duration operationThreshold;
+    private final Path dumpDir;
+    private final int maxDumps;
+    private volatile Recording recording;
+
+    /**
+     * @param enabled            whether the recording runs
+     * @param settings           JDK settings profile the recording starts from
+     * @param maxAge             how far back the ring buffer reaches
+     * @param maxSize            size cap of the ring buffer on disk
+     * @param operationThreshold shortest product operation that is recorded
+     * @param dumpDir            where dumps are written
+     * @param maxDumps           how many dumps are kept in {@code dumpDir}, newest first
+     */
+    public ContinuousRecording(@Value("${app.jfr.enabled:false}") boolean enabled,
+                               @Value("${app.jfr.settings:default}") String settings,
+                               @Value("${app.jfr.max-age:30m}") Duration maxAge,
+                               @Value("${app.jfr.max-size:250MB}") DataSize maxSize,
+                               @Value("${app.jfr.operation-threshold:5ms}") Duration operationThreshold,
+                               @Value("${app.jfr.dump-dir:./.data/jfr}") Path dumpDir,
+                               @Value("${app.jfr.max-dumps:3}") int maxDumps) {
+        this.enabled = enabled;
+        this.settings = settings;
+        this.maxAge = maxAge;
+        this.maxSize = maxSize;
+        this.operationThreshold = operationThreshold;
+        this.dumpDir = dumpDir;
+        this.maxDumps = Math.max(1, maxDumps);
+    }
+
+    /**
+     * Starts the recording, early in startup so slow starts are covered too.
+     */
+    @PostConstruct
+    public void start() {
+        if (!enabled || !FlightRecorder.isAvailable()) {
+            return;
+        }
+        try {
+            Recording r = new Recording(settings());
+            r.setName(NAME);
+            r.setToDisk(true);
+            r.setMaxAge(maxAge);
+            r.setMaxSize(maxSize.toBytes());
+            r.start();
+            recording = r;
+            log.info("Continuous JFR recording '{}' started (settings {}, last {} / {} kept)",
+                    NAME, settings, maxAge, maxSize);
+        } catch (IOException | ParseException | RuntimeException ex) {
+            log.warn("Could not start continuous JFR recording: {}", ex.toString());
+        }
+    }
+
+    @PreDestroy
+    void stop() {
+        Recording r = recording;
+        recording = null;
+        if (r != null) {
+            r.close();
+        }
+    }
+
+    /**
+     * @return {@code true} while the recording runs
+     */
+    public boolean isRunning() {
+        return recording != null;
+    }
+
+    /**
+     * @return how far back the ring buffer reaches
+     */
+    public Duration maxAge() {
+        return maxAge;
+    }
+
+    /**
+     * Writes the recorded data of the last {@code window} to a new {@code .jfr} file in
+     * {@code app.jfr.dump-dir}; open it with JDK Mission Control or {@code jfr print}.
+     *
+     * <p>The whole buffer is written with {@link Recording#dump(Path)}. A shorter window goes through
+     * the {@code JFR.dump maxage=...} diagnostic command, the same as {@code jcmd}, which the
+     * {@code Recording} API does not offer. JFR writes whole chunks, so the file can reach a little
+     * further back than asked.</p>
+     *
+     * <p>Dumps run one at a time; afterwards only the newest {@code max-dumps} files are kept.</p>
+     *
+     * @param window how far back to dump; {@code null} or at least {@code max-age} for everything
+     * @return the written file
+     * @throws IllegalStateException if the recording is not running
+     * @throws IOException           if the file cannot be written
+     */
+    public synchronized Path dump(Duration window) throws IOException {
+        Recording r = recording;
+        if (r == null) {
+            throw new IllegalStateException("The continuous recording is not running");
+        }
+        createDumpDir();
+        Path file = dumpDir.resolve(NAME + "-" + FILE_TIME.format(Instant.now()) + ".jfr").toAbsolutePath();
+        try {
+            write(r, file, window);
+        } catch (IOException | RuntimeException ex) {
+            Files.deleteIfExists(file);
+            throw ex;
+        }
+        pruneDumps();
+        return file;
+    }
+
+    private void write(Recording r, Path file, Duration window) throws IOException {
+        if (window == null || window.compareTo(maxAge) >= 0) {
+            r.dump(file);
+            return;
+        }
+        try {
+            ManagementFactory.getPlatformMBeanServer().invoke(
+                    new ObjectName("com.sun.management:type=DiagnosticCommand"),
+                    "jfrDump",
+                    new Object[]{new String[]{
+                            "name=" + r.getId(),
+                            "filename=" + file,
+                            "maxage=" + Math.max(1, window.toSeconds()) + "s"}},
+                    new String[]{String[].class.getName()});
+        } catch (Exception ex) {
+            throw new IOException("JFR.dump failed: " + ex.getMessage(), ex);
+        }
+    }
+
+    private void createDumpDir() throws IOException {
+        if (Files.isDirectory(dumpDir)) {
+            return;
+        }
+        Files.createDirectories(dumpDir);
+        try {
+            Files.setPosixFilePermissions(dumpDir, PosixFilePermissions.fromString("rwx------"));
+        } catch (UnsupportedOperationException ex) {
+            log.debug("Cannot restrict permissions of {} on this file system", dumpDir);
+        }
+    }
+
+    /**
+     * Deletes all but the newest {@code max-dumps} dumps; the timestamped names sort by age.
+     */
+    private void pruneDumps() throws IOException {
+        List<Path> dumps;
+        try (Stream<Path> files = Files.list(dumpDir)) {
+            dumps = files
+                    .filter(f -> f.getFileName().toString().startsWith(NAME + "-")
+                            && f.getFileName().toString().endsWith(".jfr"))
+                    .sorted(Comparator.comparing((Path f) -> f.getFileName().toString()).reversed())
+                    .toList();
+        }
+        for (Path old : dumps.subList(Math.min(maxDumps, dumps.size()), dumps.size())) {
+            Files.deleteIfExists(old);
+            log.info("Deleted old JFR dump {} (app.jfr.max-dumps={})", old, maxDumps);
+        }
+    }
+
+    private Map<String, String> settings() throws IOException, ParseException {
+        Map<String, String> values = new HashMap<>(Configuration.getConfiguration(settings).getSettings());
+        String wait = WAIT_THRESHOLD.toMillis() + " ms";
+        values.put(ProductOperationEvent.NAME + "#enabled", "true");
+        values.put(ProductOperationEvent.NAME + "#threshold", operationThreshold.toMillis() + " ms");
+        values.put(ApiErrorEvent.NAME + "#enabled", "true");
+        values.put("jdk.JavaMonitorEnter#threshold", wait);
+        values.put("jdk.ThreadPark#threshold", wait);
+        values.put("jdk.SocketRead#threshold", wait);
+        values.put("jdk.SocketWrite#threshold", wait);
+        return values;
+    }
+}
@@ -0,0 +1,105 @@
+package com.example.springrest.jfr;
+
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Actuator endpoint {@code /actuator/jfr}: dumps the {@link ContinuousRecording} to a file.
+ *
+ * <p>A dump writes up to {@code app.jfr.max-size} to disk and holds search terms, so the endpoint is not
+ * exposed over HTTP by default. Expose it only on a management port that the outside world cannot
+ * reach, e.g. on loopback:</p>
+ * <pre>{@code
+ * management.server.port=8081
+ * management.server.address=127.0.0.1
+ * management.endpoints.web.exposure.include=health,info,metrics,startup,hotkeys,jfr
+ * }</pre>
+ * <p>Without it, {@code jcmd <pid> JFR.dump name=products filename=...} dumps the same recording.</p>
+ *
+ * <p><strong>Example</strong>:</p>
+ * <pre>{@code
+ * # Last 5 minutes (omit "minutes" for the whole buffer)
+ * curl -X POST 'http://127.0.0.1:8081/actuator/jfr' -H 'Content-Type: application/json' -d '{"minutes":5}'
+ * {
+ *   "file": "/srv/app/.data/jfr/products-20260318-142210-517.jfr",
+ *   "bytes": 7340032,
+ *   "window": "PT5M"
+ * }
+ *
+ * # Slowest product operations in the dump
+ * jfr print --events com.example.springrest.ProductOperation products-20260318-142210-517.jfr
+ * }</pre>
+ *
+ * <p>{@code GET /actuator/jfr} reports whether the recording runs and how far back it reaches.</p>
+ *
+ * @since 1.1
+ */
+@Component
+@Endpoint(id = "jfr")
+public class FlightRecorderEndpoint {
+
+    private final ContinuousRecording recording;
+
+    /**
+     * @param recording the always-on recording
+     */
+    public FlightRecorderEndpoint(ContinuousRecording recording) {
+        this.recording = recording;
+    }
+
+    /**
+     * @return whether the recording runs and its ring buffer length
+     */
+    @ReadOperation
+    public Status status() {
+        return new Status(recording.isRunning(), recording.maxAge().toString());
+    }
+
+    /**
+     * Dumps the last {@code minutes} of the recording.
+     *
+     * @param minutes how far back to dump; omit for the whole buffer
+     * @return the written file and its size
+     * @throws IOException if the file cannot be written
+     */
+    @WriteOperation
+    public Dump dump(@Nullable Integer minutes) throws IOException {
+        if (minutes != null && minutes < 1) {
+            throw new InvalidEndpointRequestException("minutes must be at least 1", "minutes must be at least 1");
+        }
+        if (!recording.isRunning()) {
+            throw new InvalidEndpointRequestException("The continuous recording is not running",
+                    "The continuous recording is not running");
+        }
+        Duration window = minutes == null ? null : Duration.ofMinutes(minutes);
+        Path file = recording.dump(window);
+        return new Dump(file.toString(), Files.size(file),
+                (window == null ? recording.maxAge() : window).toString());
+    }
+
+    /**
+     * Body of {@code GET /actuator/jfr}.
+     *
+     * @param running whether the recording runs
+     * @param maxAge  how far back it reaches (ISO-8601 duration)
+     */
+    public record Status(boolean running, String maxAge) {}
+
+    /**
+     * Body of {@code POST /actuator/jfr}.
+     *
+     * @param file   absolute path of the written {@code .jfr} file
+     * @param bytes  its size
+     * @param window how far back it was asked to reach (ISO-8601 duration)
+     */
+    public record Dump(String file, long bytes, String window) {}
+}
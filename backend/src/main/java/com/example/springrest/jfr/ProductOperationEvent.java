@@ -0,0 +1,49 @@
+package com.example.springrest.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event for one {@link com.example.springrest.services.ProductService} call, emitted by
+ * {@link ProductOperationInterceptor}.
+ *
+ * <p>The duration covers the whole call as the controller sees it, including waits for the circuit
+ * breaker, a bulkhead lane and a connection. Only calls longer than the recording's threshold for
+ * {@value #NAME} are kept.</p>
+ *
+ * @since 1.1
+ */
+@Name(ProductOperationEvent.NAME)
+@Label("Product Operation")
+@Category({"Spring REST", "Products"})
+@Description("A ProductService call: which operation, on what, how many rows and how long it took")
+@StackTrace(false)
+public class ProductOperationEvent extends Event {
+
+    /** Event type name, as used in recording settings. */
+    public static final String NAME = "com.example.springrest.ProductOperation";
+
+    @Label("Operation")
+    @Description("ProductService method, e.g. getOrThrow or searchByName")
+    String operation;
+
+    @Label("Product Id")
+    @Description("Product the call was about; 0 if none")
+    long productId;
+
+    @Label("Query")
+    @Description("Search term or prefix, truncated; null if none")
+    String query;
+
+    @Label("Rows")
+    @Description("Products returned or written; -1 if not known")
+    long rows = -1;
+
+    @Label("Failure")
+    @Description("Class of the exception the call failed with; null on success")
+    String failure;
+}
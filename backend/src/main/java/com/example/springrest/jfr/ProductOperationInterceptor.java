@@ -0,0 +1,82 @@
+package com.example.springrest.jfr;
+
+import com.example.springrest.models.Product;
+import com.example.springrest.services.ProductLookup;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.data.domain.Slice;
+
+import java.util.Collection;
+
+/**
+ * Emits a {@link ProductOperationEvent} around each {@code ProductService} call.
+ *
+ * <p>Registered by {@link com.example.springrest.config.FlightRecorderConfig} ahead of the circuit
+ * breaker, bulkhead and transaction interceptors. When no recording has the event enabled, a call
+ * costs one {@link jdk.jfr.Event#isEnabled()} check.</p>
+ *
+ * <p>Fields are taken from the call: the first {@code Long} argument (or the returned product's id)
+ * is the product id, the first {@code String} argument the query, and the size of the returned page,
+ * collection or lookup (or the returned row count) the rows.</p>
+ *
+ * @since 1.1
+ */
+public class ProductOperationInterceptor implements MethodInterceptor {
+
+    /** Longest query recorded; longer ones are truncated. */
+    static final int MAX_QUERY_LENGTH = 100;
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        ProductOperationEvent event = new ProductOperationEvent();
+        if (!event.isEnabled() || invocation.getMethod().getDeclaringClass() == Object.class) {
+            return invocation.proceed();
+        }
+        event.begin();
+        Object result = null;
+        Throwable failure = null;
+        try {
+            result = invocation.proceed();
+            return result;
+        } catch (Throwable ex) {
+            failure = ex;
+            throw ex;
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.operation = invocation.getMethod().getName();
+                describeArguments(event, invocation.getArguments());
+                describeResult(event, result);
+                event.failure = failure == null ? null : failure.getClass().getName();
+                event.commit();
+            }
+        }
+    }
+
+    private static void describeArguments(ProductOperationEvent event, Object[] arguments) {
+        for (Object argument : arguments) {
+            if (argument instanceof Long id && event.productId == 0) {
+                event.productId = id;
+            } else if (argument instanceof String query && event.query == null) {
+                event.query = query.length() > MAX_QUERY_LENGTH ? query.substring(0, MAX_QUERY_LENGTH) : query;
+            }
+        }
+    }
+
+    private static void describeResult(ProductOperationEvent event, Object result) {
+        if (result instanceof Product product) {
+            if (event.productId == 0 && product.getId() != null) {
+                event.productId = product.getId();
+            }
+            event.rows = 1;
+        } else if (result instanceof Slice<?> page) {
+            event.rows = page.getNumberOfElements();
+        } else if (result instanceof Collection<?> collection) {
+            event.rows = collection.size();
+        } else if (result instanceof ProductLookup lookup) {
+            event.rows = lookup.found().size();
+        } else if (result instanceof Number count) {
+            event.rows = count.longValue();
+        }
+    }
+}
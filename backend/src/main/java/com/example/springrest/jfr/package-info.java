@@ -0,0 +1,19 @@
+/**
+ * Java Flight Recorder integration: custom events and an always-on recording.
+ *
+ * <p>JFR records with about 1% overhead, so it can run all the time; when p99 latency spikes, the
+ * last minutes are dumped and show which product operations were slow next to GC pauses, lock waits,
+ * connection waits and JDBC socket reads.</p>
+ *
+ * <h2>Contents</h2>
+ * <ul>
+ *   <li>{@link com.example.springrest.jfr.ProductOperationEvent} — one {@code ProductService} call (operation, id, query, rows, duration).</li>
+ *   <li>{@link com.example.springrest.jfr.ApiErrorEvent} — an exception mapped to an error response.</li>
+ *   <li>{@link com.example.springrest.jfr.ProductOperationInterceptor} — emits the operation events.</li>
+ *   <li>{@link com.example.springrest.jfr.ContinuousRecording} — the ring-buffer recording and its tuned settings.</li>
+ *   <li>{@link com.example.springrest.jfr.FlightRecorderEndpoint} — {@code /actuator/jfr}, dumps the last N minutes (not exposed over HTTP by default).</li>
+ * </ul>
+ *
+ * @see com.example.springrest.config.FlightRecorderConfig
+ */
+package com.example.springrest.jfr;
@@ -3,8 +3,11 @@ package com.example.springrest.mappers;
 import com.example.springrest.dto.ProductRequest;
 import com.example.springrest.dto.ProductResponse;
 import com.example.springrest.models.Product;
+import com.example.springrest.models.ProductField;
 import org.mapstruct.*;
 
+import java.util.Set;
+
 
 /**
  * Maps between API-layer DTOs and the {@link Product} JPA entity.
@@ -68,6 +71,21 @@ public interface ProductMapper {
      */
     ProductResponse toResponse(Product entity);
 
+    /**
+     * Creates a {@link ProductResponse} containing only the requested fields (sparse fieldset);
+     * the others are {@code null} and omitted from the JSON.
+     *
+     * @param entity a product, possibly only partially populated by a projection query
+     * @param fields fields to include
+     * @return a value DTO with the requested fields set
+     */
+    default ProductResponse toResponse(Product entity, Set<ProductField> fields) {
+        return new ProductResponse(
+                fields.contains(ProductField.ID) ? entity.getId() : null,
+                fields.contains(ProductField.NAME) ? entity.getName() : null,
+                fields.contains(ProductField.PRICE) ? entity.getPrice() : null);
+    }
+
     /**
      * Updates an existing {@link Product} in-place from a {@link ProductRequest}.
      * Fields that are {@code null} in {@code source} are <em>ignored</em> and do not overwrite
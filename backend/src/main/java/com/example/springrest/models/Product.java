@@ -1,21 +1,31 @@
 package com.example.springrest.models;
 
+import com.example.springrest.ids.GeneratedProductId;
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
 
 import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Locale;
 
 /**
  * Domain entity representing a product in the catalog.
  *
  * <p><strong>Persistence</strong>:
  * Mapped to the {@code products} table with an auto-incremented primary key.
- * Uses {@link jakarta.persistence.GenerationType#IDENTITY} for portability with common RDBMS engines.
+ * By default the identity column assigns it, for portability with common RDBMS engines;
+ * {@code app.products.ids.strategy=tsid} assigns time-ordered ids in-process instead, which lets
+ * inserts be batched (see {@link com.example.springrest.ids}).
  * </p>
  *
  * <p><strong>Validation</strong>:
@@ -23,6 +33,18 @@ import java.math.BigDecimal;
  * - {@code price} must be provided; database column enforces precision (12,2).
  * </p>
  *
+ * <p><strong>Search column</strong>:
+ * {@code name_lower} holds {@link #normalizeName(String) normalizeName(name)} and is indexed, so
+ * case-insensitive searches compare against it instead of calling {@code lower(name)} on every row.
+ * It is kept in sync by {@link #setName(String)}; there is deliberately no setter of its own.
+ * </p>
+ *
+ * <p><strong>Audit columns</strong>:
+ * {@code created_at} and {@code updated_at} are set by Hibernate on insert and on every update.
+ * {@code (updated_at, id)} is indexed and serves as the keyset of the delta-sync feed; deletes leave a
+ * {@link ProductTombstone}. Writes that bypass Hibernate must set {@code updated_at} themselves.
+ * </p>
+ *
  * <p><strong>Typical usage</strong>:</p>
  * <pre>{@code
  * // Create and persist a product
@@ -38,6 +60,12 @@ import java.math.BigDecimal;
  * });
  * }</pre>
  *
+ * <p><strong>Caching</strong>:
+ * Instances live in the Hibernate second-level cache region {@value #CACHE_REGION} (JCache/Ehcache,
+ * sized in {@code ehcache.xml}). {@code READ_WRITE} keeps the region consistent with updates and
+ * deletes made through JPA; bulk SQL that bypasses Hibernate must evict the region itself.
+ * </p>
+ *
  * <p><strong>Design notes</strong>:
  * Keep business logic in services. The entity holds only simple invariants and mappings.
  * </p>
@@ -47,22 +75,28 @@ import java.math.BigDecimal;
 @Schema(description = "Represents a product entity with details such as unique ID, name, and price.")
 @Entity
 @Table(name = "products")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Product.CACHE_REGION)
 @Getter
 @Setter
 @NoArgsConstructor
 public class Product {
 
+    /** Second-level cache region holding {@code Product} entities. */
+    public static final String CACHE_REGION = "products";
+
     /**
      * Surrogate primary key (auto-generated).
      *
-     * <p>Set by the database on insert; should be {@code null} for new instances.</p>
+     * <p>Set on insert, by the database or in-process depending on {@code app.products.ids.strategy}
+     * (see {@link GeneratedProductId}); should be {@code null} for new instances.</p>
      */
     @Schema(
-            description = "The unique ID for the product, auto-generated by the database(auto-increment).",
+            description = "The unique ID for the product, generated on insert (database identity or time-ordered).",
             example = "1"
     )
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedProductId
     private Long id;
 
     /**
@@ -79,6 +113,17 @@ public class Product {
     @Column(nullable = false, length = 120)
     private String name;
 
+    /**
+     * Lower-cased copy of {@link #name}, maintained by {@link #setName(String)}.
+     *
+     * <p>Indexed ({@code idx_products_name_lower}); prefix searches become index range scans. Twice as
+     * long as {@link #name}, since lower-casing {@code 'İ'} yields two chars.</p>
+     */
+    @Schema(hidden = true)
+    @Setter(AccessLevel.NONE)
+    @Column(name = "name_lower", nullable = false, length = 240)
+    private String nameLower;
+
     /**
      * Monetary price with two decimal places.
      *
@@ -93,6 +138,24 @@ public class Product {
     @Column(nullable = false, precision = 12, scale = 2)
     private BigDecimal price;
 
+    /**
+     * When the product was created; set once by Hibernate.
+     */
+    @Schema(hidden = true)
+    @Setter(AccessLevel.NONE)
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private Instant createdAt;
+
+    /**
+     * When the product was last written; set by Hibernate on insert and update.
+     */
+    @Schema(hidden = true)
+    @Setter(AccessLevel.NONE)
+    @UpdateTimestamp
+    @Column(name = "updated_at", nullable = false)
+    private Instant updatedAt;
+
     /**
      * Convenience constructor for creating new products.
      *
@@ -101,7 +164,27 @@ public class Product {
      * @throws IllegalArgumentException if {@code name} is blank or {@code price} is {@code null}
      */
     public Product(String name, BigDecimal price) {
-        this.name = name;
+        setName(name);
         this.price = price;
     }
+
+    /**
+     * Sets the name and its normalized search copy.
+     *
+     * @param name non-blank product name (≤ 120 chars)
+     */
+    public void setName(String name) {
+        this.name = name;
+        this.nameLower = normalizeName(name);
+    }
+
+    /**
+     * Normalization used for {@code name_lower} and for search terms compared against it.
+     *
+     * @param name a product name or search term; may be {@code null}
+     * @return the lower-cased value (locale-independent), or {@code null}
+     */
+    public static String normalizeName(String name) {
+        return name == null ? null : name.toLowerCase(Locale.ROOT);
+    }
 }
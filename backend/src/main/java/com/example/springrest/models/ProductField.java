@@ -0,0 +1,48 @@
+package com.example.springrest.models;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * The {@link Product} attributes a client can ask for with a sparse fieldset ({@code fields=id,price}).
+ *
+ * <p>Each constant names both the JSON property of
+ * {@link com.example.springrest.dto.ProductResponse} and the entity attribute selected by
+ * projection queries, so one parsed set drives the SQL {@code SELECT} list and the response shape.</p>
+ *
+ * @since 1.1
+ */
+public enum ProductField {
+    ID("id"),
+    NAME("name"),
+    PRICE("price");
+
+    /** Every field; what a request without {@code fields=} gets. */
+    public static final Set<ProductField> ALL = Collections.unmodifiableSet(EnumSet.allOf(ProductField.class));
+
+    private final String attribute;
+
+    ProductField(String attribute) {
+        this.attribute = attribute;
+    }
+
+    /**
+     * @return the entity attribute and JSON property name
+     */
+    public String attribute() {
+        return attribute;
+    }
+
+    /**
+     * Looks up a field by its attribute name.
+     *
+     * @param attribute e.g. {@code "price"}
+     * @return the field, or empty if the name is unknown
+     */
+    public static Optional<ProductField> fromAttribute(String attribute) {
+        return Arrays.stream(values()).filter(f -> f.attribute.equals(attribute)).findFirst();
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.springrest.models;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * Record that a {@link Product} was deleted, kept so that delta-sync clients learn about deletes.
+ *
+ * <p>Mapped to {@code product_tombstones}; written in the same transaction as the delete and purged
+ * after {@code app.products.delta.tombstone-retention}. Clients whose watermark is older than that
+ * are told to resync.</p>
+ *
+ * @since 1.1
+ */
+@Entity
+@Table(name = "product_tombstones")
+@Getter
+@NoArgsConstructor
+public class ProductTombstone {
+
+    /** Id of the deleted product. */
+    @Id
+    @Column(name = "product_id")
+    private Long productId;
+
+    /** When the product was deleted. */
+    @Column(name = "deleted_at", nullable = false)
+    private Instant deletedAt;
+
+    /**
+     * @param productId id of the deleted product
+     * @param deletedAt deletion time
+     */
+    public ProductTombstone(Long productId, Instant deletedAt) {
+        this.productId = productId;
+        this.deletedAt = deletedAt;
+    }
+}
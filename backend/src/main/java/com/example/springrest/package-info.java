@@ -15,6 +15,16 @@
  *   <li>{@link com.example.springrest.services services} – Application/business logic.</li>
  *   <li>{@link com.example.springrest.controllers controllers} – Web layer (REST endpoints).</li>
  *   <li>{@link com.example.springrest.exceptions exceptions} – Custom exceptions &amp; (optionally) handlers.</li>
+ *   <li>{@link com.example.springrest.events events} – Product change events and the SSE broadcaster.</li>
+ *   <li>{@link com.example.springrest.datasource datasource} – Primary/replica routing infrastructure.</li>
+ *   <li>{@link com.example.springrest.bulkhead bulkhead} – Isolated lanes for point reads, scans and writes.</li>
+ *   <li>{@link com.example.springrest.breaker breaker} – Database circuit breaker and last-known-good reads.</li>
+ *   <li>{@link com.example.springrest.hotkeys hotkeys} – Request frequency sketches behind {@code /actuator/hotkeys}.</li>
+ *   <li>{@link com.example.springrest.snapshot snapshot} – Memory-mapped catalog snapshot served after a restart.</li>
+ *   <li>{@link com.example.springrest.startup startup} – Startup telemetry and warm-up before readiness.</li>
+ *   <li>{@link com.example.springrest.ids ids} – Product id strategies (identity column or time-ordered ids).</li>
+ *   <li>{@link com.example.springrest.jfr jfr} – Custom JFR events and the always-on flight recording.</li>
+ *   <li>{@link com.example.springrest.existence existence} – Bloom filter of product ids for cheap 404s.</li>
  *   <li>{ config} – Application/Web configuration (e.g., CORS, OpenAPI).</li>
  * </ul>
  *
@@ -0,0 +1,125 @@
+package com.example.springrest.repositories;
+
+import com.example.springrest.models.Product;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.OptionalLong;
+
+/**
+ * Custom repository fragment for set-based price changes.
+ *
+ * <p>Mixed into {@link ProductRepo}; Spring Data picks up the implementation
+ * {@link ProductBulkRepoImpl} by naming convention.</p>
+ *
+ * <p>Updates run as one {@code UPDATE ... WHERE} statement per id range instead of loading and saving
+ * every product. Hibernate evicts the {@link Product#CACHE_REGION} second-level cache region and the
+ * query cache results over {@code products} when such a statement runs; publishing a change event is
+ * left to the caller.</p>
+ *
+ * @since 1.1
+ */
+public interface ProductBulkRepo {
+
+    /** Lowest price a product may have (see {@code ProductRequest}). */
+    BigDecimal MIN_PRICE = new BigDecimal("0.01");
+
+    /** Highest price the {@code price} column ({@code precision = 12, scale = 2}) holds. */
+    BigDecimal MAX_PRICE = new BigDecimal("9999999999.99");
+
+    /**
+     * Which products a price change applies to; {@code null} criteria are ignored, the rest combined
+     * with {@code AND}.
+     *
+     * @param nameContains case-insensitive name substring
+     * @param minPrice     lowest current price, inclusive
+     * @param maxPrice     highest current price, inclusive
+     * @param ids          product ids
+     */
+    record PriceFilter(String nameContains, BigDecimal minPrice, BigDecimal maxPrice, Collection<Long> ids) {
+
+        /**
+         * @return {@code true} if no criterion is set, i.e. the filter matches every product
+         */
+        public boolean isEmpty() {
+            return nameContains == null && minPrice == null && maxPrice == null && ids == null;
+        }
+    }
+
+    /**
+     * A price change {@code round(price × factor + addend, 2)}, rounding half up like the database's
+     * {@code ROUND}.
+     *
+     * @param factor multiplier, not negative (so the change keeps the order of prices)
+     * @param addend amount added after multiplying
+     */
+    record PriceChange(BigDecimal factor, BigDecimal addend) {
+
+        /**
+         * @param percent change in percent, e.g. {@code 5} or {@code -12.5}; greater than {@code -100}
+         * @return the change multiplying prices by {@code 1 + percent / 100}
+         */
+        public static PriceChange percent(BigDecimal percent) {
+            return new PriceChange(BigDecimal.ONE.add(percent.movePointLeft(2)), BigDecimal.ZERO);
+        }
+
+        /**
+         * @param amount amount to add, may be negative
+         * @return the change adding {@code amount} to prices
+         */
+        public static PriceChange amount(BigDecimal amount) {
+            return new PriceChange(BigDecimal.ONE, amount);
+        }
+
+        /**
+         * @param price a current price
+         * @return the changed price, as the database computes it
+         */
+        public BigDecimal apply(BigDecimal price) {
+            return price.multiply(factor).add(addend).setScale(2, RoundingMode.HALF_UP);
+        }
+    }
+
+    /**
+     * @param count   matching products
+     * @param lowest  lowest current price among them, {@code null} if none match
+     * @param highest highest current price among them, {@code null} if none match
+     */
+    record PriceRange(long count, BigDecimal lowest, BigDecimal highest) {}
+
+    /**
+     * Counts the products a filter matches, with their lowest and highest price.
+     *
+     * @param filter which products
+     * @return count and price range
+     */
+    PriceRange findPriceRange(PriceFilter filter);
+
+    /**
+     * Finds where the next chunk of matching products ends.
+     *
+     * @param filter    which products
+     * @param afterId   end of the previous chunk (exclusive start of this one)
+     * @param chunkSize products per chunk
+     * @return id of the {@code chunkSize}-th matching product after {@code afterId}, or empty if fewer
+     *         remain (the chunk then extends to the end)
+     */
+    OptionalLong findChunkEnd(PriceFilter filter, long afterId, int chunkSize);
+
+    /**
+     * Changes the price of matching products with ids in {@code (afterId, upToId]}, in one statement.
+     *
+     * <p>Products whose changed price would fall outside {@link #MIN_PRICE}..{@link #MAX_PRICE} are
+     * skipped. {@code updated_at} is set to {@code now}, so the delta feed reports the change.</p>
+     *
+     * @param filter  which products
+     * @param change  how their price changes
+     * @param afterId exclusive lower id bound
+     * @param upToId  inclusive upper id bound
+     * @param now     new {@code updated_at}
+     * @return number of products updated
+     */
+    int adjustPrices(PriceFilter filter, PriceChange change, long afterId, long upToId, Instant now);
+}
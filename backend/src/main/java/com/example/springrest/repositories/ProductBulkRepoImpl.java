@@ -0,0 +1,96 @@
+package com.example.springrest.repositories;
+
+import com.example.springrest.models.Product;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.CriteriaUpdate;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.jpa.repository.query.EscapeCharacter;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.OptionalLong;
+
+public class ProductBulkRepoImpl implements ProductBulkRepo {
+
+    private static final EscapeCharacter ESCAPE = EscapeCharacter.DEFAULT;
+
+    private final EntityManager em;
+
+    public ProductBulkRepoImpl(EntityManager em) {
+        this.em = em;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public PriceRange findPriceRange(PriceFilter filter) {
+        CriteriaBuilder cb = em.getCriteriaBuilder();
+        CriteriaQuery<Tuple> select = cb.createTupleQuery();
+        Root<Product> product = select.from(Product.class);
+        Expression<BigDecimal> price = product.get("price");
+        select.multiselect(cb.count(product), cb.min(price), cb.max(price));
+        select.where(where(cb, product, filter));
+        Tuple row = em.createQuery(select).getSingleResult();
+        return new PriceRange(row.get(0, Long.class), row.get(1, BigDecimal.class), row.get(2, BigDecimal.class));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public OptionalLong findChunkEnd(PriceFilter filter, long afterId, int chunkSize) {
+        CriteriaBuilder cb = em.getCriteriaBuilder();
+        CriteriaQuery<Long> select = cb.createQuery(Long.class);
+        Root<Product> product = select.from(Product.class);
+        select.select(product.get("id"));
+        select.where(cb.and(where(cb, product, filter), cb.greaterThan(product.get("id"), afterId)));
+        select.orderBy(cb.asc(product.get("id")));
+        List<Long> end = em.createQuery(select)
+                .setFirstResult(chunkSize - 1)
+                .setMaxResults(1)
+                .getResultList();
+        return end.isEmpty() ? OptionalLong.empty() : OptionalLong.of(end.get(0));
+    }
+
+    @Override
+    @Transactional
+    public int adjustPrices(PriceFilter filter, PriceChange change, long afterId, long upToId, Instant now) {
+        CriteriaBuilder cb = em.getCriteriaBuilder();
+        CriteriaUpdate<Product> update = cb.createCriteriaUpdate(Product.class);
+        Root<Product> product = update.from(Product.class);
+        Expression<BigDecimal> price = product.get("price");
+        Expression<BigDecimal> changed = cb.function("round", BigDecimal.class,
+                cb.sum(cb.prod(price, change.factor()), change.addend()), cb.literal(2));
+        update.set(product.<BigDecimal>get("price"), changed);
+        update.set(product.<Instant>get("updatedAt"), now);
+        update.where(cb.and(
+                where(cb, product, filter),
+                cb.greaterThan(product.get("id"), afterId),
+                cb.lessThanOrEqualTo(product.get("id"), upToId),
+                cb.between(changed, MIN_PRICE, MAX_PRICE)));
+        return em.createQuery(update).executeUpdate();
+    }
+
+    private static Predicate where(CriteriaBuilder cb, Root<Product> product, PriceFilter filter) {
+        List<Predicate> predicates = new ArrayList<>(4);
+        if (filter.nameContains() != null) {
+            String escaped = ESCAPE.escape(Product.normalizeName(filter.nameContains()));
+            predicates.add(cb.like(product.get("nameLower"), "%" + escaped + "%", ESCAPE.getEscapeCharacter()));
+        }
+        if (filter.minPrice() != null) {
+            predicates.add(cb.greaterThanOrEqualTo(product.get("price"), filter.minPrice()));
+        }
+        if (filter.maxPrice() != null) {
+            predicates.add(cb.lessThanOrEqualTo(product.get("price"), filter.maxPrice()));
+        }
+        if (filter.ids() != null) {
+            predicates.add(product.get("id").in(filter.ids()));
+        }
+        return cb.and(predicates.toArray(Predicate[]::new));
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.springrest.repositories;
+
+import com.example.springrest.models.Product;
+
+import java.util.List;
+
+/**
+ * Custom repository fragment for fetching many products by id in one round trip.
+ *
+ * <p>Mixed into {@link ProductRepo}; Spring Data picks up the implementation
+ * {@link ProductLookupRepoImpl} by naming convention.</p>
+ *
+ * @since 1.1
+ */
+public interface ProductLookupRepo {
+
+    /**
+     * Loads products by id, in the order the ids were given.
+     *
+     * <p>Products already in the persistence context or the second-level cache are taken from there;
+     * the rest are loaded with {@code IN}-list queries of at most the dialect's limit.</p>
+     *
+     * @param ids ids to load, without duplicates
+     * @return one element per id, in the same order; {@code null} where the id does not exist
+     */
+    List<Product> findAllByIdInOrder(List<Long> ids);
+}
@@ -0,0 +1,61 @@
+package com.example.springrest.repositories;
+
+import com.example.springrest.models.Product;
+import jakarta.persistence.EntityManager;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Hibernate implementation of {@link ProductLookupRepo}.
+ *
+ * <p>Uses {@link Session#byMultipleIds(Class)}, which checks the session and the {@code products}
+ * second-level cache region before going to the database, and then loads the remaining ids in
+ * {@code IN}-list batches. The batch size is {@code app.products.lookup.batch-size}, capped at the
+ * dialect's {@code IN} expression limit where it has one (e.g. 1000 on Oracle).</p>
+ *
+ * <p>Like Spring Data's own methods it joins the caller's transaction or opens a read-only one, so
+ * the unwrapped {@link Session} stays open for the whole load.</p>
+ *
+ * @since 1.1
+ */
+public class ProductLookupRepoImpl implements ProductLookupRepo {
+
+    private final EntityManager em;
+    private final int batchSize;
+
+    /**
+     * @param em        shared, transaction-bound entity manager
+     * @param batchSize preferred number of ids per {@code IN}-list query
+     */
+    public ProductLookupRepoImpl(EntityManager em,
+                                 @Value("${app.products.lookup.batch-size:500}") int batchSize) {
+        this.em = em;
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Product> findAllByIdInOrder(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        return em.unwrap(Session.class)
+                .byMultipleIds(Product.class)
+                .with(CacheMode.NORMAL)
+                .enableSessionCheck(true)
+                .enableOrderedReturn(true)
+                .withBatchSize(effectiveBatchSize())
+                .multiLoad(ids);
+    }
+
+    private int effectiveBatchSize() {
+        int dialectLimit = em.getEntityManagerFactory().unwrap(SessionFactoryImplementor.class)
+                .getJdbcServices().getDialect().getInExpressionCountLimit();
+        return dialectLimit > 0 ? Math.min(batchSize, dialectLimit) : batchSize;
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.springrest.repositories;
+
+import com.example.springrest.models.Product;
+import com.example.springrest.models.ProductField;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import java.util.Set;
+
+/**
+ * Custom repository fragment for paged queries that read only some columns (sparse fieldsets).
+ *
+ * <p>Mixed into {@link ProductRepo}; Spring Data picks up the implementation
+ * {@link ProductProjectionRepoImpl} by naming convention.</p>
+ *
+ * @since 1.1
+ */
+public interface ProductProjectionRepo {
+
+    /**
+     * How the optional search term is matched against {@code name_lower}.
+     */
+    enum NameMatch {
+        /** No filter; {@code term} is ignored. */
+        ANY,
+        /** {@code name_lower LIKE %term%}. */
+        CONTAINS,
+        /** {@code name_lower LIKE term%} (index range scan). */
+        PREFIX
+    }
+
+    /**
+     * Pages through products selecting only the requested columns.
+     *
+     * <p>The returned products are detached and only partially populated: the requested fields, the
+     * id (primary key, also the paging tie-breaker) and any sort properties are set; everything else
+     * is {@code null}. They must not be saved.</p>
+     *
+     * @param fields   columns to read
+     * @param match    how {@code term} filters the names
+     * @param term     search term (case-insensitive); ignored for {@link NameMatch#ANY}
+     * @param pageable the pagination and sorting information; never {@code null}
+     * @return a page of partially populated products; never {@code null}
+     */
+    Page<Product> findProjected(Set<ProductField> fields, NameMatch match, String term, Pageable pageable);
+}
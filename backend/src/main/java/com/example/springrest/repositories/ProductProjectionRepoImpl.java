@@ -0,0 +1,119 @@
+package com.example.springrest.repositories;
+
+import com.example.springrest.models.Product;
+import com.example.springrest.models.ProductField;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.query.EscapeCharacter;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Criteria API implementation of {@link ProductProjectionRepo}.
+ *
+ * <p>Builds {@code SELECT id[, name][, price] FROM products [WHERE name_lower LIKE ?] ORDER BY ...}
+ * plus the matching count query. Results are marked cacheable like the full-entity page queries,
+ * so repeated narrow pages are answered from the query cache.</p>
+ *
+ * @since 1.1
+ */
+public class ProductProjectionRepoImpl implements ProductProjectionRepo {
+
+    private static final EscapeCharacter ESCAPE = EscapeCharacter.DEFAULT;
+
+    private final EntityManager em;
+
+    /**
+     * @param em shared, transaction-bound entity manager
+     */
+    public ProductProjectionRepoImpl(EntityManager em) {
+        this.em = em;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Page<Product> findProjected(Set<ProductField> fields, NameMatch match, String term, Pageable pageable) {
+        List<ProductField> columns = columns(fields, pageable.getSort());
+        CriteriaBuilder cb = em.getCriteriaBuilder();
+
+        CriteriaQuery<Tuple> select = cb.createTupleQuery();
+        Root<Product> product = select.from(Product.class);
+        select.multiselect(columns.stream().map(f -> product.get(f.attribute())).toList());
+        Predicate where = nameFilter(cb, product, match, term);
+        if (where != null) {
+            select.where(where);
+        }
+        select.orderBy(QueryUtils.toOrders(pageable.getSort(), product, cb));
+        TypedQuery<Tuple> query = em.createQuery(select).setHint(HibernateHints.HINT_CACHEABLE, true);
+        if (pageable.isPaged()) {
+            query.setFirstResult(Math.toIntExact(pageable.getOffset()));
+            query.setMaxResults(pageable.getPageSize());
+        }
+
+        List<Product> rows = new ArrayList<>();
+        for (Tuple tuple : query.getResultList()) {
+            rows.add(toProduct(columns, tuple));
+        }
+        return PageableExecutionUtils.getPage(rows, pageable, () -> count(match, term));
+    }
+
+    private long count(NameMatch match, String term) {
+        CriteriaBuilder cb = em.getCriteriaBuilder();
+        CriteriaQuery<Long> count = cb.createQuery(Long.class);
+        Root<Product> product = count.from(Product.class);
+        count.select(cb.count(product));
+        Predicate where = nameFilter(cb, product, match, term);
+        if (where != null) {
+            count.where(where);
+        }
+        return em.createQuery(count).setHint(HibernateHints.HINT_CACHEABLE, true).getSingleResult();
+    }
+
+    private static Predicate nameFilter(CriteriaBuilder cb, Root<Product> product, NameMatch match, String term) {
+        String escaped = match == NameMatch.ANY ? null : ESCAPE.escape(Product.normalizeName(term));
+        return switch (match) {
+            case ANY -> null;
+            case CONTAINS -> cb.like(product.get("nameLower"), "%" + escaped + "%", ESCAPE.getEscapeCharacter());
+            case PREFIX -> cb.like(product.get("nameLower"), escaped + "%", ESCAPE.getEscapeCharacter());
+        };
+    }
+
+    /**
+     * Requested fields plus the id and any sort properties, in declaration order.
+     */
+    private static List<ProductField> columns(Set<ProductField> fields, Sort sort) {
+        EnumSet<ProductField> columns = EnumSet.of(ProductField.ID);
+        columns.addAll(fields);
+        sort.forEach(order -> ProductField.fromAttribute(order.getProperty()).ifPresent(columns::add));
+        return List.copyOf(columns);
+    }
+
+    private static Product toProduct(List<ProductField> columns, Tuple tuple) {
+        Product product = new Product();
+        for (int i = 0; i < columns.size(); i++) {
+            Object value = tuple.get(i);
+            switch (columns.get(i)) {
+                case ID -> product.setId((Long) value);
+                case NAME -> product.setName((String) value);
+                case PRICE -> product.setPrice((BigDecimal) value);
+            }
+        }
+        return product;
+    }
+}
@@ -1,15 +1,26 @@
 package com.example.springrest.repositories;
 
 import com.example.springrest.models.Product;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.List;
 
 /**
  * Spring Data repository for {@link Product} entities.
  *
  * <p>Inherits CRUD, pagination, and sorting from {@link JpaRepository} and adds
- * a simple case-insensitive name search.</p>
+ * a simple case-insensitive name search, an ordered multi-get ({@link ProductLookupRepo}),
+ * column-projected paging for sparse fieldsets ({@link ProductProjectionRepo}) and row-by-row
+ * streaming of large pages ({@link ProductStreamRepo}).</p>
  *
  * <h2>Examples</h2>
  * <pre>{@code
@@ -20,15 +31,35 @@ import org.springframework.data.jpa.repository.JpaRepository;
  * Page<Product> mugs = repo.findByNameContainingIgnoreCase("mug", PageRequest.of(0, 10));
  * }</pre>
  *
+ * <h2>Caching</h2>
+ * <p>{@code findById} is served from the {@code Product} second-level cache region. The paged
+ * queries below are marked cacheable, so a repeated page (same keyword, page, size and sort) returns
+ * the cached list of ids and resolves the entities from the second-level cache. Hibernate invalidates
+ * cached query results whenever the {@code products} table is written through JPA.</p>
+ *
  * <p><strong>Performance tips</strong>: </p>
  * <ul>
- *   <li>Consider an index on {@code lower(name)} for large catalogs to speed up case-insensitive matching.</li>
+ *   <li>Case-insensitive searches run against the indexed {@code name_lower} column. Prefix searches
+ *       ({@link #findByNameStartingWithIgnoreCase}) are index range scans; substring searches
+ *       ({@link #findByNameContainingIgnoreCase}) still scan, but without evaluating {@code lower(name)} per row.</li>
  *   <li>Always pass a {@link Pageable} to avoid loading large result sets into memory.</li>
  * </ul>
  *
  * @since 1.0
  */
-public interface ProductRepo extends JpaRepository<Product, Long> {
+public interface ProductRepo extends JpaRepository<Product, Long>, ProductLookupRepo, ProductProjectionRepo,
+        ProductStreamRepo, ProductBulkRepo {
+
+    /**
+     * Returns a page of products; the page and its count query are held in the query cache.
+     *
+     * @param pageable the pagination and sorting information; never {@code null}
+     * @return a page of products; never {@code null}
+     */
+    @Override
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    Page<Product> findAll(Pageable pageable);
+
     /**
      * Finds products whose {@code name} contains the given keyword, ignoring case sensitivity; paged.
      *
@@ -36,5 +67,60 @@ public interface ProductRepo extends JpaRepository<Product, Long> {
      * @param pageable the pagination and sorting information; never {@code null}
      * @return a page of products matching the search criteria; never {@code null}
      */
-    Page<Product> findByNameContainingIgnoreCase(String name, Pageable pageable);
+    default Page<Product> findByNameContainingIgnoreCase(String name, Pageable pageable) {
+        return findByNameLowerContaining(Product.normalizeName(name), pageable);
+    }
+
+    /**
+     * Finds products whose {@code name} starts with the given prefix, ignoring case sensitivity; paged.
+     *
+     * @param prefix the prefix to match (case-insensitive)
+     * @param pageable the pagination and sorting information; never {@code null}
+     * @return a page of products matching the prefix; never {@code null}
+     */
+    default Page<Product> findByNameStartingWithIgnoreCase(String prefix, Pageable pageable) {
+        return findByNameLowerStartingWith(Product.normalizeName(prefix), pageable);
+    }
+
+    /**
+     * Substring match on the normalized name ({@code name_lower LIKE %?% ESCAPE}); callers pass an
+     * already {@link Product#normalizeName(String) normalized} term.
+     *
+     * @param nameLower normalized substring
+     * @param pageable the pagination and sorting information; never {@code null}
+     * @return a page of matches; never {@code null}
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    Page<Product> findByNameLowerContaining(String nameLower, Pageable pageable);
+
+    /**
+     * Prefix match on the normalized name ({@code name_lower LIKE ?% ESCAPE}), answered by an index
+     * range scan on {@code idx_products_name_lower}; callers pass a normalized prefix.
+     *
+     * @param prefix normalized prefix
+     * @param pageable the pagination and sorting information; never {@code null}
+     * @return a page of matches; never {@code null}
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    Page<Product> findByNameLowerStartingWith(String prefix, Pageable pageable);
+
+    /**
+     * Keyset page of products written after {@code (since, afterId)} and no later than {@code until},
+     * ordered by {@code (updatedAt, id)}.
+     *
+     * <p>The leading {@code updatedAt >= :since} keeps this an index range scan on
+     * {@code idx_products_updated_at_id}, however far the client has read.</p>
+     *
+     * @param since   watermark timestamp
+     * @param afterId watermark id (rows at exactly {@code since} with a larger id still qualify)
+     * @param until   upper bound; newer rows are left for a later call
+     * @param limit   maximum rows
+     * @return matching products in keyset order
+     */
+    @Query("""
+            select p from Product p
+            where p.updatedAt >= :since and (p.updatedAt > :since or p.id > :afterId) and p.updatedAt <= :until
+            order by p.updatedAt, p.id""")
+    List<Product> findChangedSince(@Param("since") Instant since, @Param("afterId") long afterId,
+                                   @Param("until") Instant until, Limit limit);
 }
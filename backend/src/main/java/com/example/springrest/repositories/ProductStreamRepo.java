@@ -0,0 +1,56 @@
+package com.example.springrest.repositories;
+
+import org.springframework.data.domain.Pageable;
+
+import java.math.BigDecimal;
+import java.util.function.LongConsumer;
+
+/**
+ * Custom repository fragment that streams one page of products row by row.
+ *
+ * <p>Used to write large pages straight to the response without materializing entities or
+ * intermediate lists. Mixed into {@link ProductRepo}; Spring Data picks up the implementation
+ * {@link ProductStreamRepoImpl} by naming convention.</p>
+ *
+ * @since 1.1
+ */
+public interface ProductStreamRepo {
+
+    /**
+     * Receives the columns of one product row. Values are only valid during the call.
+     */
+    @FunctionalInterface
+    interface RowHandler {
+
+        /**
+         * @param id    product id
+         * @param name  product name
+         * @param price product price
+         */
+        void row(Long id, String name, BigDecimal price);
+    }
+
+    /**
+     * Reads one page of products in {@code pageable}'s sort order and hands each row to
+     * {@code rows} while the result set is still open.
+     *
+     * <p>Must run inside a transaction, which keeps the connection (and cursor) open until the
+     * last row has been handled. Results bypass the query cache.</p>
+     *
+     * @param pageable the page to read; never {@code null}
+     * @param rows     callback invoked once per row, in order
+     * @return number of rows handed to {@code rows}
+     */
+    int streamPage(Pageable pageable, RowHandler rows);
+
+    /**
+     * Hands every product id to {@code ids}, in no particular order, while the result set is open.
+     *
+     * <p>Must run inside a transaction, like {@link #streamPage}. Used to build the negative-lookup
+     * filter (see {@link com.example.springrest.existence.KnownProductIds}).</p>
+     *
+     * @param ids callback invoked once per product
+     * @return number of ids handed to {@code ids}
+     */
+    long streamIds(LongConsumer ids);
+}
@@ -0,0 +1,89 @@
+package com.example.springrest.repositories;
+
+import com.example.springrest.models.Product;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.Iterator;
+import java.util.function.LongConsumer;
+import java.util.stream.Stream;
+
+/**
+ * Criteria API implementation of {@link ProductStreamRepo}.
+ *
+ * <p>Selects the three scalar columns ({@code SELECT id, name, price FROM products ORDER BY ...}) and
+ * walks the result with {@link TypedQuery#getResultStream()}, which Hibernate backs with a forward-only
+ * cursor. No entities enter the persistence context and no result list is built; JDBC fetches rows in
+ * batches of {@code app.products.streaming.fetch-size}. {@link #streamIds} does the same with the id
+ * column alone, which the primary key index can answer.</p>
+ *
+ * @since 1.1
+ */
+public class ProductStreamRepoImpl implements ProductStreamRepo {
+
+    private final EntityManager em;
+    private final int fetchSize;
+
+    /**
+     * @param em        shared, transaction-bound entity manager
+     * @param fetchSize JDBC fetch size for the cursor
+     */
+    public ProductStreamRepoImpl(EntityManager em,
+                                 @Value("${app.products.streaming.fetch-size:256}") int fetchSize) {
+        this.em = em;
+        this.fetchSize = fetchSize;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public int streamPage(Pageable pageable, RowHandler rows) {
+        CriteriaBuilder cb = em.getCriteriaBuilder();
+        CriteriaQuery<Object[]> select = cb.createQuery(Object[].class);
+        Root<Product> product = select.from(Product.class);
+        select.multiselect(product.get("id"), product.get("name"), product.get("price"));
+        select.orderBy(QueryUtils.toOrders(pageable.getSort(), product, cb));
+
+        TypedQuery<Object[]> query = em.createQuery(select).setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize);
+        if (pageable.isPaged()) {
+            query.setFirstResult(Math.toIntExact(pageable.getOffset()));
+            query.setMaxResults(pageable.getPageSize());
+        }
+
+        int count = 0;
+        try (Stream<Object[]> stream = query.getResultStream()) {
+            for (Iterator<Object[]> it = stream.iterator(); it.hasNext(); count++) {
+                Object[] row = it.next();
+                rows.row((Long) row[0], (String) row[1], (BigDecimal) row[2]);
+            }
+        }
+        return count;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long streamIds(LongConsumer ids) {
+        CriteriaBuilder cb = em.getCriteriaBuilder();
+        CriteriaQuery<Long> select = cb.createQuery(Long.class);
+        Root<Product> product = select.from(Product.class);
+        select.select(product.get("id"));
+
+        long count = 0;
+        try (Stream<Long> stream = em.createQuery(select)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .getResultStream()) {
+            for (Iterator<Long> it = stream.iterator(); it.hasNext(); count++) {
+                ids.accept(it.next());
+            }
+        }
+        return count;
+    }
+}
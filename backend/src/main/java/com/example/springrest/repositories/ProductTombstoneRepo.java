@@ -0,0 +1,46 @@
+package com.example.springrest.repositories;
+
+import com.example.springrest.models.ProductTombstone;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Spring Data repository for {@link ProductTombstone}s (deleted product ids for delta sync).
+ *
+ * @since 1.1
+ */
+public interface ProductTombstoneRepo extends JpaRepository<ProductTombstone, Long> {
+
+    /**
+     * Keyset page of tombstones after {@code (since, afterId)} and no later than {@code until},
+     * ordered by {@code (deletedAt, productId)}; the counterpart of {@link ProductRepo#findChangedSince}.
+     *
+     * @param since   watermark timestamp
+     * @param afterId watermark id
+     * @param until   upper bound
+     * @param limit   maximum rows
+     * @return matching tombstones in keyset order
+     */
+    @Query("""
+            select t from ProductTombstone t
+            where t.deletedAt >= :since and (t.deletedAt > :since or t.productId > :afterId) and t.deletedAt <= :until
+            order by t.deletedAt, t.productId""")
+    List<ProductTombstone> findDeletedSince(@Param("since") Instant since, @Param("afterId") long afterId,
+                                            @Param("until") Instant until, Limit limit);
+
+    /**
+     * Removes tombstones older than the retention horizon.
+     *
+     * @param before cut-off time
+     * @return number of tombstones removed
+     */
+    @Modifying
+    @Query("delete from ProductTombstone t where t.deletedAt < :before")
+    int deleteByDeletedAtBefore(@Param("before") Instant before);
+}
@@ -14,6 +14,9 @@
  *       entities, including case-insensitive name search with pagination.</li>
  * </ul>
  *
+ * <p>The {@link com.example.springrest.repositories.sharding sharding} subpackage can decorate
+ * {@code ProductRepo} to spread products over several databases without changing its callers.</p>
+ *
  * <h2>Design Notes</h2>
  * <ul>
  *   <li>Repositories should remain thin - business logic belongs in the service layer.</li>
@@ -0,0 +1,73 @@
+package com.example.springrest.repositories.sharding;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.function.Supplier;
+
+/**
+ * Thread-bound "current shard" used by {@link ShardRoutingDataSource}.
+ *
+ * <p>Also guards transactions: once a transaction has touched one shard, using another shard in
+ * the same transaction fails fast instead of silently reusing the first shard's connection.</p>
+ *
+ * @since 1.1
+ */
+final class ShardContext {
+
+    private static final ThreadLocal<Integer> CURRENT = new ThreadLocal<>();
+    private static final Object TX_SHARD_KEY = ShardContext.class.getName() + ".TX_SHARD";
+
+    private ShardContext() {
+    }
+
+    /**
+     * @return the shard selected for this thread, or {@code null} for the default shard
+     */
+    static Integer current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Runs {@code work} with {@code shard} as the current shard.
+     *
+     * @param shard shard index
+     * @param work  the repository call to run
+     * @param <T>   result type
+     * @return the result of {@code work}
+     * @throws IllegalStateException if the surrounding transaction already uses a different shard
+     */
+    static <T> T callOn(int shard, Supplier<T> work) {
+        bindToTransaction(shard);
+        Integer previous = CURRENT.get();
+        CURRENT.set(shard);
+        try {
+            return work.get();
+        } finally {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        }
+    }
+
+    private static void bindToTransaction(int shard) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        Integer bound = (Integer) TransactionSynchronizationManager.getResource(TX_SHARD_KEY);
+        if (bound == null) {
+            TransactionSynchronizationManager.bindResource(TX_SHARD_KEY, shard);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(TX_SHARD_KEY);
+                }
+            });
+        } else if (bound != shard) {
+            throw new IllegalStateException(
+                    "Transaction is bound to shard " + bound + " and cannot also use shard " + shard);
+        }
+    }
+}
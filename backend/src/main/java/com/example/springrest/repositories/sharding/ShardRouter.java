@@ -0,0 +1,107 @@
+package com.example.springrest.repositories.sharding;
+
+/**
+ * Maps product ids to shards and defines which ids each shard may generate.
+ *
+ * <p>The two halves belong together: because a shard's identity column only produces ids that
+ * {@link #shardFor(long)} maps back to that shard, ids are globally unique without any central
+ * coordination, and a product can always be found from its id alone.</p>
+ *
+ * @since 1.1
+ */
+public interface ShardRouter {
+
+    /**
+     * @return number of shards
+     */
+    int shardCount();
+
+    /**
+     * @param id product id
+     * @return index of the shard owning {@code id}, in {@code [0, shardCount())}
+     */
+    int shardFor(long id);
+
+    /**
+     * Identity settings for a shard's {@code products.id} column.
+     *
+     * @param shard shard index
+     * @return start, increment and optional upper bound of the shard's ids
+     */
+    IdAllocation allocation(int shard);
+
+    /**
+     * Identity column settings.
+     *
+     * @param start     first id handed out
+     * @param increment step between ids
+     * @param maxValue  last id the shard may hand out, or {@code null} for unbounded
+     */
+    record IdAllocation(long start, long increment, Long maxValue) {
+
+        /**
+         * @return the column definition, e.g. {@code GENERATED BY DEFAULT AS IDENTITY (START WITH 2 INCREMENT BY 4)}
+         */
+        public String identityClause() {
+            return "GENERATED BY DEFAULT AS IDENTITY (START WITH " + start + " INCREMENT BY " + increment
+                    + (maxValue != null ? " MAXVALUE " + maxValue : "") + ")";
+        }
+    }
+
+    /**
+     * Hash sharding: {@code shard = (id - 1) mod n}. Shard {@code k} generates
+     * {@code k+1, k+1+n, k+1+2n, ...}, so ids interleave and data spreads evenly.
+     *
+     * @param shards number of shards
+     * @return the router
+     */
+    static ShardRouter hash(int shards) {
+        return new ShardRouter() {
+            @Override
+            public int shardCount() {
+                return shards;
+            }
+
+            @Override
+            public int shardFor(long id) {
+                return (int) Math.floorMod(id - 1, (long) shards);
+            }
+
+            @Override
+            public IdAllocation allocation(int shard) {
+                return new IdAllocation(shard + 1L, shards, null);
+            }
+        };
+    }
+
+    /**
+     * Range sharding: shard {@code k} owns ids {@code [k*size + 1, (k+1)*size]}. Keeps id ranges
+     * (and therefore recent inserts) together, at the cost of less even spreading.
+     *
+     * @param shards    number of shards
+     * @param rangeSize ids per shard
+     * @return the router
+     */
+    static ShardRouter range(int shards, long rangeSize) {
+        return new ShardRouter() {
+            @Override
+            public int shardCount() {
+                return shards;
+            }
+
+            @Override
+            public int shardFor(long id) {
+                long shard = (id - 1) / rangeSize;
+                if (id < 1 || shard >= shards) {
+                    throw new IllegalArgumentException("Id " + id + " is outside every shard range");
+                }
+                return (int) shard;
+            }
+
+            @Override
+            public IdAllocation allocation(int shard) {
+                return new IdAllocation(shard * rangeSize + 1, 1, (shard + 1) * rangeSize);
+            }
+        };
+    }
+}
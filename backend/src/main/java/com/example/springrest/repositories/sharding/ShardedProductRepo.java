@@ -0,0 +1,335 @@
+package com.example.springrest.repositories.sharding;
+
+import com.example.springrest.models.Product;
+import com.example.springrest.repositories.ProductRepo;
+import org.springframework.beans.BeanWrapperImpl;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.lang.reflect.UndeclaredThrowableException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+
+/**
+ * Sharding decorator for {@link ProductRepo}.
+ *
+ * <p>{@link #create(ProductRepo, ShardRouter, int)} returns a {@link ProductRepo} that forwards to the
+ * Spring Data repository, choosing the shard for each call:</p>
+ * <ul>
+ *   <li><strong>Single id</strong> ({@code findById}, {@code existsById}, {@code deleteById},
+ *       {@code getReferenceById}, {@code save} of an existing product, {@code delete}) — runs on the
+ *       shard that owns the id.</li>
+ *   <li><strong>Insert</strong> ({@code save} with a {@code null} id) — shards take turns; the shard's
+ *       identity column assigns an id that routes back to it.</li>
+ *   <li><strong>Paged queries</strong> (any method returning a {@link Page} and taking a {@link Pageable},
+ *       e.g. {@code findAll(Pageable)} and {@code findByNameContainingIgnoreCase}) — scatter-gather:
+ *       every shard returns its first {@code offset + size} rows in the requested order, the sorted
+ *       streams are k-way merged, and totals are summed.</li>
+ *   <li>{@code findAllById} and {@code findAllByIdInOrder} group ids by shard and query the shards
+ *       in parallel (the latter restoring the requested order); {@code count()} sums the shards.</li>
+ * </ul>
+ *
+ * <p>Other repository methods throw {@link UnsupportedOperationException}. The features built on them
+ * check {@code app.sharding.enabled} instead of reaching this: streamed list pages, the catalog snapshot
+ * and the product id filter turn themselves off, and delta sync and bulk price adjustments answer 501.
+ * A transaction may only touch one shard (see {@link ShardContext}), so group commit, whose batches
+ * would span shards, turns itself off too.</p>
+ *
+ * <p><strong>Performance note</strong>: deep pages cost {@code shards × (offset + size)} rows; prefer
+ * small pages. String sorting during the merge uses Java ordering, which can differ from the database
+ * collation for non-ASCII names.</p>
+ *
+ * @since 1.1
+ */
+public final class ShardedProductRepo implements InvocationHandler {
+
+    private final ProductRepo target;
+    private final ShardRouter router;
+    private final ExecutorService scatter;
+    private final AtomicInteger nextInsertShard = new AtomicInteger();
+
+    private ShardedProductRepo(ProductRepo target, ShardRouter router, ExecutorService scatter) {
+        this.target = target;
+        this.router = router;
+        this.scatter = scatter;
+    }
+
+    /**
+     * Wraps a Spring Data repository with shard routing.
+     *
+     * <p>The returned object also implements {@link AutoCloseable}; closing it stops the scatter
+     * threads (Spring does this automatically on shutdown).</p>
+     *
+     * @param target         the Spring Data {@link ProductRepo}
+     * @param router         id → shard mapping
+     * @param scatterThreads threads used to query shards in parallel
+     * @return a sharding {@link ProductRepo}
+     */
+    public static ProductRepo create(ProductRepo target, ShardRouter router, int scatterThreads) {
+        CustomizableThreadFactory threads = new CustomizableThreadFactory("shard-scatter-");
+        threads.setDaemon(true);
+        ExecutorService scatter = Executors.newFixedThreadPool(scatterThreads, threads);
+        return (ProductRepo) Proxy.newProxyInstance(
+                ProductRepo.class.getClassLoader(),
+                new Class<?>[]{ProductRepo.class, AutoCloseable.class},
+                new ShardedProductRepo(target, router, scatter));
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) {
+        if (method.getDeclaringClass() == Object.class) {
+            return switch (method.getName()) {
+                case "equals" -> proxy == args[0];
+                case "hashCode" -> System.identityHashCode(proxy);
+                default -> "ShardedProductRepo[" + router.shardCount() + " shards]";
+            };
+        }
+        if (method.getDeclaringClass() == AutoCloseable.class) {
+            scatter.shutdownNow();
+            return null;
+        }
+        int pageableIndex = pageableIndex(method);
+        if (pageableIndex >= 0 && Page.class.isAssignableFrom(method.getReturnType())) {
+            return scatterPage(method, args, pageableIndex);
+        }
+        return switch (method.getName()) {
+            case "findById", "existsById", "deleteById", "getReferenceById" ->
+                    onShard(router.shardFor((Long) args[0]), method, args);
+            case "save" -> onShard(shardForSave((Product) args[0]), method, args);
+            case "delete" -> onShard(router.shardFor(((Product) args[0]).getId()), method, args);
+            case "findAllById" -> findAllById(method, (Iterable<?>) args[0]);
+            case "findAllByIdInOrder" -> findAllByIdInOrder(method, (List<?>) args[0]);
+            case "count" -> args == null || args.length == 0 ? count(method) : unsupported(method);
+            default -> unsupported(method);
+        };
+    }
+
+    private int shardForSave(Product product) {
+        if (product.getId() != null) {
+            return router.shardFor(product.getId());
+        }
+        return Math.floorMod(nextInsertShard.getAndIncrement(), router.shardCount());
+    }
+
+    private Object onShard(int shard, Method method, Object[] args) {
+        return ShardContext.callOn(shard, () -> invokeTarget(method, args));
+    }
+
+    @SuppressWarnings("unchecked")
+    private Page<Product> scatterPage(Method method, Object[] args, int pageableIndex) {
+        Pageable requested = (Pageable) args[pageableIndex];
+        Object[] shardArgs = args.clone();
+        shardArgs[pageableIndex] = requested.isPaged()
+                ? PageRequest.of(0, Math.toIntExact(requested.getOffset() + requested.getPageSize()), requested.getSort())
+                : requested;
+
+        List<Page<Product>> pages = gather(shard -> (Page<Product>) invokeTarget(method, shardArgs));
+        long total = pages.stream().mapToLong(Page::getTotalElements).sum();
+        List<Product> content = mergeSorted(pages, comparator(requested.getSort()),
+                requested.isPaged() ? requested.getOffset() : 0,
+                requested.isPaged() ? requested.getPageSize() : Integer.MAX_VALUE);
+        return new PageImpl<>(content, requested, total);
+    }
+
+    private List<Product> findAllById(Method method, Iterable<?> ids) {
+        List<Product> found = new ArrayList<>();
+        byShard(method, ids).forEach(found::addAll);
+        return found;
+    }
+
+    private List<Product> findAllByIdInOrder(Method method, List<?> ids) {
+        Map<Long, Product> found = new HashMap<>();
+        for (List<Product> shardResult : byShard(method, ids)) {
+            for (Product product : shardResult) {
+                if (product != null) {
+                    found.put(product.getId(), product);
+                }
+            }
+        }
+        return ids.stream().map(found::get).toList();
+    }
+
+    /**
+     * Calls {@code method} once per shard with the ids that shard owns, in parallel.
+     */
+    @SuppressWarnings("unchecked")
+    private List<List<Product>> byShard(Method method, Iterable<?> ids) {
+        Map<Integer, List<Long>> byShard = new TreeMap<>();
+        for (Object id : ids) {
+            byShard.computeIfAbsent(router.shardFor((Long) id), shard -> new ArrayList<>()).add((Long) id);
+        }
+        List<CompletableFuture<List<Product>>> futures = new ArrayList<>();
+        byShard.forEach((shard, shardIds) -> futures.add(CompletableFuture.supplyAsync(
+                () -> (List<Product>) ShardContext.callOn(shard, () -> invokeTarget(method, new Object[]{shardIds})),
+                scatter)));
+        return join(futures);
+    }
+
+    private long count(Method method) {
+        return gather(shard -> (Long) invokeTarget(method, null)).stream().mapToLong(Long::longValue).sum();
+    }
+
+    private <T> List<T> gather(IntFunction<T> perShard) {
+        List<CompletableFuture<T>> futures = new ArrayList<>(router.shardCount());
+        for (int shard = 0; shard < router.shardCount(); shard++) {
+            int s = shard;
+            futures.add(CompletableFuture.supplyAsync(() -> ShardContext.callOn(s, () -> perShard.apply(s)), scatter));
+        }
+        return join(futures);
+    }
+
+    private static <T> List<T> join(List<CompletableFuture<T>> futures) {
+        List<T> results = new ArrayList<>(futures.size());
+        for (CompletableFuture<T> future : futures) {
+            try {
+                results.add(future.join());
+            } catch (CompletionException ex) {
+                throw ex.getCause() instanceof RuntimeException cause ? cause : ex;
+            }
+        }
+        return results;
+    }
+
+    private Object invokeTarget(Method method, Object[] args) {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException ex) {
+            Throwable cause = ex.getTargetException();
+            if (cause instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw new UndeclaredThrowableException(cause);
+        } catch (IllegalAccessException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private static Object unsupported(Method method) {
+        throw new UnsupportedOperationException(
+                "ProductRepo." + method.getName() + " is not supported while sharding is enabled");
+    }
+
+    private static int pageableIndex(Method method) {
+        Class<?>[] types = method.getParameterTypes();
+        for (int i = 0; i < types.length; i++) {
+            if (Pageable.class.isAssignableFrom(types[i])) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * K-way merge of per-shard pages that are each sorted by {@code order}.
+     *
+     * @param pages per-shard results, each sorted
+     * @param order the requested sort order
+     * @param skip  rows to skip (the requested page offset)
+     * @param limit rows to return (the requested page size)
+     * @return the requested window of the globally sorted result
+     */
+    static List<Product> mergeSorted(List<? extends Page<Product>> pages, Comparator<Product> order, long skip, int limit) {
+        PriorityQueue<Cursor> heap = new PriorityQueue<>(Math.max(1, pages.size()), (a, b) -> order.compare(a.head, b.head));
+        for (Page<Product> page : pages) {
+            Iterator<Product> rows = page.getContent().iterator();
+            if (rows.hasNext()) {
+                heap.add(new Cursor(rows));
+            }
+        }
+        List<Product> out = new ArrayList<>();
+        long skipped = 0;
+        while (!heap.isEmpty() && out.size() < limit) {
+            Cursor cursor = heap.poll();
+            if (skipped < skip) {
+                skipped++;
+            } else {
+                out.add(cursor.head);
+            }
+            if (cursor.advance()) {
+                heap.add(cursor);
+            }
+        }
+        return out;
+    }
+
+    /**
+     * Builds an in-memory comparator equivalent to {@code sort}, with {@code id} as final tie-breaker.
+     *
+     * @param sort requested sort
+     * @return comparator over products
+     */
+    static Comparator<Product> comparator(Sort sort) {
+        Comparator<Product> result = (a, b) -> 0;
+        for (Sort.Order order : sort) {
+            Comparator<Product> byProperty = (a, b) -> compareValues(property(a, order), property(b, order));
+            result = result.thenComparing(order.isAscending() ? byProperty : byProperty.reversed());
+        }
+        return result.thenComparing(Product::getId, Comparator.nullsFirst(Comparator.<Long>naturalOrder()));
+    }
+
+    private static Object property(Product product, Sort.Order order) {
+        Object value = switch (order.getProperty()) {
+            case "id" -> product.getId();
+            case "name" -> product.getName();
+            case "price" -> product.getPrice();
+            default -> new BeanWrapperImpl(product).getPropertyValue(order.getProperty());
+        };
+        return order.isIgnoreCase() && value instanceof String text ? text.toLowerCase(Locale.ROOT) : value;
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static int compareValues(Object a, Object b) {
+        if (a == b) {
+            return 0;
+        }
+        if (a == null) {
+            return -1;
+        }
+        if (b == null) {
+            return 1;
+        }
+        return ((Comparable) a).compareTo(b);
+    }
+
+    private static final class Cursor {
+        private final Iterator<Product> rest;
+        private Product head;
+
+        Cursor(Iterator<Product> rows) {
+            this.rest = rows;
+            this.head = rows.next();
+        }
+
+        boolean advance() {
+            if (rest.hasNext()) {
+                head = rest.next();
+                return true;
+            }
+            return false;
+        }
+    }
+}
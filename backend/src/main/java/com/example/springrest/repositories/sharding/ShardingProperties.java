@@ -0,0 +1,65 @@
+package com.example.springrest.repositories.sharding;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.util.List;
+
+/**
+ * Settings for sharding the {@code products} table, bound from {@code app.sharding.*}.
+ *
+ * <p><strong>Example</strong>:</p>
+ * <pre>{@code
+ * app.sharding.enabled=true
+ * app.sharding.strategy=hash
+ * app.sharding.shards[0].url=jdbc:h2:file:./.data/shard0;MODE=PostgreSQL
+ * app.sharding.shards[1].url=jdbc:h2:file:./.data/shard1;MODE=PostgreSQL
+ * }</pre>
+ *
+ * <p>The number of shards and the strategy decide where every id lives; changing either on an
+ * existing data set requires re-distributing the data.</p>
+ *
+ * @param enabled        turn sharding on
+ * @param strategy       {@code hash} (interleaved ids) or {@code range} (contiguous id ranges)
+ * @param rangeSize      ids per shard for the range strategy
+ * @param scatterThreads threads used to query shards in parallel
+ * @param shards         one entry per shard, in shard-index order
+ * @since 1.1
+ */
+@ConfigurationProperties(prefix = "app.sharding")
+public record ShardingProperties(
+        boolean enabled,
+        @DefaultValue("hash") Strategy strategy,
+        @DefaultValue("1000000000") long rangeSize,
+        @DefaultValue("8") int scatterThreads,
+        @DefaultValue List<Shard> shards
+) {
+
+    /**
+     * How ids are mapped to shards.
+     */
+    public enum Strategy {
+        /** {@code (id - 1) mod shards}; see {@link ShardRouter#hash(int)}. */
+        HASH,
+        /** Contiguous ranges of {@code range-size} ids; see {@link ShardRouter#range(int, long)}. */
+        RANGE
+    }
+
+    /**
+     * Connection settings for one shard.
+     *
+     * @param url      JDBC url
+     * @param username database user
+     * @param password database password (may be empty)
+     */
+    public record Shard(String url, String username, String password) {}
+
+    /**
+     * @return the router for the configured strategy and shard count
+     */
+    public ShardRouter router() {
+        return strategy == Strategy.RANGE
+                ? ShardRouter.range(shards.size(), rangeSize)
+                : ShardRouter.hash(shards.size());
+    }
+}
@@ -0,0 +1,21 @@
+/**
+ * Horizontal sharding of the {@code products} table across several databases.
+ *
+ * <p>Enabled with {@code app.sharding.enabled=true}. The JPA layer keeps talking to a single
+ * {@link javax.sql.DataSource}, which routes each connection to one shard
+ * ({@link com.example.springrest.repositories.sharding.ShardRoutingDataSource}). Which shard is used
+ * is decided by {@link com.example.springrest.repositories.sharding.ShardedProductRepo}, a decorator
+ * around the Spring Data {@link com.example.springrest.repositories.ProductRepo}:</p>
+ * <ul>
+ *   <li>Single-id operations are routed straight to the owning shard.</li>
+ *   <li>Paged queries (list, search) run on every shard in parallel and are k-way merged
+ *       by the requested sort.</li>
+ * </ul>
+ *
+ * <p>Ids stay globally unique because each shard's identity column only hands out the ids
+ * that the {@link com.example.springrest.repositories.sharding.ShardRouter} maps back to it
+ * (interleaved for hash sharding, disjoint ranges for range sharding).</p>
+ *
+ * @see com.example.springrest.config.ShardingConfig
+ */
+package com.example.springrest.repositories.sharding;
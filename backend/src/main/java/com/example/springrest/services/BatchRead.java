@@ -0,0 +1,38 @@
+package com.example.springrest.services;
+
+import com.example.springrest.repositories.ProductProjectionRepo.NameMatch;
+import org.springframework.data.domain.Pageable;
+
+/**
+ * One read of a batch run by {@link ProductBatchService}.
+ *
+ * <p>Each variant corresponds to a single-read endpoint of the product API and is answered the same
+ * way, including the catalog snapshot and the search page cache.</p>
+ *
+ * @since 1.1
+ */
+public sealed interface BatchRead {
+
+    /**
+     * Read one product, like {@code GET /api/products/{id}}.
+     *
+     * @param id product id
+     */
+    record Get(long id) implements BatchRead {}
+
+    /**
+     * Search by name, like {@code GET /api/products/search} and {@code /search/prefix}.
+     *
+     * @param match    substring or prefix match
+     * @param term     search term
+     * @param pageable page and sort
+     */
+    record Search(NameMatch match, String term, Pageable pageable) implements BatchRead {}
+
+    /**
+     * Read one page of the catalog, like {@code GET /api/products}.
+     *
+     * @param pageable page and sort
+     */
+    record ListPage(Pageable pageable) implements BatchRead {}
+}
@@ -0,0 +1,26 @@
+package com.example.springrest.services;
+
+/**
+ * Outcome of one {@link BatchRead}: either a value or the exception the read failed with.
+ *
+ * @param value the product ({@link BatchRead.Get}) or page of products; {@code null} on failure
+ * @param error why the read failed; {@code null} on success
+ * @since 1.1
+ */
+public record BatchResult(Object value, RuntimeException error) {
+
+    static BatchResult of(Object value) {
+        return new BatchResult(value, null);
+    }
+
+    static BatchResult failed(RuntimeException error) {
+        return new BatchResult(null, error);
+    }
+
+    /**
+     * @return {@code true} if the read succeeded
+     */
+    public boolean ok() {
+        return error == null;
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.springrest.services;
+
+import com.example.springrest.events.ProductBulkChangeEvent;
+import com.example.springrest.events.ProductChangeEvent;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Catalog generation number: incremented after every committed product write.
+ *
+ * <p>Caches of derived data (search pages, rendered HTML) put the generation into their keys. A write
+ * then retires all of their entries at once, without finding or deleting any: lookups simply move on to
+ * keys of the new generation and the old entries age out. A producer must read the generation
+ * <em>before</em> reading the data it caches, so a write that commits in between leaves the entry under
+ * the generation that write has already retired.</p>
+ *
+ * <p>The number is per instance. Writes that bypass {@link ProductService} (and so publish no
+ * {@link ProductChangeEvent} or {@link ProductBulkChangeEvent}) must call {@link #advance()}.</p>
+ *
+ * @since 1.1
+ */
+@Component
+public class CatalogGeneration {
+
+    private final AtomicLong generation = new AtomicLong();
+
+    /**
+     * @return the current generation
+     */
+    public long current() {
+        return generation.get();
+    }
+
+    /**
+     * Starts a new generation, retiring everything cached under older ones.
+     */
+    public void advance() {
+        generation.incrementAndGet();
+    }
+
+    /**
+     * Starts a new generation once a product write has committed.
+     *
+     * @param event the committed change
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChange(ProductChangeEvent event) {
+        advance();
+    }
+
+    /**
+     * Starts a new generation once a bulk write has committed.
+     *
+     * @param event the completed bulk write
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBulkChange(ProductBulkChangeEvent event) {
+        advance();
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.springrest.services;
+
+import com.example.springrest.repositories.ProductBulkRepo.PriceChange;
+import com.example.springrest.repositories.ProductBulkRepo.PriceFilter;
+
+import java.math.BigDecimal;
+
+/**
+ * Result of {@link ProductBulkService#adjustPrices(PriceFilter, PriceChange, boolean)}.
+ *
+ * @param dryRun       {@code true} if nothing was written
+ * @param affected     products changed, or that would be changed in a dry run
+ * @param lowestPrice  lowest price among them after the change, {@code null} if none
+ * @param highestPrice highest price among them after the change, {@code null} if none
+ * @since 1.1
+ */
+public record PriceAdjustment(boolean dryRun, long affected, BigDecimal lowestPrice, BigDecimal highestPrice) {}
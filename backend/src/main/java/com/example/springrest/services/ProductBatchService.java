@@ -0,0 +1,303 @@
+package com.example.springrest.services;
+
+import com.example.springrest.bulkhead.Bulkheads;
+import com.example.springrest.bulkhead.Lane;
+import com.example.springrest.datasource.ReadYourWritesFilter;
+import com.example.springrest.exceptions.BadRequestException;
+import com.example.springrest.exceptions.GatewayTimeoutException;
+import com.example.springrest.exceptions.ResourceNotFoundException;
+import com.example.springrest.existence.KnownProductIds;
+import com.example.springrest.models.Product;
+import com.example.springrest.snapshot.CatalogSnapshots;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Answers a batch of independent reads in one request ({@code POST /api/products/batch}).
+ *
+ * <p>A screen that needs a product, a search and a page of the catalog would otherwise make three
+ * round trips, and a sequential server would answer in the sum of their times. Here the reads are
+ * split into at most {@code app.products.batch.parallelism} groups that run at the same time, so the
+ * batch takes about as long as its slowest group.</p>
+ *
+ * <h2>Rules</h2>
+ * <ul>
+ *   <li><b>Shared connections:</b> the reads of a group run one after another in a single read-only
+ *       transaction, i.e. on one connection taken once. A batch of 20 reads holds at most
+ *       {@code parallelism} connections, not 20. The transaction is always rolled back, never
+ *       committed: nothing is written, and a read that fails does not spoil the others.</li>
+ *   <li><b>Bounded pool:</b> the first group runs on the calling thread; the others on a fixed pool of
+ *       {@code app.products.batch.threads} without a queue. A group the pool cannot take also runs on
+ *       the calling thread, so a busy pool makes a batch slower, never fail.</li>
+ *   <li><b>Bulkhead:</b> before its transaction takes a connection, a group enters every lane its reads
+ *       need: {@link Lane#POINT_READ} for gets, {@link Lane#SCAN} for lists and searches, in that order.
+ *       The reads' own lane checks then re-enter the held lanes without waiting, so a group never sits
+ *       on a connection while it queues for a lane. If a lane is full, the reads of that group fail
+ *       with 503.</li>
+ *   <li><b>Deadline:</b> the whole batch gets {@code app.products.batch.timeout}. It becomes the
+ *       transaction (and JDBC query) timeout of every group; reads that have not finished by then
+ *       fail with {@link GatewayTimeoutException}.</li>
+ *   <li><b>Positional results:</b> result {@code i} belongs to read {@code i}. A failed read yields
+ *       its exception, not a failed batch.</li>
+ *   <li><b>Known misses:</b> gets of ids that {@link KnownProductIds} rules out fail with 404 up front;
+ *       a group left with nothing to read takes no permit and no connection.</li>
+ * </ul>
+ *
+ * <p>Like {@link SearchExecutor}, groups on pool threads get the request's read-your-writes pinning
+ * ({@link ReadYourWritesFilter}) re-applied, so they read from the same database as the calling thread.</p>
+ *
+ * <h2>Metrics</h2>
+ * <p>The pool is published as {@code executor.*} meters tagged {@code name=products.batch}.</p>
+ *
+ * <h2>Configuration</h2>
+ * <pre>{@code
+ * app.products.batch.max-reads=20
+ * app.products.batch.parallelism=3
+ * app.products.batch.threads=8
+ * app.products.batch.timeout=2s
+ * }</pre>
+ *
+ * @since 1.1
+ */
+@Slf4j
+@Service
+public class ProductBatchService {
+
+    private final ProductService service;
+    private final SearchPageCache searchCache;
+    private final CatalogSnapshots snapshots;
+    private final KnownProductIds knownIds;
+    private final PlatformTransactionManager transactions;
+    private final Bulkheads bulkheads;
+    private final int maxReads;
+    private final int parallelism;
+    private final Duration timeout;
+    private final ThreadPoolExecutor pool;
+
+    /**
+     * @param service      product reads
+     * @param searchCache  cached search result pages
+     * @param snapshots    catalog snapshot serving reads after a restart
+     * @param knownIds     negative-lookup filter; gets it rules out fail with 404 before any group starts
+     * @param transactions transaction manager for the per-group read-only transaction
+     * @param bulkheads    lanes; before its transaction starts, each group enters {@link Lane#POINT_READ}
+     *                     if it has gets and {@link Lane#SCAN} if it has lists or searches
+     * @param meters       registry for pool metrics
+     * @param maxReads     most reads accepted in one batch
+     * @param parallelism  most groups (= connections) one batch uses at a time
+     * @param threads      pool threads shared by all batches
+     * @param timeout      deadline per batch
+     */
+    public ProductBatchService(ProductService service,
+                               SearchPageCache searchCache,
+                               CatalogSnapshots snapshots,
+                               KnownProductIds knownIds,
+                               PlatformTransactionManager transactions,
+                               Bulkheads bulkheads,
+                               MeterRegistry meters,
+                               @Value("${app.products.batch.max-reads:20}") int maxReads,
+                               @Value("${app.products.batch.parallelism:3}") int parallelism,
+                               @Value("${app.products.batch.threads:8}") int threads,
+                               @Value("${app.products.batch.timeout:2s}") Duration timeout) {
+        this.service = service;
+        this.searchCache = searchCache;
+        this.snapshots = snapshots;
+        this.knownIds = knownIds;
+        this.transactions = transactions;
+        this.bulkheads = bulkheads;
+        this.maxReads = maxReads;
+        this.parallelism = Math.max(1, parallelism);
+        this.timeout = timeout;
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("product-batch-");
+        threadFactory.setDaemon(true);
+        this.pool = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS, new SynchronousQueue<>(),
+                threadFactory, new ThreadPoolExecutor.AbortPolicy());
+        ExecutorServiceMetrics.monitor(meters, pool, "products.batch", List.of());
+    }
+
+    /**
+     * Runs a batch of reads.
+     *
+     * @param reads the reads, at most {@code app.products.batch.max-reads}
+     * @return one result per read, in the same order
+     * @throws BadRequestException if the batch is empty or too large
+     */
+    public List<BatchResult> readAll(List<BatchRead> reads) {
+        if (reads.isEmpty() || reads.size() > maxReads) {
+            throw new BadRequestException("A batch holds 1 to " + maxReads + " reads");
+        }
+        long deadline = System.nanoTime() + timeout.toNanos();
+        AtomicReferenceArray<BatchResult> results = new AtomicReferenceArray<>(reads.size());
+        for (int i = 0; i < reads.size(); i++) {
+            if (reads.get(i) instanceof BatchRead.Get get && knownIds.definitelyMissing(get.id())) {
+                results.set(i, BatchResult.failed(ResourceNotFoundException.product(get.id())));
+            }
+        }
+        int groups = Math.min(parallelism, reads.size());
+
+        List<Future<?>> submitted = new ArrayList<>(groups);
+        List<Integer> inline = new ArrayList<>(groups);
+        inline.add(0);
+        for (int g = 1; g < groups; g++) {
+            int group = g;
+            try {
+                submitted.add(pool.submit(
+                        ReadYourWritesFilter.propagate(() -> runGroup(reads, group, groups, deadline, results))));
+            } catch (RejectedExecutionException ex) {
+                inline.add(group);
+            }
+        }
+        for (int group : inline) {
+            runGroup(reads, group, groups, deadline, results);
+        }
+        for (Future<?> future : submitted) {
+            await(future, deadline);
+        }
+
+        List<BatchResult> ordered = new ArrayList<>(reads.size());
+        for (int i = 0; i < reads.size(); i++) {
+            BatchResult result = results.get(i);
+            ordered.add(result != null ? result : BatchResult.failed(
+                    new GatewayTimeoutException("Batch did not finish within " + timeout)));
+        }
+        return ordered;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        pool.shutdownNow();
+    }
+
+    /**
+     * Runs reads {@code group, group + groups, group + 2 × groups, ...} in one read-only transaction,
+     * skipping those already answered.
+     */
+    private void runGroup(List<BatchRead> reads, int group, int groups, long deadline,
+                          AtomicReferenceArray<BatchResult> results) {
+        long remainingMillis = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+        if (remainingMillis <= 0 || !hasPending(results, group, groups)) {
+            return;
+        }
+        TransactionTemplate tx = new TransactionTemplate(transactions);
+        tx.setReadOnly(true);
+        tx.setTimeout((int) Math.max(1, TimeUnit.MILLISECONDS.toSeconds(remainingMillis + 999)));
+        try (Bulkheads.Permit permits = enterLanes(reads, group, groups, results)) {
+            tx.executeWithoutResult(status -> {
+                for (int i = group; i < reads.size() && System.nanoTime() < deadline; i += groups) {
+                    if (results.get(i) == null) {
+                        results.set(i, read(reads.get(i)));
+                    }
+                }
+                status.setRollbackOnly();
+            });
+        } catch (RuntimeException ex) {
+            RuntimeException error = SearchExecutor.isTimeout(ex)
+                    ? new GatewayTimeoutException("Batch did not finish within " + timeout)
+                    : ex;
+            for (int i = group; i < reads.size(); i += groups) {
+                results.compareAndSet(i, null, BatchResult.failed(error));
+            }
+        }
+    }
+
+    /**
+     * Enters the lanes of the group's pending reads, in {@link Lane} order; closing the permit leaves them.
+     */
+    private Bulkheads.Permit enterLanes(List<BatchRead> reads, int group, int groups,
+                                        AtomicReferenceArray<BatchResult> results) {
+        EnumSet<Lane> lanes = EnumSet.noneOf(Lane.class);
+        for (int i = group; i < reads.size(); i += groups) {
+            if (results.get(i) == null) {
+                lanes.add(reads.get(i) instanceof BatchRead.Get ? Lane.POINT_READ : Lane.SCAN);
+            }
+        }
+        List<Bulkheads.Permit> held = new ArrayList<>(lanes.size());
+        try {
+            for (Lane lane : lanes) {
+                held.add(bulkheads.enter(lane));
+            }
+        } catch (RuntimeException ex) {
+            leave(held);
+            throw ex;
+        }
+        return () -> leave(held);
+    }
+
+    private static void leave(List<Bulkheads.Permit> held) {
+        for (int i = held.size() - 1; i >= 0; i--) {
+            held.get(i).close();
+        }
+    }
+
+    private static boolean hasPending(AtomicReferenceArray<BatchResult> results, int group, int groups) {
+        for (int i = group; i < results.length(); i += groups) {
+            if (results.get(i) == null) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private BatchResult read(BatchRead read) {
+        try {
+            if (read instanceof BatchRead.Get get) {
+                return BatchResult.of(snapshots.find(get.id()).orElseGet(() -> service.getOrThrow(get.id())));
+            }
+            if (read instanceof BatchRead.ListPage list) {
+                return BatchResult.of(snapshots.list(list.pageable()).orElseGet(() -> service.list(list.pageable())));
+            }
+            return BatchResult.of(search((BatchRead.Search) read));
+        } catch (RuntimeException ex) {
+            if (SearchExecutor.isTimeout(ex)) {
+                return BatchResult.failed(new GatewayTimeoutException("Batch did not finish within " + timeout));
+            }
+            if (!(ex instanceof ResourceNotFoundException) && !(ex instanceof BadRequestException)) {
+                log.warn("Batch read {} failed", read, ex);
+            }
+            return BatchResult.failed(ex);
+        }
+    }
+
+    private Page<Product> search(BatchRead.Search search) {
+        return searchCache.lookup(search.match(), search.term(), search.pageable())
+                .orElseGet(() -> searchCache.load(search.match(), search.term(), search.pageable(),
+                        () -> switch (search.match()) {
+                            case PREFIX -> service.searchByNamePrefix(search.term(), search.pageable());
+                            case CONTAINS, ANY -> service.searchByName(search.term(), search.pageable());
+                        }));
+    }
+
+    private static void await(Future<?> future, long deadline) {
+        try {
+            future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException ex) {
+            // Threads are not interrupted (see SearchExecutor); the transaction timeout stops the query.
+            future.cancel(false);
+        } catch (ExecutionException ex) {
+            log.warn("Batch group failed", ex.getCause());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
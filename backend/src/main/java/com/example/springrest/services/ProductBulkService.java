@@ -0,0 +1,160 @@
+package com.example.springrest.services;
+
+import com.example.springrest.bulkhead.Bulkheads;
+import com.example.springrest.bulkhead.Lane;
+import com.example.springrest.events.ProductBulkChangeEvent;
+import com.example.springrest.exceptions.BadRequestException;
+import com.example.springrest.exceptions.NotImplementedException;
+import com.example.springrest.repositories.ProductBulkRepo;
+import com.example.springrest.repositories.ProductBulkRepo.PriceChange;
+import com.example.springrest.repositories.ProductBulkRepo.PriceFilter;
+import com.example.springrest.repositories.ProductBulkRepo.PriceRange;
+import com.example.springrest.repositories.ProductRepo;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.time.Instant;
+
+/**
+ * Set-based writes over many products, such as price campaigns ("all mugs +5%").
+ *
+ * <p>Changing a thousand prices through {@link ProductService#update} means a thousand loads, a thousand
+ * {@code UPDATE}s and a thousand transactions. {@link #adjustPrices} instead runs one
+ * {@code UPDATE ... SET price = ROUND(price * factor + addend, 2) WHERE <filter>} per chunk of
+ * {@code app.products.bulk.chunk-size} products (by id range), each chunk in its own short
+ * transaction so locks are held briefly and the write lane is never blocked for long.</p>
+ *
+ * <h2>Consistency</h2>
+ * <ul>
+ *   <li>Before writing, the matching price range is checked: if any changed price would fall outside
+ *       {@link ProductBulkRepo#MIN_PRICE}..{@link ProductBulkRepo#MAX_PRICE}, nothing is written.
+ *       Rows that move out of range concurrently are skipped by the statement itself.</li>
+ *   <li>Every changed row gets a new {@code updated_at}, so delta-sync clients and the catalog
+ *       snapshot catch up through {@link ProductDeltaService}. Hibernate evicts the second-level and
+ *       query caches for {@code products} with each statement.</li>
+ *   <li>There is no per-product {@code ProductChangeEvent}. One {@link ProductBulkChangeEvent} is
+ *       published after the last chunk (or after a failure, if earlier chunks committed): it starts a
+ *       new {@link CatalogGeneration} and tells change-stream subscribers to resync.</li>
+ *   <li>Chunks commit independently. If one fails, the earlier ones stay applied (the number of
+ *       products changed is logged) and the event is still published.</li>
+ * </ul>
+ *
+ * <p>Not supported while {@code app.sharding.enabled=true}: the statements are not routed across
+ * shards, so {@link #adjustPrices} fails with {@link NotImplementedException} (HTTP 501).</p>
+ *
+ * <h2>Configuration</h2>
+ * <pre>{@code
+ * app.products.bulk.chunk-size=1000
+ * }</pre>
+ *
+ * @since 1.1
+ */
+@Slf4j
+@Service
+public class ProductBulkService {
+
+    private final ProductRepo repo;
+    private final ApplicationEventPublisher events;
+    private final TransactionOperations tx;
+    private final Bulkheads bulkheads;
+    private final int chunkSize;
+    private final boolean sharded;
+
+    /**
+     * @param repo      product repository (set-based statements)
+     * @param events    publisher for {@link ProductBulkChangeEvent}
+     * @param tx        transactions, one per chunk
+     * @param bulkheads write lane entered per chunk
+     * @param chunkSize products per statement and transaction
+     * @param sharded   whether the products table is sharded, which rules bulk statements out
+     */
+    public ProductBulkService(ProductRepo repo,
+                              ApplicationEventPublisher events,
+                              TransactionOperations tx,
+                              Bulkheads bulkheads,
+                              @Value("${app.products.bulk.chunk-size:1000}") int chunkSize,
+                              @Value("${app.sharding.enabled:false}") boolean sharded) {
+        this.repo = repo;
+        this.events = events;
+        this.tx = tx;
+        this.bulkheads = bulkheads;
+        this.chunkSize = chunkSize;
+        this.sharded = sharded;
+    }
+
+    /**
+     * Changes the price of every product matching {@code filter}.
+     *
+     * @param filter which products; at least one criterion is required
+     * @param change how their price changes
+     * @param dryRun {@code true} to only count the products and report the resulting price range
+     * @return number of products changed (or to be changed) and their price range afterwards
+     * @throws BadRequestException if the filter is empty, lists too many ids, or a changed price would
+     *                             fall outside the allowed range
+     * @throws NotImplementedException if sharding is enabled
+     */
+    public PriceAdjustment adjustPrices(PriceFilter filter, PriceChange change, boolean dryRun) {
+        if (sharded) {
+            throw new NotImplementedException("Bulk price adjustments are not available while sharding is enabled");
+        }
+        if (filter.isEmpty()) {
+            throw new BadRequestException("At least one filter (q, minPrice, maxPrice or ids) is required");
+        }
+        if (filter.ids() != null && (filter.ids().isEmpty() || filter.ids().size() > ProductService.MAX_LOOKUP_IDS)) {
+            throw new BadRequestException("ids must list 1 to " + ProductService.MAX_LOOKUP_IDS + " products");
+        }
+
+        PriceRange range;
+        try (Bulkheads.Permit permit = bulkheads.enter(Lane.SCAN)) {
+            range = repo.findPriceRange(filter);
+        }
+        if (range.count() == 0) {
+            return new PriceAdjustment(dryRun, 0, null, null);
+        }
+        PriceAdjustment expected = new PriceAdjustment(dryRun, range.count(),
+                change.apply(range.lowest()), change.apply(range.highest()));
+        if (expected.lowestPrice().compareTo(ProductBulkRepo.MIN_PRICE) < 0
+                || expected.highestPrice().compareTo(ProductBulkRepo.MAX_PRICE) > 0) {
+            throw new BadRequestException("Adjusted prices would range from " + expected.lowestPrice() + " to "
+                    + expected.highestPrice() + "; allowed are " + ProductBulkRepo.MIN_PRICE + " to "
+                    + ProductBulkRepo.MAX_PRICE);
+        }
+        if (dryRun) {
+            return expected;
+        }
+
+        long affected = 0;
+        try {
+            long afterId = Long.MIN_VALUE;
+            while (afterId != Long.MAX_VALUE) {
+                long from = afterId;
+                Chunk chunk;
+                try (Bulkheads.Permit permit = bulkheads.enter(Lane.WRITE)) {
+                    chunk = tx.execute(status -> {
+                        long upTo = repo.findChunkEnd(filter, from, chunkSize).orElse(Long.MAX_VALUE);
+                        return new Chunk(upTo, repo.adjustPrices(filter, change, from, upTo, Instant.now()));
+                    });
+                }
+                afterId = chunk.upTo();
+                affected += chunk.updated();
+            }
+        } catch (RuntimeException ex) {
+            log.warn("Price adjustment failed after changing {} products", affected);
+            throw ex;
+        } finally {
+            if (affected > 0) {
+                events.publishEvent(new ProductBulkChangeEvent(affected));
+            }
+        }
+        return new PriceAdjustment(false, affected, expected.lowestPrice(), expected.highestPrice());
+    }
+
+    /**
+     * @param upTo    last id the chunk covered ({@link Long#MAX_VALUE} for the final chunk)
+     * @param updated products changed in it
+     */
+    private record Chunk(long upTo, int updated) {}
+}
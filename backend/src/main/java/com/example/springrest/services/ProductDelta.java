@@ -0,0 +1,22 @@
+package com.example.springrest.services;
+
+import com.example.springrest.models.Product;
+
+import java.util.List;
+
+/**
+ * One page of {@link ProductDeltaService#changesSince(Watermark, int)}.
+ *
+ * @param changed   products created or updated after the requested watermark, oldest change first
+ * @param deleted   ids of products deleted after the requested watermark, oldest delete first
+ * @param watermark where the next page starts; the end of the settled feed when {@code hasMore} is false
+ * @param hasMore   {@code true} if more changes are ready and the client should ask again right away
+ * @param resync    {@code true} if the watermark is too old to compute a delta; the client must drop
+ *                  its copy and start again without a watermark
+ * @since 1.1
+ */
+public record ProductDelta(List<Product> changed,
+                           List<Long> deleted,
+                           Watermark watermark,
+                           boolean hasMore,
+                           boolean resync) {}
@@ -0,0 +1,165 @@
+package com.example.springrest.services;
+
+import com.example.springrest.exceptions.BadRequestException;
+import com.example.springrest.exceptions.NotImplementedException;
+import com.example.springrest.models.Product;
+import com.example.springrest.models.ProductTombstone;
+import com.example.springrest.repositories.ProductRepo;
+import com.example.springrest.repositories.ProductTombstoneRepo;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Delta sync: what changed in the catalog since a client's {@link Watermark}.
+ *
+ * <p>Clients that keep a local copy of the catalog (mobile apps, edge caches) call
+ * {@code GET /api/products/changes-since} with the watermark from their previous call and receive
+ * only the products created, updated or deleted since then, instead of re-downloading every page.</p>
+ *
+ * <h2>How it works</h2>
+ * <ul>
+ *   <li>Every product row carries {@code updated_at}; every delete leaves a {@link ProductTombstone}.
+ *       Both are indexed on {@code (time, id)}, so each page is a keyset range scan of two indexes,
+ *       merged here in {@code (time, id)} order. The last key returned becomes the new watermark.</li>
+ *   <li>A page that reaches the end of the feed moves the watermark up to {@code now - settle-window}
+ *       instead, since nothing at or before that time is left to return. A client that keeps polling a
+ *       quiet catalog therefore never falls behind the tombstone retention.</li>
+ *   <li>Timestamps are taken before commit, so a slow transaction can commit a row with a time older
+ *       than rows that are already visible. Changes newer than {@code now - settle-window} are held back
+ *       until such late commits have landed; keep the window above your longest write transaction.</li>
+ *   <li>Tombstones are purged after {@code tombstone-retention}. A watermark older than that could
+ *       miss deletes, so the client is told to {@code resync} instead.</li>
+ * </ul>
+ *
+ * <p>Not supported while {@code app.sharding.enabled=true}: the keyset queries are not routed across
+ * shards, so {@link #changesSince} fails with {@link NotImplementedException} (HTTP 501).</p>
+ *
+ * <h2>Configuration</h2>
+ * <pre>{@code
+ * app.products.delta.settle-window=2s
+ * app.products.delta.tombstone-retention=30d
+ * app.products.delta.purge-interval=1h
+ * }</pre>
+ *
+ * @since 1.1
+ */
+@Slf4j
+@Service
+public class ProductDeltaService {
+
+    /** Upper bound for the page size of one delta call. */
+    public static final int MAX_LIMIT = 1000;
+
+    private final ProductRepo repo;
+    private final ProductTombstoneRepo tombstones;
+    private final Duration settleWindow;
+    private final Duration tombstoneRetention;
+    private final boolean sharded;
+
+    /**
+     * @param repo               product repository (keyset query on {@code updated_at})
+     * @param tombstones         tombstone repository (keyset query on {@code deleted_at})
+     * @param settleWindow       how far behind "now" a delta stops, to let in-flight transactions commit
+     * @param tombstoneRetention how long deletes are remembered
+     * @param sharded            whether the products table is sharded, which rules delta sync out
+     */
+    public ProductDeltaService(ProductRepo repo,
+                               ProductTombstoneRepo tombstones,
+                               @Value("${app.products.delta.settle-window:2s}") Duration settleWindow,
+                               @Value("${app.products.delta.tombstone-retention:30d}") Duration tombstoneRetention,
+                               @Value("${app.sharding.enabled:false}") boolean sharded) {
+        this.repo = repo;
+        this.tombstones = tombstones;
+        this.settleWindow = settleWindow;
+        this.tombstoneRetention = tombstoneRetention;
+        this.sharded = sharded;
+    }
+
+    /**
+     * Returns up to {@code limit} changes after {@code since}.
+     *
+     * @param since watermark from the client's previous call, or {@link Watermark#BEGINNING}
+     * @param limit maximum number of changes (updates plus deletes), 1..{@value #MAX_LIMIT}
+     * @return the changes and the watermark to use next time
+     * @throws BadRequestException     if {@code limit} is out of range
+     * @throws NotImplementedException if sharding is enabled
+     */
+    @Transactional(readOnly = true)
+    public ProductDelta changesSince(Watermark since, int limit) {
+        if (sharded) {
+            throw new NotImplementedException("Delta sync is not available while sharding is enabled");
+        }
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new BadRequestException("limit must be between 1 and " + MAX_LIMIT);
+        }
+        Instant now = Instant.now();
+        if (!since.equals(Watermark.BEGINNING) && since.at().isBefore(now.minus(tombstoneRetention))) {
+            return new ProductDelta(List.of(), List.of(), Watermark.BEGINNING, false, true);
+        }
+
+        Instant until = now.minus(settleWindow);
+        List<Product> updates = repo.findChangedSince(since.at(), since.id(), until, Limit.of(limit + 1));
+        List<ProductTombstone> deletes = tombstones.findDeletedSince(since.at(), since.id(), until, Limit.of(limit + 1));
+
+        List<Product> changed = new ArrayList<>();
+        List<Long> deleted = new ArrayList<>();
+        Watermark next = since;
+        int u = 0;
+        int d = 0;
+        while (changed.size() + deleted.size() < limit && (u < updates.size() || d < deletes.size())) {
+            Watermark update = u < updates.size() ? keyOf(updates.get(u)) : null;
+            Watermark delete = d < deletes.size() ? keyOf(deletes.get(d)) : null;
+            if (delete == null || (update != null && compare(update, delete) < 0)) {
+                changed.add(updates.get(u++));
+                next = update;
+            } else {
+                deleted.add(deletes.get(d++).getProductId());
+                next = delete;
+            }
+        }
+        boolean hasMore = u < updates.size() || d < deletes.size();
+        if (!hasMore) {
+            // Both queries covered everything up to `until`, so the next page can start after all of it.
+            Watermark end = new Watermark(until, Long.MAX_VALUE);
+            if (compare(end, next) > 0) {
+                next = end;
+            }
+        }
+        return new ProductDelta(changed, deleted, next, hasMore, false);
+    }
+
+    /**
+     * Drops tombstones older than the retention period.
+     */
+    @Scheduled(fixedDelayString = "${app.products.delta.purge-interval:1h}",
+            initialDelayString = "${app.products.delta.purge-interval:1h}")
+    @Transactional
+    public void purgeTombstones() {
+        int purged = tombstones.deleteByDeletedAtBefore(Instant.now().minus(tombstoneRetention));
+        if (purged > 0) {
+            log.info("Purged {} product tombstones older than {}", purged, tombstoneRetention);
+        }
+    }
+
+    private static Watermark keyOf(Product product) {
+        return new Watermark(product.getUpdatedAt(), product.getId());
+    }
+
+    private static Watermark keyOf(ProductTombstone tombstone) {
+        return new Watermark(tombstone.getDeletedAt(), tombstone.getProductId());
+    }
+
+    private static int compare(Watermark a, Watermark b) {
+        int byTime = a.at().compareTo(b.at());
+        return byTime != 0 ? byTime : Long.compare(a.id(), b.id());
+    }
+}
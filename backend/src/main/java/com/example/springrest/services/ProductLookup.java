@@ -0,0 +1,14 @@
+package com.example.springrest.services;
+
+import com.example.springrest.models.Product;
+
+import java.util.List;
+
+/**
+ * Result of {@link ProductService#getMany(List)}.
+ *
+ * @param found   existing products, in request order
+ * @param missing requested ids that do not exist, in request order
+ * @since 1.1
+ */
+public record ProductLookup(List<Product> found, List<Long> missing) {}
@@ -1,13 +1,32 @@
 package com.example.springrest.services;
 
+import com.example.springrest.breaker.Guarded;
+import com.example.springrest.bulkhead.Bulkheaded;
+import com.example.springrest.bulkhead.Bulkheads;
+import com.example.springrest.bulkhead.Lane;
+import com.example.springrest.events.ProductChangeEvent;
 import com.example.springrest.models.Product;
+import com.example.springrest.models.ProductField;
+import com.example.springrest.models.ProductTombstone;
+import com.example.springrest.repositories.ProductProjectionRepo;
+import com.example.springrest.repositories.ProductProjectionRepo.NameMatch;
 import com.example.springrest.repositories.ProductRepo;
+import com.example.springrest.repositories.ProductStreamRepo.RowHandler;
+import com.example.springrest.repositories.ProductTombstoneRepo;
+import com.example.springrest.exceptions.BadRequestException;
 import com.example.springrest.exceptions.ResourceNotFoundException;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionOperations;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
 import java.util.function.Consumer;
 
 
@@ -39,19 +58,54 @@ import java.util.function.Consumer;
  * <h2>Transactional rules</h2>
  * <ul>
  *   <li>Write methods ({@link #create(Product)}, {@link #update(Long, Consumer)}, {@link #delete(Long)})
- *       are annotated {@link Transactional @Transactional} to ensure atomicity.</li>
- *   <li>Read methods are non-transactional by default for better throughput.</li>
+ *       always run in a transaction to ensure atomicity. {@link #delete(Long)} is annotated
+ *       {@link Transactional @Transactional}; {@link #create(Product)} and {@link #update(Long, Consumer)}
+ *       demarcate their transaction programmatically, because in group-commit mode they hand the
+ *       write to {@link ProductWriteBuffer} and must not hold a connection while they wait.</li>
+ *   <li>Read methods are {@code @Transactional(readOnly = true)}: Hibernate skips dirty checking, and
+ *       when replica routing is enabled they are served by a replica database
+ *       (see {@link com.example.springrest.config.ReplicaRoutingConfig}).</li>
  * </ul>
  *
+ * <h2>Bulkheads</h2>
+ * <p>Each public method runs in a {@link Lane}: point reads, scans (lists and searches) and writes
+ * have separate concurrency limits, so a storm of slow searches cannot take the connections that
+ * {@link #getOrThrow(Long)} and writes need (see {@link com.example.springrest.bulkhead}). Like the
+ * transaction, the lane is declared with {@link Bulkheaded @Bulkheaded} except on
+ * {@link #create(Product)} and {@link #update(Long, Consumer)}, which enter it programmatically and only
+ * on the direct path: group-commit callers hold no connection while they wait, and limiting them
+ * would shrink the batches.</p>
+ *
+ * <h2>Circuit breaker</h2>
+ * <p>The service is {@link Guarded @Guarded}: every public method passes the database
+ * {@link com.example.springrest.breaker.CircuitBreaker} after its declared lane and before its
+ * transaction. While the database is failing or too slow, calls, writes included, are rejected at once
+ * with HTTP 503 instead of queueing for connections. Only point reads and writes feed the breaker;
+ * scans are checked but not recorded, so slow searches cannot open it for everyone.</p>
+ *
+ * <h2>Change events</h2>
+ * <p>Every successful write publishes a {@link ProductChangeEvent}. Listeners using
+ * {@code @TransactionalEventListener} receive it only after the transaction commits
+ * (see {@link com.example.springrest.events.ProductChangeBroadcaster}).</p>
+ *
  * <p><strong>Implementation note:</strong> This service is stateless and thread-safe under typical Spring usage. Avoid holding JPA entities
  *           between calls; always load and save within a transaction boundary. </p>
  * @since 1.0
  */
 @Service
+@Guarded
 @RequiredArgsConstructor
 public class ProductService {
 
+    /** Maximum number of distinct ids per {@link #getMany(List)} call. */
+    public static final int MAX_LOOKUP_IDS = 1000;
+
     private final ProductRepo repo;
+    private final ProductTombstoneRepo tombstones;
+    private final ApplicationEventPublisher events;
+    private final TransactionOperations tx;
+    private final ProductWriteBuffer writeBuffer;
+    private final Bulkheads bulkheads;
 
     /**
      * Returns a paginated/sorted view of all products.
@@ -59,10 +113,49 @@ public class ProductService {
      * @param pageable pagination and sorting information (page number, size, sort)
      * @return a page of products (possibly empty)
      */
+    @Bulkheaded(Lane.SCAN)
+    @Transactional(readOnly = true)
     public Page<Product> list(Pageable pageable) {
         return repo.findAll(pageable);
     }
 
+    /**
+     * Returns a page of products reading only some columns (sparse fieldset).
+     *
+     * @param pageable pagination and sorting information
+     * @param fields   fields the caller needs
+     * @return a page of detached, partially populated products (see {@link ProductProjectionRepo})
+     */
+    @Bulkheaded(Lane.SCAN)
+    @Transactional(readOnly = true)
+    public Page<Product> list(Pageable pageable, Set<ProductField> fields) {
+        return repo.findProjected(fields, NameMatch.ANY, null, pageable);
+    }
+
+    /**
+     * Streams one page of all products to {@code rows} and returns the total number of products.
+     *
+     * <p>Rows are handed over while the result set is open, so {@code rows} can copy them without
+     * building entities; it must not wait on anything slow, such as the client. The total is derived from the page when possible (first page, or a
+     * short last page) and otherwise counted after the rows, in the same transaction.</p>
+     *
+     * @param pageable pagination and sorting information
+     * @param rows     receives each row in order
+     * @return total number of products, as {@link Page#getTotalElements()} would report it
+     */
+    @Bulkheaded(Lane.SCAN)
+    @Transactional(readOnly = true)
+    public long streamList(Pageable pageable, RowHandler rows) {
+        int streamed = repo.streamPage(pageable, rows);
+        if (pageable.isUnpaged() || (pageable.getOffset() == 0 && streamed < pageable.getPageSize())) {
+            return streamed;
+        }
+        if (streamed > 0 && streamed < pageable.getPageSize()) {
+            return pageable.getOffset() + streamed;
+        }
+        return repo.count();
+    }
+
     /**
      * Searches for products by name (case-insensitive), paged.
      *
@@ -70,10 +163,55 @@ public class ProductService {
      * @param pageable pagination and sorting information
      * @return a page of products matching the search criteria (possibly empty)
      */
+    @Bulkheaded(Lane.SCAN)
+    @Transactional(readOnly = true)
     public Page<Product> searchByName(String q, Pageable pageable) {
         return repo.findByNameContainingIgnoreCase(q, pageable);
     }
 
+    /**
+     * Name search (case-insensitive) reading only some columns (sparse fieldset).
+     *
+     * @param q        the query string to match against product names
+     * @param pageable pagination and sorting information
+     * @param fields   fields the caller needs
+     * @return a page of detached, partially populated products (see {@link ProductProjectionRepo})
+     */
+    @Bulkheaded(Lane.SCAN)
+    @Transactional(readOnly = true)
+    public Page<Product> searchByName(String q, Pageable pageable, Set<ProductField> fields) {
+        return repo.findProjected(fields, NameMatch.CONTAINS, q, pageable);
+    }
+
+    /**
+     * Finds products whose name starts with a prefix (case-insensitive), paged.
+     *
+     * <p>Served by an index range scan on {@code name_lower}; the cheap choice for type-ahead.</p>
+     *
+     * @param prefix the prefix to match against product names
+     * @param pageable pagination and sorting information
+     * @return a page of products whose name starts with {@code prefix} (possibly empty)
+     */
+    @Bulkheaded(Lane.SCAN)
+    @Transactional(readOnly = true)
+    public Page<Product> searchByNamePrefix(String prefix, Pageable pageable) {
+        return repo.findByNameStartingWithIgnoreCase(prefix, pageable);
+    }
+
+    /**
+     * Name prefix search (case-insensitive) reading only some columns (sparse fieldset).
+     *
+     * @param prefix   the prefix to match against product names
+     * @param pageable pagination and sorting information
+     * @param fields   fields the caller needs
+     * @return a page of detached, partially populated products (see {@link ProductProjectionRepo})
+     */
+    @Bulkheaded(Lane.SCAN)
+    @Transactional(readOnly = true)
+    public Page<Product> searchByNamePrefix(String prefix, Pageable pageable, Set<ProductField> fields) {
+        return repo.findProjected(fields, NameMatch.PREFIX, prefix, pageable);
+    }
+
     /**
      * Retrieves a Product by its ID or throws an exception if not found.
      *
@@ -81,20 +219,64 @@ public class ProductService {
      * @return the product with the given ID
      * @throws ResourceNotFoundException if no product exists with the given ID
      */
+    @Bulkheaded(Lane.POINT_READ)
+    @Transactional(readOnly = true)
     public Product getOrThrow(Long id) {
         return repo.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Product not found with ID: " + id));
+                .orElseThrow(() -> ResourceNotFoundException.product(id));
+    }
+
+    /**
+     * Retrieves many products in one round trip.
+     *
+     * <p>Duplicate ids are ignored. Products found in the second-level cache are not queried again;
+     * the rest are loaded with chunked {@code IN}-list queries (see
+     * {@link com.example.springrest.repositories.ProductLookupRepo}).</p>
+     *
+     * @param ids ids to retrieve, in the order the caller wants them back
+     * @return found products and missing ids, both in request order
+     * @throws BadRequestException if more than {@value #MAX_LOOKUP_IDS} distinct ids are requested
+     */
+    @Bulkheaded(Lane.POINT_READ)
+    @Transactional(readOnly = true)
+    public ProductLookup getMany(List<Long> ids) {
+        List<Long> distinct = new ArrayList<>(new LinkedHashSet<>(ids));
+        if (distinct.size() > MAX_LOOKUP_IDS) {
+            throw new BadRequestException("At most " + MAX_LOOKUP_IDS + " ids can be fetched at once");
+        }
+        List<Product> loaded = repo.findAllByIdInOrder(distinct);
+        List<Product> found = new ArrayList<>(distinct.size());
+        List<Long> missing = new ArrayList<>();
+        for (int i = 0; i < distinct.size(); i++) {
+            if (loaded.get(i) != null) {
+                found.add(loaded.get(i));
+            } else {
+                missing.add(distinct.get(i));
+            }
+        }
+        return new ProductLookup(found, missing);
     }
 
     /**
      * Creates/Persists a new product
      *
+     * <p>With group commit enabled, the insert is queued in {@link ProductWriteBuffer} and this
+     * method returns once the batch containing it has committed.</p>
+     *
      * @param p the product to create (id must be {@code null})
      * @return the persisted product with generated ID
      */
-    @Transactional
     public Product create(Product p) {
-        return repo.save(p);
+        if (writeBuffer.isEnabled()) {
+            return writeBuffer.create(p);
+        }
+        try (Bulkheads.Permit permit = bulkheads.enter(Lane.WRITE)) {
+            return tx.execute(status -> {
+                Product saved = repo.save(p);
+                events.publishEvent(ProductChangeEvent.created(saved));
+                return saved;
+            });
+        }
     }
 
     /**
@@ -110,16 +292,27 @@ public class ProductService {
      * });
      * }</pre>
      *
+     * <p>With group commit enabled, updates to the same id that land in one batch are coalesced
+     * into a single write (see {@link ProductWriteBuffer}).</p>
+     *
      * @param id      target product id
      * @param mutator mutation to apply to the loaded entity
      * @return the updated, persisted product
      * @throws ResourceNotFoundException if the id does not exist
      */
-    @Transactional
     public Product update(Long id, Consumer<Product> mutator){
-        Product existing = getOrThrow(id);
-        mutator.accept(existing);
-        return repo.save(existing);
+        if (writeBuffer.isEnabled()) {
+            return writeBuffer.update(id, mutator);
+        }
+        try (Bulkheads.Permit permit = bulkheads.enter(Lane.WRITE)) {
+            return tx.execute(status -> {
+                Product existing = getOrThrow(id);
+                mutator.accept(existing);
+                Product saved = repo.save(existing);
+                events.publishEvent(ProductChangeEvent.updated(saved));
+                return saved;
+            });
+        }
     }
 
     /**
@@ -128,12 +321,18 @@ public class ProductService {
      * <p>Idempotent from the controller perspective: attempts to delete a non-existent ID
      * will result in {@link ResourceNotFoundException}, which is mapped to HTTP 404.</p>
      *
+     * <p>Leaves a {@link ProductTombstone} in the same transaction, so delta-sync clients
+     * ({@link ProductDeltaService}) learn about the delete.</p>
+     *
      * @param id the ID of the product to delete
      * @throws ResourceNotFoundException if no product exists with the given ID
      */
+    @Bulkheaded(Lane.WRITE)
     @Transactional
     public void delete(Long id) {
         Product existing = getOrThrow(id);
         repo.delete(existing);
+        tombstones.save(new ProductTombstone(id, Instant.now()));
+        events.publishEvent(ProductChangeEvent.deleted(id));
     }
 }
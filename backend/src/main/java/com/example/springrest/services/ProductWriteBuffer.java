@@ -0,0 +1,358 @@
+package com.example.springrest.services;
+
+import com.example.springrest.events.ProductChangeEvent;
+import com.example.springrest.exceptions.ResourceNotFoundException;
+import com.example.springrest.exceptions.ServiceUnavailableException;
+import com.example.springrest.models.Product;
+import com.example.springrest.repositories.ProductRepo;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+
+/**
+ * Optional group-commit buffer for product writes.
+ *
+ * <p>Under bursts of small writes every request normally pays for its own transaction and
+ * log flush. When {@code app.products.group-commit.enabled=true}, {@link ProductService#create(Product)}
+ * and {@link ProductService#update(Long, Consumer)} instead enqueue their write here. A single writer
+ * thread drains the queue in batches and applies each batch in <em>one</em> transaction; the calling
+ * request thread blocks until its batch has committed, so callers still see the saved entity (with
+ * its id) and the controller can answer {@code 201 Created} with a {@code Location} header.</p>
+ *
+ * <h2>Batching rules</h2>
+ * <ul>
+ *   <li>A batch closes when it reaches {@code max-batch} writes or {@code linger} has elapsed
+ *       since its first write.</li>
+ *   <li>Updates to the same id within a batch are coalesced: the row is loaded once, every
+ *       mutator is applied in arrival order, and the row is written once.</li>
+ *   <li>If a batch fails, its writes are retried one by one so a single bad write cannot fail
+ *       its neighbours.</li>
+ *   <li>With {@code app.products.ids.strategy=tsid} ids are assigned before the {@code INSERT}, so
+ *       the inserts of a batch also reach the database as JDBC batches; identity ids force one
+ *       statement per insert.</li>
+ *   <li>When the queue is full, callers wait up to {@code enqueue-timeout} and then get
+ *       {@link ServiceUnavailableException} (HTTP 503).</li>
+ * </ul>
+ *
+ * <h2>Failure handling</h2>
+ * <p>A caller never waits without bound:</p>
+ * <ul>
+ *   <li>Writes submitted while the buffer is not running (stopped, or its writer has died) are
+ *       rejected with a 503 at once.</li>
+ *   <li>When the buffer stops or the writer thread exits, every write still queued or in the
+ *       unfinished batch fails with a 503.</li>
+ *   <li>A caller waits at most {@code commit-timeout} for its batch, then gets a 503. The write may
+ *       still commit after that (the batch is already in the database's hands), so a client
+ *       retrying a create should check for it first.</li>
+ * </ul>
+ *
+ * <p>The buffer is turned off while {@code app.sharding.enabled=true}: a transaction may only touch one
+ * shard, so batches spanning shards would fail and fall back to one write at a time.</p>
+ *
+ * <h2>Metrics</h2>
+ * <p>{@code products.write_buffer.commits} counts transactions and {@code products.write_buffer.writes}
+ * counts writes; comparing their rates under {@code /actuator/metrics} shows how many writes each commit
+ * absorbs. {@code products.write_buffer.queued} reports the current queue depth.</p>
+ *
+ * <h2>Configuration</h2>
+ * <pre>{@code
+ * app.products.group-commit.enabled=true
+ * app.products.group-commit.capacity=10000
+ * app.products.group-commit.max-batch=500
+ * app.products.group-commit.linger=2ms
+ * app.products.group-commit.enqueue-timeout=1s
+ * app.products.group-commit.commit-timeout=10s
+ * }</pre>
+ *
+ * @since 1.1
+ */
+@Slf4j
+@Component
+public class ProductWriteBuffer {
+
+    private final ProductRepo repo;
+    private final ApplicationEventPublisher events;
+    private final TransactionOperations tx;
+    private final boolean enabled;
+    private final int maxBatch;
+    private final Duration linger;
+    private final Duration enqueueTimeout;
+    private final Duration commitTimeout;
+    private final BlockingQueue<Write> queue;
+    private final Counter commits;
+    private final Counter writes;
+
+    private volatile boolean running;
+    private Thread writer;
+
+    /**
+     * Creates the buffer; the writer thread only starts when the buffer is enabled.
+     *
+     * @param repo           repository used by the writer
+     * @param events         publisher for {@link ProductChangeEvent}s
+     * @param tx             transaction template for batch transactions
+     * @param meters         registry for the commit/write counters
+     * @param enabled        whether writes go through the buffer at all
+     * @param capacity       maximum number of queued writes
+     * @param maxBatch       maximum writes per transaction
+     * @param linger         how long a batch waits for more writes after its first one
+     * @param enqueueTimeout how long a caller waits for queue space before getting a 503
+     * @param commitTimeout  how long a caller waits for its batch to commit before getting a 503
+     * @param sharded        whether the products table is sharded, which turns the buffer off
+     */
+    public ProductWriteBuffer(ProductRepo repo,
+                              ApplicationEventPublisher events,
+                              TransactionOperations tx,
+                              MeterRegistry meters,
+                              @Value("${app.products.group-commit.enabled:false}") boolean enabled,
+                              @Value("${app.products.group-commit.capacity:10000}") int capacity,
+                              @Value("${app.products.group-commit.max-batch:500}") int maxBatch,
+                              @Value("${app.products.group-commit.linger:2ms}") Duration linger,
+                              @Value("${app.products.group-commit.enqueue-timeout:1s}") Duration enqueueTimeout,
+                              @Value("${app.products.group-commit.commit-timeout:10s}") Duration commitTimeout,
+                              @Value("${app.sharding.enabled:false}") boolean sharded) {
+        this.repo = repo;
+        this.events = events;
+        this.tx = tx;
+        if (enabled && sharded) {
+            log.warn("Group commit is not supported while sharding is enabled; turned off");
+        }
+        this.enabled = enabled && !sharded;
+        this.maxBatch = maxBatch;
+        this.linger = linger;
+        this.enqueueTimeout = enqueueTimeout;
+        this.commitTimeout = commitTimeout;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.commits = meters.counter("products.write_buffer.commits");
+        this.writes = meters.counter("products.write_buffer.writes");
+        meters.gauge("products.write_buffer.queued", queue, BlockingQueue::size);
+    }
+
+    /**
+     * @return {@code true} if product writes should be routed through this buffer
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Queues an insert and waits for the batch containing it to commit.
+     *
+     * @param product new product (id must be {@code null})
+     * @return the persisted product with its generated id
+     * @throws ServiceUnavailableException if the buffer is not running, the queue stays full for longer
+     *                                     than the enqueue timeout, or the commit is not confirmed in time
+     */
+    public Product create(Product product) {
+        return submit(new Write(null, product, null));
+    }
+
+    /**
+     * Queues an update and waits for the batch containing it to commit.
+     *
+     * @param id      target product id
+     * @param mutator mutation to apply to the loaded entity
+     * @return the product as committed (including coalesced updates from the same batch)
+     * @throws ResourceNotFoundException   if the id does not exist
+     * @throws ServiceUnavailableException if the buffer is not running, the queue stays full for longer
+     *                                     than the enqueue timeout, or the commit is not confirmed in time
+     */
+    public Product update(Long id, Consumer<Product> mutator) {
+        return submit(new Write(id, null, mutator));
+    }
+
+    @PostConstruct
+    void start() {
+        if (!enabled) {
+            return;
+        }
+        running = true;
+        writer = new Thread(this::drainLoop, "product-group-commit");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /**
+     * Stops taking writes, lets the writer finish what is queued, and fails whatever it could not.
+     */
+    @PreDestroy
+    void stop() throws InterruptedException {
+        running = false;
+        if (writer != null) {
+            writer.join(TimeUnit.SECONDS.toMillis(5));
+        }
+        failAll(new ArrayList<>(), "Write buffer stopped before the write was committed");
+    }
+
+    private Product submit(Write write) {
+        if (!running) {
+            throw new ServiceUnavailableException("Write buffer is not running, please retry");
+        }
+        try {
+            if (!queue.offer(write, enqueueTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                throw new ServiceUnavailableException("Write buffer is full, please retry");
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new ServiceUnavailableException("Interrupted while waiting for the write buffer");
+        }
+        // Stopped while we were offering: the writer may already have drained its last batch.
+        if (!running && queue.remove(write)) {
+            throw new ServiceUnavailableException("Write buffer is not running, please retry");
+        }
+        try {
+            return write.result.get(commitTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(ex.getCause());
+        } catch (TimeoutException ex) {
+            throw new ServiceUnavailableException("Write was not confirmed within " + commitTimeout
+                    + "; it may still be committed, please check before retrying");
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new ServiceUnavailableException("Interrupted while waiting for the write to commit");
+        }
+    }
+
+    private void drainLoop() {
+        List<Write> batch = new ArrayList<>(maxBatch);
+        try {
+            while (running || !queue.isEmpty()) {
+                batch.clear();
+                Write first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, maxBatch - batch.size());
+                long deadline = System.nanoTime() + linger.toNanos();
+                while (batch.size() < maxBatch) {
+                    long remaining = deadline - System.nanoTime();
+                    Write next = remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : null;
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                    queue.drainTo(batch, maxBatch - batch.size());
+                }
+                flush(batch);
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        } finally {
+            if (running) {
+                log.error("Group-commit writer exited unexpectedly; product writes are rejected until restart");
+            }
+            running = false;
+            // Completed writes of the last batch ignore this; the rest must not wait forever.
+            failAll(batch, "Write buffer stopped before the write was committed");
+        }
+    }
+
+    /**
+     * Fails {@code pending} and everything still queued with a 503.
+     */
+    private void failAll(List<Write> pending, String message) {
+        queue.drainTo(pending);
+        for (Write write : pending) {
+            write.result.completeExceptionally(new ServiceUnavailableException(message));
+        }
+    }
+
+    /**
+     * Applies a batch in one transaction and completes its callers after commit.
+     */
+    private void flush(List<Write> batch) {
+        List<Write> inserts = new ArrayList<>();
+        Map<Long, List<Write>> updates = new LinkedHashMap<>();
+        for (Write write : batch) {
+            if (write.id == null) {
+                inserts.add(write);
+            } else {
+                updates.computeIfAbsent(write.id, id -> new ArrayList<>()).add(write);
+            }
+        }
+
+        Map<Write, Product> results = new HashMap<>();
+        try {
+            tx.executeWithoutResult(status -> {
+                results.clear();
+                for (Write insert : inserts) {
+                    insert.product.setId(null); // a rolled-back attempt may have assigned one
+                    Product saved = repo.save(insert.product);
+                    results.put(insert, saved);
+                    events.publishEvent(ProductChangeEvent.created(saved));
+                }
+                Map<Long, Product> loaded = new HashMap<>();
+                repo.findAllById(updates.keySet()).forEach(p -> loaded.put(p.getId(), p));
+                updates.forEach((id, group) -> {
+                    Product existing = loaded.get(id);
+                    if (existing == null) {
+                        return;
+                    }
+                    group.forEach(update -> update.mutator.accept(existing));
+                    Product saved = repo.save(existing);
+                    group.forEach(update -> results.put(update, saved));
+                    events.publishEvent(ProductChangeEvent.updated(saved));
+                });
+            });
+        } catch (RuntimeException ex) {
+            if (batch.size() == 1) {
+                batch.get(0).result.completeExceptionally(ex);
+            } else {
+                batch.forEach(write -> flush(List.of(write)));
+            }
+            return;
+        }
+
+        commits.increment();
+        writes.increment(batch.size());
+        for (Write write : batch) {
+            Product saved = results.get(write);
+            if (saved != null) {
+                write.result.complete(saved);
+            } else {
+                write.result.completeExceptionally(
+                        ResourceNotFoundException.product(write.id));
+            }
+        }
+    }
+
+    /**
+     * A queued insert ({@code id == null}) or update, plus the future its caller waits on.
+     */
+    private static final class Write {
+        final Long id;
+        final Product product;
+        final Consumer<Product> mutator;
+        final CompletableFuture<Product> result = new CompletableFuture<>();
+
+        Write(Long id, Product product, Consumer<Product> mutator) {
+            this.id = id;
+            this.product = product;
+            this.mutator = mutator;
+        }
+    }
+}
@@ -0,0 +1,220 @@
+package com.example.springrest.services;
+
+import com.example.springrest.bulkhead.Bulkheads;
+import com.example.springrest.bulkhead.Lane;
+import com.example.springrest.datasource.ReadYourWritesFilter;
+import com.example.springrest.exceptions.GatewayTimeoutException;
+import com.example.springrest.exceptions.ServiceUnavailableException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionTimedOutException;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Runs product searches off the servlet thread, with a deadline and cancellation.
+ *
+ * <p>A substring search over a large table can run for a long time. Executed inline, it holds a Tomcat
+ * thread and a database connection long after the client has given up. Search endpoints therefore
+ * return the {@link DeferredResult} from {@link #submit(Supplier)}: the servlet thread is released at
+ * once and the query runs on a small, bounded pool.</p>
+ *
+ * <h2>Rules</h2>
+ * <ul>
+ *   <li><b>No queueing:</b> when every search thread is busy (and the optional queue is full) the
+ *       request fails immediately with {@link ServiceUnavailableException} (HTTP 503).</li>
+ *   <li><b>Deadline:</b> each search gets {@code app.products.search.timeout} from the moment it is
+ *       accepted. The remaining time becomes the transaction timeout, which Spring applies to every
+ *       JPA query as a JDBC query timeout, so the database gives up as well.</li>
+ *   <li><b>Timeout:</b> when the deadline passes, the running statement is cancelled and the client
+ *       gets {@link GatewayTimeoutException} (HTTP 504).</li>
+ *   <li><b>Bulkhead:</b> a search enters the {@link Lane#SCAN} lane before its transaction starts;
+ *       a full lane fails the request with 503.</li>
+ *   <li><b>Client disconnect:</b> if the container reports the connection as broken, the running
+ *       statement is cancelled, freeing the connection and the search thread.</li>
+ * </ul>
+ *
+ * <p>Work runs on another thread. Read-your-writes pinning ({@link ReadYourWritesFilter}) is captured
+ * at submission and re-applied there, so a client that just wrote still searches the primary.</p>
+ *
+ * <h2>Metrics</h2>
+ * <p>The pool is published as {@code executor.*} meters tagged {@code name=products.search}; a rising
+ * {@code executor.active} next to 503s means the pool is saturated.</p>
+ *
+ * <h2>Configuration</h2>
+ * <pre>{@code
+ * app.products.search.threads=8
+ * app.products.search.queue-capacity=0
+ * app.products.search.timeout=2s
+ * }</pre>
+ *
+ * @since 1.1
+ */
+@Slf4j
+@Component
+public class SearchExecutor {
+
+    private final PlatformTransactionManager transactions;
+    private final EntityManager em;
+    private final Bulkheads bulkheads;
+    private final Duration timeout;
+    private final ThreadPoolExecutor pool;
+
+    /**
+     * @param transactions  transaction manager for the per-search read-only transaction
+     * @param em            shared entity manager, used to reach the running statement for cancellation
+     * @param bulkheads     lanes; searches take their {@link Lane#SCAN} slot before their transaction starts
+     * @param meters        registry for pool metrics
+     * @param threads       number of search threads (= concurrent searches, = connections they can hold)
+     * @param queueCapacity searches allowed to wait for a thread; {@code 0} rejects as soon as all are busy
+     * @param timeout       deadline per search, from acceptance
+     */
+    public SearchExecutor(PlatformTransactionManager transactions,
+                          EntityManager em,
+                          Bulkheads bulkheads,
+                          MeterRegistry meters,
+                          @Value("${app.products.search.threads:8}") int threads,
+                          @Value("${app.products.search.queue-capacity:0}") int queueCapacity,
+                          @Value("${app.products.search.timeout:2s}") Duration timeout) {
+        this.transactions = transactions;
+        this.em = em;
+        this.bulkheads = bulkheads;
+        this.timeout = timeout;
+        BlockingQueue<Runnable> queue = queueCapacity > 0
+                ? new ArrayBlockingQueue<>(queueCapacity)
+                : new SynchronousQueue<>();
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("product-search-");
+        threadFactory.setDaemon(true);
+        this.pool = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS, queue, threadFactory,
+                new ThreadPoolExecutor.AbortPolicy());
+        ExecutorServiceMetrics.monitor(meters, pool, "products.search", List.of());
+    }
+
+    /**
+     * Starts a search in the background.
+     *
+     * @param search the query (and mapping to response DTOs); runs inside a read-only transaction
+     * @param <T>    result type
+     * @return a deferred result completed with the value, a {@link GatewayTimeoutException}, or the
+     *         exception thrown by {@code search}
+     * @throws ServiceUnavailableException if no search thread is free
+     */
+    public <T> DeferredResult<T> submit(Supplier<T> search) {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        DeferredResult<T> result = new DeferredResult<>(timeout.toMillis());
+        Execution execution = new Execution();
+
+        result.onTimeout(() -> {
+            execution.cancel();
+            result.setErrorResult(new GatewayTimeoutException("Search did not finish within " + timeout));
+        });
+        result.onError(ex -> execution.cancel());
+        result.onCompletion(execution::cancel);
+
+        try {
+            execution.future = pool.submit(
+                    ReadYourWritesFilter.propagate(() -> run(search, deadline, result, execution)));
+        } catch (RejectedExecutionException ex) {
+            throw new ServiceUnavailableException("Too many searches in progress, please retry");
+        }
+        return result;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        pool.shutdownNow();
+    }
+
+    private <T> void run(Supplier<T> search, long deadline, DeferredResult<T> result, Execution execution) {
+        long remainingMillis = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+        if (execution.cancelled || remainingMillis <= 0) {
+            return;
+        }
+        TransactionTemplate tx = new TransactionTemplate(transactions);
+        tx.setReadOnly(true);
+        tx.setTimeout((int) Math.max(1, TimeUnit.MILLISECONDS.toSeconds(remainingMillis + 999)));
+        try (Bulkheads.Permit permit = bulkheads.enter(Lane.SCAN)) {
+            T value = tx.execute(status -> {
+                execution.session = em.unwrap(SessionImplementor.class);
+                if (execution.cancelled) {
+                    return null;
+                }
+                return search.get();
+            });
+            result.setResult(value);
+        } catch (RuntimeException ex) {
+            if (execution.cancelled) {
+                log.debug("Search cancelled: {}", ex.toString());
+            } else if (isTimeout(ex)) {
+                result.setErrorResult(new GatewayTimeoutException("Search did not finish within " + timeout));
+            } else {
+                result.setErrorResult(ex);
+            }
+        } finally {
+            execution.session = null;
+        }
+    }
+
+    static boolean isTimeout(Throwable ex) {
+        for (Throwable t = ex; t != null; t = t.getCause()) {
+            if (t instanceof QueryTimeoutException
+                    || t instanceof TransactionTimedOutException
+                    || t instanceof jakarta.persistence.QueryTimeoutException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Cancellation handle for one search.
+     */
+    private static final class Execution {
+        volatile Future<?> future;
+        volatile SessionImplementor session;
+        volatile boolean cancelled;
+
+        /**
+         * Drops the search if it has not started yet, or cancels its running JDBC statement.
+         * Threads are not interrupted: an interrupt can close the file channels of embedded databases.
+         */
+        void cancel() {
+            if (cancelled) {
+                return;
+            }
+            cancelled = true;
+            Future<?> f = future;
+            if (f != null) {
+                f.cancel(false);
+            }
+            SessionImplementor s = session;
+            if (s != null) {
+                try {
+                    s.getJdbcCoordinator().cancelLastQuery();
+                } catch (RuntimeException ex) {
+                    log.debug("Could not cancel running search statement: {}", ex.toString());
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package com.example.springrest.services;
+
+import com.example.springrest.models.Product;
+import com.example.springrest.repositories.ProductProjectionRepo.NameMatch;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * Cache of search result pages as id lists, invalidated by a catalog generation number.
+ *
+ * <p>Popular searches ({@code q=mug}, default sort, first page) repeat constantly. Hibernate's query
+ * cache already saves the SQL, but every request still takes a search thread, a transaction and a
+ * connection to consult it. This cache sits in front of all of that: a hit is answered on the request
+ * thread and only the products themselves are loaded, through {@link ProductService#getMany(List)},
+ * which reads them from the second-level cache.</p>
+ *
+ * <h2>Invalidation</h2>
+ * <p>Entries are keyed by match kind, normalized term, sort, page window <em>and</em> the
+ * {@link CatalogGeneration} at the time the search started. Every committed product write increments
+ * the generation, so all existing entries become unreachable at once and age out of the LRU. A search
+ * that races with a write stores its result under the generation it started with, which the write has
+ * already retired.</p>
+ *
+ * <p>The generation is per instance, and with replica routing a search may read a lagging replica;
+ * {@code ttl} bounds how long either can show a stale page. If a cached id has disappeared by the time
+ * it is loaded, the entry is dropped and the search runs again.</p>
+ *
+ * <h2>Metrics</h2>
+ * <p>{@code products.search.cache{result=hit|miss}} counts lookups.</p>
+ *
+ * <h2>Configuration</h2>
+ * <pre>{@code
+ * app.products.search-cache.enabled=true
+ * app.products.search-cache.max-entries=1000
+ * app.products.search-cache.max-page-size=100
+ * app.products.search-cache.ttl=60s
+ * }</pre>
+ *
+ * @since 1.1
+ */
+@Component
+public class SearchPageCache {
+
+    private final ProductService service;
+    private final CatalogGeneration generation;
+    private final boolean enabled;
+    private final int maxPageSize;
+    private final long ttlNanos;
+    private final Map<Key, Entry> entries;
+    private final Counter hits;
+    private final Counter misses;
+
+    /**
+     * @param service     product service, used to load cached ids
+     * @param generation  catalog generation, part of every key
+     * @param meters      registry for hit/miss counters
+     * @param enabled     whether pages are cached
+     * @param maxEntries  pages kept, least recently used evicted first
+     * @param maxPageSize larger pages are not cached
+     * @param ttl         upper bound on the age of a cached page
+     */
+    public SearchPageCache(ProductService service,
+                           CatalogGeneration generation,
+                           MeterRegistry meters,
+                           @Value("${app.products.search-cache.enabled:true}") boolean enabled,
+                           @Value("${app.products.search-cache.max-entries:1000}") int maxEntries,
+                           @Value("${app.products.search-cache.max-page-size:100}") int maxPageSize,
+                           @Value("${app.products.search-cache.ttl:60s}") Duration ttl) {
+        this.service = service;
+        this.generation = generation;
+        this.enabled = enabled;
+        this.maxPageSize = maxPageSize;
+        this.ttlNanos = ttl.toNanos();
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+                return size() > maxEntries;
+            }
+        };
+        this.hits = Counter.builder("products.search.cache").tag("result", "hit").register(meters);
+        this.misses = Counter.builder("products.search.cache").tag("result", "miss").register(meters);
+    }
+
+    /**
+     * Answers a search from the cache.
+     *
+     * @param match    kind of name match
+     * @param term     search term as requested
+     * @param pageable page window and sort
+     * @return the page with freshly loaded products, or empty on a miss (run {@link #load} then)
+     */
+    public Optional<Page<Product>> lookup(NameMatch match, String term, Pageable pageable) {
+        if (!cacheable(pageable)) {
+            return Optional.empty();
+        }
+        Key key = key(match, term, pageable, generation.current());
+        Entry entry;
+        synchronized (entries) {
+            entry = entries.get(key);
+        }
+        if (entry == null || System.nanoTime() - entry.storedAt() > ttlNanos) {
+            misses.increment();
+            return Optional.empty();
+        }
+        if (entry.ids().isEmpty()) {
+            hits.increment();
+            return Optional.of(new PageImpl<>(List.of(), pageable, entry.total()));
+        }
+        ProductLookup loaded = service.getMany(entry.ids());
+        if (!loaded.missing().isEmpty()) {
+            synchronized (entries) {
+                entries.remove(key);
+            }
+            misses.increment();
+            return Optional.empty();
+        }
+        hits.increment();
+        return Optional.of(new PageImpl<>(loaded.found(), pageable, entry.total()));
+    }
+
+    /**
+     * Runs a search and caches its ids under the generation current when it started.
+     *
+     * @param match    kind of name match
+     * @param term     search term as requested
+     * @param pageable page window and sort
+     * @param search   the search itself
+     * @return the page returned by {@code search}
+     */
+    public Page<Product> load(NameMatch match, String term, Pageable pageable, Supplier<Page<Product>> search) {
+        long startedAt = generation.current();
+        Page<Product> page = search.get();
+        if (cacheable(pageable)) {
+            List<Long> ids = page.getContent().stream().map(Product::getId).toList();
+            Entry entry = new Entry(ids, page.getTotalElements(), System.nanoTime());
+            synchronized (entries) {
+                entries.put(key(match, term, pageable, startedAt), entry);
+            }
+        }
+        return page;
+    }
+
+    private boolean cacheable(Pageable pageable) {
+        return enabled && pageable.isPaged() && pageable.getPageSize() <= maxPageSize;
+    }
+
+    private static Key key(NameMatch match, String term, Pageable pageable, long generation) {
+        return new Key(match, Product.normalizeName(term), pageable.getSort(),
+                pageable.getOffset(), pageable.getPageSize(), generation);
+    }
+
+    private record Key(NameMatch match, String term, Sort sort, long offset, int size, long generation) {}
+
+    private record Entry(List<Long> ids, long total, long storedAt) {}
+}
@@ -0,0 +1,57 @@
+package com.example.springrest.services;
+
+import com.example.springrest.exceptions.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+
+/**
+ * Position in the product change stream used by {@link ProductDeltaService}.
+ *
+ * <p>A watermark is the {@code (time, id)} key of the last change a client has seen, or, once the client
+ * has read to the end of the feed, the time the feed was read up to with id {@link Long#MAX_VALUE}; the
+ * next delta starts strictly after it. Clients treat the encoded form as an opaque token and echo it back
+ * unchanged.</p>
+ *
+ * @param at time of the last seen change ({@code updated_at} or {@code deleted_at})
+ * @param id product id of the last seen change, breaking ties between changes with equal times
+ * @since 1.1
+ */
+public record Watermark(Instant at, long id) {
+
+    /** Start of the stream: a client without a watermark receives every product. */
+    public static final Watermark BEGINNING = new Watermark(Instant.EPOCH, 0);
+
+    /**
+     * Parses a token produced by {@link #encode()}.
+     *
+     * @param token encoded watermark, or {@code null}/blank for {@link #BEGINNING}
+     * @return the decoded watermark
+     * @throws BadRequestException if the token is malformed
+     */
+    public static Watermark parse(String token) {
+        if (token == null || token.isBlank()) {
+            return BEGINNING;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token.trim()), StandardCharsets.US_ASCII);
+            int dot = raw.indexOf('.');
+            int colon = raw.indexOf(':', dot + 1);
+            Instant at = Instant.ofEpochSecond(
+                    Long.parseLong(raw.substring(0, dot)),
+                    Long.parseLong(raw.substring(dot + 1, colon)));
+            return new Watermark(at, Long.parseLong(raw.substring(colon + 1)));
+        } catch (RuntimeException ex) {
+            throw new BadRequestException("Invalid watermark");
+        }
+    }
+
+    /**
+     * @return URL-safe token to hand to the client
+     */
+    public String encode() {
+        String raw = at.getEpochSecond() + "." + at.getNano() + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.US_ASCII));
+    }
+}
@@ -0,0 +1,239 @@
+package com.example.springrest.snapshot;
+
+import com.example.springrest.models.Product;
+import com.example.springrest.repositories.ProductStreamRepo.RowHandler;
+import com.example.springrest.services.Watermark;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+/**
+ * A read-only, memory-mapped copy of the products table.
+ *
+ * <p>The file is mapped with {@link FileChannel#map}, so opening it costs no parsing and no heap: the
+ * operating system pages the data in as it is read, and a recently written file is usually still in the
+ * page cache. Lookups read the mapping directly with absolute gets and are safe from any thread.</p>
+ *
+ * <h2>File format</h2>
+ * <p>Big-endian, fixed-width sections, so every value is found by arithmetic rather than by scanning:</p>
+ * <pre>
+ * header     magic "CATS" (int), version (int), count (int), name bytes (int),
+ *            watermark seconds (long), watermark nanos (int), padding (int), watermark id (long)
+ * ids        long[count]      ascending; looked up by binary search
+ * prices     long[count]      price in cents (the column has scale 2)
+ * offsets    int[count + 1]   start of each name in the name section; the last entry is its length
+ * names      UTF-8 bytes
+ * </pre>
+ *
+ * <p>The watermark is a point in the delta-sync feed
+ * ({@link com.example.springrest.services.ProductDeltaService}) from which the snapshot can be brought
+ * up to date. A mapping is limited to 2&nbsp;GB, which is tens of millions of products.</p>
+ *
+ * @since 1.1
+ */
+public final class CatalogSnapshot {
+
+    private static final int MAGIC = 0x43415453;
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 40;
+
+    private final MappedByteBuffer data;
+    private final int count;
+    private final Watermark watermark;
+    private final int prices;
+    private final int offsets;
+    private final int names;
+
+    private CatalogSnapshot(MappedByteBuffer data) throws IOException {
+        this.data = data;
+        if (data.capacity() < HEADER_BYTES || data.getInt(0) != MAGIC || data.getInt(4) != VERSION) {
+            throw new IOException("Not a catalog snapshot (version " + VERSION + ")");
+        }
+        this.count = data.getInt(8);
+        int nameBytes = data.getInt(12);
+        this.watermark = new Watermark(Instant.ofEpochSecond(data.getLong(16), data.getInt(24)), data.getLong(32));
+        this.prices = HEADER_BYTES + count * Long.BYTES;
+        this.offsets = prices + count * Long.BYTES;
+        this.names = offsets + (count + 1) * Integer.BYTES;
+        if (count < 0 || nameBytes < 0 || (long) names + nameBytes != data.capacity()) {
+            throw new IOException("Truncated catalog snapshot");
+        }
+    }
+
+    /**
+     * Maps a snapshot file.
+     *
+     * @param file a file written by {@link #write(Path, Watermark, Consumer)}
+     * @return the mapped snapshot
+     * @throws IOException if the file cannot be read or is not a complete snapshot
+     */
+    public static CatalogSnapshot open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("Catalog snapshot larger than 2 GB: " + file);
+            }
+            return new CatalogSnapshot(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    /**
+     * Writes a snapshot. The rows are collected first (ids, cents and name bytes in primitive arrays),
+     * then written to a temporary file that replaces {@code file} atomically, so readers never map a
+     * half-written snapshot.
+     *
+     * @param file      target file
+     * @param watermark delta-sync position the rows are at least as new as
+     * @param rows      called once with a handler that must receive every product in ascending id order
+     * @throws IOException              if the file cannot be written
+     * @throws IllegalArgumentException if the rows are not in ascending id order
+     */
+    public static void write(Path file, Watermark watermark, Consumer<RowHandler> rows) throws IOException {
+        Rows collected = new Rows();
+        rows.accept(collected);
+        long size = HEADER_BYTES + collected.count * (2L * Long.BYTES + Integer.BYTES) + Integer.BYTES
+                + collected.names.size();
+        if (size > Integer.MAX_VALUE) {
+            throw new IOException("Catalog snapshot would be larger than 2 GB");
+        }
+
+        Path dir = file.toAbsolutePath().getParent();
+        Files.createDirectories(dir);
+        Path tmp = Files.createTempFile(dir, "catalog", ".tmp");
+        try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.WRITE)) {
+            ByteBuffer buffer = ByteBuffer.allocate(64 * 1024);
+            buffer.putInt(MAGIC).putInt(VERSION).putInt(collected.count).putInt(collected.names.size())
+                    .putLong(watermark.at().getEpochSecond()).putInt(watermark.at().getNano()).putInt(0)
+                    .putLong(watermark.id());
+            for (int i = 0; i < collected.count; i++) {
+                buffer = room(channel, buffer, Long.BYTES).putLong(collected.ids[i]);
+            }
+            for (int i = 0; i < collected.count; i++) {
+                buffer = room(channel, buffer, Long.BYTES).putLong(collected.cents[i]);
+            }
+            for (int i = 0; i <= collected.count; i++) {
+                buffer = room(channel, buffer, Integer.BYTES).putInt(collected.offsets[i]);
+            }
+            flush(channel, buffer);
+            channel.write(ByteBuffer.wrap(collected.names.toByteArray()));
+            channel.force(true);
+        } catch (IOException | RuntimeException ex) {
+            Files.deleteIfExists(tmp);
+            throw ex;
+        }
+        Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * @return number of products in the snapshot
+     */
+    public int size() {
+        return count;
+    }
+
+    /**
+     * @return delta-sync position to catch up from
+     */
+    public Watermark watermark() {
+        return watermark;
+    }
+
+    /**
+     * Binary search over the id section.
+     *
+     * @param id product id
+     * @return index of {@code id}, or {@code -(insertion point) - 1} as in {@link Arrays#binarySearch(long[], long)}
+     */
+    public int indexOf(long id) {
+        int low = 0;
+        int high = count - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            long value = idAt(mid);
+            if (value < id) {
+                low = mid + 1;
+            } else if (value > id) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -(low + 1);
+    }
+
+    /**
+     * @param index position, {@code 0 <= index < size()}
+     * @return id at that position
+     */
+    public long idAt(int index) {
+        return data.getLong(HEADER_BYTES + index * Long.BYTES);
+    }
+
+    /**
+     * @param index position, {@code 0 <= index < size()}
+     * @return a new, detached product with id, name and price (no timestamps)
+     */
+    public Product productAt(int index) {
+        int start = data.getInt(offsets + index * Integer.BYTES);
+        int end = data.getInt(offsets + (index + 1) * Integer.BYTES);
+        byte[] name = new byte[end - start];
+        data.get(names + start, name);
+        Product product = new Product(new String(name, StandardCharsets.UTF_8),
+                BigDecimal.valueOf(data.getLong(prices + index * Long.BYTES), 2));
+        product.setId(idAt(index));
+        return product;
+    }
+
+    private static ByteBuffer room(FileChannel channel, ByteBuffer buffer, int bytes) throws IOException {
+        if (buffer.remaining() < bytes) {
+            flush(channel, buffer);
+        }
+        return buffer;
+    }
+
+    private static void flush(FileChannel channel, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    /**
+     * Collects rows into growable primitive arrays.
+     */
+    private static final class Rows implements RowHandler {
+        long[] ids = new long[1024];
+        long[] cents = new long[1024];
+        int[] offsets = new int[1025];
+        final ByteArrayOutputStream names = new ByteArrayOutputStream();
+        int count;
+
+        @Override
+        public void row(Long id, String name, BigDecimal price) {
+            if (count > 0 && id <= ids[count - 1]) {
+                throw new IllegalArgumentException("Rows must be in ascending id order");
+            }
+            if (count == ids.length) {
+                ids = Arrays.copyOf(ids, count * 2);
+                cents = Arrays.copyOf(cents, count * 2);
+                offsets = Arrays.copyOf(offsets, count * 2 + 1);
+            }
+            ids[count] = id;
+            cents[count] = price.movePointRight(2).longValueExact();
+            names.writeBytes(name.getBytes(StandardCharsets.UTF_8));
+            offsets[++count] = names.size();
+        }
+    }
+}
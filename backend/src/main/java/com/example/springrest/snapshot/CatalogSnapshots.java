@@ -0,0 +1,380 @@
+package com.example.springrest.snapshot;
+
+import com.example.springrest.breaker.CircuitBreaker;
+import com.example.springrest.events.ProductChangeEvent;
+import com.example.springrest.models.Product;
+import com.example.springrest.repositories.ProductRepo;
+import com.example.springrest.services.ProductDelta;
+import com.example.springrest.services.ProductDeltaService;
+import com.example.springrest.services.Watermark;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serves reads from a memory-mapped {@link CatalogSnapshot} right after a restart, until the database
+ * has caught up.
+ *
+ * <p>A replica that restarts would otherwise send every read to a cold database. With
+ * {@code app.catalog-snapshot.enabled=true} it instead:</p>
+ * <ol>
+ *   <li><b>Writes</b> the products table to {@code app.catalog-snapshot.file} every
+ *       {@code app.catalog-snapshot.interval}, in one read-only transaction (so with replica routing
+ *       the rows come from a replica, not the primary).</li>
+ *   <li><b>Maps</b> the last snapshot on startup; this costs a system call, not a load.</li>
+ *   <li><b>Catches up</b> in the background: starting at the snapshot's watermark, it pages through
+ *       {@link ProductDeltaService#changesSince(Watermark, int)} and keeps the changed and deleted
+ *       products in a small overlay. Products written on this instance go into the overlay as soon as
+ *       they commit ({@link ProductChangeEvent}), so a client reads its own writes at once rather than
+ *       a settle window later.</li>
+ *   <li>While serving, {@link #find(Long)} and {@link #list(Pageable)} answer from snapshot plus
+ *       overlay.</li>
+ *   <li><b>Hands over</b> to the database only when the delta is drained, the application reports
+ *       ready (with {@code app.warmup.enabled=true}: after the caches, pool and JIT are warm) and the
+ *       database {@link CircuitBreaker} is closed. Until then the delta feed keeps being followed every
+ *       {@value #POLL_SECONDS} s. If the breaker opens later, reads fall back to their stale copies as
+ *       usual; the snapshot is not mapped again. A snapshot too old to catch up is dropped at once.</li>
+ * </ol>
+ *
+ * <p>Reads served this way are at most as stale as the delta feed's settle window plus the catch-up
+ * lag, except for this instance's own writes. When the feed and a local write disagree, the newer
+ * {@code updated_at} wins. Ids the snapshot does not know and deleted ids are not answered here, so
+ * callers fall back to the database and its 404. Only lists sorted by id (or unsorted) are served;
+ * other sorts go to the database. Turned off while {@code app.sharding.enabled=true}, where the delta feed is not
+ * routed.</p>
+ *
+ * <h2>Metrics</h2>
+ * <p>{@code products.snapshot.serving} is 1 while reads are answered from the snapshot.</p>
+ *
+ * <h2>Configuration</h2>
+ * <pre>{@code
+ * app.catalog-snapshot.enabled=false
+ * app.catalog-snapshot.file=./.data/catalog.snap
+ * app.catalog-snapshot.interval=10m
+ * app.catalog-snapshot.initial-delay=1m
+ * }</pre>
+ *
+ * @since 1.1
+ */
+@Slf4j
+@Component
+public class CatalogSnapshots {
+
+    private static final Duration RETRY_DELAY = Duration.ofSeconds(1);
+    private static final int POLL_SECONDS = 1;
+
+    private final ProductRepo repo;
+    private final ProductDeltaService deltas;
+    private final CircuitBreaker breaker;
+    private final TransactionTemplate readOnly;
+    private final boolean enabled;
+    private final Path file;
+    private final Duration settleWindow;
+    private final NavigableMap<Long, Change> overlay = new ConcurrentSkipListMap<>();
+    private volatile CatalogSnapshot snapshot;
+    private volatile boolean stopped;
+    private volatile boolean ready;
+
+    /**
+     * @param repo         product repository (streams the rows for a new snapshot)
+     * @param deltas       delta feed used to catch up
+     * @param breaker      database circuit breaker; the snapshot is kept while it is not closed
+     * @param transactions transaction manager for the snapshot read
+     * @param meters       registry for the serving gauge
+     * @param enabled      whether snapshots are written and served
+     * @param file         snapshot location
+     * @param settleWindow settle window of the delta feed; a new snapshot's watermark is taken this far back
+     * @param sharded      whether the products table is sharded, which turns snapshots off
+     */
+    public CatalogSnapshots(ProductRepo repo,
+                            ProductDeltaService deltas,
+                            CircuitBreaker breaker,
+                            PlatformTransactionManager transactions,
+                            MeterRegistry meters,
+                            @Value("${app.catalog-snapshot.enabled:false}") boolean enabled,
+                            @Value("${app.catalog-snapshot.file:./.data/catalog.snap}") Path file,
+                            @Value("${app.products.delta.settle-window:2s}") Duration settleWindow,
+                            @Value("${app.sharding.enabled:false}") boolean sharded) {
+        this.repo = repo;
+        this.deltas = deltas;
+        this.breaker = breaker;
+        this.readOnly = new TransactionTemplate(transactions);
+        this.readOnly.setReadOnly(true);
+        if (enabled && sharded) {
+            log.warn("Catalog snapshots are not supported while sharding is enabled; turned off");
+        }
+        this.enabled = enabled && !sharded;
+        this.file = file;
+        this.settleWindow = settleWindow;
+        Gauge.builder("products.snapshot.serving", () -> snapshot != null ? 1 : 0)
+                .description("1 while reads are served from the catalog snapshot")
+                .register(meters);
+    }
+
+    /**
+     * Maps the last snapshot and starts catching up, before the first request can arrive.
+     */
+    @EventListener(ApplicationStartedEvent.class)
+    public void start() {
+        if (!enabled || !Files.isRegularFile(file)) {
+            return;
+        }
+        try {
+            snapshot = CatalogSnapshot.open(file);
+        } catch (IOException ex) {
+            log.warn("Ignoring unreadable catalog snapshot {}: {}", file, ex.toString());
+            return;
+        }
+        log.info("Serving {} products from catalog snapshot {} (watermark {}) while catching up",
+                snapshot.size(), file, snapshot.watermark().at());
+        CustomizableThreadFactory threads = new CustomizableThreadFactory("catalog-catch-up-");
+        threads.setDaemon(true);
+        threads.newThread(this::catchUp).start();
+    }
+
+    @PreDestroy
+    void stop() {
+        stopped = true;
+    }
+
+    /**
+     * Tracks readiness: the snapshot is handed over only once the application accepts traffic.
+     *
+     * @param event readiness change
+     */
+    @EventListener
+    public void onReadiness(AvailabilityChangeEvent<ReadinessState> event) {
+        ready = event.getState() == ReadinessState.ACCEPTING_TRAFFIC;
+    }
+
+    /**
+     * Applies a change committed on this instance to the overlay while serving.
+     *
+     * @param event the committed change
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChange(ProductChangeEvent event) {
+        if (snapshot == null || event.id() == null) {
+            return;
+        }
+        if (event.type() == ProductChangeEvent.Type.DELETED) {
+            // After commit: later than every version of the row, which was written before it.
+            apply(event.id(), new Change(null, Instant.now()));
+        } else if (event.product() != null) {
+            apply(event.id(), changed(event.product()));
+        }
+    }
+
+    /**
+     * Writes a fresh snapshot of the products table.
+     */
+    @Scheduled(fixedDelayString = "${app.catalog-snapshot.interval:10m}",
+            initialDelayString = "${app.catalog-snapshot.initial-delay:1m}")
+    public void write() {
+        if (!enabled) {
+            return;
+        }
+        long start = System.nanoTime();
+        Watermark watermark = new Watermark(Instant.now().minus(settleWindow), 0);
+        try {
+            CatalogSnapshot.write(file, watermark, rows -> readOnly.executeWithoutResult(
+                    status -> repo.streamPage(Pageable.unpaged(Sort.by("id")), rows)));
+            log.debug("Wrote catalog snapshot {} in {} ms", file,
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        } catch (IOException | RuntimeException ex) {
+            log.warn("Could not write catalog snapshot {}: {}", file, ex.toString());
+        }
+    }
+
+    /**
+     * @return {@code true} while reads are answered from the snapshot
+     */
+    public boolean serving() {
+        return snapshot != null;
+    }
+
+    /**
+     * Looks up a product in the snapshot while catching up.
+     *
+     * @param id product id
+     * @return the product as of snapshot plus changes applied so far; empty when not serving, or when
+     *         the id is unknown here or deleted (the caller asks the database)
+     */
+    public Optional<Product> find(Long id) {
+        CatalogSnapshot current = snapshot;
+        if (current == null || id == null) {
+            return Optional.empty();
+        }
+        Change change = overlay.get(id);
+        if (change != null) {
+            return Optional.ofNullable(change.product());
+        }
+        int index = current.indexOf(id);
+        return index >= 0 ? Optional.of(current.productAt(index)) : Optional.empty();
+    }
+
+    /**
+     * Lists products from the snapshot while catching up.
+     *
+     * <p>Walks the id section and the overlay together in id order, skipping the page offset. Cost is
+     * proportional to offset plus page size.</p>
+     *
+     * @param pageable paged request, unsorted or sorted by {@code id} only
+     * @return the page, or empty when not serving or when the request cannot be answered here
+     */
+    public Optional<Page<Product>> list(Pageable pageable) {
+        CatalogSnapshot current = snapshot;
+        if (current == null || pageable.isUnpaged() || pageable.getOffset() > Integer.MAX_VALUE) {
+            return Optional.empty();
+        }
+        Sort.Order byId = pageable.getSort().getOrderFor("id");
+        if (pageable.getSort().stream().count() > (byId == null ? 0 : 1)) {
+            return Optional.empty();
+        }
+        boolean descending = byId != null && byId.isDescending();
+
+        long total = current.size();
+        for (Map.Entry<Long, Change> entry : overlay.entrySet()) {
+            total += (current.indexOf(entry.getKey()) >= 0 ? -1 : 0) + (entry.getValue().product() != null ? 1 : 0);
+        }
+
+        Iterator<Map.Entry<Long, Change>> changes =
+                (descending ? overlay.descendingMap() : overlay).entrySet().iterator();
+        Map.Entry<Long, Change> change = changes.hasNext() ? changes.next() : null;
+        int index = descending ? current.size() - 1 : 0;
+        int step = descending ? -1 : 1;
+        long skip = pageable.getOffset();
+        List<Product> content = new ArrayList<>(pageable.getPageSize());
+
+        while (content.size() < pageable.getPageSize()) {
+            boolean inSnapshot = index >= 0 && index < current.size();
+            if (!inSnapshot && change == null) {
+                break;
+            }
+            long snapshotId = inSnapshot ? current.idAt(index) : 0;
+            if (change != null && (!inSnapshot
+                    || (descending ? change.getKey() >= snapshotId : change.getKey() <= snapshotId))) {
+                if (inSnapshot && change.getKey() == snapshotId) {
+                    index += step;
+                }
+                Product changed = change.getValue().product();
+                change = changes.hasNext() ? changes.next() : null;
+                if (changed == null) {
+                    continue;
+                }
+                if (skip > 0) {
+                    skip--;
+                } else {
+                    content.add(changed);
+                }
+            } else {
+                if (skip > 0) {
+                    skip--;
+                } else {
+                    content.add(current.productAt(index));
+                }
+                index += step;
+            }
+        }
+        return Optional.of(new PageImpl<>(content, pageable, total));
+    }
+
+    private void catchUp() {
+        long start = System.nanoTime();
+        Watermark watermark = snapshot.watermark();
+        int applied = 0;
+        boolean caughtUp = false;
+        while (!stopped) {
+            try {
+                ProductDelta delta = deltas.changesSince(watermark, ProductDeltaService.MAX_LIMIT);
+                if (delta.resync()) {
+                    log.info("Catalog snapshot is older than the delta feed reaches back; reading from the database");
+                    break;
+                }
+                for (Product product : delta.changed()) {
+                    apply(product.getId(), changed(product));
+                }
+                // The page's watermark is at or after each of its deletes, and after every earlier version.
+                Instant deletedBy = delta.watermark().at();
+                for (Long id : delta.deleted()) {
+                    apply(id, new Change(null, deletedBy));
+                }
+                applied += delta.changed().size() + delta.deleted().size();
+                watermark = delta.watermark();
+                if (delta.hasMore()) {
+                    continue;
+                }
+                if (!caughtUp) {
+                    caughtUp = true;
+                    log.info("Catalog snapshot caught up in {} ms ({} changes)",
+                            TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), applied);
+                }
+                if (ready && breaker.state() == CircuitBreaker.State.CLOSED) {
+                    log.info("Application is ready and the database healthy; reading from the database");
+                    break;
+                }
+                Thread.sleep(TimeUnit.SECONDS.toMillis(POLL_SECONDS));
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (RuntimeException ex) {
+                log.warn("Catalog catch-up failed, retrying in {}: {}", RETRY_DELAY, ex.toString());
+                try {
+                    Thread.sleep(RETRY_DELAY.toMillis());
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+            }
+        }
+        snapshot = null;
+        overlay.clear();
+    }
+
+    private void apply(Long id, Change change) {
+        overlay.merge(id, change, (current, next) -> next.at().isBefore(current.at()) ? current : next);
+    }
+
+    private static Change changed(Product product) {
+        return new Change(product, product.getUpdatedAt() != null ? product.getUpdatedAt() : Instant.MIN);
+    }
+
+    /**
+     * A product changed since the snapshot; {@code product} is {@code null} when it was deleted.
+     *
+     * @param product the product as changed, or {@code null}
+     * @param at      when the change was made; an older change never replaces a newer one
+     */
+    private record Change(Product product, Instant at) {
+    }
+}
@@ -0,0 +1,16 @@
+/**
+ * Catalog snapshots for fast warm restarts.
+ *
+ * <p>A restarted replica maps the products table from a local file instead of reading it from the
+ * database, and serves reads from it while a background catch-up applies the delta-sync feed. The file
+ * is a flat binary layout (sorted ids, prices, name offsets, names), so opening it is a single
+ * {@code mmap} and lookups are binary searches over the mapping, with next to no heap.</p>
+ *
+ * <h2>Contents</h2>
+ * <ul>
+ *   <li>{@link com.example.springrest.snapshot.CatalogSnapshot} — the file format: writer and mapped reader.</li>
+ *   <li>{@link com.example.springrest.snapshot.CatalogSnapshots} — periodic writing, startup catch-up and
+ *       the reads answered from the snapshot in the meantime.</li>
+ * </ul>
+ */
+package com.example.springrest.snapshot;
@@ -0,0 +1,51 @@
+package com.example.springrest.startup;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Logs how long after JVM start the first HTTP request completed.
+ *
+ * <p>"Started in N seconds" stops the clock at context refresh, but with lazy initialization,
+ * connection pools and caches warming on demand, the first request can take much longer than
+ * the ones after it. Time-to-first-request is the number that matters when new instances are
+ * added under load, so it is the one to compare before and after a startup optimization.</p>
+ *
+ * <p>After the first request this filter is a single volatile read per request.</p>
+ *
+ * @since 1.1
+ */
+@Slf4j
+@Component
+public class FirstRequestTimer extends OncePerRequestFilter {
+
+    private final AtomicBoolean seen = new AtomicBoolean();
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return seen.get();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        long started = System.nanoTime();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            if (seen.compareAndSet(false, true)) {
+                log.info("First request {} {} completed {} ms after JVM start (request itself took {} ms)",
+                        request.getMethod(), request.getRequestURI(), StartupReport.uptime().toMillis(),
+                        (System.nanoTime() - started) / 1_000_000);
+            }
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.example.springrest.startup;
+
+import com.example.springrest.hotkeys.HotKeyTracker;
+import com.example.springrest.hotkeys.HotKeys;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+
+/**
+ * Persists the current hot keys ({@link HotKeys}) so the next instance can warm up with them.
+ *
+ * <p>The snapshot is a small JSON file with the hottest product ids and search terms, written every
+ * {@code app.warmup.snapshot-interval} and on shutdown (to a temporary file first, then moved into place,
+ * so a crash never leaves a half-written snapshot). {@link WarmUp} reads it on the next start.</p>
+ *
+ * <pre>{@code
+ * { "products": [42, 7, 1001], "searches": ["mug"], "prefixSearches": ["cof"] }
+ * }</pre>
+ *
+ * @since 1.1
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "app.warmup", name = "enabled", havingValue = "true")
+public class HotKeySnapshot {
+
+    private final HotKeys hotKeys;
+    private final ObjectMapper json;
+    private final Path file;
+
+    /**
+     * @param hotKeys live hot-key trackers
+     * @param json    mapper for the snapshot file
+     * @param file    where the snapshot is kept
+     */
+    public HotKeySnapshot(HotKeys hotKeys,
+                          ObjectMapper json,
+                          @Value("${app.warmup.snapshot-file:./.data/hotkeys.json}") Path file) {
+        this.hotKeys = hotKeys;
+        this.json = json;
+        this.file = file;
+    }
+
+    /**
+     * Reads the last snapshot.
+     *
+     * @return the snapshot, or {@link Snapshot#EMPTY} if there is none or it cannot be read
+     */
+    public Snapshot load() {
+        if (!Files.isRegularFile(file)) {
+            return Snapshot.EMPTY;
+        }
+        try {
+            Snapshot snapshot = json.readValue(file.toFile(), Snapshot.class);
+            return new Snapshot(
+                    snapshot.products() == null ? List.of() : snapshot.products(),
+                    snapshot.searches() == null ? List.of() : snapshot.searches(),
+                    snapshot.prefixSearches() == null ? List.of() : snapshot.prefixSearches());
+        } catch (IOException ex) {
+            log.warn("Ignoring unreadable hot-key snapshot {}: {}", file, ex.toString());
+            return Snapshot.EMPTY;
+        }
+    }
+
+    /**
+     * Writes the current top keys, unless nothing has been recorded yet (which would overwrite a
+     * useful snapshot with an empty one right after a restart).
+     */
+    @Scheduled(fixedDelayString = "${app.warmup.snapshot-interval:5m}",
+            initialDelayString = "${app.warmup.snapshot-interval:5m}")
+    @PreDestroy
+    public void save() {
+        Snapshot snapshot = new Snapshot(
+                keys(hotKeys.products()), keys(hotKeys.searches()), keys(hotKeys.prefixSearches()));
+        if (snapshot.isEmpty()) {
+            return;
+        }
+        try {
+            Path dir = file.toAbsolutePath().getParent();
+            Files.createDirectories(dir);
+            Path tmp = Files.createTempFile(dir, "hotkeys", ".tmp");
+            try {
+                json.writeValue(tmp.toFile(), snapshot);
+                Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (IOException | RuntimeException ex) {
+                Files.deleteIfExists(tmp);
+                throw ex;
+            }
+        } catch (IOException ex) {
+            log.warn("Could not write hot-key snapshot {}: {}", file, ex.toString());
+        }
+    }
+
+    private static <K> List<K> keys(HotKeyTracker<K> tracker) {
+        return tracker.top().stream().map(HotKeyTracker.HotKey::key).toList();
+    }
+
+    /**
+     * Hot keys as persisted, hottest first.
+     *
+     * @param products       product ids
+     * @param searches       substring search terms
+     * @param prefixSearches prefix search terms
+     */
+    public record Snapshot(List<Long> products, List<String> searches, List<String> prefixSearches) {
+
+        /** No snapshot available. */
+        public static final Snapshot EMPTY = new Snapshot(List.of(), List.of(), List.of());
+
+        /**
+         * @return {@code true} if the snapshot holds no keys at all
+         */
+        public boolean isEmpty() {
+            return products.isEmpty() && searches.isEmpty() && prefixSearches.isEmpty();
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.springrest.startup;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.boot.context.metrics.buffering.StartupTimeline;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.metrics.ApplicationStartup;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Logs the slowest startup steps once the application is ready.
+ *
+ * <p>Only active when the application was started with a {@link BufferingApplicationStartup}
+ * (as {@code SpringRestApplication#main} does). Steps are things like
+ * {@code spring.beans.instantiate} (with the bean name) or {@code spring.boot.application.starting};
+ * the report lists the {@code app.startup.report.top} longest ones, e.g.:</p>
+ * <pre>{@code
+ * Ready 2481 ms after JVM start; slowest of 612 startup steps:
+ *     912 ms  spring.beans.instantiate  beanName=entityManagerFactory
+ *     214 ms  spring.beans.instantiate  beanName=requestMappingHandlerAdapter
+ *     ...
+ * }</pre>
+ *
+ * <p>Durations include nested steps, so a factory bean and the beans it pulls in both appear.
+ * The report reads the buffer without draining it; {@code /actuator/startup} still sees every step.</p>
+ *
+ * @since 1.1
+ */
+@Slf4j
+@Component
+public class StartupReport {
+
+    private final ApplicationStartup startup;
+    private final int top;
+
+    /**
+     * @param context running application context (provides its {@link ApplicationStartup})
+     * @param top     number of steps to list
+     */
+    public StartupReport(ApplicationContext context, @Value("${app.startup.report.top:15}") int top) {
+        this.startup = context instanceof ConfigurableApplicationContext configurable
+                ? configurable.getApplicationStartup()
+                : ApplicationStartup.DEFAULT;
+        this.top = top;
+    }
+
+    /**
+     * Writes the report.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void report() {
+        if (!(startup instanceof BufferingApplicationStartup buffering) || top <= 0) {
+            return;
+        }
+        List<StartupTimeline.TimelineEvent> events = buffering.getBufferedTimeline().getEvents();
+        String slowest = events.stream()
+                .sorted(Comparator.comparing(StartupTimeline.TimelineEvent::getDuration).reversed())
+                .limit(top)
+                .map(StartupReport::format)
+                .collect(Collectors.joining("\n"));
+        log.info("Ready {} ms after JVM start; slowest of {} startup steps:\n{}",
+                uptime().toMillis(), events.size(), slowest);
+    }
+
+    private static String format(StartupTimeline.TimelineEvent event) {
+        StringBuilder line = new StringBuilder(String.format("%8d ms  %s",
+                event.getDuration().toMillis(), event.getStartupStep().getName()));
+        event.getStartupStep().getTags()
+                .forEach(tag -> line.append("  ").append(tag.getKey()).append('=').append(tag.getValue()));
+        return line.toString();
+    }
+
+    /**
+     * @return time since the JVM started (includes JVM boot and class loading, unlike Spring's own timer)
+     */
+    static Duration uptime() {
+        return Duration.ofMillis(ManagementFactory.getRuntimeMXBean().getUptime());
+    }
+}
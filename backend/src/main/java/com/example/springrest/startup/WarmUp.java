@@ -0,0 +1,229 @@
+package com.example.springrest.startup;
+
+import com.example.springrest.exceptions.ResourceNotFoundException;
+import com.example.springrest.mappers.ProductMapper;
+import com.example.springrest.models.Product;
+import com.example.springrest.services.ProductService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Warms caches, the JIT and the connection pool before the instance reports ready.
+ *
+ * <p>A fresh instance is slow for its first minute: empty second-level and query caches, interpreted
+ * code, a connection pool that opens connections on demand. This runner fixes that before traffic
+ * arrives. Spring Boot runs {@link ApplicationRunner}s <em>before</em> it publishes
+ * {@code ApplicationReadyEvent} and flips readiness to {@code ACCEPTING_TRAFFIC}, so
+ * {@code /actuator/health/readiness} stays {@code OUT_OF_SERVICE} (and the load balancer sends nothing)
+ * until warm-up has finished.</p>
+ *
+ * <h2>Steps</h2>
+ * <ol>
+ *   <li>Open {@code app.warmup.connections} connections at once and return them, so the pool is full.</li>
+ *   <li>Replay the hot keys saved by {@link HotKeySnapshot} (or, on the very first start, the first page
+ *       of products) through the real request path: {@link ProductService}, {@link ProductMapper} and
+ *       Jackson. Reads fill the caches; repeating the replay for {@code app.warmup.passes} passes gets the
+ *       hot methods compiled.</li>
+ *   <li>Stop early when {@code app.warmup.max-duration} is used up; a slow warm-up must not keep the
+ *       instance out of rotation indefinitely.</li>
+ * </ol>
+ *
+ * <h2>Report</h2>
+ * <p>Logs the duration and the average time per replayed operation in the first and last pass, e.g.
+ * {@code Warm-up finished in 2140 ms: 10 connections, 5 passes x 63 operations, 812 µs/op -> 41 µs/op}.
+ * The same figures are published as {@code products.warmup.duration},
+ * {@code products.warmup.first_pass} and {@code products.warmup.last_pass}.</p>
+ *
+ * <h2>Configuration</h2>
+ * <pre>{@code
+ * app.warmup.enabled=true          # on in the prod profile
+ * app.warmup.passes=5
+ * app.warmup.max-duration=30s
+ * app.warmup.connections=10
+ * app.warmup.snapshot-file=./.data/hotkeys.json
+ * app.warmup.snapshot-interval=5m
+ * }</pre>
+ *
+ * @since 1.1
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "app.warmup", name = "enabled", havingValue = "true")
+public class WarmUp implements ApplicationRunner {
+
+    private static final Pageable SEARCH_PAGE = PageRequest.of(0, 20, Sort.by(Sort.Direction.DESC, "id"));
+    private static final Pageable FALLBACK_PAGE = PageRequest.of(0, 50, Sort.by(Sort.Direction.DESC, "id"));
+
+    private final ProductService service;
+    private final ProductMapper mapper;
+    private final ObjectMapper json;
+    private final DataSource dataSource;
+    private final HotKeySnapshot snapshot;
+    private final MeterRegistry meters;
+    private final int passes;
+    private final Duration maxDuration;
+    private final int connections;
+
+    /**
+     * @param service     product service (the real request path)
+     * @param mapper      entity → DTO mapper
+     * @param json        the application's Jackson mapper
+     * @param dataSource  connection pool to pre-fill
+     * @param snapshot    hot keys from the previous run
+     * @param meters      registry for the warm-up report
+     * @param passes      how many times the hot keys are replayed
+     * @param maxDuration time budget for the whole warm-up
+     * @param connections connections to open up front
+     */
+    public WarmUp(ProductService service,
+                  ProductMapper mapper,
+                  ObjectMapper json,
+                  DataSource dataSource,
+                  HotKeySnapshot snapshot,
+                  MeterRegistry meters,
+                  @Value("${app.warmup.passes:5}") int passes,
+                  @Value("${app.warmup.max-duration:30s}") Duration maxDuration,
+                  @Value("${app.warmup.connections:${spring.datasource.hikari.maximum-pool-size:10}}") int connections) {
+        this.service = service;
+        this.mapper = mapper;
+        this.json = json;
+        this.dataSource = dataSource;
+        this.snapshot = snapshot;
+        this.meters = meters;
+        this.passes = passes;
+        this.maxDuration = maxDuration;
+        this.connections = connections;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        long start = System.nanoTime();
+        long deadline = start + maxDuration.toNanos();
+
+        int opened = fillPool();
+        HotKeySnapshot.Snapshot keys = snapshot.load();
+        if (keys.isEmpty()) {
+            keys = fallbackKeys();
+        }
+        int operations = keys.products().size() + keys.searches().size() + keys.prefixSearches().size();
+
+        List<Long> passNanos = new ArrayList<>();
+        while (passNanos.size() < passes && System.nanoTime() < deadline && operations > 0) {
+            long passStart = System.nanoTime();
+            replay(keys, deadline);
+            passNanos.add(System.nanoTime() - passStart);
+        }
+
+        long duration = System.nanoTime() - start;
+        long firstPerOp = passNanos.isEmpty() ? 0 : passNanos.get(0) / operations;
+        long lastPerOp = passNanos.isEmpty() ? 0 : passNanos.get(passNanos.size() - 1) / operations;
+        TimeGauge.builder("products.warmup.duration", () -> duration, TimeUnit.NANOSECONDS).register(meters);
+        TimeGauge.builder("products.warmup.first_pass", () -> firstPerOp, TimeUnit.NANOSECONDS)
+                .description("Average time per replayed operation in the first warm-up pass").register(meters);
+        TimeGauge.builder("products.warmup.last_pass", () -> lastPerOp, TimeUnit.NANOSECONDS)
+                .description("Average time per replayed operation in the last warm-up pass").register(meters);
+        Gauge.builder("products.warmup.operations", () -> (double) operations * passNanos.size()).register(meters);
+
+        log.info("Warm-up finished in {} ms: {} connections, {} passes x {} operations, {} µs/op -> {} µs/op",
+                TimeUnit.NANOSECONDS.toMillis(duration), opened, passNanos.size(), operations,
+                TimeUnit.NANOSECONDS.toMicros(firstPerOp), TimeUnit.NANOSECONDS.toMicros(lastPerOp));
+    }
+
+    /**
+     * Borrows {@code connections} connections at the same time, then returns them all.
+     *
+     * @return number of connections that could be opened
+     */
+    private int fillPool() {
+        List<Connection> held = new ArrayList<>(connections);
+        try {
+            for (int i = 0; i < connections; i++) {
+                Connection connection = dataSource.getConnection();
+                held.add(connection);
+                connection.isValid(1);
+            }
+        } catch (SQLException ex) {
+            log.warn("Warm-up could only open {} of {} connections: {}", held.size(), connections, ex.toString());
+        } finally {
+            for (Connection connection : held) {
+                try {
+                    connection.close();
+                } catch (SQLException ex) {
+                    log.debug("Could not return warm-up connection: {}", ex.toString());
+                }
+            }
+        }
+        return held.size();
+    }
+
+    /**
+     * First start without a snapshot: warm up with the newest products.
+     */
+    private HotKeySnapshot.Snapshot fallbackKeys() {
+        List<Long> ids = service.list(FALLBACK_PAGE).map(Product::getId).getContent();
+        return new HotKeySnapshot.Snapshot(ids, List.of(), List.of());
+    }
+
+    private void replay(HotKeySnapshot.Snapshot keys, long deadline) {
+        for (Long id : keys.products()) {
+            if (System.nanoTime() >= deadline) {
+                return;
+            }
+            run(() -> {
+                try {
+                    return json.writeValueAsBytes(mapper.toResponse(service.getOrThrow(id)));
+                } catch (ResourceNotFoundException ex) {
+                    return null; // deleted since the snapshot was taken
+                }
+            });
+        }
+        for (String term : keys.searches()) {
+            if (System.nanoTime() >= deadline) {
+                return;
+            }
+            run(() -> json.writeValueAsBytes(service.searchByName(term, SEARCH_PAGE).map(mapper::toResponse)));
+        }
+        for (String prefix : keys.prefixSearches()) {
+            if (System.nanoTime() >= deadline) {
+                return;
+            }
+            run(() -> json.writeValueAsBytes(service.searchByNamePrefix(prefix, SEARCH_PAGE).map(mapper::toResponse)));
+        }
+    }
+
+    private void run(Operation operation) {
+        try {
+            operation.run();
+        } catch (JsonProcessingException | RuntimeException ex) {
+            log.debug("Warm-up operation failed: {}", ex.toString());
+        }
+    }
+
+    /**
+     * One replayed request, ending in serialized JSON.
+     */
+    @FunctionalInterface
+    private interface Operation {
+        byte[] run() throws JsonProcessingException;
+    }
+}
@@ -0,0 +1,20 @@
+/**
+ * Startup telemetry.
+ *
+ * <p>Helps answer "how long until a new instance can serve traffic?" when tuning cold starts
+ * (Spring AOT, AppCDS, lazy initialization; see the {@code prod} and {@code lazy} profiles).</p>
+ *
+ * <ul>
+ *   <li>{@link com.example.springrest.startup.StartupReport} – logs the slowest startup steps
+ *       recorded by {@code BufferingApplicationStartup} once the application is ready.</li>
+ *   <li>{@link com.example.springrest.startup.FirstRequestTimer} – logs the time from JVM start to
+ *       the first completed HTTP request, which is what autoscaling actually waits for.</li>
+ *   <li>{@link com.example.springrest.startup.WarmUp} – fills the connection pool and replays the hot keys
+ *       of the previous run before readiness flips to {@code ACCEPTING_TRAFFIC}.</li>
+ *   <li>{@link com.example.springrest.startup.HotKeySnapshot} – saves the current hot keys for the next
+ *       warm-up.</li>
+ * </ul>
+ *
+ * <p>The full step timeline is also available at {@code /actuator/startup}.</p>
+ */
+package com.example.springrest.startup;
@@ -0,0 +1,66 @@
+package db.migration;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Locale;
+
+/**
+ * Makes {@code products.name_lower} fit every normalized name and match the application's normalization.
+ *
+ * <ul>
+ *   <li>{@code name_lower} was {@code VARCHAR(120)}, the length of {@code name}, but lower-casing can
+ *       lengthen a string: {@code 'İ'} (U+0130) becomes {@code 'i'} plus U+0307, two chars. It is the only character that grows
+ *       under {@link Locale#ROOT}, and by one char, so twice the name length always fits.</li>
+ *   <li>V2 filled the column with SQL {@code LOWER(name)}, which differs from
+ *       {@link com.example.springrest.models.Product#normalizeName(String)} for some non-ASCII names, so
+ *       those rows could miss prefix and substring matches. Every row is normalized again here, in Java;
+ *       only rows whose value changes are written.</li>
+ * </ul>
+ *
+ * <p>A Java migration because the normalization cannot be expressed portably in SQL. It is copied here
+ * rather than called, so the migration keeps doing what it did when it was applied.</p>
+ *
+ * @since 1.1
+ */
+public class V4__widen_and_renormalize_name_lower extends BaseJavaMigration {
+
+    private static final int BATCH = 500;
+
+    @Override
+    public void migrate(Context context) throws SQLException {
+        Connection connection = context.getConnection();
+        try (Statement ddl = connection.createStatement()) {
+            ddl.execute("ALTER TABLE products ALTER COLUMN name_lower SET DATA TYPE VARCHAR(240)");
+        }
+        try (Statement select = connection.createStatement();
+             PreparedStatement update = connection.prepareStatement(
+                     "UPDATE products SET name_lower = ? WHERE id = ?")) {
+            select.setFetchSize(BATCH);
+            int pending = 0;
+            try (ResultSet rows = select.executeQuery("SELECT id, name, name_lower FROM products")) {
+                while (rows.next()) {
+                    String normalized = rows.getString(2).toLowerCase(Locale.ROOT);
+                    if (normalized.equals(rows.getString(3))) {
+                        continue;
+                    }
+                    update.setString(1, normalized);
+                    update.setLong(2, rows.getLong(1));
+                    update.addBatch();
+                    if (++pending == BATCH) {
+                        update.executeBatch();
+                        pending = 0;
+                    }
+                }
+            }
+            if (pending > 0) {
+                update.executeBatch();
+            }
+        }
+    }
+}
@@ -0,0 +1,9 @@
+-- Baseline: the products table as previously created by Hibernate (ddl-auto=update).
+-- Existing databases are baselined at this version (spring.flyway.baseline-on-migrate=true).
+-- ${id_identity} defaults to GENERATED BY DEFAULT AS IDENTITY; sharded deployments replace it
+-- per shard so that each shard generates its own id sequence (see ShardingConfig).
+CREATE TABLE products (
+    id    BIGINT ${id_identity} PRIMARY KEY,
+    name  VARCHAR(120)   NOT NULL,
+    price NUMERIC(12, 2) NOT NULL
+);
@@ -0,0 +1,7 @@
+-- Normalized copy of name for case-insensitive search, maintained by Product#setName.
+-- Indexed so that prefix searches (name_lower LIKE 'abc%') are index range scans.
+-- PostgreSQL with a non-C collation needs varchar_pattern_ops on this index for LIKE prefixes.
+ALTER TABLE products ADD COLUMN name_lower VARCHAR(120);
+UPDATE products SET name_lower = LOWER(name);
+ALTER TABLE products ALTER COLUMN name_lower SET NOT NULL;
+CREATE INDEX idx_products_name_lower ON products (name_lower);
@@ -0,0 +1,16 @@
+-- Audit timestamps (maintained by Hibernate) and delete tombstones for delta sync
+-- (GET /api/products/changes-since). Existing rows count as changed "now".
+ALTER TABLE products ADD COLUMN created_at TIMESTAMP(6) WITH TIME ZONE;
+ALTER TABLE products ADD COLUMN updated_at TIMESTAMP(6) WITH TIME ZONE;
+UPDATE products SET created_at = CURRENT_TIMESTAMP, updated_at = CURRENT_TIMESTAMP;
+ALTER TABLE products ALTER COLUMN created_at SET NOT NULL;
+ALTER TABLE products ALTER COLUMN updated_at SET NOT NULL;
+CREATE INDEX idx_products_created_at ON products (created_at);
+-- (updated_at, id) is the keyset of the changes-since feed
+CREATE INDEX idx_products_updated_at_id ON products (updated_at, id);
+
+CREATE TABLE product_tombstones (
+    product_id BIGINT PRIMARY KEY,
+    deleted_at TIMESTAMP(6) WITH TIME ZONE NOT NULL
+);
+CREATE INDEX idx_product_tombstones_deleted_at_id ON product_tombstones (deleted_at, product_id);
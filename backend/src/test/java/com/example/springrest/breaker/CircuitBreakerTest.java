@@ -0,0 +1,124 @@
+package com.example.springrest.breaker;
+
+import com.example.springrest.exceptions.ResourceNotFoundException;
+import com.example.springrest.exceptions.ServiceUnavailableException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.transaction.TransactionTimedOutException;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Unit tests for {@link CircuitBreaker}.
+ *
+ * <p><strong>Responsibilities tested</strong>:
+ * <ul>
+ *   <li>Database failures above the threshold open the breaker, which then rejects with
+ *       {@link ServiceUnavailableException}; other exceptions are not counted.</li>
+ *   <li>After {@code open-duration} probes are let through; successful probes close the breaker, a
+ *       failed one opens it again.</li>
+ *   <li>Calls slower than the budget open the breaker too.</li>
+ *   <li>Scans, slow writes that queue inside the call, and deadline timeouts do not count; scans are
+ *       still rejected while the breaker is open.</li>
+ * </ul>
+ *
+ * <p><strong>Testing strategy</strong>: a hand-driven clock, so durations pass without sleeping.</p>
+ */
+class CircuitBreakerTest {
+
+    static final DataAccessResourceFailureException DOWN = new DataAccessResourceFailureException("down");
+
+    AtomicLong now = new AtomicLong();
+    SimpleMeterRegistry meters = new SimpleMeterRegistry();
+    CircuitBreaker breaker = new CircuitBreaker(
+            new CircuitBreakerProperties(true, 4, 4, 50, Duration.ofMillis(100), 75, Duration.ofSeconds(10), 2),
+            meters, now::get);
+
+    @Test
+    void opensOnDatabaseFailuresOnly() {
+        for (int i = 0; i < 4; i++) {
+            assertThrows(ResourceNotFoundException.class, () -> breaker.call(() -> {
+                throw new ResourceNotFoundException("missing");
+            }));
+        }
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.state());
+
+        fail();
+        fail();
+
+        assertEquals(CircuitBreaker.State.OPEN, breaker.state());
+        assertThrows(ServiceUnavailableException.class, () -> breaker.call(() -> "not run"));
+        assertEquals(1.0, meters.get("products.db.breaker.rejected").counter().count());
+        assertEquals(2.0, meters.get("products.db.breaker.state").gauge().value());
+    }
+
+    @Test
+    void probesCloseOrReopenTheBreaker() {
+        open();
+        now.addAndGet(Duration.ofSeconds(10).toNanos());
+
+        assertEquals("ok", breaker.call(() -> "ok"));
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.state());
+        fail();
+        assertEquals(CircuitBreaker.State.OPEN, breaker.state());
+
+        now.addAndGet(Duration.ofSeconds(10).toNanos());
+        breaker.call(() -> "ok");
+        breaker.call(() -> "ok");
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.state());
+    }
+
+    @Test
+    void slowCallsOpenTheBreaker() {
+        for (int i = 0; i < 3; i++) {
+            breaker.call(() -> now.addAndGet(Duration.ofMillis(150).toNanos()));
+        }
+        breaker.call(() -> "fast");
+
+        assertEquals(CircuitBreaker.State.OPEN, breaker.state());
+    }
+
+    @Test
+    void scansWritesQueueingAndDeadlinesDoNotCount() {
+        for (int i = 0; i < 4; i++) {
+            CircuitBreaker.Call scan = breaker.acquire(CircuitBreaker.Accounting.NONE);
+            now.addAndGet(Duration.ofSeconds(2).toNanos());
+            scan.failed(DOWN);
+            CircuitBreaker.Call write = breaker.acquire(CircuitBreaker.Accounting.FAILURES);
+            now.addAndGet(Duration.ofSeconds(2).toNanos());
+            write.succeeded();
+        }
+        assertThrows(QueryTimeoutException.class, () -> breaker.call(() -> {
+            throw new QueryTimeoutException("search deadline");
+        }));
+        assertThrows(TransactionTimedOutException.class, () -> breaker.call(() -> {
+            throw new TransactionTimedOutException("batch deadline");
+        }));
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.state());
+
+        fail();
+        fail();
+        assertEquals(CircuitBreaker.State.OPEN, breaker.state());
+        now.addAndGet(Duration.ofSeconds(10).toNanos());
+        assertThrows(ServiceUnavailableException.class, () -> breaker.acquire(CircuitBreaker.Accounting.NONE));
+    }
+
+    private void open() {
+        for (int i = 0; i < 4; i++) {
+            fail();
+        }
+        assertEquals(CircuitBreaker.State.OPEN, breaker.state());
+    }
+
+    private void fail() {
+        assertThrows(DataAccessResourceFailureException.class, () -> breaker.call(() -> {
+            throw DOWN;
+        }));
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.springrest.breaker;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Unit tests for {@link StaleReads}.
+ *
+ * <p><strong>Responsibilities tested</strong>:
+ * <ul>
+ *   <li>A read that fails with a database error is answered with the last good copy, marked
+ *       {@code 111 Revalidation Failed}; without a copy the error propagates.</li>
+ *   <li>While the breaker is open the copy is served without a database read, marked
+ *       {@code 110 Response is Stale}.</li>
+ *   <li>Other errors (e.g. 404) are never masked.</li>
+ * </ul>
+ */
+class StaleReadsTest {
+
+    SimpleMeterRegistry meters = new SimpleMeterRegistry();
+    CircuitBreaker breaker = new CircuitBreaker(
+            new CircuitBreakerProperties(true, 2, 2, 50, Duration.ofSeconds(1), 100, Duration.ofMinutes(1), 1),
+            meters);
+    StaleReads stale = new StaleReads(breaker, meters, true, 10, Duration.ofMinutes(10), 1);
+
+    @Test
+    void failedReadIsAnsweredFromLastGoodCopy() {
+        assertFalse(stale.read("product-1", () -> "Mug").stale());
+
+        StaleReads.Served<String> served = stale.read("product-1", () -> {
+            throw new DataAccessResourceFailureException("down");
+        });
+
+        assertEquals("Mug", served.value());
+        assertEquals(StaleReads.REVALIDATION_FAILED, served.warning());
+        assertThrows(DataAccessResourceFailureException.class, () -> stale.read("product-2", () -> {
+            throw new DataAccessResourceFailureException("down");
+        }));
+        assertThrows(IllegalStateException.class, () -> stale.read("product-1", () -> {
+            throw new IllegalStateException("bug");
+        }));
+    }
+
+    @Test
+    void openBreakerServesCopyWithoutReading() {
+        stale.read("page-0", () -> "Page");
+        for (int i = 0; i < 2; i++) {
+            assertThrows(DataAccessResourceFailureException.class, () -> breaker.call(() -> {
+                throw new DataAccessResourceFailureException("down");
+            }));
+        }
+        StaleReads.Served<String> served = stale.read("page-0", () -> breaker.call(() -> "Fresh page"));
+
+        assertEquals("Page", served.value());
+        assertEquals(StaleReads.RESPONSE_IS_STALE, served.warning());
+        assertEquals(1.0, meters.get("products.stale.served").tag("reason", "breaker-open").counter().count());
+    }
+}
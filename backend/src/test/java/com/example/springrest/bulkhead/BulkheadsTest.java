@@ -0,0 +1,76 @@
+package com.example.springrest.bulkhead;
+
+import com.example.springrest.bulkhead.BulkheadProperties.LaneLimits;
+import com.example.springrest.exceptions.ServiceUnavailableException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for {@link Bulkheads}.
+ *
+ * <p><strong>Responsibilities tested</strong>:
+ * <ul>
+ *   <li>A full lane rejects further callers with {@link ServiceUnavailableException} and counts them,
+ *       while the other lanes stay available.</li>
+ *   <li>Re-entering a lane on the same thread does not take a second slot.</li>
+ *   <li>A waiting caller gets the slot as soon as it is released.</li>
+ * </ul>
+ */
+class BulkheadsTest {
+
+    SimpleMeterRegistry meters = new SimpleMeterRegistry();
+    LaneLimits oneSlotNoWaiting = new LaneLimits(1, 0, Duration.ofMillis(10));
+    LaneLimits oneSlotOneWaiting = new LaneLimits(1, 1, Duration.ofSeconds(5));
+    Bulkheads bulkheads = new Bulkheads(
+            new BulkheadProperties(true, oneSlotNoWaiting, oneSlotNoWaiting, oneSlotOneWaiting), meters);
+
+    @Test
+    void fullLaneRejectsWithoutAffectingOtherLanes() throws Exception {
+        try (Bulkheads.Permit scan = bulkheads.enter(Lane.SCAN)) {
+            assertEquals(1.0, meters.get("products.bulkhead.active").tag("lane", "scan").gauge().value());
+
+            Throwable rejected = CompletableFuture.runAsync(() -> bulkheads.enter(Lane.SCAN).close())
+                    .handle((ok, ex) -> ex.getCause()).get(5, TimeUnit.SECONDS);
+            assertTrue(rejected instanceof ServiceUnavailableException);
+            assertEquals(1.0, meters.get("products.bulkhead.rejected").tag("lane", "scan").counter().count());
+
+            try (Bulkheads.Permit read = bulkheads.enter(Lane.POINT_READ)) {
+                assertEquals(1.0, meters.get("products.bulkhead.active").tag("lane", "point_read").gauge().value());
+            }
+        }
+        assertEquals(0.0, meters.get("products.bulkhead.active").tag("lane", "scan").gauge().value());
+    }
+
+    @Test
+    void reentryOnSameThreadUsesTheHeldSlot() {
+        try (Bulkheads.Permit outer = bulkheads.enter(Lane.SCAN);
+             Bulkheads.Permit inner = bulkheads.enter(Lane.SCAN)) {
+            assertEquals(1.0, meters.get("products.bulkhead.active").tag("lane", "scan").gauge().value());
+        }
+        assertEquals(0.0, meters.get("products.bulkhead.active").tag("lane", "scan").gauge().value());
+        CompletableFuture.runAsync(() -> bulkheads.enter(Lane.SCAN).close()).join();
+    }
+
+    @Test
+    void waitingCallerGetsReleasedSlot() throws Exception {
+        CountDownLatch entered = new CountDownLatch(1);
+        CompletableFuture<Void> waiter;
+        try (Bulkheads.Permit write = bulkheads.enter(Lane.WRITE)) {
+            waiter = CompletableFuture.runAsync(() -> {
+                entered.countDown();
+                bulkheads.enter(Lane.WRITE).close();
+            });
+            assertTrue(entered.await(5, TimeUnit.SECONDS));
+        }
+        waiter.get(5, TimeUnit.SECONDS);
+        assertEquals(0.0, meters.get("products.bulkhead.rejected").tag("lane", "write").counter().count());
+    }
+}
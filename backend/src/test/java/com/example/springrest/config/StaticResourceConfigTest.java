@@ -0,0 +1,69 @@
+package com.example.springrest.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Integration tests for {@link StaticResourceConfig}.
+ *
+ * <p><strong>Responsibilities tested</strong>:
+ * <ul>
+ *   <li>Hashed assets are served as the precompressed variant the client accepts, preferring Brotli,
+ *       with an immutable {@code Cache-Control}.</li>
+ *   <li>Clients without {@code Accept-Encoding} get the plain file.</li>
+ *   <li>A matching {@code If-None-Match} is answered with 304.</li>
+ * </ul>
+ *
+ * <p><strong>Testing strategy</strong>: boots the full context with MockMvc. A tiny fake bundle lives in
+ * {@code src/test/resources/static/assets}; its {@code .br}/{@code .gz} files are only checked for being
+ * chosen, not decoded.</p>
+ */
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:static-resources;DB_CLOSE_DELAY=-1")
+@AutoConfigureMockMvc
+class StaticResourceConfigTest {
+
+    static final String ASSET = "/assets/app-3f9a1c.js";
+
+    @Autowired
+    MockMvc mvc;
+
+    @Test
+    void servesPrecompressedImmutableAsset() throws Exception {
+        mvc.perform(get(ASSET).header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate, br"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "br"))
+                .andExpect(header().string(HttpHeaders.VARY, containsString("Accept-Encoding")))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, containsString("immutable")))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, containsString("max-age=31536000")));
+
+        mvc.perform(get(ASSET).header(HttpHeaders.ACCEPT_ENCODING, "gzip"))
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"));
+
+        mvc.perform(get(ASSET))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING));
+    }
+
+    @Test
+    void matchingEtagIsNotModified() throws Exception {
+        MvcResult first = mvc.perform(get(ASSET).header(HttpHeaders.ACCEPT_ENCODING, "gzip"))
+                .andExpect(status().isOk())
+                .andReturn();
+        String etag = first.getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotNull(etag);
+
+        mvc.perform(get(ASSET).header(HttpHeaders.ACCEPT_ENCODING, "gzip").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+    }
+}
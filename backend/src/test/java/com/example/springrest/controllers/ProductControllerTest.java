@@ -1,8 +1,27 @@
 package com.example.springrest.controllers;
 
+import com.example.springrest.breaker.StaleReads;
+import com.example.springrest.dto.ProductResponse;
+import com.example.springrest.events.ProductChangeBroadcaster;
+import com.example.springrest.exceptions.NotImplementedException;
+import com.example.springrest.exceptions.ResourceNotFoundException;
+import com.example.springrest.exceptions.ServiceUnavailableException;
+import com.example.springrest.existence.KnownProductIds;
 import com.example.springrest.mappers.ProductMapperImpl;
+import com.example.springrest.hotkeys.HotKeys;
 import com.example.springrest.models.Product;
+import com.example.springrest.repositories.ProductStreamRepo.RowHandler;
+import com.example.springrest.services.BatchResult;
+import com.example.springrest.services.PriceAdjustment;
+import com.example.springrest.services.ProductBatchService;
+import com.example.springrest.services.ProductBulkService;
+import com.example.springrest.services.ProductDeltaService;
+import com.example.springrest.services.ProductLookup;
 import com.example.springrest.services.ProductService;
+import com.example.springrest.services.SearchExecutor;
+import com.example.springrest.services.SearchPageCache;
+import com.example.springrest.snapshot.CatalogSnapshots;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
@@ -11,10 +30,21 @@ import org.springframework.context.annotation.Import;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Supplier;
 
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -42,6 +72,11 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
  * <ul>
  *   <li>{@link #getByIdReturnsProduct()} — verifies that GET by ID returns the expected JSON.</li>
  *   <li>{@link #createValidationFail()} — verifies that invalid input is rejected with 400 and error details.</li>
+ *   <li>{@link #multiGetReturnsFoundAndMissing()} — verifies the multi-get response shape for both GET and POST.</li>
+ *   <li>{@link #sparseFieldsetOmitsOtherFields()} — verifies that {@code fields=} trims the JSON and rejects unknown names.</li>
+ *   <li>{@link #largePageIsStreamedInPageShape()} — verifies that streamed pages keep the {@code Page} JSON layout.</li>
+ *   <li>{@link #largePageRejectionIsCleanError()} — verifies that a streamed page rejected by its lane answers 503.</li>
+ *   <li>{@link #missingIdsGetPreEncodedNotFound()} — verifies the 404 body, and that ids the filter rules out never reach the service.</li>
  * </ul>
  */
 @WebMvcTest(ProductController.class)
@@ -49,6 +84,22 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 public class ProductControllerTest {
     @Autowired private MockMvc mvc;
     @MockBean private ProductService service;
+    @MockBean private ProductChangeBroadcaster changes;
+    @MockBean private ProductDeltaService deltas;
+    @MockBean private SearchExecutor searches;
+    @MockBean private SearchPageCache searchCache;
+    @MockBean private HotKeys hotKeys;
+    @MockBean private CatalogSnapshots snapshots;
+    @MockBean private ProductBulkService bulk;
+    @MockBean private ProductBatchService batch;
+    @MockBean private StaleReads staleReads;
+    @MockBean private KnownProductIds knownIds;
+
+    @BeforeEach
+    void readThroughStaleReads() {
+        when(staleReads.read(any(), any())).thenAnswer(inv ->
+                StaleReads.Served.fresh(inv.<Supplier<?>>getArgument(1).get()));
+    }
 
     @Test
     void getByIdReturnsProduct() throws Exception {
@@ -69,4 +120,163 @@ public class ProductControllerTest {
                 .andExpect(jsonPath("$.name").exists())
                 .andExpect(jsonPath("$.price").exists());
     }
+
+    @Test
+    void multiGetReturnsFoundAndMissing() throws Exception {
+        Product b = new Product("B", BigDecimal.TEN);
+        b.setId(2L);
+        Product a = new Product("A", BigDecimal.ONE);
+        a.setId(1L);
+        when(service.getMany(List.of(2L, 9L, 1L))).thenReturn(new ProductLookup(List.of(b, a), List.of(9L)));
+
+        mvc.perform(get("/api/products").param("ids", "2,9,1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].id").value(2))
+                .andExpect(jsonPath("$.items[1].id").value(1))
+                .andExpect(jsonPath("$.missing[0]").value(9));
+
+        mvc.perform(post("/api/products/lookup").contentType("application/json").content("{\"ids\":[2,9,1]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(2))
+                .andExpect(jsonPath("$.missing[0]").value(9));
+    }
+
+    @Test
+    void sparseFieldsetOmitsOtherFields() throws Exception {
+        Product prod = new Product("X", BigDecimal.ONE);
+        prod.setId(100L);
+        when(service.getOrThrow(100L)).thenReturn(prod);
+
+        mvc.perform(get("/api/products/100").param("fields", "id,price"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(100))
+                .andExpect(jsonPath("$.price").value(1))
+                .andExpect(jsonPath("$.name").doesNotExist());
+
+        mvc.perform(get("/api/products/100").param("fields", "id,secret"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value(containsString("secret")));
+    }
+
+    @Test
+    void largePageIsStreamedInPageShape() throws Exception {
+        when(service.streamList(any(), any())).thenAnswer(call -> {
+            RowHandler rows = call.getArgument(1);
+            rows.row(7L, "Tea Cup", new BigDecimal("7.50"));
+            rows.row(3L, "Coffee Mug", new BigDecimal("12.99"));
+            return 502L;
+        });
+
+        mvc.perform(get("/api/products").param("size", "500").param("page", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].id").value(7))
+                .andExpect(jsonPath("$.content[1].name").value("Coffee Mug"))
+                .andExpect(jsonPath("$.content[1].price").value(12.99))
+                .andExpect(jsonPath("$.pageable.pageNumber").value(1))
+                .andExpect(jsonPath("$.pageable.pageSize").value(500))
+                .andExpect(jsonPath("$.pageable.sort.sorted").value(true))
+                .andExpect(jsonPath("$.totalElements").value(502))
+                .andExpect(jsonPath("$.totalPages").value(2))
+                .andExpect(jsonPath("$.numberOfElements").value(2))
+                .andExpect(jsonPath("$.first").value(false))
+                .andExpect(jsonPath("$.last").value(true));
+
+        mvc.perform(get("/api/products").param("size", "500").param("fields", "id"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].id").value(7))
+                .andExpect(jsonPath("$.content[0].name").doesNotExist());
+    }
+
+    @Test
+    void largePageRejectionIsCleanError() throws Exception {
+        when(service.streamList(any(), any())).thenThrow(new ServiceUnavailableException("Too many scans"));
+
+        mvc.perform(get("/api/products").param("size", "500"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(jsonPath("$.error").value("Too many scans"));
+    }
+
+    @Test
+    void priceAdjustmentNeedsExactlyOneChange() throws Exception {
+        when(bulk.adjustPrices(any(), any(), eq(true)))
+                .thenReturn(new PriceAdjustment(true, 2, new BigDecimal("1.05"), new BigDecimal("10.50")));
+
+        mvc.perform(post("/api/products/price-adjustments").contentType("application/json")
+                        .content("{\"q\":\"mug\",\"percent\":5,\"dryRun\":true}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.dryRun").value(true))
+                .andExpect(jsonPath("$.affected").value(2))
+                .andExpect(jsonPath("$.highestPrice").value(10.5));
+
+        mvc.perform(post("/api/products/price-adjustments").contentType("application/json")
+                        .content("{\"q\":\"mug\",\"percent\":5,\"amount\":1}"))
+                .andExpect(status().isBadRequest());
+        mvc.perform(post("/api/products/price-adjustments").contentType("application/json")
+                        .content("{\"q\":\"mug\",\"percent\":-100}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void featuresUnavailableWhileShardedAnswer501() throws Exception {
+        when(deltas.changesSince(any(), eq(100)))
+                .thenThrow(new NotImplementedException("Delta sync is not available while sharding is enabled"));
+
+        mvc.perform(get("/api/products/changes-since"))
+                .andExpect(status().isNotImplemented())
+                .andExpect(jsonPath("$.error").value("Delta sync is not available while sharding is enabled"));
+    }
+
+    @Test
+    void batchReturnsResultsPositionally() throws Exception {
+        Product mug = new Product("Coffee Mug", new BigDecimal("12.99"));
+        mug.setId(42L);
+        when(batch.readAll(any())).thenReturn(List.of(
+                new BatchResult(mug, null),
+                new BatchResult(null, new ResourceNotFoundException("Product not found with ID: 1001"))));
+
+        mvc.perform(post("/api/products/batch").contentType("application/json")
+                        .content("{\"operations\":[{\"op\":\"GET\",\"id\":42},{\"op\":\"GET\",\"id\":1001}]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.results[0].status").value(200))
+                .andExpect(jsonPath("$.results[0].body.name").value("Coffee Mug"))
+                .andExpect(jsonPath("$.results[1].status").value(404))
+                .andExpect(jsonPath("$.results[1].body.error").value(containsString("1001")));
+
+        mvc.perform(post("/api/products/batch").contentType("application/json")
+                        .content("{\"operations\":[{\"op\":\"GET\"}]}"))
+                .andExpect(status().isBadRequest());
+        mvc.perform(post("/api/products/batch").contentType("application/json")
+                        .content("{\"operations\":[{\"op\":\"LIST\",\"sort\":\"nameLower,asc\"}]}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void staleCopyCarriesAgeAndWarning() throws Exception {
+        doReturn(new StaleReads.Served<>(
+                new ProductResponse(42L, "Coffee Mug", new BigDecimal("12.99")),
+                Duration.ofSeconds(95), "110 - \"Response is Stale\""))
+                .when(staleReads).read(any(), any());
+
+        mvc.perform(get("/api/products/42"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Age", "95"))
+                .andExpect(header().string("Warning", containsString("110")))
+                .andExpect(jsonPath("$.name").value("Coffee Mug"));
+    }
+
+    @Test
+    void missingIdsGetPreEncodedNotFound() throws Exception {
+        when(service.getOrThrow(404L)).thenThrow(ResourceNotFoundException.product(404L));
+        mvc.perform(get("/api/products/404"))
+                .andExpect(status().isNotFound())
+                .andExpect(header().string("Content-Type", "application/json"))
+                .andExpect(content().string("{\"error\":\"Product not found with ID: 404\"}"));
+
+        when(knownIds.definitelyMissing(9_000_000_000L)).thenReturn(true);
+        mvc.perform(get("/api/products/9000000000"))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.error").value("Product not found with ID: 9000000000"));
+        verify(service, never()).getOrThrow(9_000_000_000L);
+        verify(hotKeys, never()).product(9_000_000_000L);
+    }
 }
@@ -0,0 +1,91 @@
+package com.example.springrest.controllers;
+
+import com.example.springrest.models.Product;
+import com.example.springrest.services.ProductService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.not;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Integration tests for {@link ProductPageController}.
+ *
+ * <p><strong>Responsibilities tested</strong>:
+ * <ul>
+ *   <li>{@code GET /products} renders product rows and embeds the same page as JSON, escaped for a
+ *       {@code <script>} element.</li>
+ *   <li>A repeated request is served from the fragment cache until a committed write.</li>
+ *   <li>Unsupported sort properties are rejected with 400.</li>
+ * </ul>
+ *
+ * <p><strong>Testing strategy</strong>: boots the full context against an in-memory H2 database and
+ * writes through {@link ProductService}, so invalidation comes from real after-commit events. Cache
+ * hits are observed through the {@code products.page.cache} counter.</p>
+ */
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:product-page;DB_CLOSE_DELAY=-1")
+@AutoConfigureMockMvc
+class ProductPageControllerTest {
+
+    @Autowired
+    MockMvc mvc;
+    @Autowired
+    ProductService service;
+    @Autowired
+    MeterRegistry meters;
+
+    @Test
+    void rendersFirstPageAndEmbedsIt() throws Exception {
+        Long id = service.create(new Product("Rendered <Lamp>", new BigDecimal("12.50"))).getId();
+
+        mvc.perform(get("/products").accept(MediaType.TEXT_HTML))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.TEXT_HTML))
+                .andExpect(content().string(containsString("data-row-id=\"" + id + "\"")))
+                .andExpect(content().string(containsString("Rendered &lt;Lamp&gt;")))
+                .andExpect(content().string(containsString("12,50")))
+                .andExpect(content().string(containsString("<script id=\"initial-page\"")))
+                .andExpect(content().string(containsString("Rendered \\u003cLamp>")))
+                .andExpect(content().string(containsString("\"sort\":\"id,desc\"")));
+    }
+
+    @Test
+    void cachedPageIsServedUntilNextWrite() throws Exception {
+        String page = "/products?size=5&sort=name,asc";
+        Long id = service.create(new Product("Aaa Cached Chair", BigDecimal.ONE)).getId();
+
+        mvc.perform(get(page)).andExpect(status().isOk());
+        double hits = hits();
+        mvc.perform(get(page))
+                .andExpect(content().string(containsString("Aaa Cached Chair")));
+        assertEquals(hits + 1, hits());
+
+        service.update(id, p -> p.setName("Aaa Renamed Chair"));
+
+        mvc.perform(get(page))
+                .andExpect(content().string(containsString("Aaa Renamed Chair")))
+                .andExpect(content().string(not(containsString("Aaa Cached Chair"))));
+        assertEquals(hits + 1, hits());
+    }
+
+    @Test
+    void unknownSortIsBadRequest() throws Exception {
+        mvc.perform(get("/products?sort=nameNormalized,asc"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private double hits() {
+        return meters.get("products.page.cache").tag("result", "hit").counter().count();
+    }
+}
@@ -0,0 +1,132 @@
+package com.example.springrest.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Tests for {@link ReadWriteRoutingDataSource} together with {@link ReplicaPool} and
+ * {@link ReadYourWritesFilter}.
+ *
+ * <p><strong>Responsibilities tested</strong>:
+ * <ul>
+ *   <li>Read-only transactions are served by the replica, read-write ones by the primary.</li>
+ *   <li>A client that just wrote keeps reading from the primary; other clients do not.</li>
+ *   <li>Work handed to another thread keeps the pinning only when wrapped with
+ *       {@link ReadYourWritesFilter#propagate(Runnable)}.</li>
+ * </ul>
+ *
+ * <p><strong>Testing strategy</strong>: two separate in-memory H2 databases stand in for primary and
+ * replica. Each holds a one-row {@code db_role} table naming itself, so a query reveals which
+ * database answered. Plain JDBC transactions are used; no Spring context is started.</p>
+ */
+class ReadWriteRoutingDataSourceTest {
+
+    private HikariDataSource primary;
+    private HikariDataSource replica;
+    private DataSourceTransactionManager txManager;
+    private JdbcTemplate jdbc;
+
+    @BeforeEach
+    void setUp() {
+        primary = database("primary");
+        replica = database("replica");
+        DataSource routing = new LazyConnectionDataSourceProxy(
+                new ReadWriteRoutingDataSource(primary, new ReplicaPool(List.of(replica), ReplicaPool.Selection.ROUND_ROBIN)));
+        txManager = new DataSourceTransactionManager(routing);
+        jdbc = new JdbcTemplate(routing);
+    }
+
+    @AfterEach
+    void tearDown() {
+        primary.close();
+        replica.close();
+    }
+
+    @Test
+    void readOnlyTransactionsUseReplica() {
+        assertEquals("replica", whoAnswers(true));
+        assertEquals("primary", whoAnswers(false));
+    }
+
+    @Test
+    void clientReadsItsOwnWritesFromPrimary() throws Exception {
+        ReadYourWritesFilter filter = new ReadYourWritesFilter(Duration.ofMinutes(1));
+        filter.doFilter(request("POST", "writer"), new MockHttpServletResponse(), (req, res) -> { });
+
+        AtomicReference<String> writerRead = new AtomicReference<>();
+        filter.doFilter(request("GET", "writer"), new MockHttpServletResponse(),
+                (req, res) -> writerRead.set(whoAnswers(true)));
+        AtomicReference<String> otherRead = new AtomicReference<>();
+        filter.doFilter(request("GET", "someone-else"), new MockHttpServletResponse(),
+                (req, res) -> otherRead.set(whoAnswers(true)));
+
+        assertEquals("primary", writerRead.get());
+        assertEquals("replica", otherRead.get());
+    }
+
+    @Test
+    void pinningFollowsPropagatedWorkToOtherThreads() throws Exception {
+        ReadYourWritesFilter filter = new ReadYourWritesFilter(Duration.ofMinutes(1));
+        filter.doFilter(request("POST", "writer"), new MockHttpServletResponse(), (req, res) -> { });
+
+        AtomicReference<String> propagated = new AtomicReference<>();
+        AtomicReference<String> plain = new AtomicReference<>();
+        ExecutorService pool = Executors.newSingleThreadExecutor();
+        try {
+            filter.doFilter(request("GET", "writer"), new MockHttpServletResponse(), (req, res) -> {
+                try {
+                    pool.submit(ReadYourWritesFilter.propagate(() -> propagated.set(whoAnswers(true)))).get();
+                    pool.submit(() -> plain.set(whoAnswers(true))).get();
+                } catch (Exception ex) {
+                    throw new IllegalStateException(ex);
+                }
+            });
+        } finally {
+            pool.shutdown();
+        }
+
+        assertEquals("primary", propagated.get());
+        // the pool thread is left without a mark afterwards
+        assertEquals("replica", plain.get());
+    }
+
+    private String whoAnswers(boolean readOnly) {
+        TransactionTemplate tx = new TransactionTemplate(txManager);
+        tx.setReadOnly(readOnly);
+        return tx.execute(status -> jdbc.queryForObject("SELECT name FROM db_role", String.class));
+    }
+
+    private static MockHttpServletRequest request(String method, String client) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, "/api/products");
+        request.addHeader(ReadYourWritesFilter.CLIENT_HEADER, client);
+        return request;
+    }
+
+    private static HikariDataSource database(String role) {
+        HikariDataSource ds = new HikariDataSource();
+        ds.setJdbcUrl("jdbc:h2:mem:routing-" + role + ";DB_CLOSE_DELAY=-1");
+        ds.setUsername("sa");
+        JdbcTemplate setup = new JdbcTemplate(ds);
+        setup.execute("CREATE TABLE IF NOT EXISTS db_role(name VARCHAR(20))");
+        setup.update("DELETE FROM db_role");
+        setup.update("INSERT INTO db_role(name) VALUES (?)", role);
+        return ds;
+    }
+}
@@ -0,0 +1,114 @@
+package com.example.springrest.events;
+
+import com.example.springrest.mappers.ProductMapperImpl;
+import com.example.springrest.models.Product;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Unit tests for {@link ProductChangeBroadcaster}.
+ *
+ * <p><strong>Responsibilities tested</strong>:
+ * <ul>
+ *   <li>Changes are numbered sequentially and mapped to response DTOs.</li>
+ *   <li>{@code Last-Event-ID} replay returns exactly the missed changes.</li>
+ *   <li>Event ids carry this run's epoch.</li>
+ *   <li>Ids that fell out of the ring buffer, come from a previous run or another instance, or are
+ *       malformed require a resync.</li>
+ * </ul>
+ *
+ * <p><strong>Testing strategy</strong>: the broadcaster is created directly with a tiny ring
+ * buffer and the generated {@link ProductMapperImpl}; no Spring context or HTTP is involved.</p>
+ */
+class ProductChangeBroadcasterTest {
+
+    private final ProductChangeBroadcaster broadcaster =
+            new ProductChangeBroadcaster(new ProductMapperImpl(), 8, 3, Duration.ofMinutes(1), 1);
+
+    @AfterEach
+    void tearDown() {
+        broadcaster.shutdown();
+    }
+
+    @Test
+    void replaysMissedChangesInOrder() {
+        publish(ProductChangeEvent.created(product(1L, "Mug")));
+        publish(ProductChangeEvent.updated(product(1L, "Travel Mug")));
+        publish(ProductChangeEvent.deleted(1L));
+
+        List<ProductChangeBroadcaster.Change> missed = broadcaster.replayAfter(id(1));
+        assertNotNull(missed);
+        assertEquals(2, missed.size());
+        assertEquals(2, missed.get(0).sequence());
+        assertEquals(id(2), broadcaster.eventId(missed.get(0)));
+        assertEquals("Travel Mug", missed.get(0).data().product().name());
+        assertEquals("DELETED", missed.get(1).name());
+        assertNull(missed.get(1).data().product());
+
+        assertEquals(0, broadcaster.replayAfter(id(3)).size());
+    }
+
+    @Test
+    void requiresResyncWhenGapIsNoLongerBuffered() {
+        for (long i = 1; i <= 5; i++) {
+            publish(ProductChangeEvent.created(product(i, "P" + i)));
+        }
+        // ring holds sequences 3..5, so a client that saw 2 can still resume, 1 cannot
+        assertEquals(3, broadcaster.replayAfter(id(2)).size());
+        assertNull(broadcaster.replayAfter(id(1)));
+        assertNull(broadcaster.replayAfter(id(99)));
+    }
+
+    @Test
+    void requiresResyncForIdsOfAnotherRun() {
+        for (long i = 1; i <= 3; i++) {
+            publish(ProductChangeEvent.created(product(i, "P" + i)));
+        }
+        ProductChangeBroadcaster restarted =
+                new ProductChangeBroadcaster(new ProductMapperImpl(), 8, 3, Duration.ofMinutes(1), 1);
+        try {
+            restarted.onProductChange(ProductChangeEvent.created(product(9L, "P9")));
+            restarted.onProductChange(ProductChangeEvent.created(product(10L, "P10")));
+            // same sequence, different run: replaying "after 1" would skip the client's real gap
+            assertNull(restarted.replayAfter(id(1)));
+        } finally {
+            restarted.shutdown();
+        }
+        // bare sequences from before epochs, and malformed ids
+        assertNull(broadcaster.replayAfter("2"));
+        assertNull(broadcaster.replayAfter("-2"));
+        assertNull(broadcaster.replayAfter(id(1).replace("-1", "-x")));
+    }
+
+    @Test
+    void subscribeRegistersSubscriber() {
+        assertNotNull(broadcaster.subscribe(null));
+        assertEquals(1, broadcaster.subscriberCount());
+    }
+
+    /**
+     * @return this broadcaster's event id for {@code sequence}
+     */
+    private String id(long sequence) {
+        ProductChangeBroadcaster.Change change = new ProductChangeBroadcaster.Change(sequence, "CREATED", null);
+        return broadcaster.eventId(change);
+    }
+
+    private void publish(ProductChangeEvent event) {
+        broadcaster.onProductChange(event);
+    }
+
+    private static Product product(Long id, String name) {
+        Product p = new Product(name, BigDecimal.ONE);
+        p.setId(id);
+        return p;
+    }
+}
@@ -0,0 +1,131 @@
+package com.example.springrest.existence;
+
+import com.example.springrest.events.ProductChangeEvent;
+import com.example.springrest.models.Product;
+import com.example.springrest.repositories.ProductRepo;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.util.function.LongConsumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for {@link IdBloomFilter} and {@link KnownProductIds}.
+ *
+ * <p><strong>Responsibilities tested</strong>:
+ * <ul>
+ *   <li>The filter never rules out an added id, and rules out other ids at about the configured rate.</li>
+ *   <li>Nothing is ruled out before the first rebuild, or while rebuilding fails.</li>
+ *   <li>Ids created after a rebuild, or committed while one is reading, are never ruled out.</li>
+ *   <li>Ids above the highest id of the last rebuild, e.g. created on another instance, are never ruled out.</li>
+ *   <li>Deleted ids are forgotten by the next rebuild.</li>
+ *   <li>With sharding the filter stays off and never reads ids.</li>
+ * </ul>
+ *
+ * <p><strong>Testing strategy</strong>: a mocked repository whose id stream can create a product
+ * half-way through, standing in for a commit that the rebuild's query does not see.</p>
+ */
+class KnownProductIdsTest {
+
+    ProductRepo repo = mock(ProductRepo.class);
+    KnownProductIds knownIds = new KnownProductIds(repo, mock(PlatformTransactionManager.class),
+            new SimpleMeterRegistry(), true, 0.01, 1000, false);
+
+    @Test
+    void filterHasNoFalseNegativesAndFewFalsePositives() {
+        IdBloomFilter filter = new IdBloomFilter(10_000, 0.01);
+        for (long id = 1; id <= 10_000; id++) {
+            filter.add(id);
+        }
+
+        int falsePositives = 0;
+        for (long id = 1; id <= 10_000; id++) {
+            assertTrue(filter.mightContain(id));
+            if (filter.mightContain(1_000_000 + id)) {
+                falsePositives++;
+            }
+        }
+        assertTrue(falsePositives < 200, "false positives: " + falsePositives);
+        assertEquals(7, filter.hashes());
+    }
+
+    @Test
+    void nothingIsRuledOutWithoutFilter() {
+        assertFalse(knownIds.definitelyMissing(42));
+
+        when(repo.streamIds(any())).thenThrow(new UnsupportedOperationException("sharded"));
+        knownIds.rebuild();
+
+        assertFalse(knownIds.definitelyMissing(42));
+    }
+
+    @Test
+    void createdIdsAreNeverRuledOut() {
+        when(repo.count()).thenReturn(3L);
+        when(repo.streamIds(any())).thenAnswer(call -> {
+            LongConsumer ids = call.getArgument(0);
+            ids.accept(1);
+            ids.accept(5_000);
+            knownIds.onProductChange(ProductChangeEvent.created(product(50)));
+            ids.accept(3);
+            return 3L;
+        });
+        knownIds.rebuild();
+        knownIds.onProductChange(ProductChangeEvent.created(product(60)));
+
+        for (long id : new long[] {1, 3, 50, 60, 5_000, 5_001, 9_000_000}) {
+            assertFalse(knownIds.definitelyMissing(id), "id " + id);
+        }
+        long ruledOut = 0;
+        for (long id = 1_000; id < 2_000; id++) {
+            if (knownIds.definitelyMissing(id)) {
+                ruledOut++;
+            }
+        }
+        assertTrue(ruledOut > 950, "ruled out: " + ruledOut);
+    }
+
+    @Test
+    void rebuildForgetsDeletedIds() {
+        when(repo.streamIds(any())).thenAnswer(call -> {
+            call.<LongConsumer>getArgument(0).accept(7);
+            return 1L;
+        });
+        knownIds.rebuild();
+        knownIds.onProductChange(ProductChangeEvent.deleted(7L));
+        assertFalse(knownIds.definitelyMissing(7));
+
+        when(repo.streamIds(any())).thenAnswer(call -> {
+            call.<LongConsumer>getArgument(0).accept(8);
+            return 1L;
+        });
+        knownIds.rebuild();
+        assertTrue(knownIds.definitelyMissing(7));
+    }
+
+    @Test
+    void shardingTurnsFilterOff() {
+        KnownProductIds sharded = new KnownProductIds(repo, mock(PlatformTransactionManager.class),
+                new SimpleMeterRegistry(), true, 0.01, 1000, true);
+        sharded.rebuild();
+
+        verify(repo, never()).streamIds(any());
+        assertFalse(sharded.definitelyMissing(42));
+    }
+
+    private static Product product(long id) {
+        Product product = new Product("Filter Mug", BigDecimal.ONE);
+        product.setId(id);
+        return product;
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.springrest.hotkeys;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for {@link HotKeyTracker}.
+ *
+ * <p><strong>Responsibilities tested</strong>:
+ * <ul>
+ *   <li>Heavy hitters rise to the top among many rarely requested keys, hottest first.</li>
+ *   <li>Estimates never undercount.</li>
+ *   <li>{@link HotKeyTracker#decay()} halves counts and eventually forgets keys.</li>
+ * </ul>
+ */
+class HotKeyTrackerTest {
+
+    @Test
+    void heavyHittersRiseToTheTop() {
+        HotKeyTracker<Long> tracker = new HotKeyTracker<>(1024, 4, 3);
+        for (int round = 0; round < 100; round++) {
+            for (long cold = 1_000; cold < 1_050; cold++) {
+                tracker.record(cold + round * 50L);
+            }
+            for (int i = 0; i < 30; i++) {
+                tracker.record(1L);
+            }
+            for (int i = 0; i < 20; i++) {
+                tracker.record(2L);
+            }
+            for (int i = 0; i < 10; i++) {
+                tracker.record(3L);
+            }
+        }
+
+        List<HotKeyTracker.HotKey<Long>> top = tracker.top();
+        assertEquals(List.of(1L, 2L, 3L), top.stream().map(HotKeyTracker.HotKey::key).toList());
+        assertTrue(tracker.estimate(1L) >= 3_000, "count-min never undercounts");
+    }
+
+    @Test
+    void decayHalvesAndForgets() {
+        HotKeyTracker<String> tracker = new HotKeyTracker<>(256, 4, 5);
+        for (int i = 0; i < 8; i++) {
+            tracker.record("mug");
+        }
+        assertEquals(8, tracker.estimate("mug"));
+
+        tracker.decay();
+        assertEquals(4, tracker.estimate("mug"));
+
+        tracker.decay();
+        tracker.decay();
+        tracker.decay();
+        assertEquals(0, tracker.estimate("mug"));
+        assertTrue(tracker.top().isEmpty());
+    }
+}
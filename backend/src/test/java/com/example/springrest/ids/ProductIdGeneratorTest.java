@@ -0,0 +1,65 @@
+package com.example.springrest.ids;
+
+import com.example.springrest.models.Product;
+import com.example.springrest.repositories.ProductRepo;
+import com.example.springrest.services.ProductService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Integration tests for {@link ProductIdGenerator} with {@code app.products.ids.strategy=tsid}.
+ *
+ * <p><strong>Responsibilities tested</strong>:
+ * <ul>
+ *   <li>New products get time-ordered ids, accepted by the identity column, and can be read back.</li>
+ *   <li>Products saved in one transaction get increasing ids in save order.</li>
+ * </ul>
+ *
+ * <p><strong>Testing strategy</strong>: boots the full context against an in-memory H2 database with the
+ * {@code tsid} strategy; the default {@code identity} strategy is exercised by every other test.</p>
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:tsid-ids;DB_CLOSE_DELAY=-1",
+        "app.products.ids.strategy=tsid",
+        "app.products.ids.node=2"
+})
+class ProductIdGeneratorTest {
+
+    @Autowired
+    ProductService service;
+    @Autowired
+    ProductRepo repo;
+    @Autowired
+    TransactionOperations tx;
+
+    @Test
+    void newProductsGetTimeOrderedIds() {
+        Product saved = service.create(new Product("Tsid Mug", BigDecimal.TEN));
+
+        Duration age = Duration.between(TimeOrderedIds.timestampOf(saved.getId()), Instant.now());
+        assertTrue(age.abs().compareTo(Duration.ofMinutes(1)) < 0, "id carries its creation time");
+        assertEquals("Tsid Mug", service.getOrThrow(saved.getId()).getName());
+    }
+
+    @Test
+    void batchGetsIncreasingIds() {
+        List<Product> saved = tx.execute(status -> repo.saveAll(List.of(
+                new Product("Tsid A", BigDecimal.ONE),
+                new Product("Tsid B", BigDecimal.ONE),
+                new Product("Tsid C", BigDecimal.ONE))));
+
+        assertTrue(saved.get(0).getId() < saved.get(1).getId());
+        assertTrue(saved.get(1).getId() < saved.get(2).getId());
+        assertEquals(3, repo.findAllById(saved.stream().map(Product::getId).toList()).size());
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.springrest.ids;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for {@link TimeOrderedIds}.
+ *
+ * <p><strong>Responsibilities tested</strong>:
+ * <ul>
+ *   <li>Ids strictly increase, also when the per-millisecond counter runs out or the clock steps back.</li>
+ *   <li>Ids stay below 2<sup>53</sup> and carry their creation time and node.</li>
+ * </ul>
+ *
+ * <p><strong>Testing strategy</strong>: drives the generator with a hand-controlled clock.</p>
+ */
+class TimeOrderedIdsTest {
+
+    static final long NOW = TimeOrderedIds.EPOCH.toEpochMilli() + 86_400_000L * 1000;
+
+    @Test
+    void idsIncreaseThroughCounterOverflowAndClockSteps() {
+        AtomicLong clock = new AtomicLong(NOW);
+        TimeOrderedIds ids = new TimeOrderedIds(3, clock::get);
+
+        long previous = ids.next();
+        for (int i = 0; i < 3 * TimeOrderedIds.PER_MILLISECOND; i++) {
+            long next = ids.next();
+            assertTrue(next > previous);
+            previous = next;
+        }
+        clock.addAndGet(-5_000);
+        long afterStepBack = ids.next();
+        assertTrue(afterStepBack > previous);
+
+        clock.set(NOW + 60_000);
+        assertEquals(TimeOrderedIds.EPOCH.plusMillis(NOW + 60_000 - TimeOrderedIds.EPOCH.toEpochMilli()),
+                TimeOrderedIds.timestampOf(ids.next()));
+    }
+
+    @Test
+    void idsAreJavaScriptSafeAndDifferPerNode() {
+        long lastMillis = TimeOrderedIds.EPOCH.toEpochMilli() + (1L << 41) - 1;
+        long id = new TimeOrderedIds(TimeOrderedIds.MAX_NODE, () -> lastMillis).next();
+
+        assertTrue(id < 1L << 53, "fits a JavaScript number exactly");
+        assertNotEquals(new TimeOrderedIds(0, () -> NOW).next(), new TimeOrderedIds(1, () -> NOW).next());
+        assertThrows(IllegalArgumentException.class, () -> new TimeOrderedIds(TimeOrderedIds.MAX_NODE + 1, () -> NOW));
+    }
+}
@@ -0,0 +1,91 @@
+package com.example.springrest.jfr;
+
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for {@link ContinuousRecording}.
+ *
+ * <p><strong>Responsibilities tested</strong>:
+ * <ul>
+ *   <li>The recording starts and dumps readable {@code .jfr} files, both of the whole buffer and of a
+ *       shorter window.</li>
+ *   <li>Only the newest {@code max-dumps} dumps are kept.</li>
+ *   <li>A disabled recording does not run and refuses to dump.</li>
+ * </ul>
+ */
+class ContinuousRecordingTest {
+
+    @TempDir
+    Path dir;
+
+    ContinuousRecording recording;
+
+    @AfterEach
+    void stop() {
+        if (recording != null) {
+            recording.stop();
+        }
+    }
+
+    @Test
+    void dumpsWholeBufferAndWindow() throws Exception {
+        recording = new ContinuousRecording(true, "default", Duration.ofMinutes(5), DataSize.ofMegabytes(20),
+                Duration.ZERO, dir, 3);
+        recording.start();
+        assertTrue(recording.isRunning());
+        new ProductOperationEvent().commit();
+
+        Path all = recording.dump(null);
+        Path lastMinute = recording.dump(Duration.ofMinutes(1));
+
+        for (Path file : new Path[]{all, lastMinute}) {
+            assertTrue(Files.size(file) > 0);
+            try (RecordingFile events = new RecordingFile(file)) {
+                assertTrue(events.hasMoreEvents());
+            }
+        }
+    }
+
+    @Test
+    void keepsOnlyNewestDumps() throws Exception {
+        recording = new ContinuousRecording(true, "default", Duration.ofMinutes(5), DataSize.ofMegabytes(20),
+                Duration.ZERO, dir, 2);
+        recording.start();
+
+        recording.dump(null);
+        Thread.sleep(5);
+        Path second = recording.dump(null);
+        Thread.sleep(5);
+        Path third = recording.dump(null);
+
+        try (Stream<Path> files = Files.list(dir)) {
+            assertEquals(Set.of(second, third), files.map(Path::toAbsolutePath).collect(Collectors.toSet()));
+        }
+    }
+
+    @Test
+    void disabledRecordingDoesNotRun() {
+        recording = new ContinuousRecording(false, "default", Duration.ofMinutes(5), DataSize.ofMegabytes(20),
+                Duration.ZERO, dir, 3);
+        recording.start();
+
+        assertFalse(recording.isRunning());
+        assertThrows(IllegalStateException.class, () -> recording.dump(null));
+    }
+}
@@ -0,0 +1,110 @@
+package com.example.springrest.jfr;
+
+import com.example.springrest.exceptions.ResourceNotFoundException;
+import com.example.springrest.models.Product;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for {@link ProductOperationInterceptor} and {@link ApiErrorEvent}.
+ *
+ * <p><strong>Responsibilities tested</strong>:
+ * <ul>
+ *   <li>A call produces a {@link ProductOperationEvent} with the operation, product id, query, rows and
+ *       failure taken from its arguments, result and exception.</li>
+ *   <li>{@link ApiErrorEvent#emit(int, Throwable)} records the status and the exception's origin.</li>
+ * </ul>
+ *
+ * <p><strong>Testing strategy</strong>: proxies a stand-in service with the interceptor, runs a
+ * recording with both events enabled and reads the dumped file back.</p>
+ */
+class ProductOperationInterceptorTest {
+
+    @TempDir
+    Path dir;
+
+    /** Stand-in with the shapes of {@code ProductService} methods. */
+    public static class Products {
+        public Product getOrThrow(Long id) {
+            if (id > 100) {
+                throw new ResourceNotFoundException("Product not found with ID: " + id);
+            }
+            Product product = new Product("Coffee Mug", BigDecimal.TEN);
+            product.setId(id);
+            return product;
+        }
+
+        public Page<Product> searchByName(String q) {
+            return new PageImpl<>(List.of(getOrThrow(1L), getOrThrow(2L)));
+        }
+    }
+
+    @Test
+    void recordsOperations() throws Exception {
+        ProxyFactory factory = new ProxyFactory(new Products());
+        factory.setProxyTargetClass(true);
+        factory.addAdvice(new ProductOperationInterceptor());
+        Products products = (Products) factory.getProxy();
+
+        List<RecordedEvent> events = record(() -> {
+            products.getOrThrow(7L);
+            products.searchByName("mug");
+            assertThrows(ResourceNotFoundException.class, () -> products.getOrThrow(404L));
+        }, ProductOperationEvent.NAME);
+
+        assertEquals(3, events.size());
+        RecordedEvent get = events.get(0);
+        assertEquals("getOrThrow", get.getString("operation"));
+        assertEquals(7L, get.getLong("productId"));
+        assertEquals(1L, get.getLong("rows"));
+        assertNull(get.getString("failure"));
+        RecordedEvent search = events.get(1);
+        assertEquals("mug", search.getString("query"));
+        assertEquals(2L, search.getLong("rows"));
+        RecordedEvent missing = events.get(2);
+        assertEquals(404L, missing.getLong("productId"));
+        assertEquals(ResourceNotFoundException.class.getName(), missing.getString("failure"));
+    }
+
+    @Test
+    void recordsApiErrors() throws Exception {
+        List<RecordedEvent> events = record(
+                () -> ApiErrorEvent.emit(404, new ResourceNotFoundException("Product not found with ID: 9")),
+                ApiErrorEvent.NAME);
+
+        assertEquals(1, events.size());
+        assertEquals(404, events.get(0).getInt("status"));
+        assertEquals("Product not found with ID: 9", events.get(0).getString("message"));
+        assertTrue(events.get(0).getString("origin").contains("ProductOperationInterceptorTest"));
+    }
+
+    private List<RecordedEvent> record(Runnable work, String eventName) throws Exception {
+        Path file = dir.resolve("test.jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable(eventName).withThreshold(Duration.ZERO);
+            recording.start();
+            work.run();
+            recording.stop();
+            recording.dump(file);
+        }
+        return RecordingFile.readAllEvents(file).stream()
+                .filter(e -> e.getEventType().getName().equals(eventName))
+                .toList();
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.springrest.repositories;
+
+import com.example.springrest.exceptions.ResourceNotFoundException;
+import com.example.springrest.models.Product;
+import com.example.springrest.services.ProductService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Integration tests for the Hibernate second-level and query cache on {@link Product}.
+ *
+ * <p><strong>Responsibilities tested</strong>:
+ * <ul>
+ *   <li>Repeated {@code findById} calls are served from the {@code products} region.</li>
+ *   <li>Repeated search pages are served from the query cache.</li>
+ *   <li>Updates and deletes invalidate both, so no stale product or page is ever returned.</li>
+ * </ul>
+ *
+ * <p><strong>Testing strategy</strong>: boots the full context against an in-memory H2 database,
+ * goes through {@link ProductService} (one transaction per call, like HTTP requests), and reads
+ * hit counts from Hibernate {@link Statistics}.</p>
+ */
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:l2-cache;DB_CLOSE_DELAY=-1")
+class ProductCacheTest {
+
+    @Autowired
+    ProductService service;
+    @Autowired
+    EntityManagerFactory emf;
+
+    Statistics stats;
+
+    @BeforeEach
+    void resetStatistics() {
+        stats = emf.unwrap(SessionFactory.class).getStatistics();
+        stats.clear();
+    }
+
+    @Test
+    void findByIdHitsSecondLevelCacheAndSeesUpdates() {
+        Long id = service.create(new Product("Cached Mug", new BigDecimal("10.00"))).getId();
+
+        service.getOrThrow(id);
+        service.getOrThrow(id);
+        assertTrue(stats.getDomainDataRegionStatistics(Product.CACHE_REGION).getHitCount() >= 1,
+                "expected a second-level cache hit");
+
+        service.update(id, p -> p.setPrice(new BigDecimal("12.50")));
+        assertEquals(0, new BigDecimal("12.50").compareTo(service.getOrThrow(id).getPrice()));
+
+        service.delete(id);
+        assertThrows(ResourceNotFoundException.class, () -> service.getOrThrow(id));
+    }
+
+    @Test
+    void searchPageHitsQueryCacheAndIsInvalidatedByWrites() {
+        Long id = service.create(new Product("Querycache Lamp", BigDecimal.ONE)).getId();
+        PageRequest first = PageRequest.of(0, 10, Sort.by("id"));
+
+        assertEquals(1, service.searchByName("querycache", first).getTotalElements());
+        assertEquals(1, service.searchByName("querycache", first).getTotalElements());
+        assertTrue(stats.getQueryCacheHitCount() >= 1, "expected a query cache hit");
+
+        service.create(new Product("Querycache Desk", BigDecimal.TEN));
+        assertEquals(2, service.searchByName("querycache", first).getTotalElements());
+
+        service.update(id, p -> p.setName("Querycache Lamp XL"));
+        Page<Product> renamed = service.searchByName("querycache", first);
+        assertEquals("Querycache Lamp XL", renamed.getContent().get(0).getName());
+
+        service.delete(id);
+        assertEquals(1, service.searchByName("querycache", first).getTotalElements());
+    }
+}
@@ -1,15 +1,24 @@
 package com.example.springrest.repositories;
 
 import com.example.springrest.models.Product;
+import com.example.springrest.models.ProductField;
+import com.example.springrest.repositories.ProductProjectionRepo.NameMatch;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 /**
  * Integration tests for {@link ProductRepo}.
@@ -19,6 +28,12 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
  *   <li>Verifies that case-insensitive search works as expected using
  *       {@code findByNameContainingIgnoreCase}.</li>
  *   <li>Ensures substring search returns matching results.</li>
+ *   <li>Checks that prefix search matches only at the start of the name and treats
+ *       {@code %}/{@code _} in user input literally.</li>
+ *   <li>Checks that a maximum-length name that grows when lower-cased still fits {@code name_lower}.</li>
+ *   <li>Verifies that {@code findAllByIdInOrder} keeps the request order and marks unknown ids with {@code null}.</li>
+ *   <li>Checks that {@code findProjected} reads only the requested columns (plus id) and applies the name filter.</li>
+ *   <li>Checks that {@code streamPage} hands over one page of rows in sort order.</li>
  * </ul>
  *
  * <p><strong>Testing strategy</strong>:
@@ -52,5 +67,72 @@ class ProductRepoTest {
         assertEquals(1, page2.getTotalElements());
     }
 
+    @Test
+    void searchByPrefixIgnoreCase() {
+        repo.save(new Product("Coffee Mug", BigDecimal.TEN));
+        repo.save(new Product("Irish Coffee", BigDecimal.ONE));
+        repo.save(new Product("100% Cotton", BigDecimal.ONE));
+
+        Page<Product> page = repo.findByNameStartingWithIgnoreCase("COF", PageRequest.of(0, 10));
+        assertEquals(1, page.getTotalElements());
+        assertEquals("Coffee Mug", page.getContent().get(0).getName());
+        assertEquals("coffee mug", page.getContent().get(0).getNameLower());
+
+        assertEquals(1, repo.findByNameStartingWithIgnoreCase("100%", PageRequest.of(0, 10)).getTotalElements());
+        assertEquals(0, repo.findByNameStartingWithIgnoreCase("%", PageRequest.of(0, 10)).getTotalElements());
+    }
+
+    @Test
+    void longestNameFitsItsNormalizedCopy() {
+        // Each dotted capital I lower-cases to two chars.
+        String name = "\u0130".repeat(120);
+        repo.saveAndFlush(new Product(name, BigDecimal.ONE));
+
+        Page<Product> page = repo.findByNameStartingWithIgnoreCase("\u0130\u0130", PageRequest.of(0, 10));
+        assertEquals(1, page.getTotalElements());
+        assertEquals(240, page.getContent().get(0).getNameLower().length());
+    }
+
+    @Test
+    void findAllByIdInOrderKeepsRequestOrder() {
+        Long a = repo.save(new Product("A", BigDecimal.ONE)).getId();
+        Long b = repo.save(new Product("B", BigDecimal.ONE)).getId();
+        Long unknown = b + 1000;
+
+        List<Product> loaded = repo.findAllByIdInOrder(Arrays.asList(b, unknown, a));
+        assertEquals(3, loaded.size());
+        assertEquals("B", loaded.get(0).getName());
+        assertNull(loaded.get(1));
+        assertEquals("A", loaded.get(2).getName());
+    }
 
+    @Test
+    void findProjectedReadsOnlyRequestedColumns() {
+        repo.save(new Product("Desk Lamp", new BigDecimal("19.99")));
+        repo.save(new Product("Desk Chair", new BigDecimal("89.00")));
+        repo.save(new Product("Floor Lamp", new BigDecimal("49.50")));
+
+        Page<Product> page = repo.findProjected(EnumSet.of(ProductField.PRICE), NameMatch.PREFIX, "DESK",
+                PageRequest.of(0, 10, Sort.by("price")));
+        assertEquals(2, page.getTotalElements());
+        Product first = page.getContent().get(0);
+        assertEquals(0, new BigDecimal("19.99").compareTo(first.getPrice()));
+        assertNull(first.getName());
+        assertEquals(2, page.getContent().stream().filter(p -> p.getId() != null).count());
+    }
+
+    @Test
+    void streamPageHandsOverRowsInOrder() {
+        repo.saveAll(Arrays.asList(
+                new Product("Stream B", BigDecimal.TEN),
+                new Product("Stream A", BigDecimal.ONE),
+                new Product("Stream C", BigDecimal.ONE)));
+
+        List<String> names = new ArrayList<>();
+        int streamed = repo.streamPage(PageRequest.of(0, 2, Sort.by("name")), (id, name, price) -> names.add(name));
+
+        assertEquals(2, streamed);
+        assertEquals(2, names.size());
+        assertTrue(names.get(0).compareTo(names.get(1)) <= 0, "rows arrive in sort order");
+    }
 }
@@ -0,0 +1,109 @@
+package com.example.springrest.repositories.sharding;
+
+import com.example.springrest.exceptions.ResourceNotFoundException;
+import com.example.springrest.models.Product;
+import com.example.springrest.services.ProductService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Integration tests for {@link ShardedProductRepo} with three in-memory H2 shards.
+ *
+ * <p><strong>Responsibilities tested</strong>:
+ * <ul>
+ *   <li>Inserts are spread over all shards and each id lands on the shard its router names.</li>
+ *   <li>Single-id reads and deletes are routed to the owning shard.</li>
+ *   <li>Paged list and search results are merged across shards in the requested order,
+ *       with correct totals and offsets.</li>
+ * </ul>
+ *
+ * <p><strong>Testing strategy</strong>: boots the full context with sharding enabled and goes
+ * through {@link ProductService}, then inspects each shard directly with JDBC.</p>
+ */
+@SpringBootTest(properties = {
+        "app.sharding.enabled=true",
+        "app.sharding.shards[0].url=jdbc:h2:mem:shard0;DB_CLOSE_DELAY=-1",
+        "app.sharding.shards[0].username=sa",
+        "app.sharding.shards[1].url=jdbc:h2:mem:shard1;DB_CLOSE_DELAY=-1",
+        "app.sharding.shards[1].username=sa",
+        "app.sharding.shards[2].url=jdbc:h2:mem:shard2;DB_CLOSE_DELAY=-1",
+        "app.sharding.shards[2].username=sa",
+        "spring.jpa.properties.hibernate.cache.use_query_cache=false"
+})
+class ShardedProductRepoTest {
+
+    @Autowired
+    ProductService service;
+    @Autowired
+    ShardRoutingDataSource shards;
+    @Autowired
+    ShardRouter router;
+
+    @Test
+    void insertsAreSpreadAndRoutedById() {
+        long[] before = rowsPerShard();
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 9; i++) {
+            ids.add(service.create(new Product("Spread " + i, BigDecimal.ONE)).getId());
+        }
+        long[] after = rowsPerShard();
+        for (int shard = 0; shard < after.length; shard++) {
+            assertEquals(3, after[shard] - before[shard], "rows added to shard " + shard);
+        }
+        for (Long id : ids) {
+            Integer onOwner = jdbc(router.shardFor(id))
+                    .queryForObject("SELECT COUNT(*) FROM products WHERE id = ?", Integer.class, id);
+            assertEquals(1, onOwner);
+            assertTrue(service.getOrThrow(id).getName().startsWith("Spread "));
+        }
+    }
+
+    @Test
+    void pagesAreMergedInRequestedOrder() {
+        for (int i = 1; i <= 6; i++) {
+            service.create(new Product("Merge " + i, BigDecimal.valueOf(i * 10L)));
+        }
+
+        Page<Product> second = service.searchByName("merge", PageRequest.of(1, 2, Sort.by("price")));
+        assertEquals(6, second.getTotalElements());
+        assertEquals(List.of("Merge 3", "Merge 4"), second.getContent().stream().map(Product::getName).toList());
+
+        Page<Product> newest = service.list(PageRequest.of(0, 5, Sort.by(Sort.Direction.DESC, "id")));
+        List<Long> ids = newest.getContent().stream().map(Product::getId).toList();
+        for (int i = 1; i < ids.size(); i++) {
+            assertTrue(ids.get(i - 1) > ids.get(i), "ids must be descending: " + ids);
+        }
+    }
+
+    @Test
+    void deleteIsRoutedToOwningShard() {
+        Long id = service.create(new Product("Short-lived", BigDecimal.ONE)).getId();
+        service.delete(id);
+        assertThrows(ResourceNotFoundException.class, () -> service.getOrThrow(id));
+    }
+
+    private long[] rowsPerShard() {
+        long[] rows = new long[router.shardCount()];
+        for (int shard = 0; shard < rows.length; shard++) {
+            rows[shard] = jdbc(shard).queryForObject("SELECT COUNT(*) FROM products", Long.class);
+        }
+        return rows;
+    }
+
+    private JdbcTemplate jdbc(int shard) {
+        return new JdbcTemplate(shards.shards().get(shard));
+    }
+}
@@ -0,0 +1,118 @@
+package com.example.springrest.services;
+
+import com.example.springrest.bulkhead.Bulkheads;
+import com.example.springrest.bulkhead.Lane;
+import com.example.springrest.exceptions.BadRequestException;
+import com.example.springrest.exceptions.ResourceNotFoundException;
+import com.example.springrest.exceptions.ServiceUnavailableException;
+import com.example.springrest.models.Product;
+import com.example.springrest.repositories.ProductProjectionRepo.NameMatch;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.math.BigDecimal;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Integration tests for {@link ProductBatchService}.
+ *
+ * <p><strong>Responsibilities tested</strong>:
+ * <ul>
+ *   <li>Gets, searches and list pages of one batch are answered positionally, across several groups.</li>
+ *   <li>An unknown id fails only its own read, also when it shares a group (and transaction) with
+ *       reads that succeed.</li>
+ *   <li>Empty and oversized batches are rejected.</li>
+ *   <li>A group enters the lanes of all its reads up front: with the point-read lane full, its gets fail
+ *       with 503 while list reads in another group still succeed.</li>
+ * </ul>
+ *
+ * <p><strong>Testing strategy</strong>: boots the full context against an in-memory H2 database with a
+ * parallelism of 2 and at most 4 reads, so groups run both on the calling thread and on the pool. The
+ * point-read lane has a single slot, which another thread can hold.</p>
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:batch-reads;DB_CLOSE_DELAY=-1",
+        "app.products.batch.parallelism=2",
+        "app.products.batch.max-reads=4",
+        "app.bulkheads.point-read.max-concurrent=1"
+})
+class ProductBatchServiceTest {
+
+    @Autowired
+    ProductBatchService batch;
+    @Autowired
+    ProductService service;
+    @Autowired
+    Bulkheads bulkheads;
+
+    @Test
+    void answersReadsPositionally() {
+        Long lamp = service.create(new Product("Batch Lamp", new BigDecimal("30.00"))).getId();
+        service.create(new Product("Batch Chair", new BigDecimal("45.00")));
+
+        List<BatchResult> results = batch.readAll(List.of(
+                new BatchRead.Get(lamp),
+                new BatchRead.Search(NameMatch.CONTAINS, "batch", PageRequest.of(0, 10, Sort.by("name"))),
+                new BatchRead.Get(Long.MAX_VALUE),
+                new BatchRead.ListPage(PageRequest.of(0, 1, Sort.by(Sort.Direction.DESC, "id")))));
+
+        assertEquals(4, results.size());
+        assertEquals("Batch Lamp", ((Product) results.get(0).value()).getName());
+        Page<?> matches = (Page<?>) results.get(1).value();
+        assertEquals(List.of("Batch Chair", "Batch Lamp"),
+                matches.getContent().stream().map(p -> ((Product) p).getName()).toList());
+        assertFalse(results.get(2).ok());
+        assertInstanceOf(ResourceNotFoundException.class, results.get(2).error());
+        assertTrue(results.get(3).ok());
+        assertEquals(1, ((Page<?>) results.get(3).value()).getNumberOfElements());
+    }
+
+    @Test
+    void groupsEnterTheirLanesBeforeTheirTransaction() throws Exception {
+        Long lamp = service.create(new Product("Lane Lamp", new BigDecimal("30.00"))).getId();
+        CountDownLatch held = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Thread holder = new Thread(() -> {
+            try (Bulkheads.Permit permit = bulkheads.enter(Lane.POINT_READ)) {
+                held.countDown();
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        holder.start();
+        try {
+            assertTrue(held.await(5, TimeUnit.SECONDS));
+            List<BatchResult> results = batch.readAll(List.of(
+                    new BatchRead.Get(lamp),
+                    new BatchRead.ListPage(PageRequest.of(0, 1, Sort.by("id")))));
+
+            assertInstanceOf(ServiceUnavailableException.class, results.get(0).error());
+            assertTrue(results.get(1).ok());
+        } finally {
+            release.countDown();
+            holder.join();
+        }
+        assertTrue(batch.readAll(List.of(new BatchRead.Get(lamp))).get(0).ok());
+    }
+
+    @Test
+    void rejectsEmptyAndOversizedBatches() {
+        assertThrows(BadRequestException.class, () -> batch.readAll(List.of()));
+        assertThrows(BadRequestException.class,
+                () -> batch.readAll(Collections.nCopies(5, new BatchRead.Get(1))));
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.springrest.services;
+
+import com.example.springrest.exceptions.BadRequestException;
+import com.example.springrest.models.Product;
+import com.example.springrest.repositories.ProductBulkRepo.PriceChange;
+import com.example.springrest.repositories.ProductBulkRepo.PriceFilter;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Integration tests for {@link ProductBulkService}.
+ *
+ * <p><strong>Responsibilities tested</strong>:
+ * <ul>
+ *   <li>A dry run counts the matching products and reports the resulting price range without writing.</li>
+ *   <li>An adjustment changes exactly the matching products across several chunks, rounds half up to
+ *       two decimals, sets {@code updated_at}, evicts cached entities and starts a new
+ *       {@link CatalogGeneration}.</li>
+ *   <li>A change that would push a price below the minimum is rejected before anything is written.</li>
+ * </ul>
+ *
+ * <p><strong>Testing strategy</strong>: boots the full context against an in-memory H2 database with a
+ * chunk size of 2, so the set-based statements and Hibernate's cache eviction run for real.</p>
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:bulk-prices;DB_CLOSE_DELAY=-1",
+        "app.products.bulk.chunk-size=2"
+})
+class ProductBulkServiceTest {
+
+    @Autowired
+    ProductBulkService bulk;
+    @Autowired
+    ProductService service;
+    @Autowired
+    CatalogGeneration generation;
+
+    @Test
+    void dryRunWritesNothing() {
+        Long cheap = service.create(new Product("Dryrun Mug", new BigDecimal("2.00"))).getId();
+        service.create(new Product("Dryrun Cup", new BigDecimal("8.00")));
+
+        PriceAdjustment result = bulk.adjustPrices(
+                new PriceFilter("dryrun", null, null, null), PriceChange.percent(new BigDecimal("10")), true);
+
+        assertTrue(result.dryRun());
+        assertEquals(2, result.affected());
+        assertEquals(new BigDecimal("2.20"), result.lowestPrice());
+        assertEquals(new BigDecimal("8.80"), result.highestPrice());
+        assertEquals(new BigDecimal("2.00"), service.getOrThrow(cheap).getPrice());
+    }
+
+    @Test
+    void adjustsMatchingProductsInChunks() {
+        List<Long> mugs = List.of(
+                service.create(new Product("Campaign Mug 1", new BigDecimal("1.00"))).getId(),
+                service.create(new Product("Campaign Mug 2", new BigDecimal("2.05"))).getId(),
+                service.create(new Product("Campaign Mug 3", new BigDecimal("3.33"))).getId());
+        Long pricey = service.create(new Product("Campaign Mug 4", new BigDecimal("100.00"))).getId();
+        Product cached = service.getOrThrow(mugs.get(0));
+        long before = generation.current();
+
+        PriceAdjustment result = bulk.adjustPrices(
+                new PriceFilter("CAMPAIGN MUG", null, new BigDecimal("50"), null),
+                PriceChange.percent(new BigDecimal("5")), false);
+
+        assertEquals(3, result.affected());
+        assertEquals(new BigDecimal("1.05"), service.getOrThrow(mugs.get(0)).getPrice());
+        assertEquals(new BigDecimal("2.15"), service.getOrThrow(mugs.get(1)).getPrice());
+        assertEquals(new BigDecimal("3.50"), service.getOrThrow(mugs.get(2)).getPrice());
+        assertEquals(new BigDecimal("100.00"), service.getOrThrow(pricey).getPrice());
+        assertTrue(service.getOrThrow(mugs.get(0)).getUpdatedAt().isAfter(cached.getUpdatedAt()));
+        assertTrue(generation.current() > before);
+    }
+
+    @Test
+    void outOfRangeChangeIsRejected() {
+        Long id = service.create(new Product("Clearance Lamp", new BigDecimal("1.00"))).getId();
+
+        assertThrows(BadRequestException.class, () -> bulk.adjustPrices(
+                new PriceFilter(null, null, null, List.of(id)), PriceChange.amount(new BigDecimal("-1.00")), false));
+        assertThrows(BadRequestException.class, () -> bulk.adjustPrices(
+                new PriceFilter(null, null, null, null), PriceChange.amount(BigDecimal.ONE), false));
+
+        assertEquals(new BigDecimal("1.00"), service.getOrThrow(id).getPrice());
+    }
+}
@@ -0,0 +1,140 @@
+package com.example.springrest.services;
+
+import com.example.springrest.exceptions.BadRequestException;
+import com.example.springrest.exceptions.NotImplementedException;
+import com.example.springrest.models.Product;
+import com.example.springrest.repositories.ProductRepo;
+import com.example.springrest.repositories.ProductTombstoneRepo;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Integration tests for {@link ProductDeltaService}.
+ *
+ * <p><strong>Responsibilities tested</strong>:
+ * <ul>
+ *   <li>Creates, updates and deletes after a watermark are returned once, in change order,
+ *       across several keyset pages.</li>
+ *   <li>Watermarks survive an encode/parse round trip; malformed ones and bad limits are rejected.</li>
+ *   <li>Watermarks older than the tombstone retention ask the client to resync.</li>
+ *   <li>A drained feed moves the watermark up to the read time, so a client polling a catalog without
+ *       writes is not asked to resync once the last change is older than the retention.</li>
+ *   <li>With sharding, delta sync is refused with {@link NotImplementedException}.</li>
+ * </ul>
+ *
+ * <p><strong>Testing strategy</strong>: boots the full context against an in-memory H2 database with a
+ * zero settle window, so changes are visible to the delta immediately.</p>
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:delta-sync;DB_CLOSE_DELAY=-1",
+        "app.products.delta.settle-window=0s"
+})
+class ProductDeltaServiceTest {
+
+    @Autowired
+    ProductService service;
+    @Autowired
+    ProductDeltaService deltas;
+    @Autowired
+    ProductRepo repo;
+    @Autowired
+    ProductTombstoneRepo tombstones;
+
+    @Test
+    void pagesThroughUpdatesAndDeletesAfterWatermark() throws InterruptedException {
+        Watermark start = drain(Watermark.BEGINNING, new ArrayList<>(), new ArrayList<>());
+
+        Long mug = service.create(new Product("Delta Mug", BigDecimal.ONE)).getId();
+        Long cup = service.create(new Product("Delta Cup", BigDecimal.TEN)).getId();
+        Long lamp = service.create(new Product("Delta Lamp", BigDecimal.TEN)).getId();
+        Thread.sleep(5);
+        service.update(mug, p -> p.setPrice(new BigDecimal("2.00")));
+        service.delete(cup);
+
+        List<Long> changed = new ArrayList<>();
+        List<Long> deleted = new ArrayList<>();
+        Watermark end = drain(Watermark.parse(start.encode()), changed, deleted);
+
+        assertEquals(List.of(lamp, mug), changed, "cup is only reported as deleted; mug after its update");
+        assertEquals(List.of(cup), deleted);
+
+        ProductDelta nothingNew = deltas.changesSince(end, 2);
+        assertTrue(nothingNew.changed().isEmpty());
+        assertTrue(nothingNew.deleted().isEmpty());
+        assertFalse(nothingNew.watermark().at().isBefore(end.at()));
+        assertEquals(Long.MAX_VALUE, nothingNew.watermark().id());
+        assertFalse(nothingNew.hasMore());
+
+        ProductDelta stillNothing = deltas.changesSince(nothingNew.watermark(), 2);
+        assertTrue(stillNothing.changed().isEmpty());
+        assertTrue(stillNothing.deleted().isEmpty());
+    }
+
+    @Test
+    void quietCatalogOlderThanRetentionDoesNotResync() throws InterruptedException {
+        ProductDeltaService shortRetention = new ProductDeltaService(repo, tombstones,
+                Duration.ZERO, Duration.ofMillis(1000), false);
+        service.create(new Product("Quiet Mug", BigDecimal.ONE));
+        Watermark watermark = Watermark.BEGINNING;
+        ProductDelta page;
+        do {
+            page = shortRetention.changesSince(watermark, ProductDeltaService.MAX_LIMIT);
+            watermark = page.watermark();
+        } while (page.hasMore());
+
+        // Polled more often than the retention, while the last change grows older than it.
+        for (int poll = 0; poll < 2; poll++) {
+            Thread.sleep(600);
+            page = shortRetention.changesSince(watermark, ProductDeltaService.MAX_LIMIT);
+            assertFalse(page.resync(), "poll " + poll);
+            assertTrue(page.changed().isEmpty());
+            watermark = page.watermark();
+        }
+    }
+
+    @Test
+    void rejectsBadInputAndAsksStaleClientsToResync() {
+        assertThrows(BadRequestException.class, () -> Watermark.parse("not a watermark"));
+        assertThrows(BadRequestException.class, () -> deltas.changesSince(Watermark.BEGINNING, 0));
+
+        ProductDelta stale = deltas.changesSince(new Watermark(Instant.parse("2000-01-01T00:00:00Z"), 1), 10);
+        assertTrue(stale.resync());
+        assertEquals(Watermark.BEGINNING, stale.watermark());
+    }
+
+    @Test
+    void refusesWhileSharded() {
+        ProductDeltaService sharded = new ProductDeltaService(mock(ProductRepo.class),
+                mock(ProductTombstoneRepo.class), Duration.ZERO, Duration.ofDays(30), true);
+
+        assertThrows(NotImplementedException.class, () -> sharded.changesSince(Watermark.BEGINNING, 10));
+    }
+
+    /**
+     * Follows {@code hasMore} with a small page size, collecting changed and deleted ids.
+     */
+    private Watermark drain(Watermark from, List<Long> changed, List<Long> deleted) {
+        Watermark current = from;
+        ProductDelta page;
+        do {
+            page = deltas.changesSince(current, 2);
+            page.changed().forEach(p -> changed.add(p.getId()));
+            deleted.addAll(page.deleted());
+            current = page.watermark();
+        } while (page.hasMore());
+        return current;
+    }
+}
@@ -1,15 +1,22 @@
 package com.example.springrest.services;
 
+import com.example.springrest.bulkhead.Bulkheads;
 import com.example.springrest.exceptions.ResourceNotFoundException;
 import com.example.springrest.models.Product;
 import com.example.springrest.repositories.ProductRepo;
+import com.example.springrest.repositories.ProductTombstoneRepo;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.support.TransactionOperations;
 
 import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -27,6 +34,7 @@ import static org.mockito.Mockito.when;
  *       when a product is not found in the repository.</li>
  *   <li>Verifies that {@code update} applies field changes
  *       (e.g., updating a product’s price) and persists them via the repository.</li>
+ *   <li>Checks that {@code getMany} de-duplicates ids, keeps their order and reports missing ones.</li>
  * </ul>
  *
  * <p><strong>Testing strategy</strong>:
@@ -43,6 +51,16 @@ public class ProductServiceTest {
 
     @Mock
     ProductRepo repo;
+    @Mock
+    ProductTombstoneRepo tombstones;
+    @Mock
+    ApplicationEventPublisher events;
+    @Mock
+    ProductWriteBuffer writeBuffer;
+    @Mock
+    Bulkheads bulkheads;
+    @Spy
+    TransactionOperations tx = TransactionOperations.withoutTransaction();
     @InjectMocks
     ProductService service;
 
@@ -62,4 +80,17 @@ public class ProductServiceTest {
         assertEquals(BigDecimal.TEN, existing.getPrice());
         verify(repo).save(existing);
     }
+
+    @Test
+    void getManyKeepsOrderAndReportsMissing() {
+        Product a = new Product("A", BigDecimal.ONE);
+        a.setId(1L);
+        Product c = new Product("C", BigDecimal.ONE);
+        c.setId(3L);
+        when(repo.findAllByIdInOrder(List.of(3L, 2L, 1L))).thenReturn(Arrays.asList(c, null, a));
+
+        ProductLookup lookup = service.getMany(List.of(3L, 2L, 3L, 1L));
+        assertEquals(List.of(c, a), lookup.found());
+        assertEquals(List.of(2L), lookup.missing());
+    }
 }
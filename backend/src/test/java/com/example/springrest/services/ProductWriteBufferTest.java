@@ -0,0 +1,173 @@
+package com.example.springrest.services;
+
+import com.example.springrest.exceptions.ResourceNotFoundException;
+import com.example.springrest.exceptions.ServiceUnavailableException;
+import com.example.springrest.models.Product;
+import com.example.springrest.repositories.ProductRepo;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Integration tests for {@link ProductWriteBuffer} (group-commit mode of {@link ProductService}).
+ *
+ * <p><strong>Responsibilities tested</strong>:
+ * <ul>
+ *   <li>Concurrent creates all get distinct ids, but share fewer commits than writes.</li>
+ *   <li>Concurrent updates of one id are all applied (coalesced, none lost).</li>
+ *   <li>Updating a missing id still fails with {@link ResourceNotFoundException}.</li>
+ *   <li>Callers never wait without bound: writes after stop are rejected, a slow commit times out,
+ *       and a dead writer fails its pending writes, all with {@link ServiceUnavailableException}.</li>
+ *   <li>With sharding the buffer stays off.</li>
+ * </ul>
+ *
+ * <p><strong>Testing strategy</strong>: boots the full context with group commit enabled against
+ * an in-memory H2 database and drives {@link ProductService} from a thread pool, the same way
+ * concurrent HTTP requests would. The failure cases use a standalone buffer whose transactions
+ * block or throw.</p>
+ */
+@SpringBootTest(properties = {
+        "app.products.group-commit.enabled=true",
+        "app.products.group-commit.linger=20ms",
+        "spring.datasource.url=jdbc:h2:mem:group-commit;DB_CLOSE_DELAY=-1"
+})
+class ProductWriteBufferTest {
+
+    @Autowired
+    ProductService service;
+    @Autowired
+    MeterRegistry meters;
+
+    @Test
+    void concurrentCreatesShareCommits() throws Exception {
+        double commitsBefore = meters.counter("products.write_buffer.commits").count();
+        int writes = 64;
+        ExecutorService pool = Executors.newFixedThreadPool(16);
+        try {
+            List<Future<Product>> futures = new ArrayList<>();
+            for (int i = 0; i < writes; i++) {
+                String name = "Burst " + i;
+                futures.add(pool.submit(() -> service.create(new Product(name, BigDecimal.ONE))));
+            }
+            Set<Long> ids = new HashSet<>();
+            for (Future<Product> f : futures) {
+                ids.add(f.get().getId());
+            }
+            assertEquals(writes, ids.size());
+        } finally {
+            pool.shutdown();
+        }
+        double commits = meters.counter("products.write_buffer.commits").count() - commitsBefore;
+        assertTrue(commits < writes, "expected batching, got " + commits + " commits for " + writes + " writes");
+    }
+
+    @Test
+    void concurrentUpdatesOfOneIdAreAllApplied() throws Exception {
+        Long id = service.create(new Product("Counter", BigDecimal.ZERO)).getId();
+        ExecutorService pool = Executors.newFixedThreadPool(10);
+        try {
+            List<Future<Product>> futures = new ArrayList<>();
+            for (int i = 0; i < 10; i++) {
+                futures.add(pool.submit(() -> service.update(id, p -> p.setPrice(p.getPrice().add(BigDecimal.ONE)))));
+            }
+            for (Future<Product> f : futures) {
+                f.get();
+            }
+        } finally {
+            pool.shutdown();
+        }
+        assertEquals(0, BigDecimal.TEN.compareTo(service.getOrThrow(id).getPrice()));
+    }
+
+    @Test
+    void updateOfMissingIdIsNotFound() {
+        assertThrows(ResourceNotFoundException.class, () -> service.update(Long.MAX_VALUE, p -> { }));
+    }
+
+    @Test
+    void rejectsWritesAfterStop() throws Exception {
+        ProductWriteBuffer buffer = standalone(mock(TransactionOperations.class), Duration.ofSeconds(5));
+        buffer.start();
+        buffer.stop();
+
+        assertThrows(ServiceUnavailableException.class, () -> buffer.create(new Product("Late", BigDecimal.ONE)));
+    }
+
+    @Test
+    void slowCommitTimesOut() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        TransactionOperations tx = mock(TransactionOperations.class);
+        doAnswer(call -> release.await(5, TimeUnit.SECONDS)).when(tx).executeWithoutResult(any());
+        ProductWriteBuffer buffer = standalone(tx, Duration.ofMillis(100));
+        buffer.start();
+        try {
+            assertThrows(ServiceUnavailableException.class,
+                    () -> buffer.create(new Product("Slow", BigDecimal.ONE)));
+        } finally {
+            release.countDown();
+            buffer.stop();
+        }
+    }
+
+    @Test
+    void deadWriterFailsPendingWrites() throws Exception {
+        TransactionOperations tx = mock(TransactionOperations.class);
+        doThrow(new OutOfMemoryError("simulated")).when(tx).executeWithoutResult(any());
+        ProductWriteBuffer buffer = standalone(tx, Duration.ofSeconds(30));
+        buffer.start();
+        ExecutorService pool = Executors.newSingleThreadExecutor();
+        try {
+            Future<Product> pending = pool.submit(() -> buffer.create(new Product("Doomed", BigDecimal.ONE)));
+            ExecutionException ex = assertThrows(ExecutionException.class, () -> pending.get(5, TimeUnit.SECONDS));
+            assertInstanceOf(ServiceUnavailableException.class, ex.getCause());
+
+            assertThrows(ServiceUnavailableException.class,
+                    () -> buffer.create(new Product("After", BigDecimal.ONE)));
+        } finally {
+            pool.shutdown();
+            buffer.stop();
+        }
+    }
+
+    @Test
+    void shardingTurnsBufferOff() {
+        ProductWriteBuffer sharded = new ProductWriteBuffer(mock(ProductRepo.class),
+                mock(ApplicationEventPublisher.class), mock(TransactionOperations.class), new SimpleMeterRegistry(),
+                true, 100, 10, Duration.ofMillis(1), Duration.ofMillis(100), Duration.ofSeconds(1), true);
+
+        assertFalse(sharded.isEnabled());
+    }
+
+    private static ProductWriteBuffer standalone(TransactionOperations tx, Duration commitTimeout) {
+        return new ProductWriteBuffer(mock(ProductRepo.class), mock(ApplicationEventPublisher.class), tx,
+                new SimpleMeterRegistry(), true, 100, 10, Duration.ofMillis(1), Duration.ofMillis(100),
+                commitTimeout, false);
+    }
+}
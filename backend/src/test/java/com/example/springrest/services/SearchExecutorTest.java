@@ -0,0 +1,94 @@
+package com.example.springrest.services;
+
+import com.example.springrest.bulkhead.BulkheadProperties;
+import com.example.springrest.bulkhead.BulkheadProperties.LaneLimits;
+import com.example.springrest.bulkhead.Bulkheads;
+import com.example.springrest.exceptions.GatewayTimeoutException;
+import com.example.springrest.exceptions.ServiceUnavailableException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Unit tests for {@link SearchExecutor}.
+ *
+ * <p><strong>Responsibilities tested</strong>:
+ * <ul>
+ *   <li>A search completes its {@link DeferredResult} with the value it returns.</li>
+ *   <li>When every search thread is busy, new searches are rejected right away with
+ *       {@link ServiceUnavailableException} instead of queueing.</li>
+ *   <li>A query timeout is reported as {@link GatewayTimeoutException}.</li>
+ * </ul>
+ *
+ * <p><strong>Testing strategy</strong>: a one-thread executor with a mocked transaction manager
+ * and entity manager, so only the scheduling and error mapping are exercised.</p>
+ */
+class SearchExecutorTest {
+
+    static final LaneLimits LIMITS = new LaneLimits(4, 4, Duration.ofMillis(100));
+
+    SearchExecutor executor = new SearchExecutor(mock(PlatformTransactionManager.class),
+            mock(EntityManager.class),
+            new Bulkheads(new BulkheadProperties(true, LIMITS, LIMITS, LIMITS), new SimpleMeterRegistry()),
+            new SimpleMeterRegistry(), 1, 0, Duration.ofSeconds(5));
+
+    @AfterEach
+    void shutdown() {
+        executor.shutdown();
+    }
+
+    @Test
+    void completesWithSearchResult() throws InterruptedException {
+        DeferredResult<Object> result = executor.submit(() -> "found");
+        assertEquals("found", await(result));
+    }
+
+    @Test
+    void rejectsInsteadOfQueueingWhenBusy() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        DeferredResult<Object> slow = executor.submit(() -> {
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            return "slow";
+        });
+
+        assertThrows(ServiceUnavailableException.class, () -> executor.submit(() -> "fast"));
+
+        release.countDown();
+        assertEquals("slow", await(slow));
+    }
+
+    @Test
+    void queryTimeoutBecomesGatewayTimeout() throws InterruptedException {
+        DeferredResult<Object> result = executor.submit(() -> {
+            throw new QueryTimeoutException("statement timed out");
+        });
+        assertInstanceOf(GatewayTimeoutException.class, await(result));
+    }
+
+    private static Object await(DeferredResult<?> result) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!result.hasResult() && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertTrue(result.hasResult(), "search did not complete");
+        return result.getResult();
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.springrest.services;
+
+import com.example.springrest.models.Product;
+import com.example.springrest.repositories.ProductProjectionRepo.NameMatch;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Integration tests for {@link SearchPageCache}.
+ *
+ * <p><strong>Responsibilities tested</strong>:
+ * <ul>
+ *   <li>A loaded page is answered from the cache for the same normalized term, sort and window,
+ *       with products loaded fresh by id.</li>
+ *   <li>A committed write starts a new generation, so no page cached before it is returned.</li>
+ *   <li>A search that started before a write is not served after it.</li>
+ * </ul>
+ *
+ * <p><strong>Testing strategy</strong>: boots the full context against an in-memory H2 database and
+ * writes through {@link ProductService}, so invalidation comes from real after-commit events.</p>
+ */
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:search-cache;DB_CLOSE_DELAY=-1")
+class SearchPageCacheTest {
+
+    static final PageRequest FIRST = PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "id"));
+
+    @Autowired
+    ProductService service;
+    @Autowired
+    SearchPageCache cache;
+
+    @Test
+    void repeatedSearchIsServedUntilNextWrite() {
+        Long lamp = service.create(new Product("Pagecache Lamp", BigDecimal.ONE)).getId();
+        Long desk = service.create(new Product("Pagecache Desk", BigDecimal.TEN)).getId();
+        AtomicInteger searches = new AtomicInteger();
+
+        cache.load(NameMatch.CONTAINS, "pagecache", FIRST, () -> {
+            searches.incrementAndGet();
+            return service.searchByName("pagecache", FIRST);
+        });
+        Page<Product> hit = cache.lookup(NameMatch.CONTAINS, "PageCache", FIRST).orElseThrow();
+
+        assertEquals(1, searches.get());
+        assertEquals(List.of(desk, lamp), hit.map(Product::getId).getContent());
+        assertEquals(2, hit.getTotalElements());
+        assertTrue(cache.lookup(NameMatch.PREFIX, "pagecache", FIRST).isEmpty(), "match kind is part of the key");
+        assertTrue(cache.lookup(NameMatch.CONTAINS, "pagecache", PageRequest.of(1, 10, FIRST.getSort())).isEmpty());
+
+        service.update(lamp, p -> p.setPrice(new BigDecimal("3.00")));
+
+        assertTrue(cache.lookup(NameMatch.CONTAINS, "pagecache", FIRST).isEmpty());
+    }
+
+    @Test
+    void searchRacingWithWriteIsNotServedAfterIt() {
+        service.create(new Product("Racecache Mug", BigDecimal.ONE));
+
+        cache.load(NameMatch.PREFIX, "racecache", FIRST, () -> {
+            Page<Product> before = service.searchByNamePrefix("racecache", FIRST);
+            service.create(new Product("Racecache Cup", BigDecimal.TEN));
+            return before;
+        });
+
+        assertTrue(cache.lookup(NameMatch.PREFIX, "racecache", FIRST).isEmpty());
+    }
+}
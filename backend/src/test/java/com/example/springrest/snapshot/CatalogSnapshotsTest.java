@@ -0,0 +1,198 @@
+package com.example.springrest.snapshot;
+
+import com.example.springrest.breaker.CircuitBreaker;
+import com.example.springrest.events.ProductChangeEvent;
+import com.example.springrest.models.Product;
+import com.example.springrest.repositories.ProductRepo;
+import com.example.springrest.services.ProductDelta;
+import com.example.springrest.services.ProductDeltaService;
+import com.example.springrest.services.Watermark;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for {@link CatalogSnapshot} and {@link CatalogSnapshots}.
+ *
+ * <p><strong>Responsibilities tested</strong>:
+ * <ul>
+ *   <li>A written snapshot maps back with the same ids, names, prices and watermark.</li>
+ *   <li>Files that are not complete snapshots are rejected.</li>
+ *   <li>While catching up, lookups and id-sorted pages combine the snapshot with the changes applied
+ *       so far.</li>
+ *   <li>A drained snapshot keeps serving until the application is ready and the breaker is closed;
+ *       then nothing is served from it any more.</li>
+ *   <li>Writes committed on this instance show up at once, and an older version from the delta feed
+ *       does not replace them.</li>
+ * </ul>
+ *
+ * <p><strong>Testing strategy</strong>: snapshot files in a temporary directory and a mocked delta
+ * service whose second call blocks, which holds the catch-up between its first and last page.</p>
+ */
+class CatalogSnapshotsTest {
+
+    static final Watermark WATERMARK = new Watermark(Instant.parse("2024-10-18T10:15:30.123456789Z"), 42);
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void writtenSnapshotMapsBack() throws IOException {
+        Path file = dir.resolve("catalog.snap");
+        writeSnapshot(file, 5);
+
+        CatalogSnapshot snapshot = CatalogSnapshot.open(file);
+
+        assertEquals(5, snapshot.size());
+        assertEquals(WATERMARK, snapshot.watermark());
+        assertEquals(2, snapshot.indexOf(30));
+        assertEquals(-3, snapshot.indexOf(25));
+        Product product = snapshot.productAt(2);
+        assertEquals(30L, product.getId());
+        assertEquals("Café 30", product.getName());
+        assertEquals(new BigDecimal("3.05"), product.getPrice());
+    }
+
+    @Test
+    void rejectsTruncatedFile() throws IOException {
+        Path file = dir.resolve("catalog.snap");
+        writeSnapshot(file, 5);
+        byte[] bytes = Files.readAllBytes(file);
+        Files.write(file, Arrays.copyOf(bytes, bytes.length - 3));
+
+        assertThrows(IOException.class, () -> CatalogSnapshot.open(file));
+    }
+
+    @Test
+    void servesSnapshotPlusChangesUntilCaughtUp() throws Exception {
+        Path file = dir.resolve("catalog.snap");
+        writeSnapshot(file, 5); // ids 10, 20, 30, 40, 50
+
+        Product renamed = product(30, "Renamed", "9.99");
+        Product added = product(35, "Added", "1.00");
+        CountDownLatch firstPageApplied = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ProductDeltaService deltas = mock(ProductDeltaService.class);
+        when(deltas.changesSince(any(), anyInt()))
+                .thenReturn(new ProductDelta(List.of(renamed, added), List.of(20L), WATERMARK, true, false))
+                .thenAnswer(invocation -> {
+                    firstPageApplied.countDown();
+                    release.await(5, TimeUnit.SECONDS);
+                    return new ProductDelta(List.of(), List.of(), WATERMARK, false, false);
+                });
+        CircuitBreaker breaker = mock(CircuitBreaker.class);
+        when(breaker.state()).thenReturn(CircuitBreaker.State.OPEN);
+        CatalogSnapshots snapshots = snapshots(deltas, breaker, file);
+
+        snapshots.start();
+        assertTrue(firstPageApplied.await(5, TimeUnit.SECONDS));
+
+        assertEquals("Renamed", snapshots.find(30L).orElseThrow().getName());
+        assertEquals("Café 10", snapshots.find(10L).orElseThrow().getName());
+        assertTrue(snapshots.find(20L).isEmpty(), "deleted ids go to the database");
+        assertTrue(snapshots.find(99L).isEmpty(), "unknown ids go to the database");
+
+        Page<Product> asc = snapshots.list(PageRequest.of(1, 2, Sort.by("id"))).orElseThrow();
+        assertEquals(List.of(35L, 40L), asc.map(Product::getId).getContent());
+        assertEquals(5, asc.getTotalElements());
+        Page<Product> desc = snapshots.list(PageRequest.of(0, 3, Sort.by(Sort.Direction.DESC, "id"))).orElseThrow();
+        assertEquals(List.of(50L, 40L, 35L), desc.map(Product::getId).getContent());
+        assertTrue(snapshots.list(PageRequest.of(0, 3, Sort.by("name"))).isEmpty());
+
+        release.countDown();
+        Thread.sleep(200);
+        assertTrue(snapshots.serving(), "drained, but not ready yet");
+
+        snapshots.onReadiness(new AvailabilityChangeEvent<>(this, ReadinessState.ACCEPTING_TRAFFIC));
+        Thread.sleep(1500);
+        assertTrue(snapshots.serving(), "ready, but the breaker is open");
+
+        when(breaker.state()).thenReturn(CircuitBreaker.State.CLOSED);
+        for (int i = 0; i < 150 && snapshots.serving(); i++) {
+            Thread.sleep(20);
+        }
+        assertFalse(snapshots.serving());
+        assertTrue(snapshots.find(10L).isEmpty());
+    }
+
+    @Test
+    void localWritesAreServedAtOnce() throws Exception {
+        Path file = dir.resolve("catalog.snap");
+        writeSnapshot(file, 5); // ids 10, 20, 30, 40, 50
+
+        Product before = product(30, "Before", "1.00");
+        ReflectionTestUtils.setField(before, "updatedAt", Instant.parse("2024-10-18T10:16:00Z"));
+        Product after = product(30, "After", "2.00");
+        ReflectionTestUtils.setField(after, "updatedAt", Instant.parse("2024-10-18T10:17:00Z"));
+        CountDownLatch localWritten = new CountDownLatch(1);
+        CountDownLatch staleDeltaApplied = new CountDownLatch(1);
+        ProductDeltaService deltas = mock(ProductDeltaService.class);
+        when(deltas.changesSince(any(), anyInt()))
+                .thenAnswer(invocation -> {
+                    localWritten.await(5, TimeUnit.SECONDS);
+                    return new ProductDelta(List.of(before), List.of(), WATERMARK, true, false);
+                })
+                .thenAnswer(invocation -> {
+                    staleDeltaApplied.countDown();
+                    return new ProductDelta(List.of(), List.of(), WATERMARK, false, false);
+                });
+        CatalogSnapshots snapshots = snapshots(deltas, mock(CircuitBreaker.class), file);
+
+        snapshots.start();
+        snapshots.onProductChange(ProductChangeEvent.updated(after));
+        snapshots.onProductChange(ProductChangeEvent.deleted(10L));
+        assertEquals("After", snapshots.find(30L).orElseThrow().getName());
+        assertTrue(snapshots.find(10L).isEmpty());
+
+        localWritten.countDown();
+        assertTrue(staleDeltaApplied.await(5, TimeUnit.SECONDS));
+        assertEquals("After", snapshots.find(30L).orElseThrow().getName(), "older delta version is ignored");
+        snapshots.stop();
+    }
+
+    private static CatalogSnapshots snapshots(ProductDeltaService deltas, CircuitBreaker breaker, Path file) {
+        return new CatalogSnapshots(mock(ProductRepo.class), deltas, breaker, mock(PlatformTransactionManager.class),
+                new SimpleMeterRegistry(), true, file, Duration.ofSeconds(2), false);
+    }
+
+    private static void writeSnapshot(Path file, int count) throws IOException {
+        CatalogSnapshot.write(file, WATERMARK, rows -> {
+            for (int i = 1; i <= count; i++) {
+                rows.row(i * 10L, "Café " + i * 10, new BigDecimal(i + ".05"));
+            }
+        });
+    }
+
+    private static Product product(long id, String name, String price) {
+        Product product = new Product(name, new BigDecimal(price));
+        product.setId(id);
+        return product;
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.springrest.startup;
+
+import com.example.springrest.hotkeys.HotKeys;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.availability.ApplicationAvailability;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Integration tests for {@link WarmUp} and {@link HotKeySnapshot}.
+ *
+ * <p><strong>Responsibilities tested</strong>:
+ * <ul>
+ *   <li>The snapshot of the previous run is replayed (including ids that no longer exist) before
+ *       readiness reports {@code ACCEPTING_TRAFFIC}, and the warm-up report is published.</li>
+ *   <li>Hot keys survive a save/load round trip through the snapshot file.</li>
+ * </ul>
+ *
+ * <p><strong>Testing strategy</strong>: boots the full context against an in-memory H2 database with
+ * warm-up enabled and the snapshot file in a temporary directory, pre-written before the context starts.</p>
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:warm-up;DB_CLOSE_DELAY=-1",
+        "app.warmup.enabled=true",
+        "app.warmup.passes=3"
+})
+class WarmUpTest {
+
+    static final Path SNAPSHOT;
+
+    static {
+        try {
+            SNAPSHOT = Files.createTempDirectory("warm-up").resolve("hotkeys.json");
+            Files.writeString(SNAPSHOT,
+                    "{\"products\":[1,2,999999],\"searches\":[\"a\"],\"prefixSearches\":[\"b\"]}");
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    @DynamicPropertySource
+    static void snapshotFile(DynamicPropertyRegistry registry) {
+        registry.add("app.warmup.snapshot-file", SNAPSHOT::toString);
+    }
+
+    @Autowired
+    ApplicationAvailability availability;
+    @Autowired
+    MeterRegistry meters;
+    @Autowired
+    HotKeys hotKeys;
+    @Autowired
+    HotKeySnapshot snapshot;
+
+    @Test
+    void replaysSnapshotBeforeReadiness() {
+        assertEquals(ReadinessState.ACCEPTING_TRAFFIC, availability.getReadinessState());
+        assertEquals(3 * 5, meters.get("products.warmup.operations").gauge().value(),
+                "three passes over three ids, one search and one prefix search");
+        assertTrue(meters.get("products.warmup.duration").timeGauge().value() > 0);
+    }
+
+    @Test
+    void savedHotKeysAreLoadedBack() {
+        hotKeys.product(7L);
+        hotKeys.search("lamp");
+
+        snapshot.save();
+        HotKeySnapshot.Snapshot loaded = snapshot.load();
+
+        assertTrue(loaded.products().contains(7L));
+        assertTrue(loaded.searches().contains("lamp"));
+    }
+}